@@ -0,0 +1,111 @@
+package dev.genesshoan.cinema_rest_api.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.genesshoan.cinema_rest_api.dto.admission.AdmissionRateDTO;
+import dev.genesshoan.cinema_rest_api.dto.admission.AdmissionStatusDTO;
+import dev.genesshoan.cinema_rest_api.dto.admission.AdmissionTokenDTO;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.service.AdmissionService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for the waiting room of showtimes on sale.
+ *
+ * <p>
+ * Base URL: {@code /admission}
+ * </p>
+ *
+ * <p>
+ * Supported operations:
+ * <ul>
+ * <li>Join the waiting room of a showtime (POST
+ * /admission/showtimes/{showtimeId})</li>
+ * <li>Retrieve the position and estimated wait of a token (GET
+ * /admission/showtimes/{showtimeId}/tokens/{token})</li>
+ * <li>Retrieve the admission state of a showtime (GET
+ * /admission/showtimes/{showtimeId})</li>
+ * <li>Set the admission rate of a showtime (PUT
+ * /admission/showtimes/{showtimeId}/rate)</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * While a showtime is queueing, holds and sales must carry an admitted token
+ * in the {@code Admission-Token} header.
+ * </p>
+ *
+ * @see AdmissionService
+ */
+@RestController
+@RequestMapping("/admission/showtimes")
+@Validated
+@RequiredArgsConstructor
+public class AdmissionController {
+  private final AdmissionService admissionService;
+
+  /**
+   * Join the waiting room of a showtime.
+   *
+   * @param showtimeId the showtime ID, must be greater than 0
+   * @return the issued token with its position and estimated wait
+   * @throws QueueFullException if the waiting room is full
+   */
+  @PostMapping("/{showtimeId}")
+  @ResponseStatus(HttpStatus.CREATED)
+  public AdmissionTokenDTO join(@PathVariable @Min(value = 1, message = "{id.min}") long showtimeId) {
+    return admissionService.join(showtimeId);
+  }
+
+  /**
+   * Retrieve the position and estimated wait of a token.
+   *
+   * @param showtimeId the showtime ID, must be greater than 0
+   * @param token      the admission token
+   * @return the token with its current position
+   * @throws ResourceNotFoundException if the token is unknown or expired
+   */
+  @GetMapping("/{showtimeId}/tokens/{token}")
+  public AdmissionTokenDTO getToken(
+      @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId,
+      @PathVariable String token) {
+    return admissionService.getToken(showtimeId, token);
+  }
+
+  /**
+   * Retrieve the admission state of a showtime.
+   *
+   * @param showtimeId the showtime ID, must be greater than 0
+   * @return demand, line length and admission rate of the showtime
+   */
+  @GetMapping("/{showtimeId}")
+  public AdmissionStatusDTO getStatus(@PathVariable @Min(value = 1, message = "{id.min}") long showtimeId) {
+    return admissionService.getStatus(showtimeId);
+  }
+
+  /**
+   * Set the admission rate of a showtime.
+   *
+   * @param showtimeId the showtime ID, must be greater than 0
+   * @param rateDTO    the number of buyers to admit per second
+   * @return the admission state of the showtime
+   */
+  @PutMapping("/{showtimeId}/rate")
+  public AdmissionStatusDTO setRate(
+      @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId,
+      @Valid @RequestBody AdmissionRateDTO rateDTO) {
+    return admissionService.setRate(showtimeId, rateDTO.admitsPerSecond());
+  }
+}
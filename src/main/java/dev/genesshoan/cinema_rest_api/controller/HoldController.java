@@ -0,0 +1,120 @@
+package dev.genesshoan.cinema_rest_api.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.genesshoan.cinema_rest_api.dto.hold.HoldRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.hold.HoldResponseDTO;
+import dev.genesshoan.cinema_rest_api.exception.AdmissionRequiredException;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.service.AdmissionService;
+import dev.genesshoan.cinema_rest_api.service.HoldService;
+import dev.genesshoan.cinema_rest_api.service.SeatInventoryService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for temporary seat holds.
+ *
+ * <p>
+ * Base URL: {@code /holds}
+ * </p>
+ *
+ * <p>
+ * Supported operations:
+ * <ul>
+ * <li>Hold seats of a showtime for a limited time (POST /holds)</li>
+ * <li>Release a hold before it expires (DELETE /holds/{holdId})</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Held seats are purchased by passing the hold id in the ticket sale request;
+ * holds that are neither sold nor released expire automatically. Both
+ * operations are queued behind the other seat mutations of the showtime.
+ * </p>
+ *
+ * <p>
+ * While a showtime is queueing buyers, creating a hold needs an admitted
+ * token in the {@code Admission-Token} header.
+ * </p>
+ *
+ * <p>
+ * Seats to hold are given either by ID or by row and seat number; coordinates
+ * are resolved against the showtime of the request.
+ * </p>
+ *
+ * @see HoldService
+ * @see HoldRequestDTO
+ * @see HoldResponseDTO
+ */
+@RestController
+@RequestMapping("/holds")
+@Validated
+@RequiredArgsConstructor
+public class HoldController {
+  private final HoldService holdService;
+  private final ShowtimeSequencer showtimeSequencer;
+  private final AdmissionService admissionService;
+  private final SeatInventoryService seatInventoryService;
+
+  /**
+   * Hold seats of a showtime.
+   *
+   * @param holdRequestDTO the seats to hold and the requested hold time
+   * @param admissionToken the admission token, required while the showtime
+   *                       is queueing buyers
+   * @return the created hold with its id and expiry time
+   * @throws ResourceNotFoundException  if the showtime does not exist or has
+   *                                    no seat at a requested coordinate
+   * @throws AdmissionRequiredException if the showtime is queueing buyers
+   *                                    and the token is not admitted
+   * @throws QueueFullException         if too many mutations of the
+   *                                    showtime are pending
+   */
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public CompletableFuture<HoldResponseDTO> createHold(
+      @Valid @RequestBody HoldRequestDTO holdRequestDTO,
+      @RequestHeader(name = "Admission-Token", required = false) String admissionToken) {
+    admissionService.checkAdmission(holdRequestDTO.showtimeId(), admissionToken);
+
+    HoldRequestDTO hold = holdRequestDTO.seats() == null
+        ? holdRequestDTO
+        : holdRequestDTO.withSeatIds(seatInventoryService.resolveSeatIds(holdRequestDTO.showtimeId(), holdRequestDTO.seats()));
+
+    return showtimeSequencer.submit(hold.showtimeId(), () -> holdService.createHold(hold));
+  }
+
+  /**
+   * Release the seats of a hold before it expires.
+   *
+   * @param holdId the hold identifier
+   * @throws ResourceNotFoundException if the hold does not exist, expired or
+   *                                   was fully sold
+   * @throws QueueFullException        if too many mutations of the showtime
+   *                                   are pending
+   */
+  @DeleteMapping("/{holdId}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public CompletableFuture<Void> releaseHold(
+      @PathVariable @Size(max = 36, message = "{ticket.hold-id.size}") String holdId) {
+    return showtimeSequencer.submit(holdService.getShowtimeIdOfHold(holdId), () -> {
+      holdService.releaseHold(holdId);
+      return null;
+    });
+  }
+}
@@ -0,0 +1,117 @@
+package dev.genesshoan.cinema_rest_api.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.genesshoan.cinema_rest_api.dto.metrics.ConcurrencyStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.metrics.GroupCommitStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.metrics.JournalStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.metrics.LockStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.metrics.SequencerStatsDTO;
+import dev.genesshoan.cinema_rest_api.repository.RowLockPolicy;
+import dev.genesshoan.cinema_rest_api.service.JdbcPermitLimiter;
+import dev.genesshoan.cinema_rest_api.service.JournaledSaleService;
+import dev.genesshoan.cinema_rest_api.service.SaleBatcher;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSalePermits;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller exposing runtime figures of the sale path.
+ *
+ * <p>
+ * Base URL: {@code /metrics}
+ * </p>
+ *
+ * <p>
+ * Supported operations:
+ * <ul>
+ * <li>Queue depth and latency of the per-showtime sequencer
+ * (GET /metrics/sequencer)</li>
+ * <li>Batch sizes of group-commit sales (GET /metrics/group-commit)</li>
+ * <li>Thread mode and permit usage of the concurrency limits
+ * (GET /metrics/concurrency)</li>
+ * <li>Flush and apply figures of the sale journal (GET /metrics/journal)</li>
+ * <li>Wait policies and conflicts of seat and ticket locks
+ * (GET /metrics/locks)</li>
+ * </ul>
+ * </p>
+ *
+ * @see ShowtimeSequencer
+ * @see SaleBatcher
+ * @see JdbcPermitLimiter
+ * @see ShowtimeSalePermits
+ * @see JournaledSaleService
+ * @see RowLockPolicy
+ */
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+  private final ShowtimeSequencer showtimeSequencer;
+  private final SaleBatcher saleBatcher;
+  private final JdbcPermitLimiter jdbcPermitLimiter;
+  private final ShowtimeSalePermits showtimeSalePermits;
+  private final JournaledSaleService journaledSaleService;
+  private final RowLockPolicy rowLockPolicy;
+
+  /**
+   * Retrieve queue depth and latency figures of the per-showtime sequencer.
+   *
+   * @return the current sequencer statistics
+   */
+  @GetMapping("/sequencer")
+  public SequencerStatsDTO getSequencerStats() {
+    return showtimeSequencer.getStats();
+  }
+
+  /**
+   * Retrieve batch size figures of group-commit sales.
+   *
+   * @return the current batcher statistics
+   */
+  @GetMapping("/group-commit")
+  public GroupCommitStatsDTO getGroupCommitStats() {
+    return saleBatcher.getStats();
+  }
+
+  /**
+   * Retrieve thread mode and permit usage of the concurrency limits.
+   *
+   * @return the current limiter statistics
+   */
+  @GetMapping("/concurrency")
+  public ConcurrencyStatsDTO getConcurrencyStats() {
+    return new ConcurrencyStatsDTO(
+        showtimeSequencer.usesVirtualThreads(),
+        jdbcPermitLimiter.getPermitCount(),
+        jdbcPermitLimiter.getInUse(),
+        jdbcPermitLimiter.getWaiting(),
+        jdbcPermitLimiter.getAcquired(),
+        jdbcPermitLimiter.getRejected(),
+        showtimeSalePermits.getMaxConcurrent(),
+        showtimeSalePermits.getRejected(),
+        showtimeSalePermits.getActiveByShowtime());
+  }
+
+  /**
+   * Retrieve flush and apply figures of the sale journal.
+   *
+   * @return the current journal statistics
+   */
+  @GetMapping("/journal")
+  public JournalStatsDTO getJournalStats() {
+    return journaledSaleService.getStats();
+  }
+
+  /**
+   * Retrieve wait policies and conflict figures of seat and ticket locks.
+   *
+   * @return the current lock statistics
+   */
+  @GetMapping("/locks")
+  public LockStatsDTO getLockStats() {
+    return rowLockPolicy.getStats();
+  }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,11 +20,14 @@ import org.springframework.web.bind.annotation.RestController;
 
 import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
 import dev.genesshoan.cinema_rest_api.dto.movie.MovieResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
 import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
 import dev.genesshoan.cinema_rest_api.exception.ResourceAlreadyExistsException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
 import dev.genesshoan.cinema_rest_api.service.MovieService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -48,6 +52,7 @@ import lombok.AllArgsConstructor;
  * <li>Create a new movie</li>
  * <li>Retrieve movie by ID</li>
  * <li>Search movies by title and/or genre</li>
+ * <li>Scroll the same lists with keyset pagination ({@code /scroll})</li>
  * <li>Update an existing movie</li>
  * <li>Delete a movie</li>
  * </ul>
@@ -122,19 +127,60 @@ public class MovieController {
    * </ul>
    * </p>
    *
+   * <p>
+   * The {@code count} parameter selects how the total is computed:
+   * {@code EXACT} (default) counts the matches, {@code ESTIMATED} estimates
+   * them without counting, and {@code NONE} skips the total and returns a
+   * slice. The response states the mode used in {@code countMode}.
+   * </p>
+   *
    * @param title    optional title search term (case-insensitive, partial match)
    * @param genre    optional genre search term (case-insensitive, partial match)
+   * @param count    how the total is computed
    * @param pageable pagination and sorting parameters
    * @return a page of movies matching the search criteria
    *
-   * @see MovieService#search(String, String, Pageable)
+   * @see MovieService#search(String, String, Pageable, CountMode)
    */
   @GetMapping
-  public Page<MovieResponseDTO> search(
+  public Slice<MovieResponseDTO> search(
       @RequestParam(required = false) @NotBlank(message = "{movie.title.required}") @Size(max = 255, message = "{movie.title.size}") String title,
       @RequestParam(required = false) @NotBlank(message = "{movie.genre.required}") @Size(max = 30, message = "{movie.genre.size}") String genre,
+      @RequestParam(defaultValue = "EXACT") CountMode count,
       Pageable pageable) {
-    return movieService.search(title, genre, pageable);
+    return movieService.search(title, genre, pageable, count);
+  }
+
+  /**
+   * Searches for movies by title and/or genre with keyset pagination.
+   *
+   * <p>
+   * Same filters as {@link #search(String, String, CountMode, Pageable)}, sorted by title
+   * then ID. The response carries no total count; the next page is read by
+   * passing back the {@code next} token of the previous one, and costs the
+   * same however deep it is. Offset pagination remains available on
+   * {@code GET /movies}.
+   * </p>
+   *
+   * <p>
+   * Example: {@code GET /movies/scroll?genre=romance&size=20&next=MTI6QW1lbGll}
+   * </p>
+   *
+   * @param title optional title search term (case-insensitive, partial match)
+   * @param genre optional genre search term (case-insensitive, partial match)
+   * @param size  the page size, between 1 and 100
+   * @param next  the token of the previous page; omitted for the first page
+   * @return a page of movies matching the search criteria
+   *
+   * @see MovieService#scroll(String, String, int, String)
+   */
+  @GetMapping("/scroll")
+  public CursorPageDTO<MovieResponseDTO> scroll(
+      @RequestParam(required = false) @NotBlank(message = "{movie.title.required}") @Size(max = 255, message = "{movie.title.size}") String title,
+      @RequestParam(required = false) @NotBlank(message = "{movie.genre.required}") @Size(max = 30, message = "{movie.genre.size}") String genre,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "{page.size.min}") @Max(value = 100, message = "{page.size.max}") int size,
+      @RequestParam(required = false) String next) {
+    return movieService.scroll(title, genre, size, next);
   }
 
   /**
@@ -157,6 +203,29 @@ public class MovieController {
     return movieService.getMoviesWithShowtimes(from, status, pageable);
   }
 
+  /**
+   * Retrieves the movies that have showtimes matching the given status and
+   * starting at or after the given date-time, with keyset pagination in ID
+   * order.
+   *
+   * @param from   the base date-time to filter movies
+   * @param status the showtime status to filter movies
+   * @param size   the page size, between 1 and 100
+   * @param next   the token of the previous page; omitted for the first page
+   * @return a page of movies that match the given criteria
+   *
+   * @see MovieService#scrollMoviesWithShowtimes(LocalDateTime, ShowtimeStatus,
+   *      int, String)
+   */
+  @GetMapping("/showtimes/scroll")
+  public CursorPageDTO<MovieResponseDTO> scrollMoviesWithShowtimes(
+      @RequestParam LocalDateTime from,
+      @RequestParam ShowtimeStatus status,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "{page.size.min}") @Max(value = 100, message = "{page.size.max}") int size,
+      @RequestParam(required = false) String next) {
+    return movieService.scrollMoviesWithShowtimes(from, status, size, next);
+  }
+
   /**
    * Updates an existing movie.
    *
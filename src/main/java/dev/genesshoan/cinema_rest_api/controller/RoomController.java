@@ -1,7 +1,7 @@
 package dev.genesshoan.cinema_rest_api.controller;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,13 +11,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
 import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
 import dev.genesshoan.cinema_rest_api.dto.room.RoomResponseDTO;
 import dev.genesshoan.cinema_rest_api.service.RoomService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 
@@ -39,6 +43,7 @@ import lombok.RequiredArgsConstructor;
  * <ul>
  * <li>Create a new room (POST /rooms)</li>
  * <li>Retrieve a paginated list of rooms (GET /rooms)</li>
+ * <li>Scroll the rooms with keyset pagination (GET /rooms/scroll)</li>
  * <li>Retrieve a single room by id (GET /rooms/{id})</li>
  * <li>Update an existing room (PUT /rooms/{id})</li>
  * </ul>
@@ -76,12 +81,36 @@ public class RoomController {
   /**
    * Retrieve a paginated list of rooms.
    *
+   * The {@code count} parameter selects how the total is computed
+   * ({@code EXACT}, {@code ESTIMATED} or {@code NONE} for a slice without a
+   * total); the response states the mode used in {@code countMode}.
+   *
+   * @param count    how the total is computed
    * @param pageable pagination and sorting information
    * @return a page of room response DTOs
    */
   @GetMapping
-  public Page<RoomResponseDTO> getAllRooms(Pageable pageable) {
-    return roomService.getAllRooms(pageable);
+  public Slice<RoomResponseDTO> getAllRooms(
+      @RequestParam(defaultValue = "EXACT") CountMode count,
+      Pageable pageable) {
+    return roomService.getAllRooms(pageable, count);
+  }
+
+  /**
+   * Retrieve rooms with keyset pagination, sorted by name then id.
+   *
+   * The response has no total count; the next page is read by passing back
+   * the {@code next} token of the previous one.
+   *
+   * @param size the page size, between 1 and 100
+   * @param next the token of the previous page; omitted for the first page
+   * @return a page of room response DTOs
+   */
+  @GetMapping("/scroll")
+  public CursorPageDTO<RoomResponseDTO> scrollRooms(
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "{page.size.min}") @Max(value = 100, message = "{page.size.max}") int size,
+      @RequestParam(required = false) String next) {
+    return roomService.scrollRooms(size, next);
   }
 
   /**
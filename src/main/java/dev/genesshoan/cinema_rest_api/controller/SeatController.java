@@ -1,14 +1,34 @@
 package dev.genesshoan.cinema_rest_api.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import dev.genesshoan.cinema_rest_api.dto.hold.HoldResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapDeltaDTO;
 import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapRunLengthDTO;
+import dev.genesshoan.cinema_rest_api.exception.AdmissionRequiredException;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.mapper.SeatMapEncoder;
+import dev.genesshoan.cinema_rest_api.service.AdmissionService;
+import dev.genesshoan.cinema_rest_api.service.HoldService;
 import dev.genesshoan.cinema_rest_api.service.SeatService;
+import dev.genesshoan.cinema_rest_api.service.SeatStreamService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 
@@ -28,7 +48,12 @@ import lombok.RequiredArgsConstructor;
  * <p>
  * Supported operations:
  * <ul>
- * <li>Retrieve seat map and availability for a showtime</li>
+ * <li>Retrieve seat map and availability for a showtime, as plain JSON,
+ * run-length encoded JSON or bit-packed binary depending on the
+ * {@code Accept} header</li>
+ * <li>Retrieve the seats changed since a known seat map version</li>
+ * <li>Stream seat status changes of a showtime as Server-Sent Events</li>
+ * <li>Hold the best block of adjacent available seats</li>
  * </ul>
  * </p>
  *
@@ -41,7 +66,16 @@ import lombok.RequiredArgsConstructor;
 @Validated
 @RequiredArgsConstructor
 public class SeatController {
+  /**
+   * Media type of the run-length encoded seat map.
+   */
+  public static final String RUN_LENGTH_JSON_VALUE = "application/vnd.cinema.seat-map-rle+json";
+
   private final SeatService seatService;
+  private final SeatStreamService seatStreamService;
+  private final HoldService holdService;
+  private final ShowtimeSequencer showtimeSequencer;
+  private final AdmissionService admissionService;
 
   /**
    * Retrieves the seat map and availability for a specific showtime.
@@ -62,4 +96,132 @@ public class SeatController {
       @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId) {
     return seatService.getSeatMap(showtimeId);
   }
+
+  /**
+   * Retrieves the seat map of a showtime as run-length encoded rows.
+   *
+   * <p>
+   * Selected with {@code Accept: application/vnd.cinema.seat-map-rle+json}.
+   * Each row is a string such as {@code "A12S3A5"}, which is considerably
+   * smaller than one object per seat.
+   * </p>
+   *
+   * @param showtimeId the showtime ID, must be greater than 0
+   * @return the run-length encoded seat map
+   * @throws ResourceNotFoundException if no showtime with the given ID exists
+   *
+   * @see SeatService#getSeatMapRunLength(long)
+   */
+  @GetMapping(value = "/{showtimeId}", produces = RUN_LENGTH_JSON_VALUE)
+  public SeatMapRunLengthDTO getSeatMapRunLength(
+      @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId) {
+    return seatService.getSeatMapRunLength(showtimeId);
+  }
+
+  /**
+   * Retrieves the seat map of a showtime in a bit-packed binary layout.
+   *
+   * <p>
+   * Selected with {@code Accept: application/octet-stream}. Every seat takes 2
+   * bits after a 23 byte header with the showtime id, version and dimensions;
+   * see {@link SeatMapEncoder} for the exact layout.
+   * </p>
+   *
+   * @param showtimeId the showtime ID, must be greater than 0
+   * @return the encoded seat map
+   * @throws ResourceNotFoundException if no showtime with the given ID exists
+   *
+   * @see SeatService#getSeatMapBinary(long)
+   */
+  @GetMapping(value = "/{showtimeId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public byte[] getSeatMapBinary(
+      @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId) {
+    return seatService.getSeatMapBinary(showtimeId);
+  }
+
+  /**
+   * Retrieves the seats of a showtime that changed since a given seat map
+   * version.
+   *
+   * <p>
+   * Intended for clients polling the seat map: they send back the
+   * {@code version} of their last response and only receive the seats whose
+   * status changed since then. If the version is too old, the full seat map is
+   * returned and flagged as a snapshot.
+   * </p>
+   *
+   * @param showtimeId   the showtime ID, must be greater than 0
+   * @param sinceVersion the seat map version known by the client
+   * @return the changed seats and the current seat map version
+   * @throws ResourceNotFoundException if no showtime with the given ID exists
+   *
+   * @see SeatService#getSeatMapChanges(long, long)
+   */
+  @GetMapping(value = "/{showtimeId}", params = "sinceVersion")
+  public SeatMapDeltaDTO getSeatMapChanges(
+      @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId,
+      @RequestParam @Min(value = 0, message = "{seat.sinceVersion.min}") long sinceVersion) {
+    return seatService.getSeatMapChanges(showtimeId, sinceVersion);
+  }
+
+  /**
+   * Opens a Server-Sent Events stream of the seat status changes of a
+   * showtime.
+   *
+   * <p>
+   * The first {@code seats} event contains the full seat map; subsequent
+   * events only contain the seats whose status changed. The id of each event is
+   * the seat map version, so reconnecting clients resume from the version sent
+   * in {@code Last-Event-ID}.
+   * </p>
+   *
+   * @param showtimeId  the showtime ID, must be greater than 0
+   * @param lastEventId the last seat map version received, if reconnecting
+   * @return the event stream
+   * @throws ResourceNotFoundException if no showtime with the given ID exists
+   *
+   * @see SeatStreamService#subscribe(long, Long)
+   */
+  @GetMapping(value = "/{showtimeId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamSeatMap(
+      @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId,
+      @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+    return seatStreamService.subscribe(showtimeId, lastEventId);
+  }
+
+  /**
+   * Finds the best block of adjacent available seats and holds it.
+   *
+   * <p>
+   * The most centered block in the rows closest to the middle of the room is
+   * chosen and held atomically; the seats are bought by passing the returned
+   * hold id in the ticket sale request. The request is queued behind the
+   * other seat mutations of the showtime.
+   * </p>
+   *
+   * @param showtimeId     the showtime ID, must be greater than 0
+   * @param count          the number of adjacent seats wanted, at least 1
+   * @param admissionToken the admission token, required while the showtime
+   *                       is queueing buyers
+   * @return the hold keeping the chosen seats
+   * @throws ResourceNotFoundException  if no showtime with the given ID exists
+   * @throws SeatNotAvailableException  if no block of {@code count} adjacent
+   *                                    seats is available
+   * @throws AdmissionRequiredException if the showtime is queueing buyers
+   *                                    and the token is not admitted
+   * @throws QueueFullException         if too many mutations of the showtime
+   *                                    are pending
+   *
+   * @see HoldService#holdBestAvailable(long, int)
+   */
+  @PostMapping("/{showtimeId}/best-available")
+  @ResponseStatus(HttpStatus.CREATED)
+  public CompletableFuture<HoldResponseDTO> holdBestAvailable(
+      @PathVariable @Min(value = 1, message = "{id.min}") long showtimeId,
+      @RequestParam @Min(value = 1, message = "{seat.count.min}") int count,
+      @RequestHeader(name = "Admission-Token", required = false) String admissionToken) {
+    admissionService.checkAdmission(showtimeId, admissionToken);
+
+    return showtimeSequencer.submit(showtimeId, () -> holdService.holdBestAvailable(showtimeId, count));
+  }
 }
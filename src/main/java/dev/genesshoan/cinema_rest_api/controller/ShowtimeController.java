@@ -2,8 +2,8 @@ package dev.genesshoan.cinema_rest_api.controller;
 
 import java.time.LocalDate;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,11 +17,14 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeResponseDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeUpdateDTO;
 import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
 import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 
@@ -91,19 +94,57 @@ public class ShowtimeController {
    * @param roomId the room ID to filter by; can be null
    * @param movieId the movie ID to filter by; can be null
    * @param status the showtime status to filter by (SCHEDULED, COMPLETED, CANCELLED); can be null
+   * @param count how the total is computed: EXACT (default), ESTIMATED, or NONE for a slice without a total;
+   *              the response states the mode used in {@code countMode}
    * @param pageable pagination and sorting parameters (page number, size, sort)
    * @return a page of showtimes matching the search criteria
    *
-   * @see ShowtimeService#search(LocalDate, Long, Long, ShowtimeStatus, Pageable)
+   * @see ShowtimeService#search(LocalDate, Long, Long, ShowtimeStatus, Pageable, CountMode)
    */
   @GetMapping
-  public Page<ShowtimeResponseDTO> search(
+  public Slice<ShowtimeResponseDTO> search(
       @RequestParam LocalDate dateTime,
       @RequestParam Long roomId,
       @RequestParam Long movieId,
       @RequestParam ShowtimeStatus status,
+      @RequestParam(defaultValue = "EXACT") CountMode count,
       Pageable pageable) {
-    return showtimeService.search(dateTime, roomId, movieId, status, pageable);
+    return showtimeService.search(dateTime, roomId, movieId, status, pageable, count);
+  }
+
+  /**
+   * Searches for showtimes with keyset pagination.
+   *
+   * <p>
+   * Same filters as {@link #search(LocalDate, Long, Long, ShowtimeStatus, CountMode, Pageable)},
+   * sorted by start time then ID. The response carries no total count; the
+   * next page is read by passing back the {@code next} token of the previous
+   * one.
+   * </p>
+   *
+   * <p>
+   * Example query: {@code GET /showtime/scroll?dateTime=2026-01-21&roomId=1&movieId=5&status=SCHEDULED&size=10}
+   * </p>
+   *
+   * @param dateTime the date to search for showtimes (day precision)
+   * @param roomId the room ID to filter by
+   * @param movieId the movie ID to filter by
+   * @param status the showtime status to filter by
+   * @param size the page size, between 1 and 100
+   * @param next the token of the previous page; omitted for the first page
+   * @return a page of showtimes matching the search criteria
+   *
+   * @see ShowtimeService#scroll(LocalDate, Long, Long, ShowtimeStatus, int, String)
+   */
+  @GetMapping("/scroll")
+  public CursorPageDTO<ShowtimeResponseDTO> scroll(
+      @RequestParam LocalDate dateTime,
+      @RequestParam Long roomId,
+      @RequestParam Long movieId,
+      @RequestParam ShowtimeStatus status,
+      @RequestParam(defaultValue = "20") @Min(value = 1, message = "{page.size.min}") @Max(value = 100, message = "{page.size.max}") int size,
+      @RequestParam(required = false) String next) {
+    return showtimeService.scroll(dateTime, roomId, movieId, status, size, next);
   }
 
   /**
@@ -146,6 +187,24 @@ public class ShowtimeController {
     return showtimeService.updateShowtime(id, showtimeUpdateDTO);
   }
 
+  /**
+   * Recomputes the seat counters of a showtime from its seats.
+   *
+   * <p>
+   * Counters are normally kept in step with every sale and cancellation;
+   * this endpoint repairs them if they are suspected to have drifted.
+   * </p>
+   *
+   * @param id the showtime ID; must be greater than 0
+   * @return the showtime with its recomputed counters
+   *
+   * @see ShowtimeService#reconcileSeatCounters(long)
+   */
+  @PostMapping("/{id}/seat-counters/reconcile")
+  public ShowtimeResponseDTO reconcileSeatCounters(@PathVariable @Min(value = 1, message = "{id.min}") long id) {
+    return showtimeService.reconcileSeatCounters(id);
+  }
+
   /**
    * Cancels a showtime by its unique identifier.
    *
@@ -0,0 +1,212 @@
+package dev.genesshoan.cinema_rest_api.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.entity.IdempotentOperation;
+import dev.genesshoan.cinema_rest_api.exception.AdmissionRequiredException;
+import dev.genesshoan.cinema_rest_api.exception.IllegalStatusException;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.service.AdmissionService;
+import dev.genesshoan.cinema_rest_api.service.IdempotencyService;
+import dev.genesshoan.cinema_rest_api.service.JournaledSaleService;
+import dev.genesshoan.cinema_rest_api.service.SaleBatcher;
+import dev.genesshoan.cinema_rest_api.service.SeatInventoryService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSalePermits;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer;
+import dev.genesshoan.cinema_rest_api.service.TicketService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for ticket sales.
+ *
+ * <p>
+ * Base URL: {@code /tickets}
+ * </p>
+ *
+ * <p>
+ * Supported operations:
+ * <ul>
+ * <li>Buy tickets for seats of a showtime (POST /tickets)</li>
+ * <li>Retrieve a ticket by id (GET /tickets/{id})</li>
+ * <li>Cancel a ticket, releasing its seat (POST /tickets/{id}/cancel)</li>
+ * <li>Consume a ticket at the room entrance (POST /tickets/{id}/consume)</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Sales and cancellations change seat status, so they are queued behind the
+ * other seat mutations of their showtime by the {@link ShowtimeSequencer} and
+ * answered asynchronously once they ran. Sales go through the
+ * {@link SaleBatcher}, which may group concurrent sales of a showtime into
+ * one transaction. When the sale journal is enabled, sales of seats that are
+ * not held are instead acknowledged once the {@link JournaledSaleService} has
+ * journaled them, and written to the database in the background.
+ * </p>
+ *
+ * <p>
+ * While a showtime is queueing buyers, sales of seats that are not held
+ * need an admitted token in the {@code Admission-Token} header; sales of a
+ * hold were admitted when the hold was taken.
+ * </p>
+ *
+ * <p>
+ * Sales and cancellations accept an {@code Idempotency-Key} header. A retry
+ * with the same key is answered with the outcome of the first request, or
+ * waits for it if it is still running, instead of being run again.
+ * </p>
+ *
+ * <p>
+ * Seats are given either by ID or by row and seat number. Coordinates are
+ * resolved against the showtime of the request by the
+ * {@link SeatInventoryService} before the sale is submitted.
+ * </p>
+ *
+ * <p>
+ * Tickets of general admission showtimes are bought by quantity. They have
+ * no seat to queue behind, so they are sold right away against the capacity
+ * of the showtime, within the {@link ShowtimeSalePermits} of the showtime.
+ * </p>
+ *
+ * @see TicketService
+ * @see TicketSaleRequestDTO
+ * @see TicketSaleResponseDTO
+ */
+@RestController
+@RequestMapping("/tickets")
+@Validated
+@RequiredArgsConstructor
+public class TicketController {
+  private final TicketService ticketService;
+  private final ShowtimeSequencer showtimeSequencer;
+  private final SaleBatcher saleBatcher;
+  private final AdmissionService admissionService;
+  private final IdempotencyService idempotencyService;
+  private final JournaledSaleService journaledSaleService;
+  private final SeatInventoryService seatInventoryService;
+  private final ShowtimeSalePermits showtimeSalePermits;
+
+  /**
+   * Buy tickets for seats of a showtime, or a quantity of general admission
+   * tickets.
+   *
+   * @param requestDTO     the showtime, seats or quantity, customer and
+   *                       optional hold
+   * @param admissionToken the admission token, required while the showtime
+   *                       is queueing buyers
+   * @param idempotencyKey the key identifying retries of this sale, optional;
+   *                       keys are shared by all clients, so it should be
+   *                       a random UUID
+   * @return the sold tickets and their total price
+   * @throws ResourceNotFoundException  if the showtime does not exist or has
+   *                                    no seat at a requested coordinate
+   * @throws SeatNotAvailableException  if any of the seats is not available,
+   *                                    or not enough general admission
+   *                                    tickets are left
+   * @throws AdmissionRequiredException if the showtime is queueing buyers
+   *                                    and the token is not admitted
+   * @throws InvalidRequestException    if the idempotency key was used for a
+   *                                    different request
+   * @throws QueueFullException         if too many mutations of the
+   *                                    showtime are pending
+   */
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public CompletableFuture<TicketSaleResponseDTO> sellTicket(
+      @Valid @RequestBody TicketSaleRequestDTO requestDTO,
+      @RequestHeader(name = "Admission-Token", required = false) String admissionToken,
+      @RequestHeader(name = "Idempotency-Key", required = false) @Size(max = 255, message = "{idempotency.key.size}") String idempotencyKey) {
+    return idempotencyService.execute(idempotencyKey, IdempotentOperation.SALE, requestDTO,
+        TicketSaleResponseDTO.class, () -> {
+          if (requestDTO.isGeneralAdmission()) {
+            admissionService.checkAdmission(requestDTO.showtimeId(), admissionToken);
+
+            return CompletableFuture.completedFuture(showtimeSalePermits.call(requestDTO.showtimeId(),
+                () -> ticketService.sellGeneralAdmission(requestDTO)));
+          }
+
+          TicketSaleRequestDTO sale = requestDTO.seats() == null
+              ? requestDTO
+              : requestDTO.withSeatIds(seatInventoryService.resolveSeatIds(requestDTO.showtimeId(), requestDTO.seats()));
+
+          if (sale.holdId() == null) {
+            admissionService.checkAdmission(sale.showtimeId(), admissionToken);
+
+            if (journaledSaleService.isEnabled()) {
+              return journaledSaleService.submit(sale);
+            }
+          }
+
+          return saleBatcher.submit(sale);
+        });
+  }
+
+  /**
+   * Retrieve a ticket by its id.
+   *
+   * @param id the ticket id, must be greater than 0
+   * @return the ticket
+   * @throws ResourceNotFoundException if the ticket does not exist
+   */
+  @GetMapping("/{id}")
+  public TicketResponseDTO getTicketById(@PathVariable @Min(value = 1, message = "{id.min}") long id) {
+    return ticketService.getTicketById(id);
+  }
+
+  /**
+   * Cancel a ticket and release its seat.
+   *
+   * @param id             the ticket id, must be greater than 0
+   * @param idempotencyKey the key identifying retries of this cancellation,
+   *                       optional
+   * @throws ResourceNotFoundException if the ticket does not exist
+   * @throws IllegalStatusException    if the ticket is not active
+   * @throws InvalidRequestException   if the idempotency key was used for a
+   *                                   different request
+   * @throws QueueFullException        if too many mutations of the showtime
+   *                                   are pending
+   */
+  @PostMapping("/{id}/cancel")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public CompletableFuture<Void> cancelTicket(
+      @PathVariable @Min(value = 1, message = "{id.min}") long id,
+      @RequestHeader(name = "Idempotency-Key", required = false) @Size(max = 255, message = "{idempotency.key.size}") String idempotencyKey) {
+    return idempotencyService.execute(idempotencyKey, IdempotentOperation.CANCEL, id, Void.class,
+        () -> showtimeSequencer.submit(ticketService.getShowtimeIdOfTicket(id), () -> {
+          ticketService.cancelTicket(id);
+          return null;
+        }));
+  }
+
+  /**
+   * Consume a ticket when its holder enters the room.
+   *
+   * @param id the ticket id, must be greater than 0
+   * @throws ResourceNotFoundException if the ticket does not exist
+   * @throws IllegalStatusException    if the ticket is not active
+   */
+  @PostMapping("/{id}/consume")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void consumeTicket(@PathVariable @Min(value = 1, message = "{id.min}") long id) {
+    ticketService.consumeTicket(id);
+  }
+}
@@ -0,0 +1,16 @@
+package dev.genesshoan.cinema_rest_api.dto.admission;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Data Transfer Object for setting the admission rate of a showtime.
+ *
+ * @param admitsPerSecond the number of waiting buyers to admit per second,
+ *                        must be positive
+ *
+ * @see AdmissionStatusDTO
+ */
+public record AdmissionRateDTO(
+    @NotNull(message = "{admission.rate.required}") @Positive(message = "{admission.rate.positive}") Double admitsPerSecond) {
+}
@@ -0,0 +1,26 @@
+package dev.genesshoan.cinema_rest_api.dto.admission;
+
+/**
+ * Admission state of a showtime.
+ *
+ * @param showtimeId         the showtime
+ * @param queueing           whether sale and hold attempts need an admitted
+ *                           token
+ * @param waiting            the number of tokens waiting for admission
+ * @param admitted           the number of tokens admitted since the waiting
+ *                           room was opened
+ * @param demandPerSecond    the sale and hold attempts seen in the last second
+ * @param thresholdPerSecond the demand at which the showtime starts queueing
+ * @param admitsPerSecond    the admission rate of the showtime
+ *
+ * @see AdmissionTokenDTO
+ */
+public record AdmissionStatusDTO(
+    long showtimeId,
+    boolean queueing,
+    long waiting,
+    long admitted,
+    int demandPerSecond,
+    int thresholdPerSecond,
+    double admitsPerSecond) {
+}
@@ -0,0 +1,33 @@
+package dev.genesshoan.cinema_rest_api.dto.admission;
+
+import java.time.LocalDateTime;
+
+/**
+ * Place of a buyer in the waiting room of a showtime.
+ *
+ * <p>
+ * The token is sent in the {@code Admission-Token} header of hold and sale
+ * requests. Until it is admitted, clients poll it for their position and
+ * estimated wait.
+ * </p>
+ *
+ * @param token                the admission token
+ * @param showtimeId           the showtime the token was issued for
+ * @param admitted             whether the holder may hold and buy seats
+ * @param position             the number of buyers admitted before this one,
+ *                             including itself; {@code 0} once admitted
+ * @param estimatedWaitSeconds the estimated time until admission at the
+ *                             current admission rate
+ * @param expiresAt            when the admission expires, or {@code null}
+ *                             while waiting
+ *
+ * @see AdmissionStatusDTO
+ */
+public record AdmissionTokenDTO(
+    String token,
+    long showtimeId,
+    boolean admitted,
+    long position,
+    long estimatedWaitSeconds,
+    LocalDateTime expiresAt) {
+}
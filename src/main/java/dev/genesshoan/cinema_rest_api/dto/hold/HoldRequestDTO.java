@@ -0,0 +1,78 @@
+package dev.genesshoan.cinema_rest_api.dto.hold;
+
+import java.util.List;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatCoordinateDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for seat hold requests.
+ *
+ * <p>
+ * A hold keeps the requested seats out of sale for a limited time so that a
+ * customer can complete the checkout. The seats are sold by passing the
+ * returned hold id in a ticket sale request before the hold expires.
+ * </p>
+ *
+ * <p>
+ * Validation rules:
+ * <ul>
+ * <li>Showtime ID: required, must be greater than 0</li>
+ * <li>Seats: exactly one of seat IDs or seat coordinates, with at least
+ * one seat</li>
+ * <li>TTL: optional, at least one second; capped by the server</li>
+ * </ul>
+ * </p>
+ *
+ * @param showtimeId the ID of the showtime the seats belong to
+ * @param seatIds    list of seat IDs to hold, or {@code null} when the
+ *                   seats are given by coordinates
+ * @param ttlSeconds how long the seats should be held, or {@code null} for
+ *                   the server default
+ * @param seats      the row and seat number of the seats to hold, resolved
+ *                   against the showtime, instead of their IDs
+ *
+ * @see HoldResponseDTO
+ */
+public record HoldRequestDTO(
+    @NotNull(message = "{hold.showtime.required}") @Min(value = 1, message = "{id.min}") Long showtimeId,
+    @Size(min = 1, message = "{hold.seats.min}") List<Long> seatIds,
+    @Min(value = 1, message = "{hold.ttl.min}") Integer ttlSeconds,
+    @Valid @Size(min = 1, message = "{hold.seats.min}") List<@NotNull(message = "{hold.seats.required}") SeatCoordinateDTO> seats) {
+
+  /**
+   * Creates a request addressing its seats by ID.
+   *
+   * @param showtimeId the ID of the showtime the seats belong to
+   * @param seatIds    list of seat IDs to hold
+   * @param ttlSeconds how long the seats should be held, or {@code null}
+   */
+  public HoldRequestDTO(Long showtimeId, List<Long> seatIds, Integer ttlSeconds) {
+    this(showtimeId, seatIds, ttlSeconds, null);
+  }
+
+  /**
+   * Returns a copy of this request addressing the given seats by ID.
+   *
+   * @param resolvedSeatIds the IDs of the seats given by coordinates
+   * @return the request with {@code seatIds} set and no coordinates
+   */
+  public HoldRequestDTO withSeatIds(List<Long> resolvedSeatIds) {
+    return new HoldRequestDTO(showtimeId, resolvedSeatIds, ttlSeconds, null);
+  }
+
+  /**
+   * Checks that the seats are given either by ID or by coordinates.
+   *
+   * @return {@code true} if exactly one of {@code seatIds} and {@code seats}
+   *         is set
+   */
+  @AssertTrue(message = "{hold.seats.selection}")
+  public boolean isSeatSelectionValid() {
+    return (seatIds == null) != (seats == null);
+  }
+}
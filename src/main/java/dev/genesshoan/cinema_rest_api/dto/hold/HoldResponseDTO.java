@@ -0,0 +1,26 @@
+package dev.genesshoan.cinema_rest_api.dto.hold;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+
+/**
+ * Data Transfer Object describing an active seat hold.
+ *
+ * @param holdId     the identifier of the hold, to be passed when selling the
+ *                   held seats
+ * @param showtimeId the ID of the showtime the seats belong to
+ * @param seatIds    the IDs of the held seats, in ascending order
+ * @param seats      the position of every held seat
+ * @param expiresAt  the moment the seats are released if not sold
+ *
+ * @see HoldRequestDTO
+ */
+public record HoldResponseDTO(
+    String holdId,
+    Long showtimeId,
+    List<Long> seatIds,
+    List<SeatInfoDTO> seats,
+    LocalDateTime expiresAt) {
+}
@@ -0,0 +1,38 @@
+package dev.genesshoan.cinema_rest_api.dto.metrics;
+
+import java.util.Map;
+
+/**
+ * Thread mode and permit figures of the concurrency limits on the sale path.
+ *
+ * @param virtualThreads         whether requests and sequencer workers run on
+ *                               virtual threads
+ * @param jdbcPermits            the number of transaction permits
+ * @param jdbcInUse              the number of transaction permits held
+ * @param jdbcWaiting            an estimate of the callers waiting for a
+ *                               transaction permit
+ * @param jdbcAcquired           the number of transaction permits handed out
+ *                               since startup
+ * @param jdbcRejected           the number of callers rejected because no
+ *                               transaction permit became free in time
+ * @param salePermitsPerShowtime the number of concurrent sales allowed per
+ *                               showtime
+ * @param salesRejected          the number of sales rejected because their
+ *                               showtime had no free permit in time
+ * @param activeSalesByShowtime  the number of running sales of every showtime
+ *                               with a running or waiting sale, by showtime id
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.JdbcPermitLimiter
+ * @see dev.genesshoan.cinema_rest_api.service.ShowtimeSalePermits
+ */
+public record ConcurrencyStatsDTO(
+    boolean virtualThreads,
+    int jdbcPermits,
+    int jdbcInUse,
+    int jdbcWaiting,
+    long jdbcAcquired,
+    long jdbcRejected,
+    int salePermitsPerShowtime,
+    long salesRejected,
+    Map<Long, Integer> activeSalesByShowtime) {
+}
@@ -0,0 +1,29 @@
+package dev.genesshoan.cinema_rest_api.dto.metrics;
+
+import java.util.Map;
+
+/**
+ * Batch size figures of the group-commit sale batcher.
+ *
+ * @param enabled         whether sales are grouped into batches
+ * @param batches         the number of batches committed or attempted since
+ *                        startup
+ * @param requests        the number of sale requests those batches contained
+ * @param meanBatchSize   the mean number of requests per batch
+ * @param maxBatchSize    the largest batch
+ * @param fallbacks       the number of batches that were rolled back and
+ *                        replayed one request at a time
+ * @param batchSizes      the number of batches per size range, keyed by the
+ *                        range (for example {@code "4-7"})
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.SaleBatcher
+ */
+public record GroupCommitStatsDTO(
+    boolean enabled,
+    long batches,
+    long requests,
+    double meanBatchSize,
+    int maxBatchSize,
+    long fallbacks,
+    Map<String, Long> batchSizes) {
+}
@@ -0,0 +1,33 @@
+package dev.genesshoan.cinema_rest_api.dto.metrics;
+
+/**
+ * Figures of the sale journal and its background applier.
+ *
+ * @param enabled           whether sales are acknowledged from the journal
+ * @param acknowledged      the number of sales acknowledged since startup
+ * @param fsyncs            the number of times the journal was forced to disk
+ * @param meanSalesPerFsync the mean number of sales made durable per fsync
+ * @param applied           the number of journaled sales written to the
+ *                          database since startup
+ * @param pendingApply      the number of durable sales waiting for the applier
+ * @param conflicts         the number of journaled sales the database refused
+ *                          and that were skipped
+ * @param applyFailures     the number of failed apply attempts that were
+ *                          retried
+ * @param appliedSequence   the sequence number of the last applied sale
+ * @param segments          the number of journal segment files on disk
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.JournaledSaleService
+ */
+public record JournalStatsDTO(
+    boolean enabled,
+    long acknowledged,
+    long fsyncs,
+    double meanSalesPerFsync,
+    long applied,
+    int pendingApply,
+    long conflicts,
+    long applyFailures,
+    long appliedSequence,
+    int segments) {
+}
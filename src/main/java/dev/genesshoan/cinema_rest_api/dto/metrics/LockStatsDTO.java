@@ -0,0 +1,18 @@
+package dev.genesshoan.cinema_rest_api.dto.metrics;
+
+/**
+ * Wait policies and lock figures of the locking reads on the sale path.
+ *
+ * @param waitTimeoutMillis the longest a {@code WAIT} policy waits for a
+ *                          lock, {@code -1} if it waits until released
+ * @param seats             the figures of the seat locks taken by sales
+ * @param tickets           the figures of the ticket locks taken by
+ *                          cancellations and consumptions
+ *
+ * @see dev.genesshoan.cinema_rest_api.repository.RowLockPolicy
+ */
+public record LockStatsDTO(
+    int waitTimeoutMillis,
+    LockTargetStatsDTO seats,
+    LockTargetStatsDTO tickets) {
+}
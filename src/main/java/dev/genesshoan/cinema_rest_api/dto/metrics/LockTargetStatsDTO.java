@@ -0,0 +1,20 @@
+package dev.genesshoan.cinema_rest_api.dto.metrics;
+
+import dev.genesshoan.cinema_rest_api.repository.LockWaitPolicy;
+
+/**
+ * Lock figures of one kind of locked row since startup.
+ *
+ * @param policy    the configured wait policy
+ * @param acquired  the number of locking reads that returned
+ * @param conflicts the number of locking reads that failed because a row was
+ *                  locked ({@code NOWAIT} or a {@code WAIT} timeout)
+ * @param skipped   the number of {@code SKIP_LOCKED} reads that left out at
+ *                  least one matching row because it was locked
+ */
+public record LockTargetStatsDTO(
+    LockWaitPolicy policy,
+    long acquired,
+    long conflicts,
+    long skipped) {
+}
@@ -0,0 +1,39 @@
+package dev.genesshoan.cinema_rest_api.dto.metrics;
+
+import java.util.Map;
+
+/**
+ * Queue depth and latency figures of the per-showtime sale sequencer.
+ *
+ * <p>
+ * Latencies cover every task run since startup: the wait is the time a task
+ * spent queued behind earlier tasks of its showtime, the service time is the
+ * time it took to run.
+ * </p>
+ *
+ * @param enabled               whether mutations are routed through the
+ *                              sequencer
+ * @param pending               the number of queued tasks across all showtimes
+ * @param completed             the number of tasks run since startup
+ * @param rejected              the number of tasks rejected because their
+ *                              queue was full
+ * @param meanWaitMillis        the mean queue wait in milliseconds
+ * @param maxWaitMillis         the longest queue wait in milliseconds
+ * @param meanServiceMillis     the mean run time in milliseconds
+ * @param maxServiceMillis      the longest run time in milliseconds
+ * @param depthByShowtime       the number of queued tasks of every showtime
+ *                              with pending work, by showtime id
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer
+ */
+public record SequencerStatsDTO(
+    boolean enabled,
+    long pending,
+    long completed,
+    long rejected,
+    double meanWaitMillis,
+    double maxWaitMillis,
+    double meanServiceMillis,
+    double maxServiceMillis,
+    Map<Long, Integer> depthByShowtime) {
+}
@@ -0,0 +1,28 @@
+package dev.genesshoan.cinema_rest_api.dto.page;
+
+/**
+ * How the total of an offset-paged list is computed, as requested with the
+ * {@code count} parameter of the list endpoints.
+ *
+ * @see dev.genesshoan.cinema_rest_api.repository.CountEstimator
+ */
+public enum CountMode {
+  /**
+   * The total is counted by the database with a {@code COUNT} query on every
+   * request.
+   */
+  EXACT,
+
+  /**
+   * The total is estimated without counting the rows, see
+   * {@link dev.genesshoan.cinema_rest_api.repository.CountEstimator}; it may
+   * be off by the rows changed since the estimate was taken.
+   */
+  ESTIMATED,
+
+  /**
+   * No total is computed; the response only tells whether a next page
+   * exists.
+   */
+  NONE
+}
@@ -0,0 +1,39 @@
+package dev.genesshoan.cinema_rest_api.dto.page;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A page of an offset-paged list whose total was counted with
+ * {@link CountMode#EXACT} or {@link CountMode#ESTIMATED}.
+ *
+ * <p>
+ * Serialized like any other page, plus a {@code countMode} property telling
+ * clients whether {@code totalElements} and {@code totalPages} are exact.
+ * </p>
+ *
+ * @param <T> the type of the page items
+ * @see CountedSlice
+ */
+public class CountedPage<T> extends PageImpl<T> {
+  private final CountMode countMode;
+
+  /**
+   * Creates a page.
+   *
+   * @param content   the items of the page
+   * @param pageable  the page requested
+   * @param total     the total number of items, exact or estimated
+   * @param countMode how {@code total} was computed
+   */
+  public CountedPage(List<T> content, Pageable pageable, long total, CountMode countMode) {
+    super(content, pageable, total);
+    this.countMode = countMode;
+  }
+
+  public CountMode getCountMode() {
+    return countMode;
+  }
+}
@@ -0,0 +1,35 @@
+package dev.genesshoan.cinema_rest_api.dto.page;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A page of an offset-paged list read with {@link CountMode#NONE}: no total
+ * is known, only whether a next page exists.
+ *
+ * <p>
+ * Serialized like any other slice, plus a {@code countMode} property of
+ * {@code NONE}.
+ * </p>
+ *
+ * @param <T> the type of the page items
+ * @see CountedPage
+ */
+public class CountedSlice<T> extends SliceImpl<T> {
+  /**
+   * Creates a slice.
+   *
+   * @param content  the items of the page
+   * @param pageable the page requested
+   * @param hasNext  whether a next page exists
+   */
+  public CountedSlice(List<T> content, Pageable pageable, boolean hasNext) {
+    super(content, pageable, hasNext);
+  }
+
+  public CountMode getCountMode() {
+    return CountMode.NONE;
+  }
+}
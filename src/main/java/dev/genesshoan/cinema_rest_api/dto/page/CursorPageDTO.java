@@ -0,0 +1,22 @@
+package dev.genesshoan.cinema_rest_api.dto.page;
+
+import java.util.List;
+
+/**
+ * A page of a list read with keyset (cursor) pagination.
+ *
+ * <p>
+ * Unlike an offset {@code Page}, it carries no total count and no page
+ * number: the client reads the next page by passing {@code next} back as the
+ * {@code next} request parameter, until it is {@code null}.
+ * </p>
+ *
+ * @param <T>     the type of the page items
+ * @param content the items of the page, in sort order
+ * @param next    an opaque token positioned after the last item, or
+ *                {@code null} if this is the last page
+ */
+public record CursorPageDTO<T>(
+    List<T> content,
+    String next) {
+}
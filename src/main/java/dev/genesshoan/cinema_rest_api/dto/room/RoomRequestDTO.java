@@ -1,5 +1,7 @@
 package dev.genesshoan.cinema_rest_api.dto.room;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,17 +14,37 @@ import jakarta.validation.constraints.Size;
  * Carries the minimal information required to create or update a room:
  * <ul>
  *   <li>{@code name} - human-readable room identifier (required, 1-255 chars)</li>
- *   <li>{@code rows} - number of seat rows in the room (required, >= 1)</li>
- *   <li>{@code seatsPerRow} - number of seats per row (required, >= 1)</li>
+ *   <li>{@code rows} - number of seat rows in the room (required, 1-65535)</li>
+ *   <li>{@code seatsPerRow} - number of seats per row (required, 1-65535)</li>
  * </ul>
  * </p>
  *
+ * The room as a whole cannot have more than {@link #MAX_SEATS} seats, so that
+ * its seat count, and every grid sized from it, fits an {@code int}.
+ *
  * Validation constraints are applied to ensure incoming requests are valid.
  */
 public record RoomRequestDTO(
     @NotBlank(message = "{room.name.required}") @Size(min = 1, max = 255, message = "{room.name.size}") String name,
 
-    @NotNull(message = "{room.rows.required}") @Min(value = 1, message = "{room.rows.min}") Integer rows,
+    @NotNull(message = "{room.rows.required}") @Min(value = 1, message = "{room.rows.min}") @Max(value = 65535, message = "{room.rows.max}") Integer rows,
+
+    @NotNull(message = "{room.seats.required}") @Min(value = 1, message = "{room.seats.min}") @Max(value = 65535, message = "{room.seats.max}") Integer seatsPerRow) {
+
+  /**
+   * Largest number of seats a room can have.
+   */
+  public static final int MAX_SEATS = 100_000;
 
-    @NotNull(message = "{room.seats.required}") @Min(value = 1, message = "{room.seats.min}") Integer seatsPerRow) {
+  /**
+   * Checks that the room does not have more than {@link #MAX_SEATS} seats.
+   *
+   * @return {@code true} if either dimension is missing, which is reported by
+   *         its own constraint, or the room has at most {@link #MAX_SEATS}
+   *         seats
+   */
+  @AssertTrue(message = "{room.seats.total}")
+  public boolean isSeatCountValid() {
+    return rows == null || seatsPerRow == null || (long) rows * seatsPerRow <= MAX_SEATS;
+  }
 }
@@ -0,0 +1,29 @@
+package dev.genesshoan.cinema_rest_api.dto.seat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a seat that is currently held.
+ *
+ * <p>
+ * Loaded through a JPQL constructor expression; used to describe the seats of
+ * a hold and to reschedule hold expirations after a restart.
+ * </p>
+ *
+ * @param holdId     the identifier of the hold keeping the seat
+ * @param showtimeId the ID of the showtime the seat belongs to
+ * @param seatId     the seat id
+ * @param rowNumber  the row number where the seat is located (1-indexed)
+ * @param seatNumber the seat number within the row (1-indexed)
+ * @param heldUntil  the moment the hold expires
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.HoldService
+ */
+public record HeldSeatDTO(
+    String holdId,
+    Long showtimeId,
+    Long seatId,
+    Integer rowNumber,
+    Integer seatNumber,
+    LocalDateTime heldUntil) {
+}
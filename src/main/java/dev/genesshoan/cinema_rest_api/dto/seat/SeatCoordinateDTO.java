@@ -0,0 +1,30 @@
+package dev.genesshoan.cinema_rest_api.dto.seat;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object addressing a seat by its position in the room.
+ *
+ * <p>
+ * Lets clients pick seats from the seat map without knowing their ids. The
+ * coordinate is resolved against the showtime of the request, so it can
+ * never address a seat of another showtime.
+ * </p>
+ *
+ * <p>
+ * Validation rules:
+ * <ul>
+ * <li>Row number: required, minimum 1</li>
+ * <li>Seat number: required, minimum 1</li>
+ * </ul>
+ * </p>
+ *
+ * @param rowNumber  the row number where the seat is located (1-indexed)
+ * @param seatNumber the seat number within the row (1-indexed)
+ */
+public record SeatCoordinateDTO(
+    @NotNull(message = "{seat.rowNumber.required}") @Min(value = 1, message = "{seat.rowNumber.min}") Integer rowNumber,
+
+    @NotNull(message = "{seat.seatNumber.required}") @Min(value = 1, message = "{seat.seatNumber.min}") Integer seatNumber) {
+}
@@ -0,0 +1,69 @@
+package dev.genesshoan.cinema_rest_api.dto.seat;
+
+/**
+ * Point-in-time copy of the seat grid of a showtime, used to encode compact
+ * seat map representations.
+ *
+ * <p>All grids hold one bitset per row packed into {@code long} words, bit
+ * {@code seat - 1} of row {@code row - 1} describing seat
+ * ({@code row}, {@code seat}). The arrays are copies owned by this object, so
+ * encoding can run without holding the inventory lock.</p>
+ *
+ * @param showtimeId The ID of the showtime
+ * @param rows Number of rows of the grid
+ * @param seatsPerRow Number of seat positions per row
+ * @param version Version of the seat map the copy was taken at
+ * @param occupancyPercentage Percentage of sold seats (0.0 to 100.0)
+ * @param present Per-row bitsets; a set bit means a seat exists
+ * @param taken Per-row bitsets; a set bit means the seat is not available
+ * @param held Per-row bitsets; a set bit means the taken seat is held
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.SeatInventory#toGrid()
+ */
+public record SeatGridDTO(
+    Long showtimeId,
+    int rows,
+    int seatsPerRow,
+    long version,
+    double occupancyPercentage,
+    long[][] present,
+    long[][] taken,
+    long[][] held) {
+
+  /**
+   * Tells whether a seat exists at the given position.
+   *
+   * @param row  the row number (1-indexed)
+   * @param seat the seat number within the row (1-indexed)
+   * @return {@code true} if the room has a seat at that position
+   */
+  public boolean isPresent(int row, int seat) {
+    return isSet(present, row, seat);
+  }
+
+  /**
+   * Tells whether the seat at the given position is not available.
+   *
+   * @param row  the row number (1-indexed)
+   * @param seat the seat number within the row (1-indexed)
+   * @return {@code true} if the seat is taken
+   */
+  public boolean isTaken(int row, int seat) {
+    return isSet(taken, row, seat);
+  }
+
+  /**
+   * Tells whether the seat at the given position is held for a checkout.
+   *
+   * @param row  the row number (1-indexed)
+   * @param seat the seat number within the row (1-indexed)
+   * @return {@code true} if the seat is held
+   */
+  public boolean isHeld(int row, int seat) {
+    return isSet(held, row, seat);
+  }
+
+  private static boolean isSet(long[][] bits, int row, int seat) {
+    return (bits[row - 1][(seat - 1) >>> 6] & (1L << ((seat - 1) & 63))) != 0;
+  }
+}
@@ -0,0 +1,32 @@
+package dev.genesshoan.cinema_rest_api.dto.seat;
+
+import java.util.List;
+
+/**
+ * DTO representing the seats of a showtime that changed since a given seat
+ * map version.
+ *
+ * <p>Clients that poll the seat map keep the {@code version} of the last
+ * response and send it back as {@code sinceVersion}; only the seats whose
+ * status changed in between are returned. When the requested version is too
+ * old to be answered incrementally (or belongs to a previous load of the
+ * seat map), {@code fullSnapshot} is {@code true} and {@code seats} contains
+ * every seat of the showtime, so applying the response is always correct.</p>
+ *
+ * @param showtimeId The ID of the showtime
+ * @param sinceVersion The version the client already has
+ * @param version The current version of the seat map
+ * @param fullSnapshot Whether {@code seats} contains the whole seat map
+ * @param seats The seats whose status changed, or all seats if full
+ * @param occupancyPercentage Percentage of sold seats (0.0 to 100.0)
+ *
+ * @see SeatMapResponseDTO
+ */
+public record SeatMapDeltaDTO(
+    Long showtimeId,
+    long sinceVersion,
+    long version,
+    boolean fullSnapshot,
+    List<SeatInfoDTO> seats,
+    double occupancyPercentage) {
+}
@@ -12,11 +12,15 @@ import java.util.List;
  * @param showtimeId The ID of the showtime
  * @param rows List of rows, each containing seat information
  * @param occupancyPercentage Percentage of sold seats (0.0 to 100.0)
+ * @param version Version of the seat map, usable as {@code sinceVersion} to
+ *                poll for changes only
  * 
  * @see SeatMapRowDTO
+ * @see SeatMapDeltaDTO
  */
 public record SeatMapResponseDTO(
     Long showtimeId,
     List<SeatMapRowDTO> rows,
-    double occupancyPercentage) {
+    double occupancyPercentage,
+    long version) {
 }
@@ -0,0 +1,29 @@
+package dev.genesshoan.cinema_rest_api.dto.seat;
+
+import java.util.List;
+
+/**
+ * Run-length encoded representation of the seat map of a showtime.
+ *
+ * <p>Each row is a string of runs, a status letter followed by the number of
+ * consecutive seats in that status: {@code A} available, {@code S} sold,
+ * {@code H} held and {@code X} no seat at that position. For example {@code "A12S3A5"} is a row
+ * of 20 seats where seats 13 to 15 are sold. The runs of every row add up to
+ * {@code seatsPerRow}.</p>
+ *
+ * @param showtimeId The ID of the showtime
+ * @param seatsPerRow Number of seat positions per row
+ * @param rows Encoded rows, the first element being row 1
+ * @param occupancyPercentage Percentage of sold seats (0.0 to 100.0)
+ * @param version Version of the seat map, usable as {@code sinceVersion} to
+ *                poll for changes only
+ *
+ * @see SeatMapResponseDTO
+ */
+public record SeatMapRunLengthDTO(
+    Long showtimeId,
+    int seatsPerRow,
+    List<String> rows,
+    double occupancyPercentage,
+    long version) {
+}
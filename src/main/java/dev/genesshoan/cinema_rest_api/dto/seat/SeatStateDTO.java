@@ -0,0 +1,26 @@
+package dev.genesshoan.cinema_rest_api.dto.seat;
+
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+
+/**
+ * Lightweight projection of a seat used to build in-memory seat inventories.
+ *
+ * <p>
+ * Loaded through a JPQL constructor expression so that warming an inventory
+ * does not hydrate full {@link dev.genesshoan.cinema_rest_api.entity.Seat}
+ * entities or their associations.
+ * </p>
+ *
+ * @param id         the seat id
+ * @param rowNumber  the row number where the seat is located (1-indexed)
+ * @param seatNumber the seat number within the row (1-indexed)
+ * @param status     the current status of the seat
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.SeatInventory
+ */
+public record SeatStateDTO(
+    Long id,
+    Integer rowNumber,
+    Integer seatNumber,
+    SeatStatus status) {
+}
@@ -0,0 +1,23 @@
+package dev.genesshoan.cinema_rest_api.dto.seat;
+
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+
+/**
+ * Projection of a seat's status and row version.
+ *
+ * <p>
+ * Read by the optimistic seat claim, which sells a seat only if its version
+ * has not changed since this projection was loaded.
+ * </p>
+ *
+ * @param id      the seat id
+ * @param status  the current status of the seat
+ * @param version the current version of the seat row
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.OptimisticSeatClaimStrategy
+ */
+public record SeatVersionDTO(
+    Long id,
+    SeatStatus status,
+    long version) {
+}
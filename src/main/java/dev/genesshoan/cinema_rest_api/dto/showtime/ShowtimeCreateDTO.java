@@ -15,6 +15,9 @@ import jakarta.validation.constraints.NotNull;
  * - basePrice: base ticket price for the showtime (required, non-negative)
  * - roomId: identifier of the room where the showtime will run (required)
  * - movieId: identifier of the movie to be shown (required)
+ * - generalAdmission: whether seating is unassigned; the showtime then has no
+ *   seats and tickets are sold by quantity up to the room capacity (optional,
+ *   defaults to false)
  *
  * Validation annotations are applied to enforce presence and basic numeric
  * constraints. Business validation (e.g. start before end, overlapping
@@ -25,5 +28,29 @@ public record ShowtimeCreateDTO(
     @NotNull(message = "{showtime.end-time.required}") LocalDateTime endTime,
     @NotNull(message = "{showtime.base-price.required}") @Min(value = 0, message = "{showtime.base-price.min}") BigDecimal basePrice,
     @NotNull(message = "{showtime.room.required}") @Min(value = 1, message = "{id.min}") Long roomId,
-    @NotNull(message = "{showtime.room.required}") @Min(value = 1, message = "{id.min}") Long movieId) {
+    @NotNull(message = "{showtime.room.required}") @Min(value = 1, message = "{id.min}") Long movieId,
+    Boolean generalAdmission) {
+
+  /**
+   * Creates a request for a showtime with assigned seating.
+   *
+   * @param startTime start date and time for the showtime
+   * @param endTime   end date and time for the showtime
+   * @param basePrice base ticket price for the showtime
+   * @param roomId    identifier of the room
+   * @param movieId   identifier of the movie
+   */
+  public ShowtimeCreateDTO(LocalDateTime startTime, LocalDateTime endTime, BigDecimal basePrice, Long roomId,
+      Long movieId) {
+    this(startTime, endTime, basePrice, roomId, movieId, null);
+  }
+
+  /**
+   * Returns whether the showtime has unassigned seating.
+   *
+   * @return {@code true} if {@code generalAdmission} is set
+   */
+  public boolean isGeneralAdmission() {
+    return Boolean.TRUE.equals(generalAdmission);
+  }
 }
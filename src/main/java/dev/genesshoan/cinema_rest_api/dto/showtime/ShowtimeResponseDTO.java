@@ -14,6 +14,10 @@ import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
  * - basePrice: base ticket price
  * - status: current lifecycle state
  * - roomName / movieTitle: denormalized display fields for convenience
+ * - capacity / soldSeats / occupancyPercentage: seat counters maintained
+ *   incrementally on the showtime, no seat is read to compute them
+ * - generalAdmission: whether seating is unassigned, so tickets are sold by
+ *   quantity and the showtime has no seat map
  */
 public record ShowtimeResponseDTO(
     Long id,
@@ -22,5 +26,9 @@ public record ShowtimeResponseDTO(
     BigDecimal basePrice,
     ShowtimeStatus status,
     String roomName,
-    String movieTitle) {
+    String movieTitle,
+    int capacity,
+    int soldSeats,
+    double occupancyPercentage,
+    boolean generalAdmission) {
 }
@@ -0,0 +1,19 @@
+package dev.genesshoan.cinema_rest_api.dto.showtime;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of what a sale confirmation needs to know about a showtime.
+ *
+ * @param id         the showtime id
+ * @param basePrice  the price of every seat
+ * @param movieTitle the title of the movie shown
+ * @param startTime  when the showtime starts
+ */
+public record ShowtimeSaleTermsDTO(
+    Long id,
+    BigDecimal basePrice,
+    String movieTitle,
+    LocalDateTime startTime) {
+}
@@ -0,0 +1,18 @@
+package dev.genesshoan.cinema_rest_api.dto.showtime;
+
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
+
+/**
+ * Projection of the seating configuration of a showtime.
+ *
+ * @param seatingMode how the seats of the showtime are stored
+ * @param rows        the number of rows of the seat grid, only set for
+ *                    {@link SeatingMode#LAZY}
+ * @param seatsPerRow the number of seats per row, only set for
+ *                    {@link SeatingMode#LAZY}
+ */
+public record ShowtimeSeatingDTO(
+    SeatingMode seatingMode,
+    Integer rows,
+    Integer seatsPerRow) {
+}
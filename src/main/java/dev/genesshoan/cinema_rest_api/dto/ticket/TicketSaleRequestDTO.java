@@ -2,6 +2,10 @@ package dev.genesshoan.cinema_rest_api.dto.ticket;
 
 import java.util.List;
 
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatCoordinateDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -20,8 +24,12 @@ import jakarta.validation.constraints.Size;
  * Validation rules:
  * <ul>
  * <li>Showtime ID: required, must be greater than 0</li>
- * <li>Seat IDs: required, must contain at least one seat ID</li>
+ * <li>Seats: exactly one of seat IDs, seat coordinates or a quantity, with
+ * at least one seat</li>
  * <li>Customer name: required, 1-255 characters</li>
+ * <li>Hold ID: optional, at most 36 characters</li>
+ * <li>Allow partial: optional, defaults to {@code false}</li>
+ * <li>Quantity: only without a hold ID, at most 1000</li>
  * </ul>
  * </p>
  * 
@@ -29,20 +37,143 @@ import jakarta.validation.constraints.Size;
  * Business rules enforced by the service layer:
  * <ul>
  * <li>All seats must belong to the specified showtime</li>
- * <li>All seats must have AVAILABLE status</li>
+ * <li>Without a hold ID, all seats must have AVAILABLE status, unless
+ * partial sales are allowed: then the available seats are sold and the
+ * others reported back, and the sale fails only if none is available</li>
+ * <li>With a hold ID, all seats must be HELD by that unexpired hold</li>
  * <li>Duplicate seat IDs in the list are not allowed</li>
+ * <li>Seat coordinates are resolved against the showtime; coordinates
+ * without a seat are rejected</li>
+ * <li>A quantity is only accepted for general admission showtimes, and only
+ * if that many tickets are left; seat IDs and coordinates are only accepted
+ * for showtimes with assigned seating</li>
  * </ul>
  * </p>
  * 
  * @param showtimeId   the ID of the showtime for which tickets are being purchased
- * @param seatIds      list of seat IDs to reserve and purchase
+ * @param seatIds      list of seat IDs to reserve and purchase, or
+ *                     {@code null} when the seats are given by coordinates
  * @param customerName the name of the customer purchasing the tickets
+ * @param holdId       the hold keeping the seats, or {@code null} to buy
+ *                     available seats directly
+ * @param allowPartial whether to sell the seats that are still available
+ *                     when some are not; ignored for held seats, which are
+ *                     sold as a whole
+ * @param seats        the row and seat number of the seats to purchase,
+ *                     instead of their IDs
+ * @param quantity     the number of tickets to purchase for a general
+ *                     admission showtime, instead of seats; sold as a whole
  *
  * @see TicketSaleResponseDTO
  * @since 1.0.0
  */
 public record TicketSaleRequestDTO(
     @NotNull(message = "{ticket.showtime.required}") @Min(value = 1, message = "{id.min}") Long showtimeId,
-    @NotNull(message = "{ticket.seats.required}") @Size(min = 1, message = "{ticket.seats.min}") List<Long> seatIds,
-    @NotBlank(message = "{ticket.customer-name.required}") @Size(max = 255, message = "{ticket.customer-name.size}") String customerName) {
+    @Size(min = 1, message = "{ticket.seats.min}") List<Long> seatIds,
+    @NotBlank(message = "{ticket.customer-name.required}") @Size(max = 255, message = "{ticket.customer-name.size}") String customerName,
+    @Size(max = 36, message = "{ticket.hold-id.size}") String holdId,
+    Boolean allowPartial,
+    @Valid @Size(min = 1, message = "{ticket.seats.min}") List<@NotNull(message = "{ticket.seats.required}") SeatCoordinateDTO> seats,
+    @Min(value = 1, message = "{ticket.seats.min}") @Max(value = 1000, message = "{ticket.quantity.max}") Integer quantity) {
+
+  /**
+   * Creates a request for seats that are not held.
+   *
+   * @param showtimeId   the ID of the showtime
+   * @param seatIds      list of seat IDs to purchase
+   * @param customerName the name of the customer purchasing the tickets
+   */
+  public TicketSaleRequestDTO(Long showtimeId, List<Long> seatIds, String customerName) {
+    this(showtimeId, seatIds, customerName, null, null, null, null);
+  }
+
+  /**
+   * Creates a request that sells all seats or none.
+   *
+   * @param showtimeId   the ID of the showtime
+   * @param seatIds      list of seat IDs to purchase
+   * @param customerName the name of the customer purchasing the tickets
+   * @param holdId       the hold keeping the seats, or {@code null}
+   */
+  public TicketSaleRequestDTO(Long showtimeId, List<Long> seatIds, String customerName, String holdId) {
+    this(showtimeId, seatIds, customerName, holdId, null, null, null);
+  }
+
+  /**
+   * Creates a request addressing its seats by ID.
+   *
+   * @param showtimeId   the ID of the showtime
+   * @param seatIds      list of seat IDs to purchase
+   * @param customerName the name of the customer purchasing the tickets
+   * @param holdId       the hold keeping the seats, or {@code null}
+   * @param allowPartial whether to sell the seats that are still available
+   */
+  public TicketSaleRequestDTO(Long showtimeId, List<Long> seatIds, String customerName, String holdId,
+      Boolean allowPartial) {
+    this(showtimeId, seatIds, customerName, holdId, allowPartial, null, null);
+  }
+
+  /**
+   * Creates a request for a number of general admission tickets.
+   *
+   * @param showtimeId   the ID of the general admission showtime
+   * @param quantity     the number of tickets to purchase
+   * @param customerName the name of the customer purchasing the tickets
+   */
+  public TicketSaleRequestDTO(Long showtimeId, Integer quantity, String customerName) {
+    this(showtimeId, null, customerName, null, null, null, quantity);
+  }
+
+  /**
+   * Returns a copy of this request addressing the given seats by ID.
+   *
+   * @param resolvedSeatIds the IDs of the seats given by coordinates
+   * @return the request with {@code seatIds} set and no coordinates
+   */
+  public TicketSaleRequestDTO withSeatIds(List<Long> resolvedSeatIds) {
+    return new TicketSaleRequestDTO(showtimeId, resolvedSeatIds, customerName, holdId, allowPartial, null, null);
+  }
+
+  /**
+   * Checks that the seats are given either by ID, by coordinates or as a
+   * quantity.
+   *
+   * @return {@code true} if exactly one of {@code seatIds}, {@code seats}
+   *         and {@code quantity} is set
+   */
+  @AssertTrue(message = "{ticket.seats.selection}")
+  public boolean isSeatSelectionValid() {
+    int given = (seatIds == null ? 0 : 1) + (seats == null ? 0 : 1) + (quantity == null ? 0 : 1);
+    return given == 1;
+  }
+
+  /**
+   * Checks that general admission tickets are not bought from a hold.
+   *
+   * @return {@code true} unless both {@code quantity} and {@code holdId} are
+   *         set
+   */
+  @AssertTrue(message = "{ticket.quantity.hold}")
+  public boolean isQuantityWithoutHold() {
+    return quantity == null || holdId == null;
+  }
+
+  /**
+   * Returns whether this request buys general admission tickets.
+   *
+   * @return {@code true} if the tickets are given as a quantity
+   */
+  public boolean isGeneralAdmission() {
+    return quantity != null;
+  }
+
+  /**
+   * Returns whether the available seats may be sold when some are not.
+   *
+   * @return {@code true} if {@code allowPartial} is set and the seats are
+   *         not held
+   */
+  public boolean isPartialAllowed() {
+    return holdId == null && Boolean.TRUE.equals(allowPartial);
+  }
 }
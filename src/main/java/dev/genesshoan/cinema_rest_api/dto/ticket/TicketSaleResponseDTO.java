@@ -21,9 +21,19 @@ import java.util.List;
  * </ul>
  * </p>
  * 
- * @param totalPrice   the total price for all purchased tickets
- * @param totalTickets the number of tickets purchased in this transaction
- * @param tickets      list of individual ticket details for each purchased seat
+ * <p>
+ * A request with {@code allowPartial} set may sell only some of its seats;
+ * the seats it could not get are listed in {@code unavailableSeatIds}, which
+ * is empty when every seat was sold.
+ * </p>
+ * 
+ * @param totalPrice         the total price for all purchased tickets
+ * @param totalTickets       the number of tickets purchased in this
+ *                           transaction
+ * @param tickets            list of individual ticket details for each
+ *                           purchased seat
+ * @param unavailableSeatIds the requested seats that were not sold because
+ *                           they were no longer available
  *
  * @see TicketResponseDTO
  * @see TicketSaleRequestDTO
@@ -32,5 +42,18 @@ import java.util.List;
 public record TicketSaleResponseDTO(
     BigDecimal totalPrice,
     Integer totalTickets,
-    List<TicketResponseDTO> tickets) {
+    List<TicketResponseDTO> tickets,
+    List<Long> unavailableSeatIds) {
+
+  /**
+   * Creates the confirmation of a sale of every requested seat.
+   *
+   * @param totalPrice   the total price for all purchased tickets
+   * @param totalTickets the number of tickets purchased in this transaction
+   * @param tickets      list of individual ticket details for each purchased
+   *                     seat
+   */
+  public TicketSaleResponseDTO(BigDecimal totalPrice, Integer totalTickets, List<TicketResponseDTO> tickets) {
+    this(totalPrice, totalTickets, tickets, List.of());
+  }
 }
@@ -0,0 +1,82 @@
+package dev.genesshoan.cinema_rest_api.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * JPA entity storing the outcome of a request sent with an
+ * {@code Idempotency-Key}.
+ *
+ * <p>
+ * A retried request with the same key is answered from this record instead
+ * of being run again. The fingerprint of the original request is kept so
+ * that a key reused for a different request can be rejected.
+ * </p>
+ *
+ * <p>
+ * Database table: {@code idempotency_keys}
+ * </p>
+ *
+ * @see IdempotentOperation
+ * @see dev.genesshoan.cinema_rest_api.service.IdempotencyService
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+  /**
+   * The key sent by the client.
+   */
+  @Id
+  @Column(name = "idempotency_key", length = 255)
+  private String key;
+
+  /**
+   * The operation the key was used for.
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private IdempotentOperation operation;
+
+  /**
+   * SHA-256 of the original request, hex encoded.
+   */
+  @Column(name = "request_fingerprint", nullable = false, length = 64)
+  private String requestFingerprint;
+
+  /**
+   * The response body of the original request as JSON, or {@code null} for
+   * operations without a body.
+   */
+  @Column(name = "response_body", columnDefinition = "TEXT")
+  private String responseBody;
+
+  /**
+   * When the original request completed. Records are purged once they are
+   * older than the retention period.
+   */
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,14 @@
+package dev.genesshoan.cinema_rest_api.entity;
+
+/**
+ * Enum describing the operations that accept an {@code Idempotency-Key}.
+ *
+ * - SALE: a ticket sale; the stored response is the sale confirmation.
+ * - CANCEL: a ticket cancellation; there is no response body to store.
+ *
+ * These values are persisted as strings in the database.
+ */
+public enum IdempotentOperation {
+  SALE,
+  CANCEL
+}
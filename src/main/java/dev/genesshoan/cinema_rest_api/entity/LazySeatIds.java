@@ -0,0 +1,106 @@
+package dev.genesshoan.cinema_rest_api.entity;
+
+/**
+ * Seat ids of showtimes using {@link SeatingMode#LAZY}.
+ *
+ * <p>
+ * A lazily materialized seat has no row until it is sold, so its id cannot
+ * come from the {@code seats_seq} sequence. Instead it is derived from the
+ * showtime and the seat position:
+ * </p>
+ *
+ * <pre>
+ * bit 52      : always set, keeps derived ids apart from sequence ids
+ * bits 24..51 : showtime id
+ * bits 12..23 : row number - 1
+ * bits  0..11 : seat number - 1
+ * </pre>
+ *
+ * <p>
+ * Derived ids stay below 2<sup>53</sup>, the largest integer JSON clients
+ * written in JavaScript hold exactly, so they can be sent back as returned
+ * in seat states and tickets. Sequence ids are expected to stay below
+ * 2<sup>52</sup>.
+ * </p>
+ *
+ * <p>
+ * The same id is used as primary key when the seat row is finally written, so
+ * a seat keeps its id for its whole life.
+ * </p>
+ */
+public final class LazySeatIds {
+  /**
+   * Largest row number and seat number that can be encoded.
+   */
+  public static final int MAX_DIMENSION = 1 << 12;
+
+  private static final int FLAG_BIT = 52;
+  private static final long FLAG = 1L << FLAG_BIT;
+  private static final int POSITION_BITS = 12;
+  private static final long SHOWTIME_LIMIT = 1L << (FLAG_BIT - 2 * POSITION_BITS);
+  private static final long POSITION_MASK = MAX_DIMENSION - 1;
+
+  private LazySeatIds() {
+  }
+
+  /**
+   * Tells whether a grid of the given size can be seated lazily.
+   *
+   * @param showtimeId  the showtime id
+   * @param rows        the number of rows
+   * @param seatsPerRow the number of seats per row
+   * @return {@code true} if every seat of the grid has an encodable id
+   */
+  public static boolean fits(long showtimeId, int rows, int seatsPerRow) {
+    return showtimeId > 0 && showtimeId < SHOWTIME_LIMIT
+        && rows <= MAX_DIMENSION && seatsPerRow <= MAX_DIMENSION;
+  }
+
+  /**
+   * Builds the id of a seat.
+   *
+   * @param showtimeId the showtime id
+   * @param rowNumber  the row number (1-indexed)
+   * @param seatNumber the seat number within the row (1-indexed)
+   * @return the derived seat id
+   */
+  public static long of(long showtimeId, int rowNumber, int seatNumber) {
+    return FLAG | showtimeId << (2 * POSITION_BITS)
+        | (long) (rowNumber - 1) << POSITION_BITS
+        | (seatNumber - 1);
+  }
+
+  /**
+   * Tells whether an id was built by {@link #of(long, int, int)}.
+   *
+   * @param seatId the seat id
+   * @return {@code true} for derived ids
+   */
+  public static boolean isDerived(long seatId) {
+    return seatId >>> FLAG_BIT == 1;
+  }
+
+  /**
+   * @param seatId a derived seat id
+   * @return the showtime id encoded in the seat id
+   */
+  public static long showtimeId(long seatId) {
+    return (seatId & ~FLAG) >>> (2 * POSITION_BITS);
+  }
+
+  /**
+   * @param seatId a derived seat id
+   * @return the row number (1-indexed) encoded in the seat id
+   */
+  public static int rowNumber(long seatId) {
+    return (int) ((seatId >>> POSITION_BITS) & POSITION_MASK) + 1;
+  }
+
+  /**
+   * @param seatId a derived seat id
+   * @return the seat number (1-indexed) encoded in the seat id
+   */
+  public static int seatNumber(long seatId) {
+    return (int) (seatId & POSITION_MASK) + 1;
+  }
+}
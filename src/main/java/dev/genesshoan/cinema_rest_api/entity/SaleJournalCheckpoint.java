@@ -0,0 +1,47 @@
+package dev.genesshoan.cinema_rest_api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * JPA entity recording how far a sale journal has been applied to the
+ * database.
+ *
+ * <p>
+ * The checkpoint is advanced in the same transaction that writes the seats
+ * and tickets of the applied sales, so replaying a journal after a restart
+ * skips exactly the sales that already reached the database.
+ * </p>
+ *
+ * <p>
+ * Database table: {@code sale_journal_checkpoints}
+ * </p>
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.JournaledSaleService
+ */
+@Entity
+@Table(name = "sale_journal_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleJournalCheckpoint {
+  /**
+   * The name of the journal, {@code cinema.sales.journal.name}.
+   */
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  /**
+   * The sequence number of the last applied sale.
+   */
+  @Column(name = "applied_sequence", nullable = false)
+  private long appliedSequence;
+}
@@ -1,5 +1,6 @@
 package dev.genesshoan.cinema_rest_api.entity;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,11 +12,14 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -37,6 +41,14 @@ import lombok.Setter;
  * </p>
  *
  * <p>
+ * Indexes:
+ * <ul>
+ * <li>{@code idx_seats_hold_id} on {@code hold_id}, so that releasing a hold
+ * touches only its own seats</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
  * Unique constraints:
  * <ul>
  * <li>The combination of showtime_id, row_number, and seat_number must be
@@ -61,19 +73,38 @@ import lombok.Setter;
 @Table(name = "seats", uniqueConstraints = {
     @UniqueConstraint(name = "uk_seats_showtime_row_seat_number", columnNames = { "showtime_id", "row_number",
         "seat_number" })
+}, indexes = {
+    @Index(name = "idx_seats_hold_id", columnList = "hold_id")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Seat {
+  /**
+   * Number of ids each value of {@code seats_seq} stands for. Hibernate's
+   * pooled optimizer hands out the ids {@code value - ID_BLOCK_SIZE + 1} to
+   * {@code value} for each value it draws, except for the first value of the
+   * sequence, of which it hands out that id alone.
+   *
+   * <p>
+   * The sequence starts at {@code ID_BLOCK_SIZE}, so every value it returns
+   * is a multiple of {@code ID_BLOCK_SIZE} whose block holds positive ids
+   * only, and the blocks of two values never overlap.
+   * </p>
+   */
+  public static final int ID_BLOCK_SIZE = 50;
+
   /**
    * The unique identifier for this seat.
    *
-   * Generated automatically by the database using an identity strategy.
+   * Drawn from the {@code seats_seq} sequence with a pooled optimizer, so
+   * Hibernate reserves ids in blocks and can batch seat inserts.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seats_seq")
+  @SequenceGenerator(name = "seats_seq", sequenceName = "seats_seq", initialValue = ID_BLOCK_SIZE,
+      allocationSize = ID_BLOCK_SIZE)
   private Long id;
 
   /**
@@ -114,6 +145,34 @@ public class Seat {
   @Column(nullable = false)
   private SeatStatus status = SeatStatus.AVAILABLE;
 
+  /**
+   * Identifier of the hold keeping this seat, set only while the seat is
+   * {@link SeatStatus#HELD}.
+   */
+  @Column(name = "hold_id", length = 36)
+  private String holdId;
+
+  /**
+   * Moment at which the hold on this seat expires, set only while the seat is
+   * {@link SeatStatus#HELD}.
+   */
+  @Column(name = "held_until")
+  private LocalDateTime heldUntil;
+
+  /**
+   * Version of the seat row, incremented on every status change.
+   *
+   * <p>
+   * Managed by Hibernate for entity updates; the bulk status updates of
+   * {@link dev.genesshoan.cinema_rest_api.repository.SeatRepository}
+   * increment it explicitly, so an optimistic seat claim detects every
+   * concurrent change.
+   * </p>
+   */
+  @Version
+  @Column(nullable = false)
+  private long version;
+
   /**
    * The showtime to which this seat belongs.
    *
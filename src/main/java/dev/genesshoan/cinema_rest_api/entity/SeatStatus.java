@@ -12,6 +12,12 @@ public enum SeatStatus {
    * Seat is available for purchase or reservation.
    */
   AVAILABLE,
+
+  /**
+   * Seat is temporarily held for a checkout and cannot be claimed by anyone
+   * else until the hold is converted into a sale or expires.
+   */
+  HELD,
   
   /**
    * Seat has been sold and is no longer available.
@@ -0,0 +1,22 @@
+package dev.genesshoan.cinema_rest_api.entity;
+
+/**
+ * Enum describing how the seats of a {@link Showtime} are stored.
+ *
+ * - EAGER: one row per seat is written to the {@code seats} table when the
+ *   showtime is created.
+ * - LAZY: no seat row is written up front; the seat map is derived from the
+ *   grid stored on the showtime and a seat row is only written when the seat
+ *   is sold. Seat ids are derived from the grid position, see
+ *   {@link LazySeatIds}.
+ * - GENERAL_ADMISSION: unassigned seating; no seat row is ever written. Sales
+ *   claim a quantity against the capacity of the showtime, tracked by its
+ *   sold seat counter, and tickets have no seat.
+ *
+ * These values are persisted as strings in the database.
+ */
+public enum SeatingMode {
+  EAGER,
+  LAZY,
+  GENERAL_ADMISSION
+}
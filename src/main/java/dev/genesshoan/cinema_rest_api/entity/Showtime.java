@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -13,6 +15,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -40,6 +43,21 @@ import lombok.Setter;
  * </ul>
  *
  * <p>
+ * Indexes: {@code (movie_id, start_date_time)} and
+ * {@code (status, start_date_time)}, which together with the unique
+ * constraint on {@code (room_id, start_date_time)} serve the showtime search
+ * whichever filter is given alongside the day.
+ * </p>
+ *
+ * <p>
+ * Seat counters ({@code capacity} and {@code sold_seats}) are maintained
+ * incrementally with atomic updates when seats are sold or released, so
+ * occupancy can be read without touching the {@code seats} table. Updates of
+ * the entity itself only write the changed columns, so they never overwrite
+ * a concurrent counter update.
+ * </p>
+ *
+ * <p>
  * Relationships:
  * <ul>
  * <li>Many-to-One with {@link Movie}: Each showtime displays exactly one movie</li>
@@ -56,7 +74,11 @@ import lombok.Setter;
 @Entity
 @Table(name = "showtimes", uniqueConstraints = {
     @UniqueConstraint(name = "uk_showtimes_room_start_time", columnNames = { "room_id", "start_date_time" })
+}, indexes = {
+    @Index(name = "idx_showtimes_movie_start_time", columnList = "movie_id, start_date_time"),
+    @Index(name = "idx_showtimes_status_start_time", columnList = "status, start_date_time")
 })
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -103,6 +125,62 @@ public class Showtime {
   @Column(nullable = false)
   ShowtimeStatus status;
 
+  /**
+   * How the seats of this showtime are stored.
+   *
+   * @see SeatingMode
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "seating_mode", nullable = false)
+  private SeatingMode seatingMode = SeatingMode.EAGER;
+
+  /**
+   * Number of seat rows of this showtime, copied from the room at creation.
+   *
+   * Only set for {@link SeatingMode#LAZY} showtimes, whose seat map is derived
+   * from this grid rather than from seat rows.
+   */
+  @Column(name = "seat_rows")
+  private Integer seatRows;
+
+  /**
+   * Number of seats per row of this showtime, copied from the room at
+   * creation.
+   *
+   * Only set for {@link SeatingMode#LAZY} showtimes.
+   */
+  @Column(name = "seats_per_row")
+  private Integer seatsPerRow;
+
+  /**
+   * Total number of seats of this showtime, set at creation.
+   *
+   * For {@link SeatingMode#GENERAL_ADMISSION} showtimes this is the number of
+   * tickets that can be sold, taken from the room.
+   */
+  @Column(nullable = false)
+  private int capacity;
+
+  /**
+   * Number of seats of this showtime currently sold.
+   *
+   * Maintained with atomic increments by ticket sales and cancellations; see
+   * {@code ShowtimeRepository#addSoldSeats}. General admission sales claim
+   * their quantity with a conditional increment bounded by the capacity; see
+   * {@code ShowtimeRepository#claimGeneralAdmission}.
+   */
+  @Column(name = "sold_seats", nullable = false)
+  private int soldSeats;
+
+  /**
+   * Returns the percentage of seats of this showtime that are sold.
+   *
+   * @return the occupancy percentage (0.0 to 100.0)
+   */
+  public double getOccupancyPercentage() {
+    return capacity == 0 ? 0.0 : (soldSeats * 100.0) / capacity;
+  }
+
   /**
    * Movie associated with this showtime.
    *
@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -26,6 +27,7 @@ import lombok.Setter;
  * A ticket represents a customer's reservation or purchase of a specific seat
  * for a showtime. Each ticket is associated with exactly one seat and contains
  * information about the purchase date, price, customer name, and ticket status.
+ * Tickets of general admission showtimes have no seat.
  * </p>
  *
  * <p>
@@ -43,7 +45,9 @@ import lombok.Setter;
  * <p>
  * Relationships:
  * <ul>
- * <li>Many-to-One with {@link Seat}: Each ticket is for exactly one seat</li>
+ * <li>Many-to-One with {@link Showtime}: Each ticket is for exactly one
+ * showtime</li>
+ * <li>Many-to-One with {@link Seat}: Each ticket is for at most one seat</li>
  * </ul>
  * </p>
  *
@@ -63,10 +67,12 @@ public class Ticket {
   /**
    * The unique identifier for this ticket.
    *
-   * Generated automatically by the database using an identity strategy.
+   * Drawn from the {@code tickets_seq} sequence with a pooled optimizer, so
+   * Hibernate reserves ids in blocks and can batch ticket inserts.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+  @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
   private Long id;
 
   /**
@@ -114,19 +120,33 @@ public class Ticket {
   @Column(nullable = false)
   private TicketStatus status;
 
+  /**
+   * The showtime this ticket was sold for.
+   *
+   * <p>
+   * This is the owning side of the relationship. The foreign key
+   * {@code showtime_id} is stored in the {@code tickets} table, so a ticket
+   * can be traced to its showtime without going through a seat.
+   * </p>
+   */
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
+  @JoinColumn(name = "showtime_id", nullable = false)
+  private Showtime showtime;
+
   /**
    * The seat associated with this ticket.
    *
    * <p>
    * This is the owning side of the relationship. The foreign key
    * {@code seat_id} is stored in the {@code tickets} table.
-   * This relationship is mandatory - every ticket must be for exactly one seat.
+   * Every ticket of a seated showtime is for exactly one seat; tickets of
+   * {@link SeatingMode#GENERAL_ADMISSION} showtimes have none.
    * </p>
    *
    * @see Seat#tickets
    */
-  @ManyToOne(optional = false, fetch = FetchType.LAZY)
-  @JoinColumn(name = "seat_id", nullable = false)
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "seat_id")
   private Seat seat;
 
   /**
@@ -134,12 +154,16 @@ public class Ticket {
    * before the entity is persisted to the database.
    *
    * <p>
-   * Automatically invoked by JPA before the ticket is first saved.
+   * Automatically invoked by JPA before the ticket is first saved. A purchase
+   * date set beforehand, as for sales replayed from the sale journal, is
+   * kept.
    * </p>
    */
   @PrePersist
   protected void onCreate() {
-    purcharse = LocalDateTime.now();
+    if (purcharse == null) {
+      purcharse = LocalDateTime.now();
+    }
   }
 
   @Override
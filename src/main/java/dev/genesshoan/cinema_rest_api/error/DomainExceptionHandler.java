@@ -3,17 +3,21 @@ package dev.genesshoan.cinema_rest_api.error;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import dev.genesshoan.cinema_rest_api.exception.AdmissionRequiredException;
 import dev.genesshoan.cinema_rest_api.exception.IllegalStatusException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceAlreadyExistsException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
 import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
+import dev.genesshoan.cinema_rest_api.exception.LockConflictException;
 import dev.genesshoan.cinema_rest_api.exception.OverlapingShowtimesException;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceInUseException;
 import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -189,6 +193,35 @@ public class DomainExceptionHandler {
     return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
   }
 
+  /**
+   * Handle requests that found a row they need locked by another request.
+   *
+   * This occurs when:
+   * - Two buyers go for the same seats on different instances and the seat
+   *   lock wait policy is NOWAIT or SKIP_LOCKED
+   * - A ticket is cancelled or consumed while another request changes it
+   * - A WAIT policy timed out
+   *
+   * Returns HTTP 409 (Conflict) right away instead of holding a request thread
+   * and a connection until the lock is released. The request was rolled
+   * back, so the client may retry it.
+   */
+  @ExceptionHandler(LockConflictException.class)
+  public ResponseEntity<ProblemDetail> handleLockConflict(
+      LockConflictException ex,
+      HttpServletRequest request) {
+    log.info("Lock conflict: {} {} -> {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+
+    ProblemDetail problemDetail = ProblemDetailUtils.errorResponse(
+        HttpStatus.CONFLICT,
+        "Lock conflict",
+        ex.getMessage(),
+        null,
+        request);
+
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
+  }
+
   /**
    * Handle attempts to perform operations on entities that are in an invalid
    * or inappropriate status.
@@ -218,4 +251,59 @@ public class DomainExceptionHandler {
     return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(problemDetail);
   }
 
+  /**
+   * Handle requests rejected because the queue that would serve them is full.
+   *
+   * This occurs when a showtime already has the maximum number of pending
+   * sales, cancellations and holds, typically during an on-sale rush. The
+   * request was not started, so the client may retry it.
+   *
+   * Returns HTTP 503 (Service Unavailable) with a {@code Retry-After} header.
+   */
+  @ExceptionHandler(QueueFullException.class)
+  public ResponseEntity<ProblemDetail> handleQueueFull(
+      QueueFullException ex,
+      HttpServletRequest request) {
+    log.warn("Queue full: {} {} -> {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+
+    ProblemDetail problemDetail = ProblemDetailUtils.errorResponse(
+        HttpStatus.SERVICE_UNAVAILABLE,
+        "Queue full",
+        ex.getMessage(),
+        null,
+        request);
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(problemDetail);
+  }
+
+  /**
+   * Handle sales and holds rejected because their showtime is queueing
+   * buyers.
+   *
+   * This occurs when demand for a showtime is above its threshold and the
+   * request carries no admitted admission token. The request was not
+   * started; the client should join the waiting room.
+   *
+   * Returns HTTP 429 (Too Many Requests) with a {@code Retry-After} header.
+   */
+  @ExceptionHandler(AdmissionRequiredException.class)
+  public ResponseEntity<ProblemDetail> handleAdmissionRequired(
+      AdmissionRequiredException ex,
+      HttpServletRequest request) {
+    log.debug("Admission required: {} {} -> {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+
+    ProblemDetail problemDetail = ProblemDetailUtils.errorResponse(
+        HttpStatus.TOO_MANY_REQUESTS,
+        "Admission required",
+        ex.getMessage(),
+        null,
+        request);
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(problemDetail);
+  }
+
 }
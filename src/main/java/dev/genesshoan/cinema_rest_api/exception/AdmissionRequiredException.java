@@ -0,0 +1,29 @@
+package dev.genesshoan.cinema_rest_api.exception;
+
+/**
+ * Thrown when a sale or hold is attempted for a showtime that is queueing
+ * buyers without an admitted admission token.
+ *
+ * <p>
+ * Raised by the waiting room while demand for a showtime is above its
+ * threshold. The request was not started; the client should join the
+ * waiting room and retry once its token is admitted.
+ * </p>
+ *
+ * <p>
+ * The API maps this exception to HTTP 429 (Too Many Requests) with a
+ * {@code Retry-After} header.
+ * </p>
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.AdmissionService
+ */
+public class AdmissionRequiredException extends RuntimeException {
+  /**
+   * Creates a new AdmissionRequiredException with a descriptive message.
+   *
+   * @param message a human-readable explanation of how to get admitted
+   */
+  public AdmissionRequiredException(String message) {
+    super(message);
+  }
+}
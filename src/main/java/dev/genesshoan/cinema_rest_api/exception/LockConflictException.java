@@ -0,0 +1,31 @@
+package dev.genesshoan.cinema_rest_api.exception;
+
+/**
+ * Thrown when a row needed by a request is locked by another transaction and
+ * the configured lock wait policy does not wait for it.
+ *
+ * <p>
+ * Raised by the locking reads of sales, cancellations and consumptions when
+ * the lock wait policy is {@code NOWAIT}, when a {@code WAIT} times out, and
+ * when {@code SKIP_LOCKED} skipped the only row requested. The request was
+ * rolled back, so it is safe to retry.
+ * </p>
+ *
+ * <p>
+ * The API maps this exception to HTTP 409 (Conflict).
+ * </p>
+ *
+ * @see dev.genesshoan.cinema_rest_api.repository.RowLockPolicy
+ */
+public class LockConflictException extends RuntimeException {
+  /**
+   * Creates a new LockConflictException with a descriptive message.
+   *
+   * @param message a human-readable explanation of which rows are locked
+   * @param cause   the lock failure reported by the persistence provider, or
+   *                {@code null}
+   */
+  public LockConflictException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,32 @@
+package dev.genesshoan.cinema_rest_api.exception;
+
+/**
+ * Thrown when a request cannot be queued because the queue serving it is
+ * full.
+ *
+ * <p>
+ * Raised by the per-showtime sale sequencer when a showtime already has the
+ * maximum number of pending sales, cancellations and holds, and by the
+ * concurrency limiters when no permit became free in time. The request was
+ * not started, so it is safe to retry after a short delay.
+ * </p>
+ *
+ * <p>
+ * The API maps this exception to HTTP 503 (Service Unavailable) with a
+ * {@code Retry-After} header.
+ * </p>
+ *
+ * @see dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer
+ * @see dev.genesshoan.cinema_rest_api.service.JdbcPermitLimiter
+ * @see dev.genesshoan.cinema_rest_api.service.ShowtimeSalePermits
+ */
+public class QueueFullException extends RuntimeException {
+  /**
+   * Creates a new QueueFullException with a descriptive message.
+   *
+   * @param message a human-readable explanation of which queue is full
+   */
+  public QueueFullException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,160 @@
+package dev.genesshoan.cinema_rest_api.mapper;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatGridDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapRunLengthDTO;
+
+/**
+ * Encoder producing compact representations of a seat map.
+ *
+ * <p>
+ * Supported encodings:
+ * <ul>
+ * <li>Run-length JSON rows ({@link SeatMapRunLengthDTO})</li>
+ * <li>Bit-packed binary, 2 bits per seat, described below</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Binary layout (big-endian):
+ * <ul>
+ * <li>2 bytes: magic {@code 'S' 'M'}</li>
+ * <li>1 byte: format version, currently {@value #BINARY_FORMAT_VERSION}</li>
+ * <li>8 bytes: showtime id</li>
+ * <li>8 bytes: seat map version</li>
+ * <li>2 bytes: number of rows (unsigned)</li>
+ * <li>2 bytes: seats per row (unsigned)</li>
+ * <li>{@code ceil(rows * seatsPerRow / 4)} bytes: seat codes in row-major
+ * order, four per byte starting at the most significant bits; {@code 0} no
+ * seat, {@code 1} available, {@code 2} sold, {@code 3} held</li>
+ * </ul>
+ * </p>
+ *
+ * @see SeatGridDTO
+ */
+@Component
+public class SeatMapEncoder {
+  /**
+   * Version of the binary layout written by {@link #toBinary(SeatGridDTO)}.
+   */
+  public static final int BINARY_FORMAT_VERSION = 1;
+
+  /**
+   * Size in bytes of the binary header.
+   */
+  public static final int BINARY_HEADER_BYTES = 23;
+
+  /**
+   * Largest number of rows and seats per row the binary header can hold.
+   */
+  public static final int MAX_BINARY_DIMENSION = 0xFFFF;
+
+  private static final int NO_SEAT = 0;
+  private static final int AVAILABLE = 1;
+  private static final int SOLD = 2;
+  private static final int HELD = 3;
+
+  private static final char[] RUN_LETTERS = { 'X', 'A', 'S', 'H' };
+
+  /**
+   * Encodes a seat grid as run-length rows.
+   *
+   * @param grid the seat grid to encode (must be non-null)
+   * @return the run-length representation of the seat map
+   */
+  public SeatMapRunLengthDTO toRunLength(SeatGridDTO grid) {
+    List<String> rows = new ArrayList<>(grid.rows());
+    StringBuilder runs = new StringBuilder();
+
+    for (int row = 1; row <= grid.rows(); row++) {
+      runs.setLength(0);
+
+      int current = code(grid, row, 1);
+      int length = 0;
+
+      for (int seat = 1; seat <= grid.seatsPerRow(); seat++) {
+        int next = code(grid, row, seat);
+
+        if (next != current) {
+          runs.append(RUN_LETTERS[current]).append(length);
+          current = next;
+          length = 0;
+        }
+
+        length++;
+      }
+
+      runs.append(RUN_LETTERS[current]).append(length);
+      rows.add(runs.toString());
+    }
+
+    return new SeatMapRunLengthDTO(
+        grid.showtimeId(),
+        grid.seatsPerRow(),
+        rows,
+        grid.occupancyPercentage(),
+        grid.version());
+  }
+
+  /**
+   * Encodes a seat grid in the bit-packed binary layout.
+   *
+   * @param grid the seat grid to encode (must be non-null)
+   * @return the encoded seat map
+   * @throws IllegalArgumentException if a dimension of the grid exceeds
+   *                                  {@link #MAX_BINARY_DIMENSION}
+   */
+  public byte[] toBinary(SeatGridDTO grid) {
+    if (grid.rows() > MAX_BINARY_DIMENSION || grid.seatsPerRow() > MAX_BINARY_DIMENSION) {
+      throw new IllegalArgumentException("A seat grid of " + grid.rows() + " x " + grid.seatsPerRow()
+          + " does not fit the binary seat map header");
+    }
+
+    long seats = (long) grid.rows() * grid.seatsPerRow();
+    ByteBuffer buffer = ByteBuffer.allocate(BINARY_HEADER_BYTES + (int) ((seats + 3) / 4));
+
+    buffer.put((byte) 'S').put((byte) 'M').put((byte) BINARY_FORMAT_VERSION);
+    buffer.putLong(grid.showtimeId());
+    buffer.putLong(grid.version());
+    buffer.putShort((short) grid.rows());
+    buffer.putShort((short) grid.seatsPerRow());
+
+    int packed = 0;
+    int count = 0;
+
+    for (int row = 1; row <= grid.rows(); row++) {
+      for (int seat = 1; seat <= grid.seatsPerRow(); seat++) {
+        packed = (packed << 2) | code(grid, row, seat);
+
+        if (++count == 4) {
+          buffer.put((byte) packed);
+          packed = 0;
+          count = 0;
+        }
+      }
+    }
+
+    if (count > 0) {
+      buffer.put((byte) (packed << (2 * (4 - count))));
+    }
+
+    return buffer.array();
+  }
+
+  private static int code(SeatGridDTO grid, int row, int seat) {
+    if (seat > grid.seatsPerRow() || !grid.isPresent(row, seat)) {
+      return NO_SEAT;
+    }
+
+    if (grid.isHeld(row, seat)) {
+      return HELD;
+    }
+
+    return grid.isTaken(row, seat) ? SOLD : AVAILABLE;
+  }
+}
@@ -4,7 +4,9 @@ import org.springframework.stereotype.Component;
 
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeResponseDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
 import dev.genesshoan.cinema_rest_api.entity.Showtime;
+import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
 
 /**
  * Simple mapper converting between {@link Showtime} entity and its DTOs.
@@ -25,13 +27,19 @@ public class ShowtimeMapper {
         showtime.getBasePrice(),
         showtime.getStatus(),
         showtime.getRoom().getName(),
-        showtime.getMovie().getTitle());
+        showtime.getMovie().getTitle(),
+        showtime.getCapacity(),
+        showtime.getSoldSeats(),
+        showtime.getOccupancyPercentage(),
+        showtime.getSeatingMode() == SeatingMode.GENERAL_ADMISSION);
   }
 
   public Showtime toEntity(ShowtimeCreateDTO showtimeCreateDTO) {
     Showtime showtime = new Showtime();
     showtime.setStartTime(showtimeCreateDTO.startTime());
     showtime.setEndTime(showtimeCreateDTO.endTime());
+    showtime.setBasePrice(showtimeCreateDTO.basePrice());
+    showtime.setStatus(ShowtimeStatus.SCHEDULED);
     return showtime;
   }
 }
@@ -0,0 +1,141 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Estimates the totals of offset-paged lists requested with
+ * {@link CountMode#ESTIMATED}.
+ *
+ * <p>
+ * On PostgreSQL the estimate is the row count the planner expects for the
+ * list's filters, read from {@code EXPLAIN}: it comes from the table
+ * statistics kept by {@code ANALYZE}, so no row is counted. Other databases
+ * have no such statistics; there the exact count is taken once and reused
+ * for {@code cinema.counts.estimate-ttl-seconds} by every request with the
+ * same filters. A plan whose row estimate cannot be read falls back to the
+ * same cached exact count. At most {@code cinema.counts.cache-size} counts
+ * are cached; the least recently used one is dropped first.
+ * </p>
+ */
+@Component
+public class CountEstimator {
+  private static final Logger log = LoggerFactory.getLogger(CountEstimator.class);
+  private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${cinema.counts.estimate-ttl-seconds:60}")
+  private long ttlSeconds;
+
+  @Value("${cinema.counts.cache-size:10000}")
+  private int cacheSize;
+
+  private final Map<Estimate, CachedCount> cache = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Estimate, CachedCount> eldest) {
+      return size() > cacheSize;
+    }
+  };
+
+  private volatile Boolean plannerEstimates;
+
+  /**
+   * The filtered rows of a list, as a native {@code SELECT 1 FROM ... WHERE ...}
+   * statement with positional parameters, for the planner to estimate.
+   *
+   * @param sql    the statement
+   * @param params the values of its parameters, in order
+   */
+  public record Estimate(String sql, List<Object> params) {
+  }
+
+  /**
+   * Estimates the number of rows matching a list's filters.
+   *
+   * @param estimate   the filtered rows
+   * @param exactCount counts the rows exactly, used where the database has no
+   *                   planner statistics
+   * @return the estimated number of rows
+   */
+  public long estimate(Estimate estimate, LongSupplier exactCount) {
+    if (usesPlannerEstimates()) {
+      OptionalLong planned = plannerEstimate(estimate);
+
+      if (planned.isPresent()) {
+        return planned.getAsLong();
+      }
+    }
+
+    long now = System.nanoTime();
+    CachedCount cached;
+
+    synchronized (cache) {
+      cached = cache.get(estimate);
+    }
+
+    if (cached != null && now - cached.expiresAt() < 0) {
+      return cached.count();
+    }
+
+    long count = exactCount.getAsLong();
+
+    synchronized (cache) {
+      cache.put(estimate, new CachedCount(count, now + ttlSeconds * 1_000_000_000L));
+    }
+
+    return count;
+  }
+
+  private OptionalLong plannerEstimate(Estimate estimate) {
+    Query query = entityManager.createNativeQuery("EXPLAIN (FORMAT JSON) " + estimate.sql());
+
+    for (int i = 0; i < estimate.params().size(); i++) {
+      query.setParameter(i + 1, estimate.params().get(i));
+    }
+
+    Matcher matcher = PLAN_ROWS.matcher(String.valueOf(query.getSingleResult()));
+
+    if (!matcher.find()) {
+      log.warn("No row estimate in the plan of {}, counting instead", estimate.sql());
+      return OptionalLong.empty();
+    }
+
+    return OptionalLong.of(Long.parseLong(matcher.group(1)));
+  }
+
+  private boolean usesPlannerEstimates() {
+    Boolean supported = plannerEstimates;
+
+    if (supported == null) {
+      supported = entityManager.getEntityManagerFactory()
+          .unwrap(SessionFactoryImplementor.class)
+          .getJdbcServices()
+          .getDialect() instanceof PostgreSQLDialect;
+      plannerEstimates = supported;
+    }
+
+    return supported;
+  }
+
+  private record CachedCount(long count, long expiresAt) {
+  }
+}
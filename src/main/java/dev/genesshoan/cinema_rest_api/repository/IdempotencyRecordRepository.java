@@ -0,0 +1,26 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.genesshoan.cinema_rest_api.entity.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+  /**
+   * Deletes the records completed before a point in time.
+   *
+   * @param cutoff the oldest completion time to keep
+   * @return the number of deleted records
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+  int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
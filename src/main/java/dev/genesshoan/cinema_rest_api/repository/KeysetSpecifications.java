@@ -0,0 +1,39 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Path;
+
+/**
+ * Keyset pagination criteria shared by the entity specifications.
+ */
+final class KeysetSpecifications {
+  private KeysetSpecifications() {
+  }
+
+  /**
+   * Matches the rows sorted after {@code (value, id)} by {@code key}, then
+   * ID.
+   *
+   * <p>
+   * JPA criteria cannot compare row values, so {@code (key, id) > (value, id)}
+   * is written as {@code key >= value AND (key > value OR id > id)}; the
+   * leading bound lets the database seek an index on the sort key instead of
+   * filtering every row.
+   * </p>
+   *
+   * @param key   the sort key attribute
+   * @param value the sort key of the last row read
+   * @param id    the ID of the last row read
+   * @return the keyset predicate
+   */
+  static <T, K extends Comparable<? super K>> Specification<T> after(String key, K value, long id) {
+    return (root, query, cb) -> {
+      Path<K> path = root.get(key);
+
+      return cb.and(
+          cb.greaterThanOrEqualTo(path, value),
+          cb.or(cb.greaterThan(path, value), cb.greaterThan(root.get("id"), id)));
+    };
+  }
+}
@@ -0,0 +1,19 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+/**
+ * Enum describing what a locking read does when a row it wants to lock is
+ * already locked by another transaction.
+ *
+ * - WAIT: wait for the lock, but at most the configured lock timeout; a
+ *   timeout of {@code -1} waits until the lock is released.
+ * - NOWAIT: fail immediately ({@code FOR UPDATE NOWAIT}).
+ * - SKIP_LOCKED: leave the locked rows out of the result
+ *   ({@code FOR UPDATE SKIP LOCKED}), so the caller sees them as missing.
+ *
+ * @see RowLockPolicy
+ */
+public enum LockWaitPolicy {
+  WAIT,
+  NOWAIT,
+  SKIP_LOCKED
+}
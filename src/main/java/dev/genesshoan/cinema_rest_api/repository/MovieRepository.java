@@ -4,9 +4,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -22,7 +27,7 @@ import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
  * @see Movie
  * @since 1.0.0
  */
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie> {
   /**
    * Checks if a movie with the given title and release date exists.
    * 
@@ -38,7 +43,7 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
   /**
    * Searches for movies by title and/or genre with partial matching.
    * 
-   * This query uses case-insensitive LIKE matching for both parameters.
+   * The search uses case-insensitive LIKE matching for both parameters.
    * If a parameter is null, it is ignored in the search criteria.
    * Only active movies are returned.
    *
@@ -54,22 +59,60 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
    * </ul>
    * </p>
    * 
+   * <p>
+   * Only the supplied filters become predicates (see
+   * {@link MovieSpecifications}).
+   * </p>
+   *
    * @param title    optional title search term (case-insensitive, partial match)
    * @param genre    optional genre search term (case-insensitive, partial match)
    * @param pageable pagination and sorting parameters
    * @return a page of active movies matching the search criteria
    */
-  @Query("""
-        SELECT m
-        FROM Movie m
-        WHERE m.active = true
-          AND (:title IS NULL OR LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')))
-          AND (:genre IS NULL OR LOWER(m.genre) LIKE LOWER(CONCAT('%', :genre, '%')))
-      """)
-  public Page<Movie> search(
-      @Param("title") String title,
-      @Param("genre") String genre,
-      Pageable pageable);
+  public default Page<Movie> search(String title, String genre, Pageable pageable) {
+    return findAll(MovieSpecifications.search(title, genre), pageable);
+  }
+
+  /**
+   * Same search as {@link #search(String, String, Pageable)}, without the
+   * count query: one more row than the page size is read to tell whether a
+   * next page exists.
+   *
+   * @param title    optional title search term
+   * @param genre    optional genre search term
+   * @param pageable pagination and sorting parameters
+   * @return a slice of active movies matching the search criteria
+   */
+  public default Slice<Movie> searchSlice(String title, String genre, Pageable pageable) {
+    return findBy(MovieSpecifications.search(title, genre), query -> query.slice(pageable));
+  }
+
+  /**
+   * Reads a keyset page of a movie search, sorted by title then ID.
+   *
+   * Only the rows after the given position are read and no count is run.
+   *
+   * @param title      optional title search term
+   * @param genre      optional genre search term
+   * @param afterTitle the title of the last movie read, or {@code null} for
+   *                   the first page
+   * @param afterId    the ID of the last movie read, ignored for the first
+   *                   page
+   * @param limit      the maximum number of movies to read
+   * @return the active movies matching the search after the given position
+   */
+  public default List<Movie> scroll(String title, String genre, String afterTitle, long afterId, int limit) {
+    Specification<Movie> spec = MovieSpecifications.search(title, genre);
+
+    if (afterTitle != null) {
+      spec = spec.and(MovieSpecifications.after(afterTitle, afterId));
+    }
+
+    return findBy(spec, query -> query
+        .sortBy(Sort.by("title", "id"))
+        .limit(limit)
+        .all());
+  }
 
   /**
    * Finds all active movie IDs that have at least one showtime matching the given status
@@ -100,6 +143,40 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
       @Param("status") ShowtimeStatus status,
       Pageable pageable);
 
+  /**
+   * Finds the IDs of active movies that have at least one showtime matching
+   * the given status and starting at or after the given date-time, after the
+   * given movie ID.
+   *
+   * <p>
+   * Keyset variant of
+   * {@link #findMovieIdsWithShowtimes(LocalDateTime, ShowtimeStatus, Pageable)}:
+   * the IDs are both the sort key and the position, so a page is read with
+   * {@code m.id > :after_id} and no count.
+   * </p>
+   *
+   * @param from    the base date-time to filter showtimes
+   * @param status  the status of the showtimes to filter
+   * @param afterId the last movie ID read, {@code 0} for the first page
+   * @param limit   the maximum number of IDs to read
+   * @return the matching movie IDs in ascending order
+   */
+  @Query("""
+        SELECT DISTINCT m.id
+        FROM Movie m
+        JOIN m.showtimes s
+        WHERE m.active = true
+          AND s.startTime >= :from
+          AND s.status = :status
+          AND m.id > :after_id
+        ORDER BY m.id
+      """)
+  public List<Long> findMovieIdsWithShowtimesAfter(
+      @Param("from") LocalDateTime from,
+      @Param("status") ShowtimeStatus status,
+      @Param("after_id") long afterId,
+      Limit limit);
+
   /**
    * Finds full active Movie entities for the given list of movie IDs and fetches
    * all their showtimes in a single query.
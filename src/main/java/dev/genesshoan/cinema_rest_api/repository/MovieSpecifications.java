@@ -0,0 +1,94 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import dev.genesshoan.cinema_rest_api.entity.Movie;
+
+/**
+ * Query criteria for {@link Movie} searches.
+ *
+ * <p>
+ * {@link #search} combines only the filters that were supplied, so a search
+ * without a title or genre does not carry a {@code :x IS NULL OR ...}
+ * predicate for it.
+ * </p>
+ *
+ * @see MovieRepository#search
+ */
+public final class MovieSpecifications {
+  private MovieSpecifications() {
+  }
+
+  /**
+   * Builds the criteria of a movie search. Only active movies match.
+   *
+   * @param title optional title search term (case-insensitive, partial match)
+   * @param genre optional genre search term (case-insensitive, partial match)
+   * @return the conjunction of the supplied filters
+   */
+  public static Specification<Movie> search(String title, String genre) {
+    List<Specification<Movie>> filters = new ArrayList<>();
+    filters.add(isActive());
+
+    if (title != null) {
+      filters.add(titleContains(title));
+    }
+
+    if (genre != null) {
+      filters.add(genreContains(genre));
+    }
+
+    return Specification.allOf(filters);
+  }
+
+  /**
+   * Builds the rows of a movie search as native SQL, for
+   * {@link CountEstimator} to estimate their number. Takes the same filters
+   * as {@link #search}.
+   *
+   * @return the filtered rows of the {@code movies} table
+   */
+  public static CountEstimator.Estimate estimate(String title, String genre) {
+    StringBuilder sql = new StringBuilder("SELECT 1 FROM movies WHERE active = true");
+    List<Object> params = new ArrayList<>();
+
+    if (title != null) {
+      sql.append(" AND LOWER(title) LIKE ?");
+      params.add(contains(title));
+    }
+
+    if (genre != null) {
+      sql.append(" AND LOWER(genre) LIKE ?");
+      params.add(contains(genre));
+    }
+
+    return new CountEstimator.Estimate(sql.toString(), List.copyOf(params));
+  }
+
+  public static Specification<Movie> isActive() {
+    return (root, query, cb) -> cb.isTrue(root.get("active"));
+  }
+
+  public static Specification<Movie> titleContains(String title) {
+    return (root, query, cb) -> cb.like(cb.lower(root.get("title")), contains(title));
+  }
+
+  public static Specification<Movie> genreContains(String genre) {
+    return (root, query, cb) -> cb.like(cb.lower(root.get("genre")), contains(genre));
+  }
+
+  /**
+   * Matches the movies sorted after the given one by title, then ID.
+   */
+  public static Specification<Movie> after(String title, long id) {
+    return KeysetSpecifications.after("title", title, id);
+  }
+
+  private static String contains(String term) {
+    return "%" + term.toLowerCase(Locale.ROOT) + "%";
+  }
+}
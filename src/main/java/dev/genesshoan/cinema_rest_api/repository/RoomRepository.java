@@ -1,5 +1,10 @@
 package dev.genesshoan.cinema_rest_api.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -44,4 +49,51 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
           AND s.status = 'SCHEDULED'
       """)
   public boolean hasActiveShowtimes(@Param("roomId") Long roomId);
+
+  /**
+   * Reads a page of rooms without the count query: one more row than the
+   * page size is read to tell whether a next page exists.
+   *
+   * @param pageable pagination and sorting parameters
+   * @return a slice of rooms
+   */
+  public Slice<Room> findAllBy(Pageable pageable);
+
+  /**
+   * Describes all rows of the {@code rooms} table for
+   * {@link CountEstimator}.
+   *
+   * @return the rows of the {@code rooms} table
+   */
+  public default CountEstimator.Estimate estimateAll() {
+    return new CountEstimator.Estimate("SELECT 1 FROM rooms", List.of());
+  }
+
+  /**
+   * Reads the first keyset page of rooms, sorted by name then ID.
+   *
+   * @param limit the maximum number of rooms to read
+   * @return the first rooms in name order
+   */
+  public List<Room> findAllByOrderByNameAscIdAsc(Limit limit);
+
+  /**
+   * Reads a keyset page of rooms, sorted by name then ID, after the given
+   * room.
+   *
+   * Only the rows after the given position are read, seeking the room name
+   * index, and no count is run.
+   *
+   * @param name  the name of the last room read
+   * @param id    the ID of the last room read
+   * @param limit the maximum number of rooms to read
+   * @return the rooms after the given one in name order
+   */
+  @Query("""
+        SELECT r
+        FROM Room r
+        WHERE (r.name, r.id) > (:name, :id)
+        ORDER BY r.name, r.id
+      """)
+  public List<Room> findAfter(@Param("name") String name, @Param("id") long id, Limit limit);
 }
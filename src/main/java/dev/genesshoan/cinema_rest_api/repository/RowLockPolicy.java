@@ -0,0 +1,159 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.Timeouts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.genesshoan.cinema_rest_api.dto.metrics.LockStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.metrics.LockTargetStatsDTO;
+import dev.genesshoan.cinema_rest_api.exception.LockConflictException;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Lock wait policy of the locking reads on the sale, cancel and consume
+ * paths.
+ *
+ * <p>
+ * Seat locks (taken by the pessimistic seat claim of a sale) and ticket locks
+ * (taken by cancellations and consumptions) each have their own
+ * {@link LockWaitPolicy}, set with {@code cinema.locks.seats.wait-policy} and
+ * {@code cinema.locks.tickets.wait-policy}. {@code WAIT} is bounded by
+ * {@code cinema.locks.wait-timeout-ms}. The policy is passed to Hibernate as
+ * the lock timeout of the query, which renders it as {@code NOWAIT},
+ * {@code SKIP LOCKED} or a lock timeout for the configured database.
+ * </p>
+ *
+ * <p>
+ * A lock that cannot be acquired is reported as a
+ * {@link LockConflictException}, so contention turns into an immediate
+ * conflict instead of keeping a request thread and a connection waiting.
+ * How often each policy acquired, failed or skipped rows is counted for
+ * {@code /metrics/locks}.
+ * </p>
+ *
+ * @see SeatLockRepositoryImpl
+ * @see TicketLockRepositoryImpl
+ */
+@Component
+public class RowLockPolicy {
+  /**
+   * The rows a locking read is for.
+   */
+  public enum Target {
+    SEATS,
+    TICKETS
+  }
+
+  private final Counters seats = new Counters();
+  private final Counters tickets = new Counters();
+
+  @Value("${cinema.locks.seats.wait-policy:WAIT}")
+  private LockWaitPolicy seatPolicy;
+
+  @Value("${cinema.locks.tickets.wait-policy:WAIT}")
+  private LockWaitPolicy ticketPolicy;
+
+  @Value("${cinema.locks.wait-timeout-ms:2000}")
+  private int waitTimeoutMs;
+
+  /**
+   * Returns the wait policy configured for a target.
+   *
+   * @param target the rows to lock
+   * @return the wait policy
+   */
+  public LockWaitPolicy getPolicy(Target target) {
+    return target == Target.SEATS ? seatPolicy : ticketPolicy;
+  }
+
+  /**
+   * Makes a query take pessimistic write locks with the wait policy of a
+   * target.
+   *
+   * @param target the rows the query locks
+   * @param query  the query to lock with
+   * @param <T>    the result type
+   * @return the same query
+   */
+  public <T> TypedQuery<T> lock(Target target, TypedQuery<T> query) {
+    int timeout = switch (getPolicy(target)) {
+      case WAIT -> waitTimeoutMs < 0 ? Timeouts.WAIT_FOREVER_MILLI : Math.max(waitTimeoutMs, 1);
+      case NOWAIT -> Timeouts.NO_WAIT_MILLI;
+      case SKIP_LOCKED -> Timeouts.SKIP_LOCKED_MILLI;
+    };
+
+    return query
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .setHint("jakarta.persistence.lock.timeout", timeout);
+  }
+
+  /**
+   * Records a locking read that returned.
+   *
+   * @param target  the rows that were locked
+   * @param matched the number of rows matching the read whatever their lock
+   *                state, so that rows filtered out for another reason are
+   *                not counted as skipped
+   * @param locked  the number of rows locked and returned
+   */
+  public void onLocked(Target target, int matched, int locked) {
+    Counters counters = counters(target);
+
+    counters.acquired.increment();
+
+    if (locked < matched && getPolicy(target) == LockWaitPolicy.SKIP_LOCKED) {
+      counters.skipped.increment();
+    }
+  }
+
+  /**
+   * Records a locking read that found a row locked and returns the exception
+   * to report it with.
+   *
+   * @param target the rows that could not be locked
+   * @param cause  the lock failure reported by the persistence provider, or
+   *               {@code null} if locked rows were skipped
+   * @return the exception to throw
+   */
+  public LockConflictException onConflict(Target target, RuntimeException cause) {
+    Counters counters = counters(target);
+
+    if (cause == null) {
+      counters.skipped.increment();
+    } else {
+      counters.conflicts.increment();
+    }
+
+    String rows = target == Target.SEATS ? "seats are" : "ticket is";
+    return new LockConflictException("The requested " + rows + " being changed by another request", cause);
+  }
+
+  /**
+   * Returns the policies and lock figures of every target.
+   *
+   * @return the current lock statistics
+   */
+  public LockStatsDTO getStats() {
+    return new LockStatsDTO(
+        waitTimeoutMs,
+        seats.toDto(seatPolicy),
+        tickets.toDto(ticketPolicy));
+  }
+
+  private Counters counters(Target target) {
+    return target == Target.SEATS ? seats : tickets;
+  }
+
+  private static final class Counters {
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    private LockTargetStatsDTO toDto(LockWaitPolicy policy) {
+      return new LockTargetStatsDTO(policy, acquired.sum(), conflicts.sum(), skipped.sum());
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import dev.genesshoan.cinema_rest_api.entity.SaleJournalCheckpoint;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface SaleJournalCheckpointRepository extends JpaRepository<SaleJournalCheckpoint, String> {
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM SaleJournalCheckpoint c WHERE c.name = :name")
+  Optional<SaleJournalCheckpoint> findByNameForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,68 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.List;
+
+import dev.genesshoan.cinema_rest_api.entity.LazySeatIds;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
+
+/**
+ * Custom repository fragment for seat generation outside of the entity
+ * lifecycle.
+ *
+ * <p>
+ * Mixed into {@link SeatRepository}. Generating the seats of a showtime with
+ * a single {@code INSERT ... SELECT} is only possible on databases that can
+ * produce a row series; callers must check {@link #supportsSetBasedInsert()}
+ * and fall back to batched {@code saveAll} otherwise.
+ * </p>
+ *
+ * <p>
+ * Seats of lazily seated showtimes are written on first use with
+ * {@link #materialize(long, List)}.
+ * </p>
+ *
+ * @see SeatBulkRepositoryImpl
+ */
+public interface SeatBulkRepository {
+  /**
+   * Tells whether {@link #insertSeatGrid(long, int, int)} is available for the
+   * configured database.
+   *
+   * @return {@code true} if seats can be generated with a single statement
+   */
+  boolean supportsSetBasedInsert();
+
+  /**
+   * Inserts an AVAILABLE seat for every position of a
+   * {@code rows x seatsPerRow} grid of a showtime, in a single statement.
+   *
+   * @param showtimeId  the ID of the showtime the seats belong to
+   * @param rows        the number of rows of the room
+   * @param seatsPerRow the number of seats in each row
+   * @return the number of inserted seats
+   * @throws UnsupportedOperationException if
+   *                                       {@link #supportsSetBasedInsert()}
+   *                                       returns {@code false}
+   */
+  int insertSeatGrid(long showtimeId, int rows, int seatsPerRow);
+
+  /**
+   * Writes the seat rows of a {@link SeatingMode#LAZY} showtime that do not
+   * exist yet, as AVAILABLE.
+   *
+   * <p>
+   * Callers then change the status of the seats with the same conditional
+   * updates used for eagerly seated showtimes. Missing rows are inserted with
+   * the derived seat id as primary key, so a concurrent materialization of the
+   * same seat fails on the primary key constraint.
+   * </p>
+   *
+   * @param showtimeId the ID of the showtime the seats belong to
+   * @param seatIds    derived ids of the seats about to change status
+   * @return the number of inserted seat rows
+   * @throws IllegalArgumentException if a seat id is not a derived id of the
+   *                                  showtime
+   * @see LazySeatIds
+   */
+  int materialize(long showtimeId, List<Long> seatIds);
+}
@@ -0,0 +1,132 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import dev.genesshoan.cinema_rest_api.entity.LazySeatIds;
+import dev.genesshoan.cinema_rest_api.entity.Seat;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * {@link SeatBulkRepository} implementation.
+ *
+ * <p>
+ * On PostgreSQL the seat grid is generated server side from two
+ * {@code generate_series} calls, so creating the seats of a showtime costs
+ * one round trip regardless of the room size. Ids are drawn from
+ * {@code seats_seq}, the same sequence used by Hibernate, and interpreted the
+ * way its pooled optimizer does: each {@code nextval} result reserves the
+ * block of {@link Seat#ID_BLOCK_SIZE} ids ending at it, which no other caller
+ * can receive, so both paths can be used side by side. Other databases are
+ * not supported.
+ * </p>
+ *
+ * <p>
+ * A grid of {@code n} seats draws {@code ceil(n / ID_BLOCK_SIZE)} values and
+ * fills their blocks, so it uses up fewer than {@code n + ID_BLOCK_SIZE} ids.
+ * The sequence starts at {@link Seat#ID_BLOCK_SIZE}, so every value drawn,
+ * including the first, ends a whole block of positive ids.
+ * </p>
+ *
+ * <p>
+ * Lazily seated showtimes write one row per sold or held seat, keyed by the
+ * derived seat id; this works on every supported database.
+ * </p>
+ */
+public class SeatBulkRepositoryImpl implements SeatBulkRepository {
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private volatile Boolean setBasedInsert;
+
+  @Override
+  public boolean supportsSetBasedInsert() {
+    Boolean supported = setBasedInsert;
+
+    if (supported == null) {
+      supported = entityManager.getEntityManagerFactory()
+          .unwrap(SessionFactoryImplementor.class)
+          .getJdbcServices()
+          .getDialect() instanceof PostgreSQLDialect;
+      setBasedInsert = supported;
+    }
+
+    return supported;
+  }
+
+  @Override
+  public int insertSeatGrid(long showtimeId, int rows, int seatsPerRow) {
+    if (!supportsSetBasedInsert()) {
+      throw new UnsupportedOperationException("Set-based seat generation is not supported by this database");
+    }
+
+    int blocks = (int) (((long) rows * seatsPerRow + Seat.ID_BLOCK_SIZE - 1) / Seat.ID_BLOCK_SIZE);
+
+    return entityManager.createNativeQuery("""
+            WITH drawn AS (
+              SELECT nextval('seats_seq') AS hi
+              FROM generate_series(1, :blocks)
+            ),
+            blocks AS (
+              SELECT hi, row_number() OVER (ORDER BY hi) - 1 AS block
+              FROM drawn
+            ),
+            grid AS (
+              SELECT r, s, (r - 1) * :seatsPerRow + (s - 1) AS position
+              FROM generate_series(1, :rows) AS r
+              CROSS JOIN generate_series(1, :seatsPerRow) AS s
+            )
+            INSERT INTO seats (id, row_number, seat_number, status, version, showtime_id)
+            SELECT b.hi - :blockSize + 1 + g.position % :blockSize, g.r, g.s, 'AVAILABLE', 0, :showtimeId
+            FROM grid g
+            JOIN blocks b ON b.block = g.position / :blockSize
+        """)
+        .setParameter("showtimeId", showtimeId)
+        .setParameter("rows", rows)
+        .setParameter("seatsPerRow", seatsPerRow)
+        .setParameter("blocks", blocks)
+        .setParameter("blockSize", Seat.ID_BLOCK_SIZE)
+        .executeUpdate();
+  }
+
+  @Override
+  public int materialize(long showtimeId, List<Long> seatIds) {
+    for (Long seatId : seatIds) {
+      if (!LazySeatIds.isDerived(seatId) || LazySeatIds.showtimeId(seatId) != showtimeId) {
+        throw new IllegalArgumentException("Seat " + seatId + " does not belong to showtime " + showtimeId);
+      }
+    }
+
+    entityManager.flush();
+
+    Set<Long> existing = new HashSet<>(entityManager
+        .createQuery("SELECT s.id FROM Seat s WHERE s.id IN :ids", Long.class)
+        .setParameter("ids", seatIds)
+        .getResultList());
+
+    int inserted = 0;
+
+    for (Long seatId : seatIds) {
+      if (existing.contains(seatId)) {
+        continue;
+      }
+
+      inserted += entityManager.createNativeQuery("""
+              INSERT INTO seats (id, row_number, seat_number, status, version, showtime_id)
+              VALUES (:id, :rowNumber, :seatNumber, 'AVAILABLE', 0, :showtimeId)
+          """)
+          .setParameter("id", seatId)
+          .setParameter("rowNumber", LazySeatIds.rowNumber(seatId))
+          .setParameter("seatNumber", LazySeatIds.seatNumber(seatId))
+          .setParameter("showtimeId", showtimeId)
+          .executeUpdate();
+    }
+
+    return inserted;
+  }
+}
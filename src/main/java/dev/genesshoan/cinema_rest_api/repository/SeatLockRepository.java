@@ -0,0 +1,46 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.List;
+
+import dev.genesshoan.cinema_rest_api.entity.Seat;
+import dev.genesshoan.cinema_rest_api.exception.LockConflictException;
+
+/**
+ * Custom repository fragment for the seat locks taken by sales.
+ *
+ * <p>
+ * Mixed into {@link SeatRepository}. The lock wait policy is configurable at
+ * runtime, which a {@code @Lock} annotation cannot express, so the locking
+ * read is built here and configured by the {@link RowLockPolicy}.
+ * </p>
+ *
+ * @see SeatLockRepositoryImpl
+ */
+public interface SeatLockRepository {
+  /**
+   * Retrieves available seats by IDs with a pessimistic write lock.
+   *
+   * <p>
+   * This method acquires a database-level write lock on the matching seats
+   * to prevent concurrent modifications during ticket purchase transactions.
+   * The lock is held until the transaction commits or rolls back, ensuring
+   * that no other transaction can modify or lock these seats simultaneously.
+   * </p>
+   *
+   * <p>
+   * Seats locked by another transaction are handled according to the seat
+   * {@link LockWaitPolicy}: waited for up to the lock timeout, reported at
+   * once, or, with {@code SKIP_LOCKED}, left out of the result so that the
+   * caller sees them as unavailable.
+   * </p>
+   *
+   * @param showtimeId the ID of the showtime the seats must belong to
+   * @param ids        List of seat IDs to retrieve and lock
+   * @return List of available seats of the showtime matching the given IDs,
+   *         sorted by seat ID. Returns empty list if no seats match or all are
+   *         unavailable.
+   * @throws LockConflictException if a seat is locked and the policy does not
+   *                               wait for it, or the wait timed out
+   */
+  List<Seat> findAvailableByIdsForUpdate(Long showtimeId, List<Long> ids);
+}
@@ -0,0 +1,79 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.List;
+
+import dev.genesshoan.cinema_rest_api.entity.Seat;
+import dev.genesshoan.cinema_rest_api.repository.RowLockPolicy.Target;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link SeatLockRepository} implementation.
+ *
+ * <p>
+ * Seats are locked in seat id order, so concurrent sales of overlapping seats
+ * queue behind each other instead of deadlocking when the policy waits.
+ * </p>
+ *
+ * <p>
+ * When a {@code SKIP_LOCKED} read returns fewer seats than requested, the
+ * available seats are counted again without locking, so that only seats left
+ * out because they were locked are reported as skipped, not those already
+ * sold or held.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class SeatLockRepositoryImpl implements SeatLockRepository {
+  private final RowLockPolicy rowLockPolicy;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Seat> findAvailableByIdsForUpdate(Long showtimeId, List<Long> ids) {
+    List<Seat> seats;
+
+    try {
+      seats = rowLockPolicy.lock(Target.SEATS, entityManager.createQuery("""
+              SELECT s
+              FROM Seat s
+              WHERE s.id IN :ids
+                AND s.showtime.id = :showtimeId
+                AND s.status = 'AVAILABLE'
+              ORDER BY s.id
+          """, Seat.class))
+          .setParameter("ids", ids)
+          .setParameter("showtimeId", showtimeId)
+          .getResultList();
+    } catch (PessimisticLockException | LockTimeoutException e) {
+      throw rowLockPolicy.onConflict(Target.SEATS, e);
+    }
+
+    int matched = seats.size();
+
+    if (matched < ids.size() && rowLockPolicy.getPolicy(Target.SEATS) == LockWaitPolicy.SKIP_LOCKED) {
+      matched = countAvailable(showtimeId, ids);
+    }
+
+    rowLockPolicy.onLocked(Target.SEATS, matched, seats.size());
+
+    return seats;
+  }
+
+  private int countAvailable(Long showtimeId, List<Long> ids) {
+    return entityManager.createQuery("""
+            SELECT COUNT(s)
+            FROM Seat s
+            WHERE s.id IN :ids
+              AND s.showtime.id = :showtimeId
+              AND s.status = 'AVAILABLE'
+        """, Long.class)
+        .setParameter("ids", ids)
+        .setParameter("showtimeId", showtimeId)
+        .getSingleResult()
+        .intValue();
+  }
+}
@@ -1,15 +1,20 @@
 package dev.genesshoan.cinema_rest_api.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import dev.genesshoan.cinema_rest_api.dto.seat.HeldSeatDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatVersionDTO;
 import dev.genesshoan.cinema_rest_api.entity.Seat;
-import jakarta.persistence.LockModeType;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
 
 /**
  * Repository interface for {@link Seat} entity persistence operations.
@@ -19,19 +24,16 @@ import jakarta.persistence.LockModeType;
  * retrieval of seat maps for showtimes.
  * </p>
  * 
+ * <p>
+ * Set-based seat generation is provided by the {@link SeatBulkRepository}
+ * fragment, and the seat locks taken by sales by the
+ * {@link SeatLockRepository} fragment.
+ * </p>
+ * 
  * @see Seat
  */
 @Repository
-public interface SeatRepository extends JpaRepository<Seat, Long> {
-  /**
-   * Finds all seats for a given showtime ordered by row and seat number.
-   * 
-   * @param showtimeId The ID of the showtime
-   * @return List of seats sorted by row number (ascending) and seat number
-   *         (ascending)
-   */
-  List<Seat> findByIdOrderByRowNumberAscSeatNumberAsc(Long showtimeId);
-
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatBulkRepository, SeatLockRepository {
   /**
    * Counts the number of available seats matching the given IDs.
    * 
@@ -52,35 +54,202 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
   long countAvailableByIds(@Param("ids") List<Long> ids);
 
   /**
-   * Retrieves available seats by IDs with a pessimistic write lock.
-   * 
+   * Loads the status and version of the given seats.
+   *
    * <p>
-   * This method acquires a database-level write lock on the matching seats
-   * to prevent concurrent modifications during ticket purchase transactions.
-   * The lock is held until the transaction commits or rolls back, ensuring
-   * that no other transaction can modify or lock these seats simultaneously.
+   * Read without locks by the optimistic seat claim, which then updates each
+   * seat only if its version is unchanged.
    * </p>
-   * 
+   *
+   * @param showtimeId the ID of the showtime the seats must belong to
+   * @param ids        List of seat IDs to read
+   * @return the status and version of every seat of the showtime among the
+   *         given IDs, sorted by seat ID
+   */
+  @Query("""
+          SELECT new dev.genesshoan.cinema_rest_api.dto.seat.SeatVersionDTO(s.id, s.status, s.version)
+          FROM Seat s
+          WHERE s.id IN :ids
+            AND s.showtime.id = :showtimeId
+          ORDER BY s.id
+      """)
+  List<SeatVersionDTO> findVersionsByIds(@Param("showtimeId") Long showtimeId, @Param("ids") Collection<Long> ids);
+
+  /**
+   * Marks a seat as SOLD if it is AVAILABLE and still has the given version.
+   *
+   * @param id      the seat ID
+   * @param version the version the seat was read with
+   * @return 1 if the seat was sold, 0 if it changed since it was read
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+          UPDATE Seat s
+          SET s.status = 'SOLD', s.version = s.version + 1
+          WHERE s.id = :id
+            AND s.version = :version
+            AND s.status = 'AVAILABLE'
+      """)
+  int markSoldIfVersion(@Param("id") Long id, @Param("version") long version);
+
+  /**
+   * Loads the id, position and status of every seat of a showtime.
+   *
    * <p>
-   * Use this method within a transactional context when you need to:
-   * <ul>
-   * <li>Reserve seats for ticket purchase</li>
-   * <li>Prevent race conditions in concurrent booking scenarios</li>
-   * <li>Ensure seat availability doesn't change between check and update</li>
-   * </ul>
+   * Uses a constructor projection so that no {@link Seat} entity is
+   * hydrated. Intended for warming the in-memory seat inventory.
    * </p>
-   * 
-   * @param ids List of seat IDs to retrieve and lock
-   * @return List of available seats matching the given IDs, sorted by seat ID.
-   *         Returns empty list if no seats match or all are unavailable.
+   *
+   * @param showtimeId the ID of the showtime
+   * @return the state of every seat of the showtime, in no particular order
+   */
+  @Query("""
+          SELECT new dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO(s.id, s.rowNumber, s.seatNumber, s.status)
+          FROM Seat s
+          WHERE s.showtime.id = :showtimeId
+      """)
+  List<SeatStateDTO> findStatesByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+  /**
+   * Counts the seat rows of a showtime, optionally restricted to a status.
+   *
+   * <p>
+   * Reads the {@code seats} table; intended for reconciling the counters
+   * stored on the showtime, not for request handling.
+   * </p>
+   *
+   * @param showtimeId the ID of the showtime
+   * @param status     the status to count, or {@code null} for every seat
+   * @return the number of matching seats
    */
-  @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("""
-          SELECT s
+          SELECT COUNT(s)
           FROM Seat s
+          WHERE s.showtime.id = :showtimeId
+            AND (:status IS NULL OR s.status = :status)
+      """)
+  long countByShowtimeIdAndStatus(@Param("showtimeId") Long showtimeId, @Param("status") SeatStatus status);
+
+  /**
+   * Marks the given seats as SOLD, but only those that are still AVAILABLE.
+   *
+   * <p>
+   * This is the write-through step of the in-memory seat inventory: the
+   * conditional predicate keeps the database authoritative, so the caller can
+   * compare the affected row count with the number of requested seats to
+   * detect a stale inventory without taking explicit row locks. Seats of
+   * other showtimes never match, so they are reported as unavailable.
+   * </p>
+   *
+   * @param showtimeId the ID of the showtime the seats must belong to
+   * @param ids        List of seat IDs to mark as sold
+   * @return the number of seats that transitioned from AVAILABLE to SOLD
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+          UPDATE Seat s
+          SET s.status = 'SOLD', s.version = s.version + 1
           WHERE s.id IN :ids
+            AND s.showtime.id = :showtimeId
             AND s.status = 'AVAILABLE'
+      """)
+  int markSoldIfAvailable(@Param("showtimeId") Long showtimeId, @Param("ids") List<Long> ids);
+
+  /**
+   * Holds the given seats, but only those that are still AVAILABLE.
+   *
+   * <p>
+   * Like {@link #markSoldIfAvailable(Long, List)}, the caller compares the
+   * affected row count with the number of requested seats to detect a stale
+   * inventory.
+   * </p>
+   *
+   * @param showtimeId the ID of the showtime the seats must belong to
+   * @param ids        List of seat IDs to hold
+   * @param holdId     the identifier of the new hold
+   * @param heldUntil  the moment the hold expires
+   * @return the number of seats that transitioned from AVAILABLE to HELD
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+          UPDATE Seat s
+          SET s.status = 'HELD', s.holdId = :holdId, s.heldUntil = :heldUntil, s.version = s.version + 1
+          WHERE s.id IN :ids
+            AND s.showtime.id = :showtimeId
+            AND s.status = 'AVAILABLE'
+      """)
+  int holdIfAvailable(@Param("showtimeId") Long showtimeId, @Param("ids") List<Long> ids,
+      @Param("holdId") String holdId, @Param("heldUntil") LocalDateTime heldUntil);
+
+  /**
+   * Marks held seats as SOLD, but only those still held by the given,
+   * unexpired hold.
+   *
+   * @param ids    List of seat IDs to sell
+   * @param holdId the identifier of the hold the seats must belong to
+   * @param now    the current time; seats whose hold expired are not sold
+   * @return the number of seats that transitioned from HELD to SOLD
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+          UPDATE Seat s
+          SET s.status = 'SOLD', s.holdId = NULL, s.heldUntil = NULL, s.version = s.version + 1
+          WHERE s.id IN :ids
+            AND s.status = 'HELD'
+            AND s.holdId = :holdId
+            AND s.heldUntil > :now
+      """)
+  int sellHeld(@Param("ids") List<Long> ids, @Param("holdId") String holdId, @Param("now") LocalDateTime now);
+
+  /**
+   * Moves the seats of the given holds that are still HELD back to AVAILABLE.
+   *
+   * <p>
+   * The seats are located through the {@code hold_id} index, so the cost
+   * depends on the number of held seats, not on the size of the table.
+   * </p>
+   *
+   * @param holdIds the identifiers of the holds to release
+   * @return the number of seats released
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+          UPDATE Seat s
+          SET s.status = 'AVAILABLE', s.holdId = NULL, s.heldUntil = NULL, s.version = s.version + 1
+          WHERE s.holdId IN :holdIds
+            AND s.status = 'HELD'
+      """)
+  int releaseHolds(@Param("holdIds") Collection<String> holdIds);
+
+  /**
+   * Loads the seats currently kept by a hold.
+   *
+   * @param holdId the identifier of the hold
+   * @return the held seats, ordered by seat id; empty if the hold is unknown,
+   *         expired or fully sold
+   */
+  @Query("""
+          SELECT new dev.genesshoan.cinema_rest_api.dto.seat.HeldSeatDTO(
+            s.holdId, s.showtime.id, s.id, s.rowNumber, s.seatNumber, s.heldUntil)
+          FROM Seat s
+          WHERE s.holdId = :holdId
+            AND s.status = 'HELD'
           ORDER BY s.id
       """)
-  List<Seat> findAvailableByIdsForUpdate(@Param("ids") List<Long> ids);
+  List<HeldSeatDTO> findHeldSeatsByHoldId(@Param("holdId") String holdId);
+
+  /**
+   * Loads every seat currently kept by a hold, used to reschedule hold
+   * expirations on startup.
+   *
+   * @return all held seats, in no particular order
+   */
+  @Query("""
+          SELECT new dev.genesshoan.cinema_rest_api.dto.seat.HeldSeatDTO(
+            s.holdId, s.showtime.id, s.id, s.rowNumber, s.seatNumber, s.heldUntil)
+          FROM Seat s
+          WHERE s.holdId IS NOT NULL
+            AND s.status = 'HELD'
+      """)
+  List<HeldSeatDTO> findAllHeldSeats();
 }
@@ -1,19 +1,31 @@
 package dev.genesshoan.cinema_rest_api.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSaleTermsDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSeatingDTO;
 import dev.genesshoan.cinema_rest_api.entity.Showtime;
 import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
+import jakarta.persistence.LockModeType;
 
 @Repository
-public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
+public interface ShowtimeRepository extends JpaRepository<Showtime, Long>, JpaSpecificationExecutor<Showtime> {
   /**
    * Check if a scheduled showtime exists that overlaps the provided time
    * interval for the given room.
@@ -39,21 +51,163 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
   /**
    * Search for showtimes within an optional time window and optional filters
    * for room, movie and status. Returns a paginated result.
+   *
+   * Only the supplied filters become predicates (see
+   * {@link ShowtimeSpecifications}), so every combination of filters is
+   * planned against the index that fits it.
+   */
+  public default Page<Showtime> search(
+      LocalDateTime from,
+      LocalDateTime to,
+      Long roomId,
+      Long movieId,
+      ShowtimeStatus status,
+      Pageable pageable) {
+    return findAll(ShowtimeSpecifications.search(from, to, roomId, movieId, status), pageable);
+  }
+
+  /**
+   * Same search as
+   * {@link #search(LocalDateTime, LocalDateTime, Long, Long, ShowtimeStatus, Pageable)},
+   * without the count query: one more row than the page size is read to tell
+   * whether a next page exists. Room and movie are fetched by the same
+   * statement.
+   */
+  public default Slice<Showtime> searchSlice(
+      LocalDateTime from,
+      LocalDateTime to,
+      Long roomId,
+      Long movieId,
+      ShowtimeStatus status,
+      Pageable pageable) {
+    return findBy(ShowtimeSpecifications.search(from, to, roomId, movieId, status), query -> query
+        .project("room", "movie")
+        .slice(pageable));
+  }
+
+  /**
+   * Reads a keyset page of a showtime search, sorted by start time then ID.
+   *
+   * Only the rows after the given position are read, with the room and movie
+   * fetched in the same statement, and no count is run.
+   *
+   * @param afterStartTime the start time of the last showtime read, or
+   *                       {@code null} for the first page
+   * @param afterId        the ID of the last showtime read, ignored for the
+   *                       first page
+   * @param limit          the maximum number of showtimes to read
+   */
+  public default List<Showtime> scroll(
+      LocalDateTime from,
+      LocalDateTime to,
+      Long roomId,
+      Long movieId,
+      ShowtimeStatus status,
+      LocalDateTime afterStartTime,
+      long afterId,
+      int limit) {
+    Specification<Showtime> spec = ShowtimeSpecifications.search(from, to, roomId, movieId, status);
+
+    if (afterStartTime != null) {
+      spec = spec.and(ShowtimeSpecifications.after(afterStartTime, afterId));
+    }
+
+    return findBy(spec, query -> query
+        .project("room", "movie")
+        .sortBy(Sort.by("startTime", "id"))
+        .limit(limit)
+        .all());
+  }
+
+  /**
+   * Returns a page of the showtimes matching the given criteria.
+   *
+   * The room and movie of every showtime are fetched by the page query itself
+   * so that mapping the page does not initialize one proxy per row; the
+   * count query derived from the criteria filters on the foreign keys only
+   * and joins nothing. A page therefore costs two statements whatever its
+   * size.
+   */
+  @Override
+  @EntityGraph(attributePaths = { "room", "movie" })
+  public Page<Showtime> findAll(Specification<Showtime> spec, Pageable pageable);
+
+  /**
+   * Loads the seating configuration of a showtime without hydrating the
+   * entity.
    */
+  @Query("""
+        SELECT new dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSeatingDTO(s.seatingMode, s.seatRows, s.seatsPerRow)
+        FROM Showtime s
+        WHERE s.id = :id
+      """)
+  public Optional<ShowtimeSeatingDTO> findSeatingById(@Param("id") Long id);
+
+  /**
+   * Loads the price, movie title and start time of a showtime without
+   * hydrating the entity.
+   */
+  @Query("""
+        SELECT new dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSaleTermsDTO(s.id, s.basePrice, m.title, s.startTime)
+        FROM Showtime s
+        JOIN s.movie m
+        WHERE s.id = :id
+      """)
+  public Optional<ShowtimeSaleTermsDTO> findSaleTermsById(@Param("id") Long id);
+
+  /**
+   * Atomically adds {@code delta} (which may be negative) to the sold seat
+   * counter of a showtime.
+   *
+   * <p>
+   * The increment is computed by the database, so concurrent sales of the
+   * same showtime never lose an update.
+   * </p>
+   *
+   * @return the number of updated showtimes (0 or 1)
+   */
+  @Modifying
+  @Query("""
+        UPDATE Showtime s
+        SET s.soldSeats = s.soldSeats + :delta
+        WHERE s.id = :id
+      """)
+  public int addSoldSeats(@Param("id") Long id, @Param("delta") int delta);
+
+  /**
+   * Atomically claims {@code quantity} tickets of a scheduled general
+   * admission showtime, if that many are left.
+   *
+   * <p>
+   * The capacity check and the increment of the sold seat counter are a
+   * single conditional statement, so concurrent sales never oversell the
+   * showtime and take no lock beyond the one held by the update itself.
+   * </p>
+   *
+   * @return 1 if the tickets were claimed, 0 if the showtime does not exist,
+   *         is not a scheduled general admission showtime or has fewer
+   *         tickets left
+   */
+  @Modifying
+  @Query("""
+        UPDATE Showtime s
+        SET s.soldSeats = s.soldSeats + :quantity
+        WHERE s.id = :id
+          AND s.seatingMode = 'GENERAL_ADMISSION'
+          AND s.status = 'SCHEDULED'
+          AND s.soldSeats + :quantity <= s.capacity
+      """)
+  public int claimGeneralAdmission(@Param("id") Long id, @Param("quantity") int quantity);
+
+  /**
+   * Loads a showtime and locks its row until the end of the transaction, so
+   * that its counters can be recomputed without racing concurrent sales.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("""
         SELECT s
         FROM Showtime s
-        WHERE (:from IS NULL OR s.startTime >= :from)
-          AND (:to IS NULL OR s.endTime <= :to)
-          AND (:room_id IS NULL OR s.room.id = :room_id)
-          AND (:movie_id IS NULL OR s.movie.id = :movie_id)
-          AND (:status IS NULL OR s.status = :status)
+        WHERE s.id = :id
       """)
-  public Page<Showtime> search(
-      @Param("from") LocalDateTime from,
-      @Param("to") LocalDateTime to,
-      @Param("room_id") Long roomId,
-      @Param("movie_id") Long movieId,
-      @Param("status") ShowtimeStatus status,
-      Pageable pageable);
+  public Optional<Showtime> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,142 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import dev.genesshoan.cinema_rest_api.entity.Showtime;
+import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
+
+/**
+ * Query criteria for {@link Showtime} searches.
+ *
+ * <p>
+ * {@link #search} combines only the filters that were supplied, so each
+ * combination of filters becomes its own statement whose predicates match
+ * one of the showtime indexes, instead of a single statement with
+ * {@code :x IS NULL OR ...} predicates that no index fits. Room and movie
+ * are compared by foreign key, so the criteria never join.
+ * </p>
+ *
+ * @see ShowtimeRepository#search
+ */
+public final class ShowtimeSpecifications {
+  private ShowtimeSpecifications() {
+  }
+
+  /**
+   * Builds the criteria of a showtime search.
+   *
+   * @param from    optional lower bound of the start time (inclusive)
+   * @param to      optional upper bound of the end time (inclusive)
+   * @param roomId  optional room ID
+   * @param movieId optional movie ID
+   * @param status  optional showtime status
+   * @return the conjunction of the supplied filters, unrestricted if none
+   */
+  public static Specification<Showtime> search(
+      LocalDateTime from,
+      LocalDateTime to,
+      Long roomId,
+      Long movieId,
+      ShowtimeStatus status) {
+    List<Specification<Showtime>> filters = new ArrayList<>();
+
+    if (from != null) {
+      filters.add(startsFrom(from));
+    }
+
+    if (to != null) {
+      filters.add(endsBy(to));
+    }
+
+    if (roomId != null) {
+      filters.add(inRoom(roomId));
+    }
+
+    if (movieId != null) {
+      filters.add(ofMovie(movieId));
+    }
+
+    if (status != null) {
+      filters.add(hasStatus(status));
+    }
+
+    return Specification.allOf(filters);
+  }
+
+  /**
+   * Builds the rows of a showtime search as native SQL, for
+   * {@link CountEstimator} to estimate their number. Takes the same filters
+   * as {@link #search}.
+   *
+   * @return the filtered rows of the {@code showtimes} table
+   */
+  public static CountEstimator.Estimate estimate(
+      LocalDateTime from,
+      LocalDateTime to,
+      Long roomId,
+      Long movieId,
+      ShowtimeStatus status) {
+    List<String> predicates = new ArrayList<>();
+    List<Object> params = new ArrayList<>();
+
+    if (from != null) {
+      predicates.add("start_date_time >= ?");
+      params.add(from);
+    }
+
+    if (to != null) {
+      predicates.add("end_date_time <= ?");
+      params.add(to);
+    }
+
+    if (roomId != null) {
+      predicates.add("room_id = ?");
+      params.add(roomId);
+    }
+
+    if (movieId != null) {
+      predicates.add("movie_id = ?");
+      params.add(movieId);
+    }
+
+    if (status != null) {
+      predicates.add("status = ?");
+      params.add(status.name());
+    }
+
+    String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+
+    return new CountEstimator.Estimate("SELECT 1 FROM showtimes" + where, List.copyOf(params));
+  }
+
+  public static Specification<Showtime> startsFrom(LocalDateTime from) {
+    return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startTime"), from);
+  }
+
+  public static Specification<Showtime> endsBy(LocalDateTime to) {
+    return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("endTime"), to);
+  }
+
+  public static Specification<Showtime> inRoom(long roomId) {
+    return (root, query, cb) -> cb.equal(root.get("room").get("id"), roomId);
+  }
+
+  public static Specification<Showtime> ofMovie(long movieId) {
+    return (root, query, cb) -> cb.equal(root.get("movie").get("id"), movieId);
+  }
+
+  public static Specification<Showtime> hasStatus(ShowtimeStatus status) {
+    return (root, query, cb) -> cb.equal(root.get("status"), status);
+  }
+
+  /**
+   * Matches the showtimes sorted after the given one by start time, then ID.
+   */
+  public static Specification<Showtime> after(LocalDateTime startTime, long id) {
+    return KeysetSpecifications.after("startTime", startTime, id);
+  }
+}
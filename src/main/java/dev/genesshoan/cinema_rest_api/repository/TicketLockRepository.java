@@ -0,0 +1,49 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.Optional;
+
+import dev.genesshoan.cinema_rest_api.entity.Ticket;
+import dev.genesshoan.cinema_rest_api.exception.LockConflictException;
+
+/**
+ * Custom repository fragment for the ticket locks taken by cancellations and
+ * consumptions.
+ *
+ * <p>
+ * Mixed into {@link TicketRepository}; like {@link SeatLockRepository}, the
+ * locking read is configured by the {@link RowLockPolicy}.
+ * </p>
+ *
+ * @see TicketLockRepositoryImpl
+ */
+public interface TicketLockRepository {
+  /**
+   * Retrieves a ticket by ID with a pessimistic write lock.
+   *
+   * <p>
+   * This method acquires a database-level write lock on the ticket entity
+   * to prevent concurrent modifications during ticket update operations (e.g.,
+   * cancellation, status changes). The lock is held until the transaction
+   * commits or rolls back.
+   * </p>
+   *
+   * <p>
+   * Only the ticket row is locked; its seat, if any, is loaded on first
+   * access. General admission tickets have no seat, and fetching an optional
+   * seat with an outer join would make Hibernate lock the rows with separate
+   * follow-on statements, which cannot skip locked rows.
+   * </p>
+   *
+   * <p>
+   * A ticket locked by another transaction is handled according to the
+   * ticket {@link LockWaitPolicy}. With {@code SKIP_LOCKED} a skipped ticket
+   * is told apart from a missing one and reported as a conflict.
+   * </p>
+   *
+   * @param id The ticket ID to retrieve and lock
+   * @return Optional containing the ticket if found, empty otherwise
+   * @throws LockConflictException if the ticket is locked and the policy does
+   *                               not wait for it, or the wait timed out
+   */
+  Optional<Ticket> findByIdForUpdate(Long id);
+}
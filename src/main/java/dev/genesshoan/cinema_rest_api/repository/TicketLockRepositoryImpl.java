@@ -0,0 +1,56 @@
+package dev.genesshoan.cinema_rest_api.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import dev.genesshoan.cinema_rest_api.entity.Ticket;
+import dev.genesshoan.cinema_rest_api.repository.RowLockPolicy.Target;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link TicketLockRepository} implementation.
+ */
+@RequiredArgsConstructor
+public class TicketLockRepositoryImpl implements TicketLockRepository {
+  private final RowLockPolicy rowLockPolicy;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Optional<Ticket> findByIdForUpdate(Long id) {
+    List<Ticket> tickets;
+
+    try {
+      tickets = rowLockPolicy.lock(Target.TICKETS, entityManager.createQuery("""
+                SELECT t
+                FROM Ticket t
+                WHERE t.id = :id
+          """, Ticket.class))
+          .setParameter("id", id)
+          .getResultList();
+    } catch (PessimisticLockException | LockTimeoutException e) {
+      throw rowLockPolicy.onConflict(Target.TICKETS, e);
+    }
+
+    if (tickets.isEmpty() && rowLockPolicy.getPolicy(Target.TICKETS) == LockWaitPolicy.SKIP_LOCKED
+        && exists(id)) {
+      throw rowLockPolicy.onConflict(Target.TICKETS, null);
+    }
+
+    rowLockPolicy.onLocked(Target.TICKETS, tickets.size(), tickets.size());
+
+    return tickets.stream().findFirst();
+  }
+
+  private boolean exists(Long id) {
+    return !entityManager.createQuery("SELECT t.id FROM Ticket t WHERE t.id = :id", Long.class)
+        .setParameter("id", id)
+        .getResultList()
+        .isEmpty();
+  }
+}
@@ -1,62 +1,120 @@
 package dev.genesshoan.cinema_rest_api.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO;
 import dev.genesshoan.cinema_rest_api.entity.Ticket;
-import jakarta.persistence.LockModeType;
 
 /**
  * Repository interface for {@link Ticket} entity persistence operations.
  * 
  * <p>
  * Provides data access methods for ticket management including standard
- * CRUD operations inherited from {@link JpaRepository}.
+ * CRUD operations inherited from {@link JpaRepository}. The ticket locks
+ * taken by cancellations and consumptions are provided by the
+ * {@link TicketLockRepository} fragment.
+ * </p>
+ *
+ * <p>
+ * Ticket details returned by the API are read with the projection queries
+ * {@link #findResponseById(Long)} and {@link #findResponsesByIdIn(Collection)},
+ * which join the showtime, movie and seat of the tickets in one statement
+ * instead of walking the lazy associations ticket by ticket.
  * </p>
  * 
  * @see Ticket
  * @since 1.0.0
  */
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketLockRepository {
   /**
-   * Retrieves a ticket by ID with a pessimistic write lock and eagerly fetches the seat association.
-   * 
+   * Retrieves the ID of the showtime a ticket was sold for.
+   *
    * <p>
-   * This method acquires a database-level write lock on the ticket entity
-   * to prevent concurrent modifications during ticket update operations (e.g.,
-   * cancellation, status changes). The lock is held until the transaction
-   * commits or rolls back.
+   * Reads only the foreign key, without locking or loading the ticket, so
+   * that a cancellation can be routed to its showtime before it runs.
    * </p>
-   * 
+   *
+   * @param id The ticket ID
+   * @return Optional containing the showtime ID if the ticket exists
+   */
+  @Query("""
+            SELECT t.showtime.id
+            FROM Ticket t
+            WHERE t.id = :id
+      """)
+  Optional<Long> findShowtimeIdById(@Param("id") Long id);
+
+  /**
+   * Counts the tickets of a showtime that were not cancelled.
+   *
    * <p>
-   * The seat association is eagerly loaded using JOIN FETCH to avoid N+1
-   * queries and ensure the seat data is available within the same transaction.
+   * Reads the {@code tickets} table; intended for reconciling the sold seat
+   * counter of general admission showtimes, which have no seat rows.
    * </p>
-   * 
+   *
+   * @param showtimeId the ID of the showtime
+   * @return the number of active and consumed tickets of the showtime
+   */
+  @Query("""
+            SELECT COUNT(t)
+            FROM Ticket t
+            WHERE t.showtime.id = :showtimeId
+              AND t.status <> dev.genesshoan.cinema_rest_api.entity.TicketStatus.CANCELLED
+      """)
+  long countNotCancelledByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+  /**
+   * Retrieves the details of a ticket as a response DTO.
+   *
    * <p>
-   * Use this method when you need to:
-   * <ul>
-   * <li>Update ticket status (ACTIVE → CANCELLED or CONSUMED)</li>
-   * <li>Prevent concurrent modifications to the same ticket</li>
-   * <li>Access seat information along with the ticket</li>
-   * </ul>
+   * Customer, movie title, seat row and number, purchase date and show time
+   * are read in a single select; the seat is outer joined, so tickets of
+   * general admission showtimes have a {@code null} row and seat number.
    * </p>
-   * 
-   * @param id The ticket ID to retrieve and lock
-   * @return Optional containing the ticket if found, empty otherwise
+   *
+   * @param id The ticket ID
+   * @return Optional containing the ticket details if the ticket exists
    */
-  @Lock(LockModeType.PESSIMISTIC_WRITE)
   @Query("""
-            SELECT t
+            SELECT new dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO(
+              t.customerName, m.title, s.rowNumber, s.seatNumber, t.purcharse, sh.startTime)
             FROM Ticket t
-            JOIN FETCH t.seat
+            JOIN t.showtime sh
+            JOIN sh.movie m
+            LEFT JOIN t.seat s
             WHERE t.id = :id
       """)
-  Optional<Ticket> findByIdForUpdate(@Param("id") Long id);
+  Optional<TicketResponseDTO> findResponseById(@Param("id") Long id);
+
+  /**
+   * Retrieves the details of several tickets as response DTOs.
+   *
+   * <p>
+   * Same projection as {@link #findResponseById(Long)}, in a single select
+   * whatever the number of tickets. Results are ordered by ticket ID, which
+   * is the order in which the tickets of a sale were created.
+   * </p>
+   *
+   * @param ids the ticket IDs
+   * @return the details of the tickets that exist, ordered by ticket ID
+   */
+  @Query("""
+            SELECT new dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO(
+              t.customerName, m.title, s.rowNumber, s.seatNumber, t.purcharse, sh.startTime)
+            FROM Ticket t
+            JOIN t.showtime sh
+            JOIN sh.movie m
+            LEFT JOIN t.seat s
+            WHERE t.id IN :ids
+            ORDER BY t.id
+      """)
+  List<TicketResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,386 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.genesshoan.cinema_rest_api.dto.admission.AdmissionStatusDTO;
+import dev.genesshoan.cinema_rest_api.dto.admission.AdmissionTokenDTO;
+import dev.genesshoan.cinema_rest_api.exception.AdmissionRequiredException;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Virtual waiting room turning on-sale rushes into a steady stream of buyers.
+ *
+ * <p>
+ * Every sale and hold attempt counts towards the demand of its showtime.
+ * While demand stays below {@code cinema.admission.threshold-per-second}
+ * attempts per second the showtime is open and requests pass straight
+ * through. Once the threshold is reached the showtime starts queueing:
+ * attempts without an admitted token are rejected with an
+ * {@link AdmissionRequiredException} before they reach the database, and
+ * buyers join the line with {@link #join(long)} instead.
+ * </p>
+ *
+ * <p>
+ * Tokens are numbered in arrival order and a ticker admits them at the
+ * admission rate of the showtime, {@code cinema.admission.rate-per-second}
+ * unless set with {@link #setRate(long, double)}. An admitted token lets its
+ * holder hold and buy seats for {@code cinema.admission.admitted-ttl-seconds}
+ * and is then discarded. A showtime stops queueing once its line is empty and
+ * its demand has dropped below the threshold.
+ * </p>
+ *
+ * <p>
+ * All state of a showtime is kept in one {@link WaitingRoom} that is only
+ * touched under the map's per-key lock, so a room is never changed by two
+ * threads at once and an idle room can be removed safely.
+ * </p>
+ *
+ * @see AdmissionStatusDTO
+ * @see AdmissionTokenDTO
+ */
+@Service
+public class AdmissionService {
+  private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+  private final Map<Long, Double> rates = new ConcurrentHashMap<>();
+
+  private ScheduledExecutorService ticker;
+
+  @Value("${cinema.admission.enabled:true}")
+  private boolean enabled;
+
+  @Value("${cinema.admission.threshold-per-second:50}")
+  private int thresholdPerSecond;
+
+  @Value("${cinema.admission.rate-per-second:20}")
+  private double defaultRate;
+
+  @Value("${cinema.admission.admitted-ttl-seconds:300}")
+  private long admittedTtlSeconds;
+
+  @Value("${cinema.admission.max-waiting:100000}")
+  private int maxWaiting;
+
+  @Value("${cinema.admission.tick-ms:100}")
+  private long tickMs;
+
+  /**
+   * Starts the thread admitting waiting tokens.
+   */
+  @PostConstruct
+  void start() {
+    if (enabled) {
+      ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+          .name("admission-ticker")
+          .daemon()
+          .factory());
+      ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Stops the admission ticker.
+   */
+  @PreDestroy
+  void shutdown() {
+    if (ticker != null) {
+      ticker.shutdownNow();
+    }
+  }
+
+  /**
+   * Records a sale or hold attempt and checks that it may proceed.
+   *
+   * @param showtimeId the showtime the attempt is for
+   * @param token      the admission token sent by the client, or {@code null}
+   * @throws AdmissionRequiredException if the showtime is queueing and the
+   *                                    token is missing, unknown, not yet
+   *                                    admitted or expired
+   */
+  public void checkAdmission(long showtimeId, String token) {
+    if (!enabled) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    boolean[] admitted = new boolean[1];
+
+    rooms.compute(showtimeId, (id, room) -> {
+      room = room == null ? new WaitingRoom() : room;
+      room.recordDemand(now);
+      admitted[0] = !room.queueing || room.isAdmitted(token, now);
+      return room;
+    });
+
+    if (!admitted[0]) {
+      throw new AdmissionRequiredException("Showtime " + showtimeId
+          + " is queueing buyers; join the waiting room with POST /admission/showtimes/" + showtimeId);
+    }
+  }
+
+  /**
+   * Joins the waiting room of a showtime.
+   *
+   * <p>
+   * While the showtime is open the token is admitted right away.
+   * </p>
+   *
+   * @param showtimeId the showtime to buy seats for
+   * @return the issued token with its position and estimated wait
+   * @throws QueueFullException if {@code cinema.admission.max-waiting} buyers
+   *                            are already waiting
+   */
+  public AdmissionTokenDTO join(long showtimeId) {
+    long now = System.nanoTime();
+    String token = UUID.randomUUID().toString();
+    AdmissionTokenDTO[] issued = new AdmissionTokenDTO[1];
+
+    rooms.compute(showtimeId, (id, room) -> {
+      room = room == null ? new WaitingRoom() : room;
+
+      if (room.queueing && room.waiting() >= maxWaiting) {
+        return room;
+      }
+
+      Token entry = new Token(++room.issued);
+      room.tokens.put(token, entry);
+
+      if (!room.queueing) {
+        room.admittedThrough = entry.sequence;
+      }
+
+      room.lastActivity = now;
+      issued[0] = room.describe(id, token, entry, rateOf(id), now);
+      return room;
+    });
+
+    if (issued[0] == null) {
+      throw new QueueFullException("Waiting room of showtime " + showtimeId + " is full");
+    }
+
+    return issued[0];
+  }
+
+  /**
+   * Returns the position and estimated wait of a token.
+   *
+   * @param showtimeId the showtime the token was issued for
+   * @param token      the token
+   * @return the token with its current position
+   * @throws ResourceNotFoundException if the token is unknown or expired
+   */
+  public AdmissionTokenDTO getToken(long showtimeId, String token) {
+    long now = System.nanoTime();
+    AdmissionTokenDTO[] found = new AdmissionTokenDTO[1];
+
+    rooms.computeIfPresent(showtimeId, (id, room) -> {
+      Token entry = room.tokens.get(token);
+
+      if (entry != null && !room.expired(entry, now)) {
+        found[0] = room.describe(id, token, entry, rateOf(id), now);
+      }
+
+      return room;
+    });
+
+    if (found[0] == null) {
+      throw new ResourceNotFoundException("Admission token " + token + " does not exist or expired");
+    }
+
+    return found[0];
+  }
+
+  /**
+   * Returns the admission state of a showtime.
+   *
+   * @param showtimeId the showtime
+   * @return demand, line length and admission rate of the showtime
+   */
+  public AdmissionStatusDTO getStatus(long showtimeId) {
+    long now = System.nanoTime();
+    AdmissionStatusDTO[] status = new AdmissionStatusDTO[1];
+
+    rooms.computeIfPresent(showtimeId, (id, room) -> {
+      status[0] = new AdmissionStatusDTO(id, room.queueing, room.waiting(), room.admittedThrough,
+          room.demandPerSecond(now), thresholdPerSecond, rateOf(id));
+      return room;
+    });
+
+    return status[0] != null
+        ? status[0]
+        : new AdmissionStatusDTO(showtimeId, false, 0, 0, 0, thresholdPerSecond, rateOf(showtimeId));
+  }
+
+  /**
+   * Sets the admission rate of a showtime.
+   *
+   * @param showtimeId      the showtime
+   * @param admitsPerSecond the number of buyers to admit per second
+   * @return the admission state of the showtime
+   */
+  public AdmissionStatusDTO setRate(long showtimeId, double admitsPerSecond) {
+    rates.put(showtimeId, admitsPerSecond);
+    return getStatus(showtimeId);
+  }
+
+  /**
+   * Admits waiting tokens, discards expired ones and removes idle rooms.
+   */
+  void tick() {
+    long now = System.nanoTime();
+    double seconds = tickMs / 1000.0;
+
+    for (Long showtimeId : rooms.keySet()) {
+      rooms.computeIfPresent(showtimeId, (id, room) -> {
+        room.admit(rateOf(id) * seconds, now);
+        return room.isIdle(now) ? null : room;
+      });
+    }
+  }
+
+  private double rateOf(long showtimeId) {
+    return rates.getOrDefault(showtimeId, defaultRate);
+  }
+
+  /**
+   * Demand, line and tokens of one showtime. Only accessed under the per-key
+   * lock of the room map.
+   */
+  private final class WaitingRoom {
+    private final Map<String, Token> tokens = new HashMap<>();
+    private long issued;
+    private long admittedThrough;
+    private double credit;
+    private boolean queueing;
+    private long demandSecond;
+    private int demandCount;
+    private int previousDemand;
+    private long lastActivity;
+
+    private void recordDemand(long now) {
+      long second = TimeUnit.NANOSECONDS.toSeconds(now);
+
+      if (second != demandSecond) {
+        previousDemand = second == demandSecond + 1 ? demandCount : 0;
+        demandSecond = second;
+        demandCount = 0;
+      }
+
+      demandCount++;
+      lastActivity = now;
+
+      if (demandCount >= thresholdPerSecond) {
+        queueing = true;
+      }
+    }
+
+    private int demandPerSecond(long now) {
+      long second = TimeUnit.NANOSECONDS.toSeconds(now);
+
+      if (second == demandSecond) {
+        return Math.max(demandCount, previousDemand);
+      }
+
+      return second == demandSecond + 1 ? demandCount : 0;
+    }
+
+    private boolean isAdmitted(String token, long now) {
+      Token entry = token == null ? null : tokens.get(token);
+
+      if (entry == null || entry.sequence > admittedThrough) {
+        return false;
+      }
+
+      if (entry.admittedAt == 0) {
+        entry.admittedAt = now;
+      }
+
+      return !expired(entry, now);
+    }
+
+    private boolean expired(Token entry, long now) {
+      return entry.admittedAt != 0 && now - entry.admittedAt > TimeUnit.SECONDS.toNanos(admittedTtlSeconds);
+    }
+
+    private long waiting() {
+      return issued - admittedThrough;
+    }
+
+    /**
+     * Admits as many waiting tokens as the accumulated credit allows. Credit
+     * does not build up while nobody waits, so an emptied line does not
+     * admit a burst later on.
+     */
+    private void admit(double allowance, long now) {
+      long waiting = waiting();
+
+      if (waiting == 0) {
+        credit = 0;
+
+        if (queueing && demandPerSecond(now) < thresholdPerSecond) {
+          queueing = false;
+        }
+      } else {
+        credit += allowance;
+        long admitted = Math.min(waiting, (long) credit);
+        admittedThrough += admitted;
+        credit -= admitted;
+      }
+
+      tokens.values().removeIf(entry -> {
+        if (entry.admittedAt == 0 && entry.sequence <= admittedThrough) {
+          entry.admittedAt = now;
+        }
+
+        return expired(entry, now);
+      });
+    }
+
+    private boolean isIdle(long now) {
+      return !queueing && tokens.isEmpty() && now - lastActivity > IDLE_NANOS;
+    }
+
+    private AdmissionTokenDTO describe(long showtimeId, String token, Token entry, double rate, long now) {
+      long position = Math.max(0, entry.sequence - admittedThrough);
+      long waitSeconds = position == 0 ? 0 : (long) Math.ceil(position / rate);
+      LocalDateTime expiresAt = null;
+
+      if (position == 0) {
+        if (entry.admittedAt == 0) {
+          entry.admittedAt = now;
+        }
+
+        long remaining = TimeUnit.SECONDS.toNanos(admittedTtlSeconds) - (now - entry.admittedAt);
+        expiresAt = LocalDateTime.now().plusNanos(Math.max(0, remaining));
+      }
+
+      return new AdmissionTokenDTO(token, showtimeId, position == 0, position, waitSeconds, expiresAt);
+    }
+  }
+
+  /**
+   * A place in the line of a showtime.
+   */
+  private static final class Token {
+    private final long sequence;
+    private long admittedAt;
+
+    private Token(long sequence) {
+      this.sequence = sequence;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seat claim performed by a single conditional {@code UPDATE}.
+ *
+ * <p>
+ * {@code UPDATE seats SET status = 'SOLD' WHERE id IN (...) AND status =
+ * 'AVAILABLE'} takes the row locks only for the duration of the statement and
+ * costs one round trip regardless of the number of seats. This is the
+ * default strategy.
+ * </p>
+ *
+ * @see SeatRepository#markSoldIfAvailable(Long, List)
+ */
+@Component
+@ConditionalOnProperty(name = SeatClaimStrategy.PROPERTY, havingValue = "CONDITIONAL", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ConditionalSeatClaimStrategy implements SeatClaimStrategy {
+  private final SeatRepository seatRepository;
+
+  @Override
+  public int claim(long showtimeId, List<Long> seatIds) {
+    return seatRepository.markSoldIfAvailable(showtimeId, seatIds);
+  }
+}
@@ -0,0 +1,71 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CountedPage;
+import dev.genesshoan.cinema_rest_api.dto.page.CountedSlice;
+
+/**
+ * Reads a page of an offset-paged list with the requested {@link CountMode}.
+ */
+final class CountedPages {
+  private CountedPages() {
+  }
+
+  /**
+   * Reads a page and computes its total as requested.
+   *
+   * <p>
+   * {@code EXACT} reads the page with its count query. {@code NONE} and
+   * {@code ESTIMATED} read a slice, which costs no count; {@code ESTIMATED}
+   * then takes the total from the estimate, kept consistent with what the
+   * slice proved: at least one row past the page if a next page exists, and
+   * exactly the rows read if the page is the last one (in which case no
+   * estimate is needed).
+   * </p>
+   *
+   * @param mode     the requested count mode
+   * @param pageable the page requested
+   * @param page     reads the page with an exact count
+   * @param slice    reads the page without a count
+   * @param estimate estimates the total
+   * @param mapper   the mapping of a row to its response DTO
+   * @return a {@link CountedPage} or, for {@code NONE}, a {@link CountedSlice}
+   */
+  static <E, D> Slice<D> read(CountMode mode, Pageable pageable, Supplier<Page<E>> page, Supplier<Slice<E>> slice,
+      LongSupplier estimate, Function<E, D> mapper) {
+    if (mode == CountMode.EXACT) {
+      Page<E> rows = page.get();
+
+      return new CountedPage<>(rows.map(mapper).getContent(), pageable, rows.getTotalElements(), mode);
+    }
+
+    Slice<E> rows = slice.get();
+    List<D> content = rows.map(mapper).getContent();
+
+    if (mode == CountMode.NONE) {
+      return new CountedSlice<>(content, pageable, rows.hasNext());
+    }
+
+    long read = pageable.getOffset() + content.size();
+    long total;
+
+    if (rows.hasNext()) {
+      total = Math.max(estimate.getAsLong(), read + 1);
+    } else if (!content.isEmpty() || pageable.getOffset() == 0) {
+      total = read;
+    } else {
+      total = Math.min(estimate.getAsLong(), pageable.getOffset());
+    }
+
+    return new CountedPage<>(content, pageable, total, mode);
+  }
+}
@@ -0,0 +1,466 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.genesshoan.cinema_rest_api.dto.hold.HoldRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.hold.HoldResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.HeldSeatDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
+import dev.genesshoan.cinema_rest_api.entity.Showtime;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seat hold domain service.
+ *
+ * <p>
+ * A hold moves seats from AVAILABLE to HELD for a limited time, so that a
+ * checkout can be completed without overselling and without keeping row locks
+ * open during payment. Held seats are sold through
+ * {@link TicketService#sellTicket} with the hold id, released early with
+ * {@link #releaseHold(String)}, or released automatically when the hold
+ * expires.
+ * </p>
+ *
+ * <p>
+ * Expiry is driven by an in-process {@link TimerWheel} advanced every
+ * {@code cinema.holds.tick-ms} by a single thread, instead of polling the
+ * {@code seats} table for expired rows. Holds that expire in the same tick
+ * are released with one {@code UPDATE} per chunk of holds, located through
+ * the {@code hold_id} index. Holds that are still pending when the
+ * application starts are read back and rescheduled once.
+ * </p>
+ *
+ * <p>
+ * Availability is decided by the showtime's {@link SeatInventory} and
+ * written through to the database with conditional updates, following the
+ * same pattern as ticket sales. Every committed change is published as a
+ * {@link SeatStatusChangedEvent}.
+ * </p>
+ *
+ * <p>
+ * Error modes:
+ * <ul>
+ * <li>ResourceNotFoundException: showtime or hold not found</li>
+ * <li>SeatNotAvailableException: one or more requested seats are not
+ * available</li>
+ * </ul>
+ * </p>
+ *
+ * @see TimerWheel
+ * @see SeatInventory#hold(Collection)
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class HoldService {
+  private static final Logger log = LoggerFactory.getLogger(HoldService.class);
+
+  /**
+   * Maximum number of holds released by a single {@code UPDATE}.
+   */
+  private static final int RELEASE_CHUNK_SIZE = 500;
+
+  /**
+   * Delay before retrying the release of holds whose update failed.
+   */
+  private static final long RETRY_DELAY_MILLIS = 1000;
+
+  private final SeatRepository seatRepository;
+  private final ShowtimeRepository showtimeRepository;
+  private final SeatInventoryService seatInventoryService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final PlatformTransactionManager transactionManager;
+
+  private final Map<String, ActiveHold> holds = new ConcurrentHashMap<>();
+
+  private TimerWheel<ActiveHold> wheel;
+  private ScheduledExecutorService ticker;
+
+  @Value("${cinema.holds.ttl-seconds:600}")
+  private long ttlSeconds;
+
+  @Value("${cinema.holds.max-ttl-seconds:1800}")
+  private long maxTtlSeconds;
+
+  @Value("${cinema.holds.tick-ms:100}")
+  private long tickMillis;
+
+  /**
+   * Creates the timer wheel and starts the thread advancing it.
+   */
+  @PostConstruct
+  void start() {
+    wheel = new TimerWheel<>(tickMillis, System.currentTimeMillis());
+    ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+        .name("hold-expiry")
+        .daemon()
+        .factory());
+    ticker.scheduleWithFixedDelay(this::expireDueHolds, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the expiry thread; pending holds are rescheduled on next startup.
+   */
+  @PreDestroy
+  void shutdown() {
+    if (ticker != null) {
+      ticker.shutdownNow();
+    }
+  }
+
+  /**
+   * Reschedules the expiry of the holds persisted by a previous run.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void recoverHolds() {
+    Map<String, List<HeldSeatDTO>> byHold = new LinkedHashMap<>();
+
+    for (HeldSeatDTO seat : seatRepository.findAllHeldSeats()) {
+      byHold.computeIfAbsent(seat.holdId(), id -> new ArrayList<>()).add(seat);
+    }
+
+    byHold.forEach((holdId, seats) -> {
+      if (!holds.containsKey(holdId)) {
+        register(holdId, seats.getFirst().showtimeId(),
+            seats.stream().map(HeldSeatDTO::seatId).toList(), toEpochMillis(seats.getFirst().heldUntil()));
+      }
+    });
+
+    if (!byHold.isEmpty()) {
+      log.info("Rescheduled {} pending seat holds", byHold.size());
+    }
+  }
+
+  /**
+   * Holds seats of a showtime for a limited time.
+   *
+   * <p>
+   * The seats are claimed in the in-memory inventory first and then marked
+   * HELD in the database, conditionally on still being AVAILABLE. The expiry
+   * is scheduled once the transaction commits.
+   * </p>
+   *
+   * @param requestDTO the hold request
+   * @return the created hold
+   * @throws ResourceNotFoundException if the showtime does not exist
+   * @throws SeatNotAvailableException if any of the requested seats are not
+   *                                   available or do not exist
+   */
+  @Transactional
+  public HoldResponseDTO createHold(HoldRequestDTO requestDTO) {
+    List<Long> seatIds = requestDTO.seatIds().stream().sorted().toList();
+    SeatInventory inventory = seatInventoryService.getInventory(requestDTO.showtimeId());
+
+    if (!inventory.hold(seatIds)) {
+      throw new SeatNotAvailableException("At least one selected seat is not available");
+    }
+
+    return persistHold(inventory, requestDTO.showtimeId(), seatIds, ttlOf(requestDTO.ttlSeconds()));
+  }
+
+  /**
+   * Holds the best block of adjacent available seats of a showtime.
+   *
+   * <p>
+   * The block is chosen and held in a single step of the in-memory inventory
+   * (see {@link SeatInventory#holdBestAvailable(int)}), so concurrent callers
+   * never receive overlapping blocks and never have to retry. The hold is then
+   * written through exactly like {@link #createHold(HoldRequestDTO)}.
+   * </p>
+   *
+   * @param showtimeId the showtime identifier
+   * @param count      the number of adjacent seats wanted
+   * @return the created hold
+   * @throws ResourceNotFoundException if the showtime does not exist
+   * @throws SeatNotAvailableException if no row has {@code count} adjacent
+   *                                   available seats
+   */
+  @Transactional
+  public HoldResponseDTO holdBestAvailable(long showtimeId, int count) {
+    SeatInventory inventory = seatInventoryService.getInventory(showtimeId);
+    List<Long> seatIds = inventory.holdBestAvailable(count).stream().sorted().toList();
+
+    if (seatIds.isEmpty()) {
+      throw new SeatNotAvailableException("No block of " + count + " adjacent seats is available");
+    }
+
+    return persistHold(inventory, showtimeId, seatIds, ttlOf(null));
+  }
+
+  /**
+   * Writes a hold already taken in the inventory through to the database and
+   * schedules its expiry once the transaction commits.
+   */
+  private HoldResponseDTO persistHold(SeatInventory inventory, long showtimeId, List<Long> seatIds,
+      long ttlSeconds) {
+    TransactionHooks.unlessCommitted(() -> inventory.releaseHeld(seatIds));
+
+    Showtime showtime = showtimeRepository.findById(showtimeId)
+        .orElseThrow(() -> new ResourceNotFoundException("Showtime with id " + showtimeId + " does not exist"));
+
+    String holdId = UUID.randomUUID().toString();
+    LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+
+    if (markHeld(showtime, seatIds, holdId, expiresAt) != seatIds.size()) {
+      seatInventoryService.evict(showtimeId);
+      throw new SeatNotAvailableException("At least one selected seat is not available");
+    }
+
+    List<SeatInfoDTO> heldSeats = seatRepository.findHeldSeatsByHoldId(holdId).stream()
+        .map(seat -> new SeatInfoDTO(seat.rowNumber(), seat.seatNumber(), SeatStatus.HELD))
+        .toList();
+
+    TransactionHooks.afterCommit(() -> {
+      register(holdId, showtime.getId(), seatIds, toEpochMillis(expiresAt));
+      publishSeatStatusChange(showtime.getId(), heldSeats);
+    });
+
+    return new HoldResponseDTO(holdId, showtime.getId(), seatIds, heldSeats, expiresAt);
+  }
+
+  /**
+   * Releases the seats of a hold before it expires.
+   *
+   * @param holdId the hold identifier
+   * @throws ResourceNotFoundException if the hold does not exist, expired or
+   *                                   was fully sold
+   */
+  @Transactional
+  public void releaseHold(String holdId) {
+    List<HeldSeatDTO> seats = seatRepository.findHeldSeatsByHoldId(holdId);
+
+    if (seats.isEmpty()) {
+      throw new ResourceNotFoundException("Hold with id " + holdId + " does not exist");
+    }
+
+    seatRepository.releaseHolds(List.of(holdId));
+
+    long showtimeId = seats.getFirst().showtimeId();
+    List<Long> seatIds = seats.stream().map(HeldSeatDTO::seatId).toList();
+
+    TransactionHooks.afterCommit(() -> {
+      ActiveHold hold = holds.remove(holdId);
+
+      if (hold != null) {
+        hold.cancel();
+      }
+
+      onReleased(showtimeId, seatIds);
+    });
+  }
+
+  /**
+   * Retrieves the ID of the showtime whose seats a hold keeps.
+   *
+   * @param holdId the hold identifier
+   * @return the showtime ID
+   * @throws ResourceNotFoundException if the hold does not exist, expired or
+   *                                   was fully sold
+   */
+  public long getShowtimeIdOfHold(String holdId) {
+    ActiveHold hold = holds.get(holdId);
+
+    if (hold != null) {
+      return hold.showtimeId;
+    }
+
+    return seatRepository.findHeldSeatsByHoldId(holdId).stream()
+        .findFirst()
+        .map(HeldSeatDTO::showtimeId)
+        .orElseThrow(() -> new ResourceNotFoundException("Hold with id " + holdId + " does not exist"));
+  }
+
+  /**
+   * Records that seats of a hold were sold, cancelling the expiry once every
+   * seat of the hold is sold.
+   *
+   * <p>
+   * Must be called after the sale committed.
+   * </p>
+   *
+   * @param holdId  the hold identifier
+   * @param seatIds the seats that were sold
+   */
+  public void onHoldSold(String holdId, Collection<Long> seatIds) {
+    ActiveHold hold = holds.get(holdId);
+
+    if (hold == null) {
+      return;
+    }
+
+    hold.seatIds.removeAll(seatIds);
+
+    if (hold.seatIds.isEmpty() && holds.remove(holdId, hold)) {
+      hold.cancel();
+    }
+  }
+
+  /**
+   * Returns the number of holds waiting for expiry on this instance.
+   *
+   * @return the pending hold count
+   */
+  public int pendingHoldCount() {
+    return holds.size();
+  }
+
+  /**
+   * Releases every hold whose expiry was reached. Runs on the expiry thread.
+   */
+  void expireDueHolds() {
+    try {
+      expire(wheel.advanceTo(System.currentTimeMillis()));
+    } catch (RuntimeException e) {
+      log.error("Seat hold expiry failed", e);
+    }
+  }
+
+  private void expire(List<ActiveHold> due) {
+    List<ActiveHold> expired = due.stream()
+        .filter(hold -> holds.remove(hold.holdId, hold))
+        .toList();
+
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    for (int from = 0; from < expired.size(); from += RELEASE_CHUNK_SIZE) {
+      List<ActiveHold> chunk = expired.subList(from, Math.min(from + RELEASE_CHUNK_SIZE, expired.size()));
+
+      try {
+        transaction.executeWithoutResult(
+            status -> seatRepository.releaseHolds(chunk.stream().map(hold -> hold.holdId).toList()));
+      } catch (RuntimeException e) {
+        log.warn("Could not release {} expired seat holds, retrying", chunk.size(), e);
+        long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+        chunk.forEach(hold -> register(hold.holdId, hold.showtimeId, hold.seatIds, retryAt));
+        continue;
+      }
+
+      chunk.forEach(hold -> onReleased(hold.showtimeId, hold.seatIds));
+    }
+  }
+
+  /**
+   * Schedules the expiry of a hold. The hold is published in {@link #holds}
+   * before it is scheduled, so an expiry can never be dropped for a hold that
+   * is not registered yet.
+   */
+  private void register(String holdId, long showtimeId, Collection<Long> seatIds, long expiresAtMillis) {
+    ActiveHold hold = new ActiveHold(holdId, showtimeId, seatIds);
+    holds.put(holdId, hold);
+    hold.timeout = wheel.schedule(hold, expiresAtMillis);
+  }
+
+  /**
+   * Returns released seats to the inventory and notifies seat map
+   * subscribers. Seats sold in the meantime are left untouched.
+   */
+  private void onReleased(long showtimeId, Collection<Long> seatIds) {
+    SeatInventory inventory = seatInventoryService.getIfLoaded(showtimeId);
+
+    if (inventory == null) {
+      return;
+    }
+
+    List<SeatInfoDTO> released = inventory.releaseHeld(seatIds);
+
+    if (!released.isEmpty()) {
+      eventPublisher.publishEvent(new SeatStatusChangedEvent(
+          showtimeId, inventory.getVersion(), released, inventory.getOccupancyPercentage()));
+    }
+  }
+
+  /**
+   * Writes the hold through to the database, creating the seat rows of
+   * {@link SeatingMode#LAZY} showtimes first.
+   *
+   * @return the number of seats that transitioned to HELD
+   */
+  private int markHeld(Showtime showtime, List<Long> seatIds, String holdId, LocalDateTime expiresAt) {
+    if (showtime.getSeatingMode() == SeatingMode.LAZY) {
+      try {
+        seatRepository.materialize(showtime.getId(), seatIds);
+      } catch (DataIntegrityViolationException e) {
+        return 0;
+      }
+    }
+
+    return seatRepository.holdIfAvailable(showtime.getId(), seatIds, holdId, expiresAt);
+  }
+
+  private long ttlOf(Integer requestedSeconds) {
+    long requested = requestedSeconds == null ? ttlSeconds : requestedSeconds;
+    return Math.min(requested, maxTtlSeconds);
+  }
+
+  private void publishSeatStatusChange(long showtimeId, List<SeatInfoDTO> seats) {
+    SeatInventory inventory = seatInventoryService.getInventory(showtimeId);
+
+    eventPublisher.publishEvent(new SeatStatusChangedEvent(
+        showtimeId, inventory.getVersion(), seats, inventory.getOccupancyPercentage()));
+  }
+
+  private static long toEpochMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  /**
+   * A hold scheduled for expiry on this instance, with the seats not sold
+   * yet.
+   */
+  private static final class ActiveHold {
+    private final String holdId;
+    private final long showtimeId;
+    private final Set<Long> seatIds = ConcurrentHashMap.newKeySet();
+    private volatile TimerWheel.Timeout<ActiveHold> timeout;
+
+    private ActiveHold(String holdId, long showtimeId, Collection<Long> seatIds) {
+      this.holdId = holdId;
+      this.showtimeId = showtimeId;
+      this.seatIds.addAll(seatIds);
+    }
+
+    /**
+     * Cancels the pending expiry. Only an optimization: an expiry that still
+     * fires is ignored once the hold was removed from {@link #holds}.
+     */
+    private void cancel() {
+      TimerWheel.Timeout<ActiveHold> pending = timeout;
+
+      if (pending != null) {
+        pending.cancel();
+      }
+    }
+  }
+}
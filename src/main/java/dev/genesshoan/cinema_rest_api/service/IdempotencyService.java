@@ -0,0 +1,295 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import dev.genesshoan.cinema_rest_api.entity.IdempotencyRecord;
+import dev.genesshoan.cinema_rest_api.entity.IdempotentOperation;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
+import dev.genesshoan.cinema_rest_api.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Makes sales and cancellations sent with an {@code Idempotency-Key} safe to
+ * retry.
+ *
+ * <p>
+ * The first request with a key runs normally. A request arriving with the
+ * same key while the first one is still running does not start anything: it
+ * is handed the future of the original and completes with it. Once the
+ * original succeeded, its response is kept in a bounded in-memory cache of
+ * {@code cinema.idempotency.cache-size} entries and in the
+ * {@code idempotency_keys} table, so later retries are answered without
+ * touching seats, even after the entry left the cache or the application
+ * restarted. Failed requests are not recorded and may be retried with the
+ * same key.
+ * </p>
+ *
+ * <p>
+ * A key is bound to the operation and request it was first used with; using
+ * it for a different request is rejected with an
+ * {@link InvalidRequestException}. Requests are compared by their JSON form,
+ * as written by the application's {@link JsonMapper}. Records are purged
+ * after {@code cinema.idempotency.retention-hours}.
+ * </p>
+ *
+ * <p>
+ * Keys are not scoped per customer: the API has no authenticated customer to
+ * scope them by, so all clients share one namespace. A client must send keys
+ * that no other client can guess, such as random UUIDs. Another client
+ * sending the same key with the same request would be handed the original
+ * response.
+ * </p>
+ *
+ * <p>
+ * The record is written right after the operation committed, in its own
+ * transaction and on a recorder thread of its own, so the seat lane that
+ * completed the operation does not wait for it. The original request and its
+ * retries complete once the record was written or failed to be; a failure is
+ * logged and leaves the response in the cache only. If the application stops
+ * between the two, a retry runs the operation again and fails with the usual
+ * conflict, since its seats are already sold or its ticket already cancelled.
+ * </p>
+ *
+ * @see IdempotencyRecord
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+  private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final JsonMapper jsonMapper;
+
+  private final Map<String, Pending> inFlight = new ConcurrentHashMap<>();
+
+  private final ExecutorService recorders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+      .name("idempotency-recorder-", 0)
+      .factory());
+
+  private Map<String, Completed> completed;
+  private ScheduledExecutorService purger;
+
+  @Value("${cinema.idempotency.cache-size:10000}")
+  private int cacheSize;
+
+  @Value("${cinema.idempotency.retention-hours:24}")
+  private long retentionHours;
+
+  /**
+   * Creates the response cache and starts the hourly purge of old records.
+   */
+  @PostConstruct
+  void start() {
+    completed = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Completed> eldest) {
+        return size() > cacheSize;
+      }
+    };
+    purger = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+        .name("idempotency-purger")
+        .daemon()
+        .factory());
+    purger.scheduleWithFixedDelay(this::purge, 1, 1, TimeUnit.HOURS);
+  }
+
+  /**
+   * Stops the purge thread and lets the pending records be written.
+   */
+  @PreDestroy
+  void shutdown() {
+    if (purger != null) {
+      purger.shutdownNow();
+    }
+
+    recorders.shutdown();
+  }
+
+  /**
+   * Runs an operation at most once per idempotency key.
+   *
+   * @param key          the idempotency key, or {@code null} to run the
+   *                     operation unconditionally
+   * @param operation    the kind of operation
+   * @param request      the request, used to detect a key reused for another
+   *                     request
+   * @param responseType the type of the response, to read it back from the
+   *                     table
+   * @param action       starts the operation
+   * @param <T>          the response type
+   * @return a future completed with the response of the first request with
+   *         this key
+   * @throws InvalidRequestException if the key was used for a different
+   *                                 request
+   */
+  public <T> CompletableFuture<T> execute(String key, IdempotentOperation operation, Object request,
+      Class<T> responseType, Supplier<CompletableFuture<T>> action) {
+    if (key == null) {
+      return action.get();
+    }
+
+    String fingerprint = fingerprint(operation, request);
+    Pending pending = new Pending(fingerprint);
+    Pending original = inFlight.putIfAbsent(key, pending);
+
+    if (original != null) {
+      checkFingerprint(key, original.fingerprint, fingerprint);
+      return original.future.thenApply(responseType::cast);
+    }
+
+    try {
+      Optional<Completed> done = lookup(key);
+
+      if (done.isPresent()) {
+        checkFingerprint(key, done.get().fingerprint, fingerprint);
+        T response = done.get().response(jsonMapper, responseType);
+        pending.future.complete(response);
+        inFlight.remove(key, pending);
+        return CompletableFuture.completedFuture(response);
+      }
+
+      action.get().whenCompleteAsync((response, error) -> {
+        if (error != null) {
+          inFlight.remove(key, pending);
+          pending.future.completeExceptionally(unwrap(error));
+          return;
+        }
+
+        try {
+          record(key, operation, fingerprint, response);
+        } finally {
+          inFlight.remove(key, pending);
+          pending.future.complete(response);
+        }
+      }, this::recordAsync);
+    } catch (RuntimeException e) {
+      inFlight.remove(key, pending);
+      pending.future.completeExceptionally(e);
+      throw e;
+    }
+
+    return pending.future.thenApply(responseType::cast);
+  }
+
+  /**
+   * Deletes the records older than the retention period.
+   */
+  void purge() {
+    try {
+      int purged = idempotencyRecordRepository.deleteCompletedBefore(LocalDateTime.now().minusHours(retentionHours));
+      log.debug("Purged {} idempotency records", purged);
+    } catch (DataAccessException e) {
+      log.warn("Could not purge idempotency records: {}", e.getMessage());
+    }
+  }
+
+  private Optional<Completed> lookup(String key) {
+    synchronized (completed) {
+      Completed cached = completed.get(key);
+
+      if (cached != null) {
+        return Optional.of(cached);
+      }
+    }
+
+    return idempotencyRecordRepository.findById(key)
+        .map(record -> new Completed(record.getRequestFingerprint(), null, record.getResponseBody()));
+  }
+
+  /**
+   * Runs the completion of an operation on a recorder thread, or on the
+   * calling thread once the service is shutting down.
+   */
+  private void recordAsync(Runnable task) {
+    try {
+      recorders.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+  }
+
+  private void record(String key, IdempotentOperation operation, String fingerprint, Object response) {
+    try {
+      String body = response == null ? null : jsonMapper.writeValueAsString(response);
+
+      synchronized (completed) {
+        completed.put(key, new Completed(fingerprint, response, body));
+      }
+
+      idempotencyRecordRepository.save(new IdempotencyRecord(key, operation, fingerprint, body, null));
+    } catch (RuntimeException e) {
+      log.warn("Could not store idempotency key {}: {}", key, e.getMessage());
+    }
+  }
+
+  private static void checkFingerprint(String key, String expected, String actual) {
+    if (!expected.equals(actual)) {
+      throw new InvalidRequestException("Idempotency key " + key + " was already used for a different request");
+    }
+  }
+
+  private String fingerprint(IdempotentOperation operation, Object request) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest((operation + ":" + jsonMapper.writeValueAsString(request)).getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+  }
+
+  /**
+   * A request with a key that is still running.
+   */
+  private static final class Pending {
+    private final String fingerprint;
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    private Pending(String fingerprint) {
+      this.fingerprint = fingerprint;
+    }
+  }
+
+  /**
+   * The outcome of a completed request, held as the response object when it
+   * is still in memory and as JSON when it was read from the table.
+   */
+  private record Completed(String fingerprint, Object response, String body) {
+    private <T> T response(JsonMapper jsonMapper, Class<T> responseType) {
+      if (response != null) {
+        return responseType.cast(response);
+      }
+
+      return body == null ? null : jsonMapper.readValue(body, responseType);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Caps the number of service transactions running at once so that the JDBC
+ * pool is never asked for more connections than it holds.
+ *
+ * <p>
+ * Every {@link Transactional} method of a bean in this package that writes
+ * must take one of {@code cinema.jdbc.permits} permits before its transaction
+ * starts and gives it back once the transaction has ended. Read-only
+ * transactions, and methods declared to run without a transaction, are not
+ * limited: they are short, seat maps are answered from memory, and they must
+ * not queue behind ticket sales. Only the outermost
+ * transactional call of a thread takes a permit, so a service calling another
+ * service does not wait on itself. The advisor is ordered before the
+ * transaction interceptor, so a caller waiting for a permit does not hold a
+ * connection.
+ * </p>
+ *
+ * <p>
+ * Permits are handed out in arrival order. A caller that has waited
+ * {@code cinema.jdbc.permit-timeout-ms} without getting one is rejected with
+ * a {@link QueueFullException} instead of piling up in the pool's own queue.
+ * This matters most with {@code spring.threads.virtual.enabled}, where
+ * request threads are cheap and thousands of them can block on the pool at
+ * once.
+ * </p>
+ *
+ * @see ShowtimeSalePermits
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class JdbcPermitLimiter extends AbstractPointcutAdvisor implements MethodInterceptor {
+  private static final String SERVICE_PACKAGE = JdbcPermitLimiter.class.getPackageName();
+
+  private final TransactionAttributeSource transactionAttributes = new AnnotationTransactionAttributeSource();
+
+  private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  private Semaphore permits;
+
+  @Value("${cinema.jdbc.permits:${spring.datasource.hikari.maximum-pool-size:10}}")
+  private int permitCount;
+
+  @Value("${cinema.jdbc.permit-timeout-ms:5000}")
+  private long permitTimeoutMs;
+
+  /**
+   * Creates the permits and orders the advisor before the transaction
+   * interceptor.
+   */
+  @PostConstruct
+  void start() {
+    permits = new Semaphore(permitCount, true);
+    setOrder(Ordered.HIGHEST_PRECEDENCE);
+  }
+
+  @Override
+  public Pointcut getPointcut() {
+    return new StaticMethodMatcherPointcut() {
+      @Override
+      public boolean matches(Method method, Class<?> targetClass) {
+        return targetClass.getPackageName().equals(SERVICE_PACKAGE) && isWriteTransaction(method, targetClass);
+      }
+    };
+  }
+
+  /**
+   * Tells whether a method runs in a read-write transaction, resolving its
+   * {@link Transactional} attributes the way the transaction interceptor
+   * does.
+   */
+  private boolean isWriteTransaction(Method method, Class<?> targetClass) {
+    TransactionAttribute attribute = transactionAttributes.getTransactionAttribute(method, targetClass);
+
+    return attribute != null
+        && !attribute.isReadOnly()
+        && attribute.getPropagationBehavior() != TransactionDefinition.PROPAGATION_NOT_SUPPORTED
+        && attribute.getPropagationBehavior() != TransactionDefinition.PROPAGATION_NEVER;
+  }
+
+  @Override
+  public Advice getAdvice() {
+    return this;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    int[] calls = depth.get();
+
+    if (calls[0] > 0) {
+      return proceed(invocation, calls);
+    }
+
+    acquire();
+
+    try {
+      return proceed(invocation, calls);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Returns the number of permits in use.
+   *
+   * @return the permits currently held
+   */
+  public int getInUse() {
+    return permitCount - permits.availablePermits();
+  }
+
+  /**
+   * Returns the number of permits.
+   *
+   * @return the permit count
+   */
+  public int getPermitCount() {
+    return permitCount;
+  }
+
+  /**
+   * Returns an estimate of the number of callers waiting for a permit.
+   *
+   * @return the queued callers
+   */
+  public int getWaiting() {
+    return permits.getQueueLength();
+  }
+
+  /**
+   * Returns the number of permits handed out since startup.
+   *
+   * @return the acquired permits
+   */
+  public long getAcquired() {
+    return acquired.sum();
+  }
+
+  /**
+   * Returns the number of callers rejected because no permit became free in
+   * time.
+   *
+   * @return the rejected callers
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  private Object proceed(MethodInvocation invocation, int[] calls) throws Throwable {
+    calls[0]++;
+
+    try {
+      return invocation.proceed();
+    } finally {
+      calls[0]--;
+    }
+  }
+
+  private void acquire() {
+    boolean granted;
+
+    try {
+      granted = permits.tryAcquire(permitTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      granted = false;
+    }
+
+    if (!granted) {
+      rejected.increment();
+      throw new QueueFullException("Too many requests waiting for a database connection");
+    }
+
+    acquired.increment();
+  }
+}
@@ -0,0 +1,90 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sale accepted into the {@link SaleJournal}.
+ *
+ * <p>
+ * Holds everything needed to write the sale to the database later, including
+ * the price and purchase time acknowledged to the buyer, so that replaying
+ * the sale produces the same tickets whenever it happens.
+ * </p>
+ *
+ * @param sequence     the position of the sale in the journal, starting at 1
+ * @param showtimeId   the showtime the seats belong to
+ * @param seatIds      the sold seats
+ * @param customerName the name of the buyer
+ * @param unitPrice    the price of every seat
+ * @param purchasedAt  when the sale was accepted
+ */
+public record JournaledSale(
+    long sequence,
+    long showtimeId,
+    List<Long> seatIds,
+    String customerName,
+    BigDecimal unitPrice,
+    LocalDateTime purchasedAt) {
+
+  /**
+   * Encodes the sale as the payload of a journal record.
+   *
+   * @return the encoded sale
+   */
+  byte[] encode() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + seatIds.size() * Long.BYTES);
+
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeLong(sequence);
+      out.writeLong(showtimeId);
+      out.writeLong(purchasedAt.toEpochSecond(ZoneOffset.UTC));
+      out.writeInt(purchasedAt.getNano());
+      out.writeUTF(unitPrice.toPlainString());
+      out.writeUTF(customerName);
+      out.writeInt(seatIds.size());
+
+      for (long seatId : seatIds) {
+        out.writeLong(seatId);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes the payload of a journal record.
+   *
+   * @param payload the encoded sale
+   * @return the sale
+   * @throws IOException if the payload is malformed
+   */
+  static JournaledSale decode(byte[] payload) throws IOException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+      long sequence = in.readLong();
+      long showtimeId = in.readLong();
+      LocalDateTime purchasedAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+      BigDecimal unitPrice = new BigDecimal(in.readUTF());
+      String customerName = in.readUTF();
+      int count = in.readInt();
+      List<Long> seatIds = new ArrayList<>(count);
+
+      for (int i = 0; i < count; i++) {
+        seatIds.add(in.readLong());
+      }
+
+      return new JournaledSale(sequence, showtimeId, List.copyOf(seatIds), customerName, unitPrice, purchasedAt);
+    }
+  }
+}
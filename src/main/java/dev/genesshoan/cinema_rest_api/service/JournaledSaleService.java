@@ -0,0 +1,422 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.genesshoan.cinema_rest_api.dto.metrics.JournalStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSaleTermsDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Acknowledges ticket sales once they are in the local {@link SaleJournal}
+ * and writes them to the database in the background.
+ *
+ * <p>
+ * When {@code cinema.sales.journal.enabled} is {@code true}, a sale of seats
+ * that are not held is decided by the in-memory {@link SeatInventory} alone:
+ * the seats are claimed, the sale is appended to the journal, and the buyer
+ * is answered as soon as the journal has forced it to disk together with the
+ * other sales of the same flush window. No database transaction runs on the
+ * request path. The price and movie of a showtime are cached for
+ * {@code cinema.sales.journal.terms-cache-ms}.
+ * </p>
+ *
+ * <p>
+ * A single applier thread takes the durable sales in journal order and
+ * writes up to {@code cinema.sales.journal.apply-batch-size} of them per
+ * transaction with
+ * {@link TicketService#applyJournaledSales(String, List)}, which also
+ * advances the journal checkpoint. From before they are claimed until then,
+ * the seats are recorded as unapplied in the {@link SeatInventoryService}, so
+ * an inventory reloaded from the database keeps them taken. Applied segments
+ * are deleted.
+ * </p>
+ *
+ * <p>
+ * On startup, the sales of the journal after the checkpoint were
+ * acknowledged but may not have reached the database; they are applied
+ * before the application serves requests, and the checkpoint makes this
+ * idempotent however often the application is restarted. A sale the
+ * database refuses, for example because its seat was sold by another
+ * instance, is logged, counted as a conflict and skipped.
+ * </p>
+ *
+ * <p>
+ * Sales of held seats keep going through the {@link SaleBatcher}, since the
+ * hold itself lives in the database.
+ * </p>
+ *
+ * @see SaleJournal
+ * @see JournalStatsDTO
+ */
+@Service
+@RequiredArgsConstructor
+public class JournaledSaleService {
+  private static final Logger log = LoggerFactory.getLogger(JournaledSaleService.class);
+  private static final long RETRY_BACKOFF_MS = 1000;
+
+  private final TicketService ticketService;
+  private final SeatInventoryService seatInventoryService;
+  private final ShowtimeRepository showtimeRepository;
+
+  private final Map<Long, CachedTerms> termsByShowtime = new ConcurrentHashMap<>();
+  private final BlockingQueue<JournaledSale> durable = new LinkedBlockingQueue<>();
+
+  private final LongAdder acknowledged = new LongAdder();
+  private final LongAdder applied = new LongAdder();
+  private final LongAdder conflicts = new LongAdder();
+  private final LongAdder applyFailures = new LongAdder();
+  private final LongAccumulator appliedSequence = new LongAccumulator(Math::max, 0);
+
+  private SaleJournal journal;
+  private Thread applier;
+  private volatile boolean running;
+
+  @Value("${cinema.sales.journal.enabled:false}")
+  private boolean enabled;
+
+  @Value("${cinema.sales.journal.directory:data/journal}")
+  private String directory;
+
+  @Value("${cinema.sales.journal.segment-bytes:67108864}")
+  private int segmentBytes;
+
+  @Value("${cinema.sales.journal.flush-window-micros:200}")
+  private long flushWindowMicros;
+
+  @Value("${cinema.sales.journal.apply-batch-size:256}")
+  private int applyBatchSize;
+
+  @Value("${cinema.sales.journal.terms-cache-ms:1000}")
+  private long termsCacheMs;
+
+  @Value("${cinema.sales.journal.name:default}")
+  private String name;
+
+  /**
+   * Opens the journal, applies the sales left unapplied by the previous run
+   * and starts the applier.
+   *
+   * @throws IOException if the journal cannot be opened
+   */
+  @PostConstruct
+  void start() throws IOException {
+    if (!enabled) {
+      return;
+    }
+
+    long checkpoint = ticketService.getJournalCheckpoint(name);
+    appliedSequence.accumulate(checkpoint);
+    journal = SaleJournal.open(Path.of(directory), segmentBytes, flushWindowMicros, checkpoint, durable::addAll);
+
+    List<JournaledSale> unapplied = journal.recovered().stream()
+        .filter(sale -> sale.sequence() > checkpoint)
+        .toList();
+
+    if (!unapplied.isEmpty()) {
+      log.info("Replaying {} journaled sales after sequence {}", unapplied.size(), checkpoint);
+
+      for (int from = 0; from < unapplied.size(); from += applyBatchSize) {
+        apply(unapplied.subList(from, Math.min(unapplied.size(), from + applyBatchSize)));
+      }
+
+      unapplied.stream()
+          .map(JournaledSale::showtimeId)
+          .distinct()
+          .forEach(seatInventoryService::evict);
+    }
+
+    journal.deleteThrough(appliedSequence.get());
+
+    running = true;
+    applier = Thread.ofPlatform()
+        .name("sale-journal-applier")
+        .daemon()
+        .start(this::applyLoop);
+  }
+
+  /**
+   * Closes the journal, waits for its last sales to be applied and stops the
+   * applier.
+   */
+  @PreDestroy
+  void shutdown() {
+    if (journal == null) {
+      return;
+    }
+
+    journal.close();
+    running = false;
+
+    if (applier != null) {
+      try {
+        applier.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Returns whether sales are acknowledged from the journal.
+   *
+   * @return {@code true} if the journal is enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sells seats that are not held by journaling the sale.
+   *
+   * <p>
+   * A request allowing a partial sale journals the seats still available and
+   * reports the others in the confirmation.
+   * </p>
+   *
+   * @param requestDTO the sale request, without hold id
+   * @return a future completed with the sale confirmation once the sale is
+   *         on disk
+   * @throws ResourceNotFoundException if the showtime does not exist
+   * @throws SeatNotAvailableException if any of the requested seats, or with
+   *                                   a partial sale all of them, are not
+   *                                   available
+   * @throws IllegalStateException     if the journal is closed or failed
+   */
+  public CompletableFuture<TicketSaleResponseDTO> submit(TicketSaleRequestDTO requestDTO) {
+    long showtimeId = requestDTO.showtimeId();
+    ShowtimeSaleTermsDTO terms = getTerms(showtimeId);
+    List<Long> requested = requestDTO.seatIds().stream().distinct().sorted().toList();
+    SeatInventory inventory;
+    List<Long> seatIds;
+
+    // Recorded before the claim, so that an inventory reloaded at any time
+    // after the claim keeps the seats taken.
+    long stamp = seatInventoryService.addUnapplied(showtimeId, requested);
+
+    try {
+      inventory = seatInventoryService.getInventory(showtimeId);
+      seatIds = claim(inventory, requested, requestDTO.isPartialAllowed());
+    } catch (RuntimeException e) {
+      seatInventoryService.abandonUnapplied(showtimeId, requested, stamp);
+      throw e;
+    }
+
+    List<Long> unavailableSeatIds = requestDTO.seatIds().stream()
+        .distinct()
+        .filter(seatId -> !seatIds.contains(seatId))
+        .toList();
+
+    seatInventoryService.abandonUnapplied(showtimeId, unavailableSeatIds, stamp);
+    List<SeatInfoDTO> seats = inventory.describe(seatIds);
+    CompletableFuture<JournaledSale> appended;
+
+    try {
+      appended = journal.append(showtimeId, seatIds, requestDTO.customerName(), terms.basePrice(),
+          LocalDateTime.now());
+    } catch (RuntimeException e) {
+      seatInventoryService.abandonUnapplied(showtimeId, seatIds, stamp);
+      seatInventoryService.release(showtimeId, seatIds);
+      throw e;
+    }
+
+    // Should the flush fail, the claim is kept: the sale may be on disk and
+    // is then replayed on restart.
+    return appended.thenApply(sale -> {
+      acknowledged.increment();
+      return toSaleResponse(sale, terms, seats, unavailableSeatIds);
+    });
+  }
+
+  /**
+   * Claims the requested seats, or with a partial sale those still available.
+   */
+  private static List<Long> claim(SeatInventory inventory, List<Long> requested, boolean partialAllowed) {
+    if (partialAllowed) {
+      List<Long> seatIds = inventory.claimAvailable(requested);
+
+      if (seatIds.isEmpty()) {
+        throw new SeatNotAvailableException("None of the selected seats is available");
+      }
+
+      return seatIds;
+    }
+
+    if (!inventory.claim(requested)) {
+      throw new SeatNotAvailableException("At least one selected seat is not available");
+    }
+
+    return requested;
+  }
+
+  /**
+   * Returns journal and applier figures.
+   *
+   * @return the current journal statistics
+   */
+  public JournalStatsDTO getStats() {
+    long appends = journal == null ? 0 : journal.getAppends();
+    long fsyncs = journal == null ? 0 : journal.getFsyncs();
+
+    return new JournalStatsDTO(
+        enabled,
+        acknowledged.sum(),
+        fsyncs,
+        fsyncs == 0 ? 0 : (double) appends / fsyncs,
+        applied.sum(),
+        durable.size(),
+        conflicts.sum(),
+        applyFailures.sum(),
+        appliedSequence.get(),
+        journal == null ? 0 : journal.getSegmentCount());
+  }
+
+  private void applyLoop() {
+    List<JournaledSale> batch = new ArrayList<>(applyBatchSize);
+
+    while (running || !durable.isEmpty()) {
+      try {
+        JournaledSale first = durable.poll(100, TimeUnit.MILLISECONDS);
+
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        durable.drainTo(batch, applyBatchSize - 1);
+        applyWithRetry(batch);
+        journal.deleteThrough(appliedSequence.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.warn("Could not delete applied journal segments: {}", e.getMessage());
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Applies a batch, retrying while the application runs if the database
+   * cannot be reached. Sales left unapplied at shutdown are replayed on the
+   * next start.
+   */
+  private void applyWithRetry(List<JournaledSale> batch) throws InterruptedException {
+    while (true) {
+      try {
+        apply(batch);
+        return;
+      } catch (RuntimeException e) {
+        applyFailures.increment();
+
+        if (!running) {
+          log.warn("Leaving {} journaled sales for replay: {}", batch.size(), e.getMessage());
+          return;
+        }
+
+        log.warn("Could not apply {} journaled sales, retrying: {}", batch.size(), e.getMessage());
+        Thread.sleep(RETRY_BACKOFF_MS);
+      }
+    }
+  }
+
+  /**
+   * Applies a batch in one transaction, or one sale at a time if a sale of
+   * the batch conflicts with the database.
+   */
+  private void apply(List<JournaledSale> batch) {
+    try {
+      ticketService.applyJournaledSales(name, batch);
+      onApplied(batch);
+    } catch (SeatNotAvailableException | ResourceNotFoundException e) {
+      for (JournaledSale sale : batch) {
+        applyOne(sale);
+      }
+    }
+  }
+
+  private void applyOne(JournaledSale sale) {
+    try {
+      ticketService.applyJournaledSales(name, List.of(sale));
+      onApplied(List.of(sale));
+    } catch (SeatNotAvailableException | ResourceNotFoundException e) {
+      log.error("Skipping journaled sale {} of {} for showtime {}: {}",
+          sale.sequence(), sale.customerName(), sale.showtimeId(), e.getMessage());
+      ticketService.skipJournaledSale(name, sale.sequence());
+      conflicts.increment();
+      onApplied(List.of(sale));
+      seatInventoryService.evict(sale.showtimeId());
+    }
+  }
+
+  private void onApplied(List<JournaledSale> sales) {
+    for (JournaledSale sale : sales) {
+      seatInventoryService.removeUnapplied(sale.showtimeId(), sale.seatIds());
+      appliedSequence.accumulate(sale.sequence());
+    }
+
+    applied.add(sales.size());
+  }
+
+  private ShowtimeSaleTermsDTO getTerms(long showtimeId) {
+    long now = System.nanoTime();
+    CachedTerms cached = termsByShowtime.get(showtimeId);
+
+    if (cached != null && now - cached.loadedAt < TimeUnit.MILLISECONDS.toNanos(termsCacheMs)) {
+      return cached.terms;
+    }
+
+    ShowtimeSaleTermsDTO terms = showtimeRepository.findSaleTermsById(showtimeId)
+        .orElseThrow(() -> new ResourceNotFoundException("Showtime with id " + showtimeId + " does not exist"));
+    termsByShowtime.put(showtimeId, new CachedTerms(terms, now));
+
+    return terms;
+  }
+
+  private static TicketSaleResponseDTO toSaleResponse(JournaledSale sale, ShowtimeSaleTermsDTO terms,
+      List<SeatInfoDTO> seats, List<Long> unavailableSeatIds) {
+    List<TicketResponseDTO> tickets = seats.stream()
+        .map(seat -> new TicketResponseDTO(sale.customerName(), terms.movieTitle(), seat.rowNumber(),
+            seat.seatNumber(), sale.purchasedAt(), terms.startTime()))
+        .toList();
+
+    return new TicketSaleResponseDTO(
+        sale.unitPrice().multiply(BigDecimal.valueOf(tickets.size())),
+        tickets.size(),
+        tickets,
+        unavailableSeatIds);
+  }
+
+  /**
+   * The sale terms of a showtime and when they were read.
+   */
+  private record CachedTerms(ShowtimeSaleTermsDTO terms, long loadedAt) {
+  }
+}
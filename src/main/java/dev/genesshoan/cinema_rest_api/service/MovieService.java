@@ -1,24 +1,32 @@
 package dev.genesshoan.cinema_rest_api.service;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
 import dev.genesshoan.cinema_rest_api.exception.ResourceInUseException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
 import dev.genesshoan.cinema_rest_api.dto.movie.MovieResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
 import dev.genesshoan.cinema_rest_api.entity.Movie;
 import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceAlreadyExistsException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
 import dev.genesshoan.cinema_rest_api.mapper.MovieMapper;
+import dev.genesshoan.cinema_rest_api.repository.CountEstimator;
 import dev.genesshoan.cinema_rest_api.repository.MovieRepository;
+import dev.genesshoan.cinema_rest_api.repository.MovieSpecifications;
 import lombok.AllArgsConstructor;
 
 /**
@@ -43,6 +51,7 @@ import lombok.AllArgsConstructor;
 public class MovieService {
   private final MovieRepository movieRepository;
   private final MovieMapper movieMapper;
+  private final CountEstimator countEstimator;
 
   /**
    * Creates a new movie in the database.
@@ -88,6 +97,39 @@ public class MovieService {
     return new PageImpl<>(dtos, pageable, movieIdsPage.getTotalElements());
   }
 
+  /**
+   * Retrieves a keyset page of the movies with shows that match the given
+   * status and have a show date-time greater than or equal to the specified
+   * date, in ID order.
+   *
+   * <p>
+   * Cursor variant of
+   * {@link #getMoviesWithShowtimes(LocalDateTime, ShowtimeStatus, Pageable)}:
+   * no count is run and the cost of a page does not grow with its depth.
+   * </p>
+   *
+   * @param from   the base date-time to filter shows
+   * @param status the showtime status to filter shows
+   * @param size   the page size
+   * @param next   the token returned with the previous page, or {@code null}
+   *               for the first page
+   * @return a page of movies matching the given criteria
+   * @throws InvalidRequestException if the token is malformed
+   */
+  public CursorPageDTO<MovieResponseDTO> scrollMoviesWithShowtimes(LocalDateTime from, ShowtimeStatus status,
+      int size, String next) {
+    PageCursor cursor = PageCursor.decode(next);
+    List<Long> ids = movieRepository.findMovieIdsWithShowtimesAfter(
+        from, status, cursor == null ? 0 : cursor.id(), Limit.of(size + 1));
+    List<Movie> movies = ids.isEmpty()
+        ? List.of()
+        : movieRepository.findMovieWithShowtimes(ids).stream()
+            .sorted(Comparator.comparing(Movie::getId))
+            .toList();
+
+    return PageCursor.toPage(movies, size, movie -> new PageCursor("", movie.getId()), movieMapper::toDto);
+  }
+
   /**
    * Retrieves a movie by its unique identifier.
    * 
@@ -191,18 +233,52 @@ public class MovieService {
   }
 
   /**
-   * Searches for movies by title and/or genre using partial matching.
+   * Searches for movies by title and/or genre using partial matching,
+   * computing the total as requested.
    * 
    * The search is case-insensitive and supports partial matching for
    * both parameters. If both parameters are null, all movies are returned.
-   * 
-   * @param title    optional title search term, can be null
-   * @param genre    optional genre search term, can be null
-   * @param pageable pagination and sorting parameters, must not be null
+   *
+   * @param title     optional title search term, can be null
+   * @param genre     optional genre search term, can be null
+   * @param pageable  pagination and sorting parameters, must not be null
+   * @param countMode how the total is computed
+   * @return a page of movies matching the search criteria, or a slice for
+   *         {@link CountMode#NONE}
+   */
+  public Slice<MovieResponseDTO> search(String title, String genre, Pageable pageable, CountMode countMode) {
+    return CountedPages.read(countMode, pageable,
+        () -> movieRepository.search(title, genre, pageable),
+        () -> movieRepository.searchSlice(title, genre, pageable),
+        () -> countEstimator.estimate(MovieSpecifications.estimate(title, genre),
+            () -> movieRepository.count(MovieSpecifications.search(title, genre))),
+        movieMapper::toDto);
+  }
+
+  /**
+   * Searches for movies by title and/or genre, reading a keyset page sorted
+   * by title then ID.
+   *
+   * <p>
+   * Cursor variant of {@link #search(String, String, Pageable, CountMode)}: no count is
+   * run and the cost of a page does not grow with its depth.
+   * </p>
+   *
+   * @param title optional title search term, can be null
+   * @param genre optional genre search term, can be null
+   * @param size  the page size
+   * @param next  the token returned with the previous page, or {@code null}
+   *              for the first page
    * @return a page of movies matching the search criteria
+   * @throws InvalidRequestException if the token is malformed
    */
-  public Page<MovieResponseDTO> search(String title, String genre, Pageable pageable) {
-    return movieRepository.search(title, genre, pageable)
-        .map(movieMapper::toDto);
+  public CursorPageDTO<MovieResponseDTO> scroll(String title, String genre, int size, String next) {
+    PageCursor cursor = PageCursor.decode(next);
+    List<Movie> movies = cursor == null
+        ? movieRepository.scroll(title, genre, null, 0, size + 1)
+        : movieRepository.scroll(title, genre, cursor.key(), cursor.id(), size + 1);
+
+    return PageCursor.toPage(movies, size, movie -> new PageCursor(movie.getTitle(), movie.getId()),
+        movieMapper::toDto);
   }
 }
@@ -0,0 +1,72 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatVersionDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seat claim guarded by the seat row version.
+ *
+ * <p>
+ * The status and version of the seats are read without locks, then each
+ * available seat is sold with an {@code UPDATE} that only matches the version
+ * that was read. A seat whose version changed in between (for example a hold
+ * that was placed and released again) is read and tried again, up to
+ * {@code cinema.seats.claim.max-attempts} times in total. The claim stops as
+ * soon as a requested seat is found not to be AVAILABLE.
+ * </p>
+ *
+ * <p>
+ * The version check is done by a bulk {@code UPDATE} rather than by flushing
+ * a versioned entity, so a conflict does not invalidate the persistence
+ * context and can be retried within the same transaction.
+ * </p>
+ *
+ * @see SeatRepository#markSoldIfVersion(Long, long)
+ */
+@Component
+@ConditionalOnProperty(name = SeatClaimStrategy.PROPERTY, havingValue = "OPTIMISTIC")
+@RequiredArgsConstructor
+public class OptimisticSeatClaimStrategy implements SeatClaimStrategy {
+  private final SeatRepository seatRepository;
+
+  @Value("${cinema.seats.claim.max-attempts:3}")
+  private int maxAttempts;
+
+  @Override
+  public int claim(long showtimeId, List<Long> seatIds) {
+    List<Long> pending = seatIds;
+    int claimed = 0;
+
+    for (int attempt = 0; attempt < maxAttempts && !pending.isEmpty(); attempt++) {
+      List<SeatVersionDTO> seats = seatRepository.findVersionsByIds(showtimeId, pending);
+
+      if (seats.size() != pending.size()
+          || seats.stream().anyMatch(seat -> seat.status() != SeatStatus.AVAILABLE)) {
+        return claimed;
+      }
+
+      List<Long> conflicting = new ArrayList<>();
+
+      for (SeatVersionDTO seat : seats) {
+        if (seatRepository.markSoldIfVersion(seat.id(), seat.version()) == 1) {
+          claimed++;
+        } else {
+          conflicting.add(seat.id());
+        }
+      }
+
+      pending = conflicting;
+    }
+
+    return claimed;
+  }
+}
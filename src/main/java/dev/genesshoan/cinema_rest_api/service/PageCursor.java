@@ -0,0 +1,75 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
+
+/**
+ * Position of a keyset page: the sort key and ID of the last row returned.
+ *
+ * <p>
+ * Clients only see it as an opaque token, the URL-safe Base64 encoding of
+ * {@code id:key}. The next page is read with {@code (key, id) > (...)}, so
+ * its cost does not depend on how deep the client has scrolled and no count
+ * is needed.
+ * </p>
+ *
+ * @param key the sort key of the last row, as text; empty when the rows are
+ *            sorted by ID only
+ * @param id  the ID of the last row
+ */
+record PageCursor(String key, long id) {
+  /**
+   * Decodes a token received from a client.
+   *
+   * @param token the token, or {@code null} for the first page
+   * @return the position, or {@code null} for the first page
+   * @throws InvalidRequestException if the token is malformed
+   */
+  static PageCursor decode(String token) {
+    if (token == null) {
+      return null;
+    }
+
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = decoded.indexOf(':');
+
+      return new PageCursor(decoded.substring(separator + 1), Long.parseLong(decoded.substring(0, separator)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new InvalidRequestException("Invalid page token");
+    }
+  }
+
+  /**
+   * Encodes this position as a token for the client.
+   *
+   * @return the opaque token
+   */
+  String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((id + ":" + key).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Builds a keyset page from rows read with a limit of {@code size + 1}; the
+   * extra row only tells whether there is a next page.
+   *
+   * @param rows     the rows read, in sort order
+   * @param size     the page size requested
+   * @param position the position of a row
+   * @param mapper   the mapping of a row to its response DTO
+   * @return the page, with a next token if more rows follow
+   */
+  static <E, D> CursorPageDTO<D> toPage(List<E> rows, int size, Function<E, PageCursor> position,
+      Function<E, D> mapper) {
+    List<E> content = rows.size() > size ? rows.subList(0, size) : rows;
+    String next = rows.size() > size ? position.apply(content.getLast()).encode() : null;
+
+    return new CursorPageDTO<>(content.stream().map(mapper).toList(), next);
+  }
+}
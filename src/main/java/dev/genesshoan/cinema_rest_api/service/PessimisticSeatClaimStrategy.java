@@ -0,0 +1,48 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import dev.genesshoan.cinema_rest_api.entity.Seat;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seat claim guarded by pessimistic row locks.
+ *
+ * <p>
+ * The available seats are loaded with {@code SELECT ... FOR UPDATE} in seat
+ * id order, so concurrent claims of overlapping seats queue behind each other
+ * instead of deadlocking, and the locks are kept until the sale commits.
+ * </p>
+ *
+ * <p>
+ * Seats locked by a sale on another instance are waited for, reported as a
+ * conflict or skipped according to {@code cinema.locks.seats.wait-policy};
+ * skipped seats count as unavailable.
+ * </p>
+ *
+ * @see SeatRepository#findAvailableByIdsForUpdate(Long, List)
+ */
+@Component
+@ConditionalOnProperty(name = SeatClaimStrategy.PROPERTY, havingValue = "PESSIMISTIC")
+@RequiredArgsConstructor
+public class PessimisticSeatClaimStrategy implements SeatClaimStrategy {
+  private final SeatRepository seatRepository;
+
+  @Override
+  public int claim(long showtimeId, List<Long> seatIds) {
+    List<Seat> seats = seatRepository.findAvailableByIdsForUpdate(showtimeId, seatIds);
+
+    for (Seat seat : seats) {
+      seat.setStatus(SeatStatus.SOLD);
+    }
+
+    seatRepository.flush();
+
+    return seats.size();
+  }
+}
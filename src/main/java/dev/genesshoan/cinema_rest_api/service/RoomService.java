@@ -1,19 +1,25 @@
 package dev.genesshoan.cinema_rest_api.service;
 
+import java.util.List;
 import java.util.Objects;
 
 import dev.genesshoan.cinema_rest_api.exception.ResourceInUseException;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
 import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
 import dev.genesshoan.cinema_rest_api.dto.room.RoomResponseDTO;
 import dev.genesshoan.cinema_rest_api.entity.Room;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceAlreadyExistsException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
 import dev.genesshoan.cinema_rest_api.mapper.RoomMapper;
+import dev.genesshoan.cinema_rest_api.repository.CountEstimator;
 import dev.genesshoan.cinema_rest_api.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -39,6 +45,7 @@ import lombok.RequiredArgsConstructor;
 public class RoomService {
   private final RoomRepository roomRepository;
   private final RoomMapper roomMapper;
+  private final CountEstimator countEstimator;
 
   /**
    * Creates a new room in the database.
@@ -64,13 +71,43 @@ public class RoomService {
   }
 
   /**
-   * Retrieves all rooms in room's repository.
+   * Retrieves all rooms in room's repository, computing the total as
+   * requested.
    *
-   * @param pageable pagination and sorting parameters
-   * @return a page with all rooms in the system
+   * @param pageable  pagination and sorting parameters
+   * @param countMode how the total is computed
+   * @return a page with all rooms in the system, or a slice for
+   *         {@link CountMode#NONE}
    */
-  public Page<RoomResponseDTO> getAllRooms(Pageable pageable) {
-    return roomRepository.findAll(pageable).map(roomMapper::toDto);
+  public Slice<RoomResponseDTO> getAllRooms(Pageable pageable, CountMode countMode) {
+    return CountedPages.read(countMode, pageable,
+        () -> roomRepository.findAll(pageable),
+        () -> roomRepository.findAllBy(pageable),
+        () -> countEstimator.estimate(roomRepository.estimateAll(), roomRepository::count),
+        roomMapper::toDto);
+  }
+
+  /**
+   * Retrieves a keyset page of rooms, sorted by name then ID.
+   *
+   * <p>
+   * Cursor variant of {@link #getAllRooms(Pageable, CountMode)}: no count is run and the
+   * cost of a page does not grow with its depth.
+   * </p>
+   *
+   * @param size the page size
+   * @param next the token returned with the previous page, or {@code null}
+   *             for the first page
+   * @return a page of rooms
+   * @throws InvalidRequestException if the token is malformed
+   */
+  public CursorPageDTO<RoomResponseDTO> scrollRooms(int size, String next) {
+    PageCursor cursor = PageCursor.decode(next);
+    List<Room> rooms = cursor == null
+        ? roomRepository.findAllByOrderByNameAscIdAsc(Limit.of(size + 1))
+        : roomRepository.findAfter(cursor.key(), cursor.id(), Limit.of(size + 1));
+
+    return PageCursor.toPage(rooms, size, room -> new PageCursor(room.getName(), room.getId()), roomMapper::toDto);
   }
 
   /**
@@ -0,0 +1,305 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.genesshoan.cinema_rest_api.dto.metrics.GroupCommitStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groups concurrent ticket sales of a showtime into batches committed in one
+ * transaction.
+ *
+ * <p>
+ * When {@code cinema.sales.group-commit.enabled} is {@code true}, a sale
+ * request opens or joins the pending batch of its showtime. A batch is closed
+ * {@code cinema.sales.group-commit.window-micros} after its first request or
+ * as soon as it holds {@code cinema.sales.group-commit.max-batch-size}
+ * requests, whichever comes first, and is then queued on the showtime's lane
+ * of the {@link ShowtimeSequencer} like any other seat mutation. There it is
+ * sold by {@link TicketService#sellBatch(long, List)}: seat conflicts are
+ * resolved against the in-memory inventory and every accepted request is
+ * persisted in a single transaction, so a burst of sales costs one commit
+ * instead of one per request.
+ * </p>
+ *
+ * <p>
+ * If the batch transaction fails, for example because the database rejected
+ * a seat the inventory considered available, its requests are replayed one
+ * at a time with {@link TicketService#sellTicket(TicketSaleRequestDTO)}, so a
+ * single stale seat never fails unrelated sales.
+ * </p>
+ *
+ * <p>
+ * When disabled, each sale is queued on the sequencer on its own.
+ * </p>
+ *
+ * <p>
+ * On the sequencer's lanes the sales of a showtime already run one at a
+ * time. Only when the sequencer is disabled does a sale take a permit of its
+ * showtime from {@link ShowtimeSalePermits} before its transaction starts.
+ * </p>
+ *
+ * @see GroupCommitStatsDTO
+ */
+@Service
+@RequiredArgsConstructor
+public class SaleBatcher {
+  private static final Logger log = LoggerFactory.getLogger(SaleBatcher.class);
+
+  private final TicketService ticketService;
+  private final ShowtimeSequencer showtimeSequencer;
+  private final ShowtimeSalePermits showtimeSalePermits;
+
+  private final Map<Long, Batch> openBatches = new ConcurrentHashMap<>();
+
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder fallbacks = new LongAdder();
+  private final LongAccumulator largestBatch = new LongAccumulator(Math::max, 0);
+  private final AtomicLongArray batchSizes = new AtomicLongArray(Integer.SIZE);
+
+  private ScheduledExecutorService timer;
+
+  @Value("${cinema.sales.group-commit.enabled:false}")
+  private boolean enabled;
+
+  @Value("${cinema.sales.group-commit.window-micros:2000}")
+  private long windowMicros;
+
+  @Value("${cinema.sales.group-commit.max-batch-size:64}")
+  private int maxBatchSize;
+
+  /**
+   * Starts the thread closing batches at the end of their window.
+   */
+  @PostConstruct
+  void start() {
+    if (enabled) {
+      timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+          .name("sale-batcher")
+          .daemon()
+          .factory());
+    }
+  }
+
+  /**
+   * Stops the batch timer.
+   */
+  @PreDestroy
+  void shutdown() {
+    if (timer != null) {
+      timer.shutdownNow();
+    }
+  }
+
+  /**
+   * Submits a sale request.
+   *
+   * @param requestDTO the sale request
+   * @return a future completed with the sale confirmation, or exceptionally
+   *         with the reason the sale failed
+   * @throws QueueFullException if too many mutations of the showtime are
+   *                            pending
+   */
+  public CompletableFuture<TicketSaleResponseDTO> submit(TicketSaleRequestDTO requestDTO) {
+    long showtimeId = requestDTO.showtimeId();
+
+    if (!enabled) {
+      return showtimeSequencer.submit(showtimeId, () -> sellTicket(requestDTO));
+    }
+
+    PendingSale sale = new PendingSale(requestDTO);
+    Batch[] opened = new Batch[1];
+    Batch[] full = new Batch[1];
+
+    openBatches.compute(showtimeId, (id, batch) -> {
+      if (batch == null) {
+        batch = new Batch(id);
+        opened[0] = batch;
+      }
+
+      batch.sales.add(sale);
+
+      if (batch.sales.size() >= maxBatchSize) {
+        full[0] = batch;
+        return null;
+      }
+
+      return batch;
+    });
+
+    if (full[0] != null) {
+      dispatch(full[0]);
+    } else if (opened[0] != null) {
+      Batch batch = opened[0];
+      timer.schedule(() -> close(batch), windowMicros, TimeUnit.MICROSECONDS);
+    }
+
+    return sale.future;
+  }
+
+  /**
+   * Returns batch size figures of the batcher.
+   *
+   * @return the current statistics
+   */
+  public GroupCommitStatsDTO getStats() {
+    Map<String, Long> sizes = new LinkedHashMap<>();
+
+    for (int i = 0; i < batchSizes.length(); i++) {
+      long count = batchSizes.get(i);
+
+      if (count > 0) {
+        long low = 1L << i;
+        sizes.put(low == 1 ? "1" : low + "-" + (2 * low - 1), count);
+      }
+    }
+
+    long batchCount = batches.sum();
+    long requestCount = requests.sum();
+
+    return new GroupCommitStatsDTO(
+        enabled,
+        batchCount,
+        requestCount,
+        batchCount == 0 ? 0.0 : (double) requestCount / batchCount,
+        (int) largestBatch.get(),
+        fallbacks.sum(),
+        sizes);
+  }
+
+  /**
+   * Closes a batch at the end of its window, unless it was already closed
+   * because it filled up.
+   *
+   * @param batch the batch to close
+   */
+  private void close(Batch batch) {
+    if (openBatches.remove(batch.showtimeId, batch)) {
+      dispatch(batch);
+    }
+  }
+
+  /**
+   * Queues a closed batch on the lane of its showtime.
+   *
+   * @param batch the closed batch
+   */
+  private void dispatch(Batch batch) {
+    int size = batch.sales.size();
+
+    batches.increment();
+    requests.add(size);
+    largestBatch.accumulate(size);
+    batchSizes.incrementAndGet(31 - Integer.numberOfLeadingZeros(size));
+
+    try {
+      showtimeSequencer.submit(batch.showtimeId, () -> {
+        sell(batch);
+        return null;
+      });
+    } catch (QueueFullException e) {
+      batch.sales.forEach(sale -> sale.future.completeExceptionally(e));
+    }
+  }
+
+  /**
+   * Sells a batch in one transaction, replaying its requests one at a time if
+   * the batch fails as a whole.
+   *
+   * @param batch the batch to sell
+   */
+  private void sell(Batch batch) {
+    List<TicketSaleRequestDTO> requestDTOs = batch.sales.stream()
+        .map(sale -> sale.request)
+        .toList();
+    List<SaleOutcome> outcomes;
+
+    try {
+      outcomes = withinPermits(batch.showtimeId, () -> ticketService.sellBatch(batch.showtimeId, requestDTOs));
+    } catch (RuntimeException e) {
+      log.debug("Batch of {} sales for showtime {} failed, selling one at a time: {}",
+          requestDTOs.size(), batch.showtimeId, e.getMessage());
+      fallbacks.increment();
+      batch.sales.forEach(this::sellAlone);
+      return;
+    }
+
+    for (int i = 0; i < outcomes.size(); i++) {
+      SaleOutcome outcome = outcomes.get(i);
+      CompletableFuture<TicketSaleResponseDTO> future = batch.sales.get(i).future;
+
+      if (outcome.error() == null) {
+        future.complete(outcome.response());
+      } else {
+        future.completeExceptionally(outcome.error());
+      }
+    }
+  }
+
+  private void sellAlone(PendingSale sale) {
+    try {
+      sale.future.complete(sellTicket(sale.request));
+    } catch (RuntimeException e) {
+      sale.future.completeExceptionally(e);
+    }
+  }
+
+  private TicketSaleResponseDTO sellTicket(TicketSaleRequestDTO requestDTO) {
+    return withinPermits(requestDTO.showtimeId(), () -> ticketService.sellTicket(requestDTO));
+  }
+
+  /**
+   * Runs a sale within the permits of its showtime, unless the sequencer
+   * already serializes the sales of the showtime.
+   */
+  private <T> T withinPermits(long showtimeId, Supplier<T> sale) {
+    return showtimeSequencer.isEnabled() ? sale.get() : showtimeSalePermits.call(showtimeId, sale);
+  }
+
+  /**
+   * Sale requests of one showtime collected during a window.
+   */
+  private static final class Batch {
+    private final long showtimeId;
+    private final List<PendingSale> sales = new ArrayList<>();
+
+    private Batch(long showtimeId) {
+      this.showtimeId = showtimeId;
+    }
+  }
+
+  /**
+   * A sale request waiting for its batch to be sold.
+   */
+  private static final class PendingSale {
+    private final TicketSaleRequestDTO request;
+    private final CompletableFuture<TicketSaleResponseDTO> future = new CompletableFuture<>();
+
+    private PendingSale(TicketSaleRequestDTO request) {
+      this.request = request;
+    }
+  }
+}
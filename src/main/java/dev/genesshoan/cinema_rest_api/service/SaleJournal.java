@@ -0,0 +1,509 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped log of accepted sales.
+ *
+ * <p>
+ * The journal is a directory of segment files of {@code segmentBytes} each,
+ * named after the sequence number of their first sale. A segment is mapped
+ * into memory when it is created, so appending a sale is a copy into the
+ * mapping. Each record is its payload length, the CRC-32C of the payload and
+ * the payload itself; the zero-filled rest of the segment marks its end.
+ * </p>
+ *
+ * <p>
+ * Appends are made durable in groups: a flusher thread forces the written
+ * range of the active segment to disk, waiting {@code flushWindowMicros}
+ * after the first pending append so that concurrent sales share one fsync,
+ * and then completes the futures of every sale it covered. Just before that,
+ * the newly durable sales are handed to the {@code onDurable} callback in
+ * sequence order.
+ * </p>
+ *
+ * <p>
+ * Opening a journal reads back every record of the existing segments,
+ * stopping at the first record of a segment that is incomplete or fails its
+ * checksum: a write torn by a crash was never acknowledged. Appends then go
+ * to a new segment. Sequence numbers continue after both the last recovered
+ * sale and the given applied sequence, so they stay unique even once applied
+ * segments have been deleted.
+ * </p>
+ *
+ * <p>
+ * If forcing a segment fails, the journal stops accepting appends: the
+ * state of the unflushed records on disk is unknown, so the application must
+ * be restarted to recover from what was actually written.
+ * </p>
+ *
+ * @see JournaledSaleService
+ */
+public final class SaleJournal implements Closeable {
+  private static final String SUFFIX = ".journal";
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final long flushWindowNanos;
+  private final Consumer<List<JournaledSale>> onDurable;
+  private final List<JournaledSale> recovered;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition appended = lock.newCondition();
+  private final Deque<Segment> sealed = new ArrayDeque<>();
+  private final Thread flusher;
+
+  private final LongAdder appends = new LongAdder();
+  private final LongAdder fsyncs = new LongAdder();
+
+  private Segment active;
+  private long nextSequence;
+  private List<Pending> pending = new ArrayList<>();
+  private boolean closed;
+  private IOException failure;
+
+  private SaleJournal(Path directory, int segmentBytes, long flushWindowMicros, long appliedSequence,
+      Consumer<List<JournaledSale>> onDurable) throws IOException {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.flushWindowNanos = TimeUnit.MICROSECONDS.toNanos(flushWindowMicros);
+    this.onDurable = onDurable;
+
+    Files.createDirectories(directory);
+
+    List<JournaledSale> sales = new ArrayList<>();
+    long lastSequence = appliedSequence;
+
+    for (Path file : segmentFiles(directory)) {
+      List<JournaledSale> segmentSales = read(file);
+
+      // A segment without an intact record holds no acknowledged sale.
+      if (segmentSales.isEmpty()) {
+        Files.delete(file);
+        continue;
+      }
+
+      sales.addAll(segmentSales);
+      sealed.add(new Segment(file, firstSequenceOf(file), segmentSales.getLast().sequence()));
+      lastSequence = Math.max(lastSequence, segmentSales.getLast().sequence());
+    }
+
+    this.recovered = List.copyOf(sales);
+    this.nextSequence = lastSequence + 1;
+    this.active = Segment.create(directory.resolve(fileName(nextSequence)), nextSequence, segmentBytes);
+
+    this.flusher = Thread.ofPlatform()
+        .name("sale-journal-flusher")
+        .daemon()
+        .start(this::flushLoop);
+  }
+
+  /**
+   * Opens the journal stored in a directory, creating it if needed.
+   *
+   * @param directory         the journal directory
+   * @param segmentBytes      the size of each segment file
+   * @param flushWindowMicros how long the flusher waits for more appends
+   *                          before forcing them to disk
+   * @param appliedSequence   the last sequence number known to be applied
+   * @param onDurable         receives the sales of each flush, in sequence
+   *                          order, once they are on disk
+   * @return the opened journal
+   * @throws IOException if the directory or a segment cannot be read or
+   *                     created
+   */
+  public static SaleJournal open(Path directory, int segmentBytes, long flushWindowMicros, long appliedSequence,
+      Consumer<List<JournaledSale>> onDurable) throws IOException {
+    return new SaleJournal(directory, segmentBytes, flushWindowMicros, appliedSequence, onDurable);
+  }
+
+  /**
+   * Returns the sales read back when the journal was opened, in sequence
+   * order.
+   *
+   * @return the recovered sales
+   */
+  public List<JournaledSale> recovered() {
+    return recovered;
+  }
+
+  /**
+   * Appends a sale.
+   *
+   * @param showtimeId   the showtime the seats belong to
+   * @param seatIds      the sold seats
+   * @param customerName the name of the buyer
+   * @param unitPrice    the price of every seat
+   * @param purchasedAt  when the sale was accepted
+   * @return a future completed with the journaled sale once it is on disk
+   * @throws IllegalStateException if the journal is closed or failed
+   * @throws UncheckedIOException  if a new segment cannot be created
+   */
+  public CompletableFuture<JournaledSale> append(long showtimeId, List<Long> seatIds, String customerName,
+      BigDecimal unitPrice, LocalDateTime purchasedAt) {
+    CompletableFuture<JournaledSale> future = new CompletableFuture<>();
+
+    lock.lock();
+
+    try {
+      if (closed || failure != null) {
+        throw new IllegalStateException("Sale journal is " + (closed ? "closed" : "failed"), failure);
+      }
+
+      JournaledSale sale = new JournaledSale(nextSequence, showtimeId, List.copyOf(seatIds), customerName,
+          unitPrice, purchasedAt);
+      byte[] payload = sale.encode();
+      int recordBytes = HEADER_BYTES + payload.length;
+
+      if (recordBytes + Integer.BYTES > segmentBytes) {
+        throw new IllegalArgumentException("Sale of " + seatIds.size() + " seats does not fit a journal segment");
+      }
+
+      if (active.buffer.remaining() < recordBytes + Integer.BYTES) {
+        roll();
+      }
+
+      CRC32C crc = new CRC32C();
+      crc.update(payload);
+
+      active.buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+      active.lastSequence = sale.sequence();
+      nextSequence++;
+
+      pending.add(new Pending(sale, future));
+      appends.increment();
+      appended.signal();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+
+    return future;
+  }
+
+  /**
+   * Deletes the sealed segments whose sales are all applied.
+   *
+   * @param appliedSequence the last applied sequence number
+   */
+  public void deleteThrough(long appliedSequence) {
+    lock.lock();
+
+    try {
+      while (!sealed.isEmpty() && sealed.peekFirst().lastSequence <= appliedSequence) {
+        Segment segment = sealed.pollFirst();
+        segment.close();
+        Files.deleteIfExists(segment.path);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of sales appended since the journal was opened.
+   *
+   * @return the appended sales
+   */
+  public long getAppends() {
+    return appends.sum();
+  }
+
+  /**
+   * Returns the number of times appended sales were forced to disk.
+   *
+   * @return the fsync count
+   */
+  public long getFsyncs() {
+    return fsyncs.sum();
+  }
+
+  /**
+   * Returns the number of segment files, including the active one.
+   *
+   * @return the segment count
+   */
+  public int getSegmentCount() {
+    lock.lock();
+
+    try {
+      return sealed.size() + 1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Flushes the pending appends and stops the flusher.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+
+    try {
+      closed = true;
+      appended.signal();
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    lock.lock();
+
+    try {
+      active.close();
+      sealed.forEach(Segment::close);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reads the intact records of a segment file.
+   *
+   * @param file the segment file
+   * @return the sales of the segment, up to the first incomplete or corrupt
+   *         record
+   * @throws IOException if the file cannot be read
+   */
+  static List<JournaledSale> read(Path file) throws IOException {
+    List<JournaledSale> sales = new ArrayList<>();
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      while (buffer.remaining() >= HEADER_BYTES) {
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+
+        if (length <= 0 || length > buffer.remaining()) {
+          break;
+        }
+
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+
+        sales.add(JournaledSale.decode(payload));
+      }
+    }
+
+    return sales;
+  }
+
+  /**
+   * Seals the active segment and maps a new one. Called under the lock.
+   */
+  private void roll() throws IOException {
+    try {
+      active.force(active.buffer.position());
+      sealed.add(active);
+      active = Segment.create(directory.resolve(fileName(nextSequence)), nextSequence, segmentBytes);
+    } catch (IOException e) {
+      failure = e;
+      throw e;
+    }
+  }
+
+  private void flushLoop() {
+    while (true) {
+      List<Pending> batch;
+      Segment segment;
+      int position;
+      IOException failed;
+
+      lock.lock();
+
+      try {
+        while (pending.isEmpty() && !closed) {
+          appended.awaitUninterruptibly();
+        }
+
+        if (pending.isEmpty()) {
+          return;
+        }
+
+        awaitFlushWindow();
+
+        batch = pending;
+        pending = new ArrayList<>();
+        segment = active;
+        position = active.buffer.position();
+        failed = failure;
+      } finally {
+        lock.unlock();
+      }
+
+      if (failed != null) {
+        fail(batch, failed);
+        continue;
+      }
+
+      try {
+        segment.force(position);
+        fsyncs.increment();
+      } catch (IOException | UncheckedIOException e) {
+        fail(batch, e instanceof IOException io ? io : ((UncheckedIOException) e).getCause());
+        continue;
+      }
+
+      onDurable.accept(batch.stream().map(Pending::sale).toList());
+      batch.forEach(entry -> entry.future.complete(entry.sale));
+    }
+  }
+
+  /**
+   * Lets more appends join the pending flush. Called under the lock.
+   */
+  private void awaitFlushWindow() {
+    long window = flushWindowNanos;
+
+    try {
+      while (window > 0 && !closed) {
+        window = appended.awaitNanos(window);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void fail(List<Pending> batch, IOException e) {
+    lock.lock();
+
+    try {
+      failure = e;
+      batch.addAll(pending);
+      pending = new ArrayList<>();
+    } finally {
+      lock.unlock();
+    }
+
+    batch.forEach(entry -> entry.future.completeExceptionally(e));
+  }
+
+  private static List<Path> segmentFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static long firstSequenceOf(Path file) {
+    String name = file.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+  }
+
+  private static String fileName(long firstSequence) {
+    return String.format("%020d%s", firstSequence, SUFFIX);
+  }
+
+  /**
+   * A sale waiting for the next flush.
+   */
+  private record Pending(JournaledSale sale, CompletableFuture<JournaledSale> future) {
+  }
+
+  /**
+   * One segment file, mapped while it is written.
+   */
+  private static final class Segment {
+    private final Path path;
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private long lastSequence;
+    private int flushed;
+
+    private Segment(Path path, long firstSequence, long lastSequence) {
+      this(path, firstSequence, lastSequence, null, null);
+    }
+
+    private Segment(Path path, long firstSequence, long lastSequence, FileChannel channel,
+        MappedByteBuffer buffer) {
+      this.path = path;
+      this.firstSequence = firstSequence;
+      this.lastSequence = lastSequence;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    /**
+     * Creates and maps an empty segment, replacing a leftover file of the
+     * same name, which can only hold a torn record.
+     */
+    private static Segment create(Path path, long firstSequence, int segmentBytes) throws IOException {
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+      channel.force(true);
+
+      return new Segment(path, firstSequence, firstSequence - 1, channel, buffer);
+    }
+
+    /**
+     * Forces the records written up to {@code position} to disk.
+     */
+    private void force(int position) throws IOException {
+      synchronized (this) {
+        if (position > flushed) {
+          buffer.force(flushed, position - flushed);
+          flushed = position;
+        }
+      }
+    }
+
+    private void close() {
+      if (channel == null) {
+        return;
+      }
+
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return path.getFileName() + " [" + firstSequence + ".." + lastSequence + "]";
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+
+/**
+ * Outcome of one sale request of a batch.
+ *
+ * <p>
+ * Exactly one of the components is set: the confirmation of a successful
+ * sale or the exception that rejected it.
+ * </p>
+ *
+ * @param response the sale confirmation, or {@code null} if the sale failed
+ * @param error    the reason the sale failed, or {@code null} if it succeeded
+ *
+ * @see TicketService#sellBatch(long, java.util.List)
+ */
+public record SaleOutcome(TicketSaleResponseDTO response, RuntimeException error) {
+  /**
+   * Creates the outcome of a successful sale.
+   *
+   * @param response the sale confirmation
+   * @return the outcome
+   */
+  public static SaleOutcome sold(TicketSaleResponseDTO response) {
+    return new SaleOutcome(response, null);
+  }
+
+  /**
+   * Creates the outcome of a rejected sale.
+   *
+   * @param error the reason the sale failed
+   * @return the outcome
+   */
+  public static SaleOutcome failed(RuntimeException error) {
+    return new SaleOutcome(null, error);
+  }
+}
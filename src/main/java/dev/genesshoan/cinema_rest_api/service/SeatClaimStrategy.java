@@ -0,0 +1,53 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.List;
+
+/**
+ * Strategy used by {@link TicketService} to mark available seats as SOLD in
+ * the database.
+ *
+ * <p>
+ * The in-memory {@link SeatInventory} already rejects most conflicting sales,
+ * but it is local to one instance and may be stale, so the database has the
+ * final word. Implementations differ in how they guard against a concurrent
+ * transaction changing the same seats:
+ * <ul>
+ * <li>{@link PessimisticSeatClaimStrategy}: locks the seat rows with
+ * {@code SELECT ... FOR UPDATE} before changing them</li>
+ * <li>{@link OptimisticSeatClaimStrategy}: reads the seat versions and
+ * updates each seat only if its version is unchanged, retrying a bounded
+ * number of times</li>
+ * <li>{@link ConditionalSeatClaimStrategy}: a single conditional
+ * {@code UPDATE} whose affected row count decides the outcome</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * The strategy is selected with the {@code cinema.seats.claim-strategy}
+ * property ({@code PESSIMISTIC}, {@code OPTIMISTIC} or {@code CONDITIONAL},
+ * the default).
+ * </p>
+ *
+ * <p>
+ * Implementations must be called within a transaction and may leave some of
+ * the seats SOLD when they fail; the caller rolls the transaction back
+ * unless every requested seat was claimed.
+ * </p>
+ */
+public interface SeatClaimStrategy {
+  /**
+   * Configuration property selecting the strategy.
+   */
+  String PROPERTY = "cinema.seats.claim-strategy";
+
+  /**
+   * Marks the given seats as SOLD, but only those that are AVAILABLE and
+   * belong to the given showtime.
+   *
+   * @param showtimeId the showtime the seats must belong to
+   * @param seatIds    the seats to claim
+   * @return the number of seats that transitioned from AVAILABLE to SOLD; the
+   *         claim succeeded only if it equals the number of requested seats
+   */
+  int claim(long showtimeId, List<Long> seatIds);
+}
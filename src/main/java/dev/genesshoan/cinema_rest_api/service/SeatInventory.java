@@ -0,0 +1,862 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatGridDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapDeltaDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapRowDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+
+/**
+ * In-memory availability state of every seat of a single showtime.
+ *
+ * <p>
+ * Each row of the room is represented by a compact bitset (one bit per seat,
+ * packed into {@code long} words) where a set bit means the seat is taken.
+ * Seat ids are resolved to grid positions through a sorted id index, so
+ * availability checks and claims never touch the database.
+ * </p>
+ *
+ * <p>
+ * Held seats are taken seats that are additionally flagged in a second
+ * bitset: they cannot be claimed, are reported as {@link SeatStatus#HELD} and
+ * can only be turned into sold seats through {@link #sellHeld(Collection)} or
+ * returned with {@link #releaseHeld(Collection)}.
+ * </p>
+ *
+ * <p>
+ * Every status change bumps a per-showtime version and is recorded in a
+ * bounded change log, which allows answering "what changed since version N"
+ * without rebuilding the whole seat map. Versions start from a time-based
+ * epoch when the inventory is loaded, so versions handed out by a previous
+ * load of the same showtime are always lower than the current ones and are
+ * answered with a full snapshot.
+ * </p>
+ *
+ * <p>
+ * All mutating operations are all-or-nothing and synchronized on the
+ * inventory instance, which makes a claim of several seats atomic with respect
+ * to any other claim or release on the same showtime. Different showtimes use
+ * different instances and therefore never contend with each other.
+ * </p>
+ *
+ * <p>
+ * Instances are created and cached by {@link SeatInventoryService}; the
+ * database remains the system of record and is updated write-through by the
+ * callers.
+ * </p>
+ *
+ * @see SeatInventoryService
+ */
+public class SeatInventory {
+  /**
+   * Number of seat changes kept for incremental seat map queries when no
+   * explicit size is given.
+   */
+  public static final int DEFAULT_CHANGE_LOG_SIZE = 1024;
+
+  private static final int WORD_BITS = Long.SIZE;
+
+  private final long showtimeId;
+  private final int rows;
+  private final int seatsPerRow;
+
+  /**
+   * Seat ids in ascending order, used to resolve an id to its grid position.
+   */
+  private final long[] sortedSeatIds;
+
+  /**
+   * Grid position ({@code (row - 1) * seatsPerRow + (seat - 1)}) of the seat
+   * stored at the same index in {@link #sortedSeatIds}.
+   */
+  private final int[] positions;
+
+  /**
+   * Index into {@link #sortedSeatIds} of the seat at each grid position, or
+   * {@code -1} where the room has no seat.
+   */
+  private final int[] indexByPosition;
+
+  /**
+   * One bitset per row; a set bit means a seat exists at that position.
+   */
+  private final long[][] present;
+
+  /**
+   * One bitset per row; a set bit means the seat is not available.
+   */
+  private final long[][] taken;
+
+  /**
+   * One bitset per row; a set bit means the (taken) seat is held rather than
+   * sold.
+   */
+  private final long[][] held;
+
+  private int takenCount;
+  private int heldCount;
+
+  /**
+   * Ring buffer of the most recent changes: the version each change was
+   * recorded at and the grid position it affected.
+   */
+  private final long[] changeVersions;
+  private final int[] changePositions;
+  private int changeCount;
+  private int nextChange;
+
+  private final long initialVersion;
+  private long version;
+
+  private volatile long lastAccess = System.nanoTime();
+
+  private SeatInventory(long showtimeId, int rows, int seatsPerRow, long[] sortedSeatIds, int[] positions,
+      int changeLogSize) {
+    this.showtimeId = showtimeId;
+    this.rows = rows;
+    this.seatsPerRow = seatsPerRow;
+    this.sortedSeatIds = sortedSeatIds;
+    this.positions = positions;
+    this.indexByPosition = new int[Math.multiplyExact(rows, seatsPerRow)];
+
+    Arrays.fill(indexByPosition, -1);
+
+    for (int i = 0; i < positions.length; i++) {
+      indexByPosition[positions[i]] = i;
+    }
+
+    int words = (seatsPerRow + WORD_BITS - 1) / WORD_BITS;
+    this.present = new long[rows][words];
+    this.taken = new long[rows][words];
+    this.held = new long[rows][words];
+
+    this.changeVersions = new long[changeLogSize];
+    this.changePositions = new int[changeLogSize];
+    this.initialVersion = System.currentTimeMillis() * 1000;
+    this.version = initialVersion;
+  }
+
+  /**
+   * Builds an inventory from the persisted seat states of a showtime, keeping
+   * the default number of changes for incremental queries.
+   *
+   * @param showtimeId the showtime the seats belong to
+   * @param seats      every persisted seat of the showtime
+   * @return a new inventory reflecting the given seat states
+   * @see #of(long, List, int)
+   */
+  public static SeatInventory of(long showtimeId, List<SeatStateDTO> seats) {
+    return of(showtimeId, seats, DEFAULT_CHANGE_LOG_SIZE);
+  }
+
+  /**
+   * Builds an inventory from the persisted seat states of a showtime.
+   *
+   * <p>
+   * The grid dimensions are derived from the highest row and seat numbers
+   * found, so rooms whose layout changed after the showtime was created are
+   * still represented exactly as their persisted seats.
+   * </p>
+   *
+   * @param showtimeId    the showtime the seats belong to
+   * @param seats         every persisted seat of the showtime
+   * @param changeLogSize how many seat changes to keep for incremental queries
+   * @return a new inventory reflecting the given seat states
+   */
+  public static SeatInventory of(long showtimeId, List<SeatStateDTO> seats, int changeLogSize) {
+    int rows = 0;
+    int seatsPerRow = 0;
+
+    for (SeatStateDTO seat : seats) {
+      rows = Math.max(rows, seat.rowNumber());
+      seatsPerRow = Math.max(seatsPerRow, seat.seatNumber());
+    }
+
+    List<SeatStateDTO> byId = seats.stream()
+        .sorted((a, b) -> Long.compare(a.id(), b.id()))
+        .toList();
+
+    long[] ids = new long[byId.size()];
+    int[] positions = new int[byId.size()];
+
+    for (int i = 0; i < byId.size(); i++) {
+      SeatStateDTO seat = byId.get(i);
+      ids[i] = seat.id();
+      positions[i] = (seat.rowNumber() - 1) * seatsPerRow + (seat.seatNumber() - 1);
+    }
+
+    SeatInventory inventory = new SeatInventory(showtimeId, rows, seatsPerRow, ids, positions, changeLogSize);
+
+    for (SeatStateDTO seat : seats) {
+      int position = (seat.rowNumber() - 1) * seatsPerRow + (seat.seatNumber() - 1);
+      setBit(inventory.present, position, seatsPerRow);
+
+      if (seat.status() != SeatStatus.AVAILABLE) {
+        inventory.set(position);
+      }
+
+      if (seat.status() == SeatStatus.HELD) {
+        inventory.hold(position);
+      }
+    }
+
+    return inventory;
+  }
+
+  /**
+   * Atomically claims all the given seats.
+   *
+   * <p>
+   * Either every seat is marked as taken or, if any of them is unknown to this
+   * showtime, already taken, or repeated in the request, nothing changes.
+   * </p>
+   *
+   * @param seatIds the ids of the seats to claim
+   * @return {@code true} if all seats were claimed, {@code false} otherwise
+   */
+  public synchronized boolean claim(Collection<Long> seatIds) {
+    return claim(seatIds, false);
+  }
+
+  /**
+   * Claims those of the given seats that are still available.
+   *
+   * <p>
+   * Unlike {@link #claim(Collection)}, seats that are unknown to this
+   * showtime or already taken do not fail the claim; they are left out. A
+   * repeated id is claimed once.
+   * </p>
+   *
+   * @param seatIds the ids of the seats to claim
+   * @return the ids of the claimed seats, in request order
+   */
+  public synchronized List<Long> claimAvailable(Collection<Long> seatIds) {
+    touch();
+
+    List<Long> claimedIds = new ArrayList<>(seatIds.size());
+    int[] claimed = new int[seatIds.size()];
+    int count = 0;
+
+    for (Long seatId : seatIds) {
+      int position = positionOf(seatId);
+
+      if (position >= 0 && !isSet(position)) {
+        set(position);
+        claimed[count++] = position;
+        claimedIds.add(seatId);
+      }
+    }
+
+    recordChanges(claimed, count);
+    return claimedIds;
+  }
+
+  /**
+   * Atomically claims all the given seats and flags them as held.
+   *
+   * <p>
+   * Same all-or-nothing semantics as {@link #claim(Collection)}.
+   * </p>
+   *
+   * @param seatIds the ids of the seats to hold
+   * @return {@code true} if all seats were held, {@code false} otherwise
+   */
+  public synchronized boolean hold(Collection<Long> seatIds) {
+    return claim(seatIds, true);
+  }
+
+  /**
+   * Atomically turns held seats into sold seats.
+   *
+   * <p>
+   * Either every seat was held and is now sold or, if any of them is unknown
+   * or not held, nothing changes. Which hold a seat belongs to is not tracked
+   * here; the database checks it when the sale is written through.
+   * </p>
+   *
+   * @param seatIds the ids of the held seats to sell
+   * @return {@code true} if all seats were held and are now sold
+   */
+  public synchronized boolean sellHeld(Collection<Long> seatIds) {
+    touch();
+
+    int[] sold = new int[seatIds.size()];
+    int count = 0;
+
+    for (Long seatId : seatIds) {
+      int position = positionOf(seatId);
+
+      if (position < 0 || !isHeld(position)) {
+        for (int i = 0; i < count; i++) {
+          hold(sold[i]);
+        }
+        return false;
+      }
+
+      unhold(position);
+      sold[count++] = position;
+    }
+
+    recordChanges(sold, count);
+    return true;
+  }
+
+  /**
+   * Marks the given seats as available again, but only those still held.
+   *
+   * <p>
+   * Seats that were sold in the meantime, or never held, are left untouched,
+   * which makes this safe to call for an expired hold whose seats were partly
+   * sold.
+   * </p>
+   *
+   * @param seatIds the ids of the seats to release
+   * @return the seats that were released, now AVAILABLE
+   */
+  public synchronized List<SeatInfoDTO> releaseHeld(Collection<Long> seatIds) {
+    touch();
+
+    int[] released = new int[seatIds.size()];
+    int count = 0;
+    List<SeatInfoDTO> seats = new ArrayList<>();
+
+    for (Long seatId : seatIds) {
+      int position = positionOf(seatId);
+
+      if (position >= 0 && isHeld(position)) {
+        clear(position);
+        released[count++] = position;
+        seats.add(toSeatInfo(position));
+      }
+    }
+
+    recordChanges(released, count);
+    return seats;
+  }
+
+  /**
+   * Finds the best block of adjacent available seats and holds it
+   * atomically.
+   *
+   * <p>
+   * Candidate blocks are consecutive available seats of a single row;
+   * positions without a seat break a block. Blocks are ranked by the distance
+   * of their row from the middle row plus the distance of their center from
+   * the center of the row, both normalized by the grid size, so the result is
+   * as centered and as close to the middle rows as possible. Rows are visited
+   * from the middle outwards and the search stops once no remaining row can
+   * beat the best block found, so only the availability bitsets are read.
+   * </p>
+   *
+   * @param count the number of adjacent seats wanted
+   * @return the ids of the held seats ordered by seat number, or an empty
+   *         list if no row has {@code count} adjacent available seats
+   */
+  public synchronized List<Long> holdBestAvailable(int count) {
+    touch();
+
+    if (count <= 0 || count > seatsPerRow) {
+      return List.of();
+    }
+
+    int bestPosition = -1;
+    double bestScore = Double.MAX_VALUE;
+
+    for (int distance = 0; distance <= rows / 2; distance++) {
+      int upper = rows / 2 + distance;
+      int lower = (rows - 1) / 2 - distance;
+      double rowScore = Math.abs(2.0 * upper + 1 - rows) / rows;
+
+      if (rowScore >= bestScore) {
+        break;
+      }
+
+      for (int row : lower == upper ? new int[] { upper } : new int[] { lower, upper }) {
+        if (row < 0 || row >= rows) {
+          continue;
+        }
+
+        int start = nextAvailable(row, 0);
+
+        while (start >= 0) {
+          int end = nextUnavailable(row, start);
+
+          if (end - start >= count) {
+            // 0-indexed block start whose center is closest to the row center
+            int ideal = Math.clamp((seatsPerRow - count) / 2, start, end - count);
+            double score = rowScore + Math.abs(2.0 * ideal + count - seatsPerRow) / seatsPerRow;
+
+            if (score < bestScore) {
+              bestScore = score;
+              bestPosition = row * seatsPerRow + ideal;
+            }
+          }
+
+          start = end < seatsPerRow ? nextAvailable(row, end) : -1;
+        }
+      }
+    }
+
+    if (bestPosition < 0) {
+      return List.of();
+    }
+
+    int[] held = new int[count];
+    Long[] ids = new Long[count];
+
+    for (int i = 0; i < count; i++) {
+      held[i] = bestPosition + i;
+      ids[i] = sortedSeatIds[indexByPosition[held[i]]];
+      set(held[i]);
+      hold(held[i]);
+    }
+
+    recordChanges(held, count);
+    return List.of(ids);
+  }
+
+  private boolean claim(Collection<Long> seatIds, boolean asHold) {
+    touch();
+
+    int[] claimed = new int[seatIds.size()];
+    int count = 0;
+
+    for (Long seatId : seatIds) {
+      int position = positionOf(seatId);
+
+      if (position < 0 || isSet(position)) {
+        rollback(claimed, count);
+        return false;
+      }
+
+      set(position);
+      claimed[count++] = position;
+    }
+
+    if (asHold) {
+      for (int i = 0; i < count; i++) {
+        hold(claimed[i]);
+      }
+    }
+
+    recordChanges(claimed, count);
+    return true;
+  }
+
+  /**
+   * Marks the given seats as available again.
+   *
+   * <p>
+   * Unknown ids are ignored, so releasing is safe to call for seats that were
+   * never claimed through this instance.
+   * </p>
+   *
+   * @param seatIds the ids of the seats to release
+   */
+  public synchronized void release(Collection<Long> seatIds) {
+    touch();
+
+    int[] released = new int[seatIds.size()];
+    int count = 0;
+
+    for (Long seatId : seatIds) {
+      int position = positionOf(seatId);
+
+      if (position >= 0 && isSet(position)) {
+        clear(position);
+        released[count++] = position;
+      }
+    }
+
+    recordChanges(released, count);
+  }
+
+  /**
+   * Checks whether a seat of this showtime is currently available.
+   *
+   * @param seatId the seat id
+   * @return {@code true} if the seat belongs to this showtime and is available
+   */
+  public synchronized boolean isAvailable(long seatId) {
+    touch();
+
+    int position = positionOf(seatId);
+    return position >= 0 && !isSet(position);
+  }
+
+  /**
+   * Returns the id of the seat at a position of this showtime's grid.
+   *
+   * <p>
+   * Answered from the position index without touching the database, so it
+   * also resolves seats of lazily seated showtimes that have no row yet.
+   * </p>
+   *
+   * @param rowNumber  the row number (1-indexed)
+   * @param seatNumber the seat number within the row (1-indexed)
+   * @return the seat id, or {@code -1} if the showtime has no seat there
+   */
+  public long seatIdAt(int rowNumber, int seatNumber) {
+    if (rowNumber < 1 || rowNumber > rows || seatNumber < 1 || seatNumber > seatsPerRow) {
+      return -1;
+    }
+
+    int index = indexByPosition[(rowNumber - 1) * seatsPerRow + (seatNumber - 1)];
+    return index < 0 ? -1 : sortedSeatIds[index];
+  }
+
+  /**
+   * Describes seats of this showtime with their position and current status.
+   *
+   * @param seatIds the seat ids; ids not belonging to this showtime are
+   *                skipped
+   * @return the row, seat number and status of every known seat, in the
+   *         order of {@code seatIds}
+   */
+  public synchronized List<SeatInfoDTO> describe(Collection<Long> seatIds) {
+    List<SeatInfoDTO> seats = new ArrayList<>(seatIds.size());
+
+    for (Long seatId : seatIds) {
+      int position = positionOf(seatId);
+
+      if (position >= 0) {
+        seats.add(toSeatInfo(position));
+      }
+    }
+
+    return seats;
+  }
+
+  /**
+   * Returns the number of seats of this showtime that can still be claimed.
+   *
+   * @return the available seat count
+   */
+  public synchronized int availableCount() {
+    return sortedSeatIds.length - takenCount;
+  }
+
+  /**
+   * Returns {@code true} when no seat of the showtime can be claimed anymore.
+   *
+   * @return whether the showtime is sold out
+   */
+  public boolean isSoldOut() {
+    return availableCount() == 0;
+  }
+
+  /**
+   * Returns the current version of the seat map.
+   *
+   * @return the version, increased on every seat status change
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the number of seats of this showtime that are currently held.
+   *
+   * @return the held seat count
+   */
+  public synchronized int heldCount() {
+    return heldCount;
+  }
+
+  /**
+   * Returns the percentage of seats of the showtime that are sold; held seats
+   * are not counted.
+   *
+   * @return the occupancy percentage (0.0 to 100.0)
+   */
+  public synchronized double getOccupancyPercentage() {
+    return occupancyPercentage();
+  }
+
+  /**
+   * Builds the complete seat map of the showtime from memory.
+   *
+   * @return the seat map, tagged with the current version
+   */
+  public synchronized SeatMapResponseDTO toSeatMap() {
+    touch();
+
+    List<SeatMapRowDTO> rowDtos = new ArrayList<>(rows);
+
+    for (int row = 1; row <= rows; row++) {
+      List<SeatInfoDTO> seats = new ArrayList<>(seatsPerRow);
+
+      for (int seat = 1; seat <= seatsPerRow; seat++) {
+        int position = (row - 1) * seatsPerRow + (seat - 1);
+
+        if (isPresent(position)) {
+          seats.add(toSeatInfo(position));
+        }
+      }
+
+      if (!seats.isEmpty()) {
+        rowDtos.add(new SeatMapRowDTO(row, seats));
+      }
+    }
+
+    return new SeatMapResponseDTO(showtimeId, rowDtos, occupancyPercentage(), version);
+  }
+
+  /**
+   * Copies the seat grid of the showtime so that it can be encoded without
+   * holding the inventory lock.
+   *
+   * @return a copy of the grid, tagged with the current version
+   */
+  public synchronized SeatGridDTO toGrid() {
+    touch();
+
+    long[][] presentCopy = new long[rows][];
+    long[][] takenCopy = new long[rows][];
+    long[][] heldCopy = new long[rows][];
+
+    for (int row = 0; row < rows; row++) {
+      presentCopy[row] = present[row].clone();
+      takenCopy[row] = taken[row].clone();
+      heldCopy[row] = held[row].clone();
+    }
+
+    return new SeatGridDTO(showtimeId, rows, seatsPerRow, version, occupancyPercentage(), presentCopy, takenCopy,
+        heldCopy);
+  }
+
+  /**
+   * Returns the seats whose status changed after the given version.
+   *
+   * <p>
+   * If the change log no longer covers {@code sinceVersion} (or the version
+   * was not issued by this inventory), every seat is returned and the result
+   * is flagged as a full snapshot.
+   * </p>
+   *
+   * @param sinceVersion the last version known by the caller
+   * @return the changed seats or a full snapshot
+   */
+  public synchronized SeatMapDeltaDTO changesSince(long sinceVersion) {
+    touch();
+
+    if (!canAnswerIncrementally(sinceVersion)) {
+      List<SeatInfoDTO> seats = toSeatMap().rows().stream()
+          .flatMap(row -> row.seats().stream())
+          .toList();
+
+      return new SeatMapDeltaDTO(showtimeId, sinceVersion, version, true, seats, occupancyPercentage());
+    }
+
+    BitSet changed = new BitSet();
+    List<SeatInfoDTO> seats = new ArrayList<>();
+
+    for (int i = 0; i < changeCount; i++) {
+      int index = Math.floorMod(nextChange - changeCount + i, changeVersions.length);
+
+      if (changeVersions[index] > sinceVersion && !changed.get(changePositions[index])) {
+        changed.set(changePositions[index]);
+        seats.add(toSeatInfo(changePositions[index]));
+      }
+    }
+
+    return new SeatMapDeltaDTO(showtimeId, sinceVersion, version, false, seats, occupancyPercentage());
+  }
+
+  /**
+   * Rough number of heap bytes retained by this inventory, used by
+   * {@link SeatInventoryService} to enforce its memory budget.
+   *
+   * @return the estimated retained size in bytes
+   */
+  public long estimatedBytes() {
+    long bitsets = 3L * rows * (16 + (long) words() * Long.BYTES);
+    long index = (long) sortedSeatIds.length * (Long.BYTES + Integer.BYTES)
+        + (long) indexByPosition.length * Integer.BYTES + 48;
+    long changeLog = (long) changeVersions.length * (Long.BYTES + Integer.BYTES) + 32;
+    return 64 + bitsets + index + changeLog;
+  }
+
+  public long getShowtimeId() {
+    return showtimeId;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getSeatsPerRow() {
+    return seatsPerRow;
+  }
+
+  long getLastAccess() {
+    return lastAccess;
+  }
+
+  private void touch() {
+    lastAccess = System.nanoTime();
+  }
+
+  private int words() {
+    return rows == 0 ? 0 : taken[0].length;
+  }
+
+  private double occupancyPercentage() {
+    return sortedSeatIds.length == 0 ? 0.0 : ((takenCount - heldCount) * 100.0) / sortedSeatIds.length;
+  }
+
+  private SeatInfoDTO toSeatInfo(int position) {
+    return new SeatInfoDTO(
+        position / seatsPerRow + 1,
+        position % seatsPerRow + 1,
+        isHeld(position) ? SeatStatus.HELD : isSet(position) ? SeatStatus.SOLD : SeatStatus.AVAILABLE);
+  }
+
+  private boolean canAnswerIncrementally(long sinceVersion) {
+    if (sinceVersion > version) {
+      return false;
+    }
+
+    if (changeCount < changeVersions.length) {
+      return sinceVersion >= initialVersion;
+    }
+
+    // Entries of the oldest retained version may have been partially
+    // overwritten, so only callers that already saw it can be answered.
+    int oldest = Math.floorMod(nextChange - changeCount, changeVersions.length);
+    return sinceVersion >= changeVersions[oldest];
+  }
+
+  private void recordChanges(int[] changedPositions, int count) {
+    if (count == 0) {
+      return;
+    }
+
+    version++;
+
+    for (int i = 0; i < count; i++) {
+      changeVersions[nextChange] = version;
+      changePositions[nextChange] = changedPositions[i];
+      nextChange = (nextChange + 1) % changeVersions.length;
+      changeCount = Math.min(changeCount + 1, changeVersions.length);
+    }
+  }
+
+  private int positionOf(Long seatId) {
+    if (seatId == null) {
+      return -1;
+    }
+
+    int index = Arrays.binarySearch(sortedSeatIds, seatId);
+    return index < 0 ? -1 : positions[index];
+  }
+
+  /**
+   * Returns the first available seat index (0-indexed) of a row at or after
+   * {@code from}, or {@code -1}.
+   */
+  private int nextAvailable(int row, int from) {
+    int word = from / WORD_BITS;
+
+    if (word >= present[row].length) {
+      return -1;
+    }
+
+    long bits = (present[row][word] & ~taken[row][word]) & (-1L << (from % WORD_BITS));
+
+    while (true) {
+      if (bits != 0) {
+        return word * WORD_BITS + Long.numberOfTrailingZeros(bits);
+      }
+
+      if (++word == present[row].length) {
+        return -1;
+      }
+
+      bits = present[row][word] & ~taken[row][word];
+    }
+  }
+
+  /**
+   * Returns the first seat index (0-indexed) of a row at or after
+   * {@code from} that is not available, or {@code seatsPerRow}.
+   */
+  private int nextUnavailable(int row, int from) {
+    int word = from / WORD_BITS;
+    long bits = ~(present[row][word] & ~taken[row][word]) & (-1L << (from % WORD_BITS));
+
+    while (true) {
+      if (bits != 0) {
+        return Math.min(seatsPerRow, word * WORD_BITS + Long.numberOfTrailingZeros(bits));
+      }
+
+      if (++word == present[row].length) {
+        return seatsPerRow;
+      }
+
+      bits = ~(present[row][word] & ~taken[row][word]);
+    }
+  }
+
+  private boolean isPresent(int position) {
+    return isBitSet(present, position, seatsPerRow);
+  }
+
+  private boolean isSet(int position) {
+    return isBitSet(taken, position, seatsPerRow);
+  }
+
+  private boolean isHeld(int position) {
+    return isBitSet(held, position, seatsPerRow);
+  }
+
+  private void hold(int position) {
+    setBit(held, position, seatsPerRow);
+    heldCount++;
+  }
+
+  private void unhold(int position) {
+    int seat = position % seatsPerRow;
+    held[position / seatsPerRow][seat / WORD_BITS] &= ~(1L << (seat % WORD_BITS));
+    heldCount--;
+  }
+
+  private void set(int position) {
+    setBit(taken, position, seatsPerRow);
+    takenCount++;
+  }
+
+  private void clear(int position) {
+    if (isHeld(position)) {
+      unhold(position);
+    }
+
+    int seat = position % seatsPerRow;
+    taken[position / seatsPerRow][seat / WORD_BITS] &= ~(1L << (seat % WORD_BITS));
+    takenCount--;
+  }
+
+  private void rollback(int[] claimed, int count) {
+    for (int i = 0; i < count; i++) {
+      clear(claimed[i]);
+    }
+  }
+
+  private static boolean isBitSet(long[][] bits, int position, int seatsPerRow) {
+    int seat = position % seatsPerRow;
+    return (bits[position / seatsPerRow][seat / WORD_BITS] & (1L << (seat % WORD_BITS))) != 0;
+  }
+
+  private static void setBit(long[][] bits, int position, int seatsPerRow) {
+    int seat = position % seatsPerRow;
+    bits[position / seatsPerRow][seat / WORD_BITS] |= 1L << (seat % WORD_BITS);
+  }
+}
@@ -0,0 +1,407 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatCoordinateDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSeatingDTO;
+import dev.genesshoan.cinema_rest_api.entity.LazySeatIds;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cache of per-showtime {@link SeatInventory} instances.
+ *
+ * <p>
+ * Inventories are loaded lazily from the {@code seats} table the first time a
+ * showtime is accessed and are kept up to date by the callers that change
+ * seat status (write-through). Once loaded, availability checks and seat
+ * claims for a showtime are answered from memory. For
+ * {@link SeatingMode#LAZY} showtimes, positions of the grid without a seat
+ * row are added as AVAILABLE seats with derived ids.
+ * </p>
+ *
+ * <p>
+ * The cache is bounded by an approximate memory budget
+ * ({@code cinema.inventory.max-memory-bytes}). When loading a showtime pushes
+ * the retained size above the budget, the least recently accessed inventories
+ * are evicted; they will simply be reloaded on their next access.
+ * </p>
+ *
+ * <p>
+ * Seats sold through the {@link JournaledSaleService} are recorded as
+ * unapplied before they are claimed and until the journal applier has written
+ * them to the database. A showtime loaded in the meantime, for example after
+ * an eviction, has them claimed again on top of the database state, so a
+ * journaled sale is never offered twice. The unapplied seats are read before
+ * the database, so a sale applied while the showtime loads is seen in one of
+ * the two.
+ * </p>
+ *
+ * <p>
+ * Thread-safety: loading is performed at most once per showtime at a time,
+ * outside of any lock of the cache, and each inventory synchronizes its own
+ * mutations, so showtimes are served fully in parallel. Callers asking for a
+ * showtime that is being loaded wait for that load; evicting the showtime
+ * discards it.
+ * </p>
+ *
+ * @see SeatInventory
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatInventoryService {
+  private static final Logger log = LoggerFactory.getLogger(SeatInventoryService.class);
+
+  private final SeatRepository seatRepository;
+  private final ShowtimeRepository showtimeRepository;
+
+  private final Map<Long, SeatInventory> inventories = new ConcurrentHashMap<>();
+  private final Map<Long, FutureTask<SeatInventory>> loads = new ConcurrentHashMap<>();
+  private final AtomicLong retainedBytes = new AtomicLong();
+  private final Map<Long, UnappliedSeats> unappliedSeats = new ConcurrentHashMap<>();
+
+  @Value("${cinema.inventory.max-memory-bytes:67108864}")
+  private long maxMemoryBytes;
+
+  @Value("${cinema.inventory.change-log-size:1024}")
+  private int changeLogSize;
+
+  /**
+   * Returns the inventory of a showtime, loading it from the database if it is
+   * not cached yet.
+   *
+   * @param showtimeId the showtime identifier
+   * @return the inventory of the showtime
+   * @throws ResourceNotFoundException if the showtime does not exist
+   */
+  public SeatInventory getInventory(long showtimeId) {
+    while (true) {
+      SeatInventory inventory = inventories.get(showtimeId);
+
+      if (inventory != null) {
+        return inventory;
+      }
+
+      FutureTask<SeatInventory> load = loads.computeIfAbsent(showtimeId,
+          id -> new FutureTask<>(() -> load(id)));
+
+      // Runs the load in the first caller only; the others wait for it.
+      load.run();
+      inventory = install(showtimeId, load, await(showtimeId, load));
+
+      if (inventory != null) {
+        enforceBudget();
+        return inventory;
+      }
+    }
+  }
+
+  /**
+   * Resolves seats given by row and seat number to the ids of the seats of a
+   * showtime.
+   *
+   * <p>
+   * Answered from the showtime's inventory, so resolving never costs a query
+   * once the showtime is loaded, and a coordinate can only ever resolve to a
+   * seat of that showtime.
+   * </p>
+   *
+   * @param showtimeId the showtime identifier
+   * @param seats      the seat coordinates
+   * @return the seat ids, in the order of {@code seats}
+   * @throws ResourceNotFoundException if the showtime does not exist or has
+   *                                   no seat at one of the coordinates
+   */
+  public List<Long> resolveSeatIds(long showtimeId, List<SeatCoordinateDTO> seats) {
+    SeatInventory inventory = getInventory(showtimeId);
+    List<Long> seatIds = new ArrayList<>(seats.size());
+
+    for (SeatCoordinateDTO seat : seats) {
+      long seatId = inventory.seatIdAt(seat.rowNumber(), seat.seatNumber());
+
+      if (seatId < 0) {
+        throw new ResourceNotFoundException("Showtime with id " + showtimeId + " has no seat at row "
+            + seat.rowNumber() + ", seat " + seat.seatNumber());
+      }
+
+      seatIds.add(seatId);
+    }
+
+    return seatIds;
+  }
+
+  /**
+   * Returns the inventory of a showtime only if it is currently cached.
+   *
+   * @param showtimeId the showtime identifier
+   * @return the cached inventory or {@code null}
+   */
+  public SeatInventory getIfLoaded(long showtimeId) {
+    return inventories.get(showtimeId);
+  }
+
+  /**
+   * Marks seats as available again in the cached inventory of a showtime.
+   *
+   * <p>
+   * Does nothing if the showtime is not cached: the next load will read the
+   * committed state from the database.
+   * </p>
+   *
+   * @param showtimeId the showtime identifier
+   * @param seatIds    the seats to release
+   */
+  public void release(long showtimeId, Collection<Long> seatIds) {
+    SeatInventory inventory = inventories.get(showtimeId);
+
+    if (inventory != null) {
+      inventory.release(seatIds);
+    }
+  }
+
+  /**
+   * Drops the cached inventory of a showtime, forcing a reload from the
+   * database on next access.
+   *
+   * @param showtimeId the showtime identifier
+   */
+  public void evict(long showtimeId) {
+    loads.remove(showtimeId);
+    SeatInventory removed = inventories.remove(showtimeId);
+
+    if (removed != null) {
+      retainedBytes.addAndGet(-removed.estimatedBytes());
+    }
+  }
+
+  /**
+   * Records seats about to be sold in memory whose sale is not in the
+   * database yet.
+   *
+   * <p>
+   * Seats are recorded before they are claimed, so that an inventory loaded
+   * at any time after the claim keeps them taken. A seat may therefore be
+   * recorded by several sales at once while only one of them claims it; each
+   * record is undone by exactly one call to {@link #removeUnapplied} or
+   * {@link #abandonUnapplied}.
+   * </p>
+   *
+   * @param showtimeId the showtime identifier
+   * @param seatIds    the seats being sold
+   * @return a stamp to pass to {@link #abandonUnapplied} should the seats not
+   *         be sold
+   */
+  public long addUnapplied(long showtimeId, Collection<Long> seatIds) {
+    return unappliedSeats.compute(showtimeId, (id, seats) -> {
+      UnappliedSeats pending = seats == null ? new UnappliedSeats() : seats;
+
+      for (Long seatId : seatIds) {
+        pending.records.merge(seatId, 1, Integer::sum);
+      }
+
+      return pending;
+    }).loads;
+  }
+
+  /**
+   * Forgets seats whose sale has reached the database.
+   *
+   * @param showtimeId the showtime identifier
+   * @param seatIds    the applied seats
+   */
+  public void removeUnapplied(long showtimeId, Collection<Long> seatIds) {
+    forget(showtimeId, seatIds, -1);
+  }
+
+  /**
+   * Forgets seats recorded by a sale that did not sell them.
+   *
+   * <p>
+   * An inventory loaded since the seats were recorded has claimed them. If no
+   * other sale still records one of them, the inventory is evicted so that it
+   * is loaded again without them.
+   * </p>
+   *
+   * @param showtimeId the showtime identifier
+   * @param seatIds    the seats that were not sold
+   * @param stamp      the stamp returned when the seats were recorded
+   */
+  public void abandonUnapplied(long showtimeId, Collection<Long> seatIds, long stamp) {
+    if (!seatIds.isEmpty() && forget(showtimeId, seatIds, stamp)) {
+      evict(showtimeId);
+    }
+  }
+
+  /**
+   * @return whether a seat no longer recorded was claimed by a load made
+   *         after {@code stamp}
+   */
+  private boolean forget(long showtimeId, Collection<Long> seatIds, long stamp) {
+    AtomicBoolean claimedByLoad = new AtomicBoolean();
+
+    unappliedSeats.computeIfPresent(showtimeId, (id, pending) -> {
+      for (Long seatId : seatIds) {
+        boolean forgotten = pending.records.computeIfPresent(seatId,
+            (seat, count) -> count == 1 ? null : count - 1) == null;
+
+        if (forgotten && stamp >= 0 && pending.loads != stamp) {
+          claimedByLoad.set(true);
+        }
+      }
+
+      return pending.records.isEmpty() ? null : pending;
+    });
+
+    return claimedByLoad.get();
+  }
+
+  private SeatInventory load(long showtimeId) {
+    ShowtimeSeatingDTO seating = showtimeRepository.findSeatingById(showtimeId)
+        .orElseThrow(() -> new ResourceNotFoundException("Showtime with id " + showtimeId + " does not exist"));
+
+    // Read before the seats: a sale applied in between is then in this
+    // snapshot if it is not in the database yet.
+    List<Long> unapplied = new ArrayList<>();
+
+    unappliedSeats.computeIfPresent(showtimeId, (id, pending) -> {
+      unapplied.addAll(pending.records.keySet());
+      pending.loads++;
+      return pending;
+    });
+
+    List<SeatStateDTO> seats = seatRepository.findStatesByShowtimeId(showtimeId);
+
+    if (seating.seatingMode() == SeatingMode.LAZY) {
+      seats = withUnmaterializedSeats(showtimeId, seating, seats);
+    }
+
+    SeatInventory inventory = SeatInventory.of(showtimeId, seats, Math.max(1, changeLogSize));
+
+    for (Long seatId : unapplied) {
+      inventory.claim(List.of(seatId));
+    }
+
+    log.debug("Loaded seat inventory for showtime {} ({} seats, ~{} bytes)",
+        showtimeId, seats.size(), inventory.estimatedBytes());
+
+    return inventory;
+  }
+
+  /**
+   * Waits for a load, forgetting it if it failed so that the next caller
+   * loads again.
+   */
+  private SeatInventory await(long showtimeId, FutureTask<SeatInventory> load) {
+    try {
+      return load.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading showtime " + showtimeId, e);
+    } catch (ExecutionException e) {
+      loads.remove(showtimeId, load);
+
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new IllegalStateException("Could not load showtime " + showtimeId, e.getCause());
+    }
+  }
+
+  /**
+   * Caches a completed load unless the showtime was evicted while it ran.
+   *
+   * @return the cached inventory, or {@code null} if the load was discarded
+   */
+  private SeatInventory install(long showtimeId, FutureTask<SeatInventory> load, SeatInventory loaded) {
+    loads.computeIfPresent(showtimeId, (id, current) -> {
+      if (current != load) {
+        return current;
+      }
+
+      if (inventories.putIfAbsent(id, loaded) == null) {
+        retainedBytes.addAndGet(loaded.estimatedBytes());
+      }
+
+      return null;
+    });
+
+    return inventories.get(showtimeId);
+  }
+
+  /**
+   * Completes the materialized seats of a lazily seated showtime with an
+   * AVAILABLE seat for every other position of its grid.
+   */
+  private static List<SeatStateDTO> withUnmaterializedSeats(long showtimeId, ShowtimeSeatingDTO seating,
+      List<SeatStateDTO> materialized) {
+    int seatsPerRow = seating.seatsPerRow();
+    SeatStateDTO[] grid = new SeatStateDTO[Math.multiplyExact(seating.rows(), seatsPerRow)];
+
+    for (SeatStateDTO seat : materialized) {
+      grid[(seat.rowNumber() - 1) * seatsPerRow + (seat.seatNumber() - 1)] = seat;
+    }
+
+    List<SeatStateDTO> seats = new ArrayList<>(grid.length);
+
+    for (int position = 0; position < grid.length; position++) {
+      int row = position / seatsPerRow + 1;
+      int seat = position % seatsPerRow + 1;
+
+      seats.add(grid[position] != null
+          ? grid[position]
+          : new SeatStateDTO(LazySeatIds.of(showtimeId, row, seat), row, seat, SeatStatus.AVAILABLE));
+    }
+
+    return seats;
+  }
+
+  private void enforceBudget() {
+    if (retainedBytes.get() <= maxMemoryBytes) {
+      return;
+    }
+
+    List<SeatInventory> coldestFirst = new ArrayList<>(inventories.values());
+    coldestFirst.sort(Comparator.comparingLong(SeatInventory::getLastAccess));
+
+    for (SeatInventory candidate : coldestFirst) {
+      if (retainedBytes.get() <= maxMemoryBytes) {
+        break;
+      }
+
+      if (inventories.remove(candidate.getShowtimeId(), candidate)) {
+        retainedBytes.addAndGet(-candidate.estimatedBytes());
+        log.debug("Evicted seat inventory for showtime {}", candidate.getShowtimeId());
+      }
+    }
+  }
+
+  /**
+   * The unapplied seats of a showtime, with how many sales record each, and
+   * how many loads have read them.
+   */
+  private static final class UnappliedSeats {
+    private final Map<Long, Integer> records = new HashMap<>();
+    private long loads;
+  }
+}
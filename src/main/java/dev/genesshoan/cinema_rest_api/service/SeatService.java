@@ -1,21 +1,21 @@
 package dev.genesshoan.cinema_rest_api.service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatGridDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapDeltaDTO;
 import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapResponseDTO;
-import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapRowDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapRunLengthDTO;
 import dev.genesshoan.cinema_rest_api.entity.Room;
 import dev.genesshoan.cinema_rest_api.entity.Seat;
 import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
 import dev.genesshoan.cinema_rest_api.entity.Showtime;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.mapper.SeatMapEncoder;
 import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -23,55 +23,89 @@ import lombok.RequiredArgsConstructor;
  * Service layer for managing seat-related business logic.
  * 
  * <p>
- * Provides functionality to retrieve seat maps, check availability,
- * and calculate occupancy rates for showtimes.
+ * Provides functionality to retrieve seat maps (complete or as changes since
+ * a version), check availability, and calculate occupancy rates for
+ * showtimes.
+ * </p>
+ * 
+ * <p>
+ * Seat maps are answered from the in-memory inventory and run outside of any
+ * transaction, so a poll does not check out a database connection once the
+ * showtime is loaded; a load runs its queries in the repositories' own
+ * read-only transactions.
  * </p>
  * 
  * @see Seat
  * @see SeatRepository
+ * @see SeatInventoryService
  */
 @Service
-@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class SeatService {
   private final SeatRepository seatRepository;
+  private final SeatInventoryService seatInventoryService;
+  private final SeatMapEncoder seatMapEncoder;
 
   /**
    * Retrieves the complete seat map for a given showtime.
    * 
    * <p>
    * Returns all seats organized by rows, showing their current status
-   * (AVAILABLE/SOLD) and the overall occupancy percentage.
+   * (AVAILABLE/SOLD) and the overall occupancy percentage. The map is built
+   * from the showtime's in-memory seat inventory, so repeated polls do not
+   * reload seat entities from the database.
    * </p>
    * 
    * @param showtimeId The ID of the showtime
-   * @return A {@link SeatMapResponseDTO} containing the seat map and occupancy
-   *         data
+   * @return A {@link SeatMapResponseDTO} containing the seat map, occupancy
+   *         data and the current seat map version
+   * @throws ResourceNotFoundException if the showtime does not exist
    */
   public SeatMapResponseDTO getSeatMap(long showtimeId) {
-    List<Seat> seats = seatRepository.findByIdOrderByRowNumberAscSeatNumberAsc(showtimeId);
-
-    Map<Integer, List<SeatInfoDTO>> seatsByRow = seats.stream()
-        .collect(Collectors.groupingBy(
-            Seat::getRowNumber,
-            Collectors.mapping(
-                (s) -> new SeatInfoDTO(s.getRowNumber(), s.getSeatNumber(), s.getStatus()),
-                Collectors.toList())));
-
-    List<SeatMapRowDTO> rows = seatsByRow.entrySet().stream()
-        .map((r) -> new SeatMapRowDTO(r.getKey(), r.getValue()))
-        .sorted(Comparator.comparing(SeatMapRowDTO::row))
-        .toList();
+    return seatInventoryService.getInventory(showtimeId).toSeatMap();
+  }
 
-    long soldSeats = seats.stream()
-        .filter((s) -> s.getStatus() == SeatStatus.SOLD)
-        .count();
+  /**
+   * Retrieves the seat map of a showtime as run-length encoded rows.
+   *
+   * @param showtimeId The ID of the showtime
+   * @return A {@link SeatMapRunLengthDTO} with one encoded string per row
+   * @throws ResourceNotFoundException if the showtime does not exist
+   * @see SeatMapEncoder#toRunLength(SeatGridDTO)
+   */
+  public SeatMapRunLengthDTO getSeatMapRunLength(long showtimeId) {
+    return seatMapEncoder.toRunLength(seatInventoryService.getInventory(showtimeId).toGrid());
+  }
 
-    double occupancyPercentage = seats.isEmpty() ? 0.0 : (soldSeats * 100.0) / seats.size();
+  /**
+   * Retrieves the seat map of a showtime in the bit-packed binary layout.
+   *
+   * @param showtimeId The ID of the showtime
+   * @return the encoded seat map
+   * @throws ResourceNotFoundException if the showtime does not exist
+   * @see SeatMapEncoder#toBinary(SeatGridDTO)
+   */
+  public byte[] getSeatMapBinary(long showtimeId) {
+    return seatMapEncoder.toBinary(seatInventoryService.getInventory(showtimeId).toGrid());
+  }
 
-    return new SeatMapResponseDTO(showtimeId,
-        rows,
-        occupancyPercentage);
+  /**
+   * Retrieves the seats of a showtime whose status changed after the given
+   * seat map version.
+   *
+   * <p>
+   * If the version is too old to be answered incrementally, the response
+   * contains every seat and is flagged as a full snapshot.
+   * </p>
+   *
+   * @param showtimeId   The ID of the showtime
+   * @param sinceVersion The seat map version already known by the client
+   * @return A {@link SeatMapDeltaDTO} with the changed seats and the current
+   *         version
+   * @throws ResourceNotFoundException if the showtime does not exist
+   */
+  public SeatMapDeltaDTO getSeatMapChanges(long showtimeId, long sinceVersion) {
+    return seatInventoryService.getInventory(showtimeId).changesSince(sinceVersion);
   }
 
   /**
@@ -83,12 +117,23 @@ public class SeatService {
    * status.
    * </p>
    * 
+   * <p>
+   * When the database supports it (PostgreSQL), the whole grid is generated
+   * with a single {@code INSERT ... SELECT}. Otherwise the seats are saved
+   * through JDBC batches, which sequence-generated ids make possible.
+   * </p>
+   * 
    * @param showtime The showtime for which to create seats
    * @param room     The room containing the configuration (rows, seatsPerRow)
    */
   @Transactional
   public void createSeatsForShowtime(Showtime showtime, Room room) {
-    List<Seat> seats = new ArrayList<>();
+    if (seatRepository.supportsSetBasedInsert()) {
+      seatRepository.insertSeatGrid(showtime.getId(), room.getRows(), room.getSeatsPerRow());
+      return;
+    }
+
+    List<Seat> seats = new ArrayList<>(Math.multiplyExact(room.getRows(), room.getSeatsPerRow()));
 
     for (int row = 1; row <= room.getRows(); row++) {
       for (int seatNumber = 1; seatNumber <= room.getSeatsPerRow(); seatNumber++) {
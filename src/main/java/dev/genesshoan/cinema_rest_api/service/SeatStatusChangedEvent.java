@@ -0,0 +1,27 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.List;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+
+/**
+ * Application event published after a committed change of seat status.
+ *
+ * <p>
+ * Published by {@link TicketService} once a sale or a cancellation has been
+ * committed, so listeners never observe a change that is later rolled back.
+ * </p>
+ *
+ * @param showtimeId          the showtime whose seats changed
+ * @param version             the seat map version that includes the change
+ * @param seats               the seats that changed, with their new status
+ * @param occupancyPercentage the occupancy of the showtime after the change
+ *
+ * @see SeatStreamService
+ */
+public record SeatStatusChangedEvent(
+    long showtimeId,
+    long version,
+    List<SeatInfoDTO> seats,
+    double occupancyPercentage) {
+}
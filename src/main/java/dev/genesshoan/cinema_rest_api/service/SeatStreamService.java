@@ -0,0 +1,271 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapDeltaDTO;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Pushes seat status changes of a showtime to Server-Sent Events subscribers.
+ *
+ * <p>
+ * Every subscriber first receives the full seat map and then one
+ * {@code seats} event per batch of changes. Events carry a
+ * {@link SeatMapDeltaDTO} and use the seat map version as SSE id, so a client
+ * that reconnects with {@code Last-Event-ID} only receives what it missed.
+ * </p>
+ *
+ * <p>
+ * Subscribers do not own a thread. A {@link SeatStatusChangedEvent} is only
+ * copied into a small per-subscriber buffer keyed by seat, so a seat that
+ * changes several times while a client is behind is sent once with its latest
+ * status. A virtual thread is started to drain a buffer only when it has
+ * pending changes. If a buffer grows beyond
+ * {@code cinema.seats.stream.buffer-size} seats it is discarded and the
+ * subscriber is resynchronized from the seat inventory instead. Publishing
+ * therefore never blocks on a slow client.
+ * </p>
+ *
+ * @see SeatStatusChangedEvent
+ * @see SeatInventory#changesSince(long)
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatStreamService {
+  private static final Logger log = LoggerFactory.getLogger(SeatStreamService.class);
+
+  private static final String EVENT_NAME = "seats";
+
+  private final SeatInventoryService seatInventoryService;
+
+  private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Value("${cinema.seats.stream.buffer-size:256}")
+  private int bufferSize;
+
+  @Value("${cinema.seats.stream.timeout-ms:1800000}")
+  private long timeoutMillis;
+
+  /**
+   * Opens a seat status stream for a showtime.
+   *
+   * @param showtimeId  the showtime identifier
+   * @param lastEventId the last seat map version received by the client, or
+   *                    {@code null} to start with the full seat map
+   * @return the emitter bound to the HTTP response
+   * @throws ResourceNotFoundException if the showtime does not exist
+   */
+  public SseEmitter subscribe(long showtimeId, Long lastEventId) {
+    return subscribe(showtimeId, lastEventId, new SseEmitter(timeoutMillis));
+  }
+
+  /**
+   * Registers an emitter as subscriber of the seat status changes of a
+   * showtime.
+   *
+   * @param showtimeId  the showtime identifier
+   * @param lastEventId the last seat map version received by the client, or
+   *                    {@code null} to start with the full seat map
+   * @param emitter     the emitter to send the events to
+   * @return the given emitter
+   * @throws ResourceNotFoundException if the showtime does not exist
+   */
+  public SseEmitter subscribe(long showtimeId, Long lastEventId, SseEmitter emitter) {
+    seatInventoryService.getInventory(showtimeId);
+
+    Subscriber subscriber = new Subscriber(showtimeId, emitter, lastEventId == null ? -1 : lastEventId);
+    subscribers.computeIfAbsent(showtimeId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(() -> unsubscribe(subscriber));
+    emitter.onError(error -> unsubscribe(subscriber));
+
+    subscriber.requestResync();
+
+    return emitter;
+  }
+
+  /**
+   * Returns the number of open streams for a showtime.
+   *
+   * @param showtimeId the showtime identifier
+   * @return the number of subscribers
+   */
+  public int subscriberCount(long showtimeId) {
+    Set<Subscriber> showtimeSubscribers = subscribers.get(showtimeId);
+    return showtimeSubscribers == null ? 0 : showtimeSubscribers.size();
+  }
+
+  /**
+   * Fans a committed seat status change out to the subscribers of its
+   * showtime.
+   *
+   * @param event the seat status change
+   */
+  @EventListener
+  public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+    Set<Subscriber> showtimeSubscribers = subscribers.get(event.showtimeId());
+
+    if (showtimeSubscribers == null) {
+      return;
+    }
+
+    for (Subscriber subscriber : showtimeSubscribers) {
+      subscriber.offer(event);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    subscribers.clear();
+    senders.shutdownNow();
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    subscribers.computeIfPresent(subscriber.showtimeId, (id, set) -> {
+      set.remove(subscriber);
+      return set.isEmpty() ? null : set;
+    });
+  }
+
+  /**
+   * Per-client buffer of pending seat changes.
+   *
+   * <p>
+   * All fields are guarded by the subscriber's monitor; sending happens
+   * outside of it so that publishers only ever wait for a map update.
+   * </p>
+   */
+  private final class Subscriber {
+    private final long showtimeId;
+    private final SseEmitter emitter;
+
+    private final Map<Long, SeatInfoDTO> pending = new LinkedHashMap<>();
+    private long pendingVersion;
+    private double pendingOccupancy;
+    private boolean resync;
+    private boolean draining;
+    private long sentVersion;
+
+    private Subscriber(long showtimeId, SseEmitter emitter, long sentVersion) {
+      this.showtimeId = showtimeId;
+      this.emitter = emitter;
+      this.sentVersion = sentVersion;
+    }
+
+    private void requestResync() {
+      synchronized (this) {
+        pending.clear();
+        resync = true;
+      }
+
+      scheduleDrain();
+    }
+
+    private void offer(SeatStatusChangedEvent event) {
+      synchronized (this) {
+        if (event.version() > pendingVersion) {
+          pendingVersion = event.version();
+          pendingOccupancy = event.occupancyPercentage();
+        }
+
+        if (!resync) {
+          for (SeatInfoDTO seat : event.seats()) {
+            pending.put(((long) seat.rowNumber() << 32) | seat.seatNumber(), seat);
+          }
+
+          if (pending.size() > bufferSize) {
+            pending.clear();
+            resync = true;
+          }
+        }
+      }
+
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      synchronized (this) {
+        if (draining) {
+          return;
+        }
+
+        draining = true;
+      }
+
+      senders.execute(this::drain);
+    }
+
+    private void drain() {
+      while (true) {
+        SeatMapDeltaDTO delta;
+
+        synchronized (this) {
+          if (resync) {
+            resync = false;
+            delta = null;
+          } else if (!pending.isEmpty()) {
+            delta = new SeatMapDeltaDTO(showtimeId, sentVersion, pendingVersion, false,
+                new ArrayList<>(pending.values()), pendingOccupancy);
+            pending.clear();
+          } else {
+            draining = false;
+            return;
+          }
+        }
+
+        try {
+          if (delta == null) {
+            delta = seatInventoryService.getInventory(showtimeId).changesSince(Math.max(sentVersion, 0));
+          }
+
+          send(delta);
+        } catch (IOException | RuntimeException e) {
+          log.debug("Closing seat stream of showtime {}: {}", showtimeId, e.getMessage());
+          close();
+          return;
+        }
+      }
+    }
+
+    private void send(SeatMapDeltaDTO delta) throws IOException {
+      emitter.send(SseEmitter.event()
+          .id(Long.toString(delta.version()))
+          .name(EVENT_NAME)
+          .data(delta));
+
+      synchronized (this) {
+        sentVersion = Math.max(sentVersion, delta.version());
+      }
+    }
+
+    private void close() {
+      unsubscribe(this);
+      emitter.complete();
+
+      synchronized (this) {
+        pending.clear();
+        draining = false;
+      }
+    }
+  }
+}
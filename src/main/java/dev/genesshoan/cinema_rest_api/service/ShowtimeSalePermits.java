@@ -0,0 +1,135 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+
+/**
+ * Limits how many sales of one showtime may run at the same time.
+ *
+ * <p>
+ * A sale takes one of {@code cinema.sales.max-concurrent-per-showtime}
+ * permits of its showtime before its transaction starts, so a single hot
+ * showtime holds at most that many of the {@link JdbcPermitLimiter} permits
+ * and the rest stay available to browse endpoints and other showtimes. A sale
+ * that has waited {@code cinema.sales.permit-timeout-ms} is rejected with a
+ * {@link QueueFullException}.
+ * </p>
+ *
+ * <p>
+ * Only sales that are not already serialized take permits: general admission
+ * sales, which have no seat to queue behind, and seated sales while the
+ * {@link ShowtimeSequencer} is disabled.
+ * </p>
+ *
+ * <p>
+ * The semaphore of a showtime only exists while a sale holds or waits for
+ * one of its permits; it is created and removed under the map's per-key
+ * lock, like the lanes of the {@link ShowtimeSequencer}.
+ * </p>
+ */
+@Service
+public class ShowtimeSalePermits {
+  private final Map<Long, Permits> permitsByShowtime = new ConcurrentHashMap<>();
+
+  private final LongAdder rejected = new LongAdder();
+
+  @Value("${cinema.sales.max-concurrent-per-showtime:2}")
+  private int maxConcurrent;
+
+  @Value("${cinema.sales.permit-timeout-ms:2000}")
+  private long permitTimeoutMs;
+
+  /**
+   * Runs a sale of a showtime once one of the showtime's permits is free.
+   *
+   * @param showtimeId the showtime the sale belongs to
+   * @param sale       the sale, typically a transactional service call
+   * @param <T>        the result type
+   * @return the result of the sale
+   * @throws QueueFullException if no permit became free in time
+   */
+  public <T> T call(long showtimeId, Supplier<T> sale) {
+    Permits permits = permitsByShowtime.compute(showtimeId, (id, current) -> {
+      Permits entry = current == null ? new Permits(maxConcurrent) : current;
+      entry.users++;
+      return entry;
+    });
+
+    try {
+      if (!tryAcquire(permits.semaphore)) {
+        rejected.increment();
+        throw new QueueFullException("Too many concurrent sales for showtime " + showtimeId);
+      }
+
+      try {
+        return sale.get();
+      } finally {
+        permits.semaphore.release();
+      }
+    } finally {
+      permitsByShowtime.computeIfPresent(showtimeId, (id, entry) -> --entry.users == 0 ? null : entry);
+    }
+  }
+
+  /**
+   * Returns the number of permits per showtime.
+   *
+   * @return the configured limit
+   */
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  /**
+   * Returns the number of sales rejected because their showtime had no free
+   * permit in time.
+   *
+   * @return the rejected sales
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Returns the number of running sales of every showtime with a running or
+   * waiting sale.
+   *
+   * @return running sales by showtime id
+   */
+  public Map<Long, Integer> getActiveByShowtime() {
+    Map<Long, Integer> active = new TreeMap<>();
+    permitsByShowtime.forEach((id, entry) -> active.put(id, maxConcurrent - entry.semaphore.availablePermits()));
+    return active;
+  }
+
+  private boolean tryAcquire(Semaphore semaphore) {
+    try {
+      return semaphore.tryAcquire(permitTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Semaphore of one showtime with the number of sales using it.
+   */
+  private static final class Permits {
+    private final Semaphore semaphore;
+    private int users;
+
+    private Permits(int maxConcurrent) {
+      this.semaphore = new Semaphore(maxConcurrent, true);
+    }
+  }
+}
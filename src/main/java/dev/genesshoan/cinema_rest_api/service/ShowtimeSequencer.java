@@ -0,0 +1,303 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.genesshoan.cinema_rest_api.dto.metrics.SequencerStatsDTO;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Routes the seat mutations of each showtime through a single-writer queue.
+ *
+ * <p>
+ * Every showtime with pending work has a lane: a FIFO queue drained by at
+ * most one worker at a time. Sales, cancellations and holds for one showtime
+ * therefore run strictly in submission order and never wait on each other's
+ * row locks, while lanes of different showtimes are drained in parallel by a
+ * shared pool of {@code cinema.sequencer.workers} threads. A lane only exists
+ * while it has work; it is created by the first submission and removed by its
+ * worker once the queue is empty, both under the map's per-key lock, so a
+ * lane never has two workers.
+ * </p>
+ *
+ * <p>
+ * A worker yields its thread after {@value #DRAIN_BATCH} tasks so that one
+ * hot showtime cannot starve the others. A submission is rejected with a
+ * {@link QueueFullException} when its lane already holds
+ * {@code cinema.sequencer.queue-capacity} tasks.
+ * </p>
+ *
+ * <p>
+ * When {@code spring.threads.virtual.enabled} is {@code true}, every lane is
+ * drained by its own virtual thread instead of a pooled platform thread, so
+ * {@code cinema.sequencer.workers} no longer bounds how many showtimes make
+ * progress at once; the number of concurrent transactions is then bounded by
+ * the {@link JdbcPermitLimiter} alone.
+ * </p>
+ *
+ * <p>
+ * When {@code cinema.sequencer.enabled} is {@code false}, tasks run directly
+ * on the calling thread.
+ * </p>
+ *
+ * @see SequencerStatsDTO
+ */
+@Service
+public class ShowtimeSequencer {
+  /**
+   * Maximum number of tasks a worker runs before yielding its thread.
+   */
+  private static final int DRAIN_BATCH = 64;
+
+  private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final LongAdder serviceNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+  private final LongAccumulator maxServiceNanos = new LongAccumulator(Math::max, 0);
+
+  private ExecutorService workers;
+
+  @Value("${cinema.sequencer.enabled:true}")
+  private boolean enabled;
+
+  @Value("${cinema.sequencer.workers:8}")
+  private int workerCount;
+
+  @Value("${cinema.sequencer.queue-capacity:256}")
+  private int queueCapacity;
+
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreads;
+
+  /**
+   * Starts the worker pool, or the virtual thread executor.
+   */
+  @PostConstruct
+  void start() {
+    if (enabled && virtualThreads) {
+      workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+          .name("showtime-sequencer-", 0)
+          .factory());
+    } else if (enabled) {
+      workers = Executors.newFixedThreadPool(workerCount, Thread.ofPlatform()
+          .name("showtime-sequencer-", 0)
+          .daemon()
+          .factory());
+    }
+  }
+
+  /**
+   * Stops the worker pool, letting queued tasks finish.
+   */
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    if (workers != null) {
+      workers.shutdown();
+      workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Queues a task on the lane of a showtime.
+   *
+   * <p>
+   * The returned future completes with the result of the task, or
+   * exceptionally with the exception it threw, unwrapped.
+   * </p>
+   *
+   * @param showtimeId the showtime the task mutates
+   * @param task       the task, typically a transactional service call
+   * @param <T>        the result type
+   * @return a future completed once the task ran
+   * @throws QueueFullException if the lane of the showtime is full
+   */
+  public <T> CompletableFuture<T> submit(long showtimeId, Supplier<T> task) {
+    Task<T> queued = new Task<>(task);
+
+    if (!enabled) {
+      queued.run();
+      return queued.future;
+    }
+
+    Lane[] created = new Lane[1];
+
+    lanes.compute(showtimeId, (id, lane) -> {
+      if (lane == null) {
+        lane = new Lane(id);
+        created[0] = lane;
+      } else if (lane.depth.get() >= queueCapacity) {
+        return lane;
+      }
+
+      lane.depth.incrementAndGet();
+      lane.queue.add(queued);
+      queued.accepted = true;
+
+      return lane;
+    });
+
+    if (!queued.accepted) {
+      rejected.increment();
+      throw new QueueFullException("Too many pending requests for showtime " + showtimeId);
+    }
+
+    if (created[0] != null) {
+      workers.execute(created[0]::drain);
+    }
+
+    return queued.future;
+  }
+
+  /**
+   * Runs a task on the lane of a showtime and waits for its result.
+   *
+   * @param showtimeId the showtime the task mutates
+   * @param task       the task, typically a transactional service call
+   * @param <T>        the result type
+   * @return the result of the task
+   * @throws QueueFullException if the lane of the showtime is full
+   * @throws RuntimeException   the exception thrown by the task
+   */
+  public <T> T execute(long showtimeId, Supplier<T> task) {
+    CompletableFuture<T> future = submit(showtimeId, task);
+
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw e;
+    }
+  }
+
+  /**
+   * Returns whether tasks of a showtime are run one at a time on its lane.
+   *
+   * @return {@code false} if tasks run directly on the calling thread
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns whether lanes are drained by virtual threads.
+   *
+   * @return {@code true} if {@code spring.threads.virtual.enabled} is set
+   */
+  public boolean usesVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Returns queue depth and latency figures of the sequencer.
+   *
+   * @return the current statistics
+   */
+  public SequencerStatsDTO getStats() {
+    Map<Long, Integer> depths = new TreeMap<>();
+    lanes.forEach((id, lane) -> depths.put(id, lane.depth.get()));
+
+    long count = completed.sum();
+
+    return new SequencerStatsDTO(
+        enabled,
+        depths.values().stream().mapToLong(Integer::longValue).sum(),
+        count,
+        rejected.sum(),
+        count == 0 ? 0.0 : waitNanos.sum() / 1e6 / count,
+        maxWaitNanos.get() / 1e6,
+        count == 0 ? 0.0 : serviceNanos.sum() / 1e6 / count,
+        maxServiceNanos.get() / 1e6,
+        depths);
+  }
+
+  /**
+   * Queue of one showtime, drained by at most one worker.
+   */
+  private final class Lane {
+    private final long showtimeId;
+    private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private Lane(long showtimeId) {
+      this.showtimeId = showtimeId;
+    }
+
+    /**
+     * Runs queued tasks in order until the queue is empty, removing the lane,
+     * or until the batch is used up, rescheduling the lane.
+     */
+    private void drain() {
+      for (int ran = 0; ran < DRAIN_BATCH; ran++) {
+        Task<?> task = queue.poll();
+
+        if (task == null) {
+          if (lanes.computeIfPresent(showtimeId, (id, lane) -> lane.queue.isEmpty() ? null : lane) == null) {
+            return;
+          }
+
+          task = queue.poll();
+        }
+
+        depth.decrementAndGet();
+        task.run();
+      }
+
+      workers.execute(this::drain);
+    }
+  }
+
+  /**
+   * A queued task with the future of its result.
+   */
+  private final class Task<T> {
+    private final Supplier<T> supplier;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final long queuedAt = System.nanoTime();
+    private boolean accepted;
+
+    private Task(Supplier<T> supplier) {
+      this.supplier = supplier;
+    }
+
+    private void run() {
+      long startedAt = System.nanoTime();
+
+      try {
+        future.complete(supplier.get());
+      } catch (RuntimeException | Error e) {
+        future.completeExceptionally(e);
+      } finally {
+        long finishedAt = System.nanoTime();
+
+        completed.increment();
+        waitNanos.add(startedAt - queuedAt);
+        maxWaitNanos.accumulate(startedAt - queuedAt);
+        serviceNanos.add(finishedAt - startedAt);
+        maxServiceNanos.accumulate(finishedAt - startedAt);
+      }
+    }
+  }
+}
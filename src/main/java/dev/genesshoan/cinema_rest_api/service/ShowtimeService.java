@@ -2,21 +2,36 @@ package dev.genesshoan.cinema_rest_api.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
-import org.springframework.data.domain.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeResponseDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeUpdateDTO;
+import dev.genesshoan.cinema_rest_api.entity.LazySeatIds;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
 import dev.genesshoan.cinema_rest_api.entity.Showtime;
 import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
 import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
 import dev.genesshoan.cinema_rest_api.exception.OverlapingShowtimesException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
 import dev.genesshoan.cinema_rest_api.mapper.ShowtimeMapper;
+import dev.genesshoan.cinema_rest_api.repository.CountEstimator;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
 import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeSpecifications;
+import dev.genesshoan.cinema_rest_api.repository.TicketRepository;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -26,8 +41,11 @@ import lombok.RequiredArgsConstructor;
  * - createShowtime: validate input, ensure no overlapping showtimes, persist and
  *   associate the showtime with Movie and Room entities.
  * - search: retrieve paged showtimes filtered by date, room, movie and status.
+ * - scroll: the same search read with keyset pagination, without a count.
  * - getShowtimeById / updateShowtime / cancelShowtime: typical CRUD-like
  *   retrieval and state transitions.
+ * - reconcileSeatCounters: recompute the capacity and sold seat counters of a
+ *   showtime from its seats when drift is suspected.
  *
  * Inputs/Outputs:
  * - Input DTOs are validated before persistence. Methods return DTOs intended
@@ -45,12 +63,21 @@ import lombok.RequiredArgsConstructor;
  */
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ShowtimeService {
+  private static final Logger log = LoggerFactory.getLogger(ShowtimeService.class);
+
   private final ShowtimeRepository showtimeRepository;
   private final MovieService movieService;
   private final RoomService roomService;
   private final ShowtimeMapper showtimeMapper;
   private final SeatService seatService;
+  private final SeatRepository seatRepository;
+  private final TicketRepository ticketRepository;
+  private final CountEstimator countEstimator;
+
+  @Value("${cinema.seats.seating-mode:EAGER}")
+  private SeatingMode seatingMode;
 
   /**
    * Create and persist a new showtime.
@@ -59,7 +86,12 @@ public class ShowtimeService {
    * 1. Validate that start is before end.
    * 2. Check for overlapping showtimes in the same room (scheduled status).
    * 3. Map DTO to entity and associate with Movie and Room.
-   * 4. Persist and return a response DTO.
+   * 4. Persist the showtime and generate its seats in the same transaction.
+   *    With {@code cinema.seats.seating-mode=LAZY} no seat row is written;
+   *    the room grid is copied to the showtime instead and seats are created
+   *    when sold. A general admission showtime never has seats: it is
+   *    written with a single INSERT and its capacity taken from the room.
+   * 5. Return a response DTO.
    *
    * @param showtimeCreateDTO DTO containing the showtime creation data (start,
    *                         end, base price, movie id, room id)
@@ -69,6 +101,7 @@ public class ShowtimeService {
    *                                     occupies the given time slot in the same room
    * @throws ResourceNotFoundException when the referenced movie or room does not exist
    */
+  @Transactional
   public ShowtimeResponseDTO createShowtime(ShowtimeCreateDTO showtimeCreateDTO) {
 
     validateStartBeforeEnd(showtimeCreateDTO.startTime(), showtimeCreateDTO.endTime());
@@ -87,17 +120,31 @@ public class ShowtimeService {
 
     var room = roomService.getEntityById(showtimeCreateDTO.roomId());
     room.addShowtime(showtime);
+    showtime.setCapacity(Math.multiplyExact(room.getRows(), room.getSeatsPerRow()));
+
+    if (showtimeCreateDTO.isGeneralAdmission()) {
+      showtime.setSeatingMode(SeatingMode.GENERAL_ADMISSION);
+
+      return showtimeMapper.toDto(showtimeRepository.save(showtime));
+    }
 
     Showtime savedShowtime = showtimeRepository.save(showtime);
-    
-    seatService.createSeatsForShowtime(savedShowtime, room);
+
+    if (seatingMode == SeatingMode.LAZY
+        && LazySeatIds.fits(savedShowtime.getId(), room.getRows(), room.getSeatsPerRow())) {
+      savedShowtime.setSeatingMode(SeatingMode.LAZY);
+      savedShowtime.setSeatRows(room.getRows());
+      savedShowtime.setSeatsPerRow(room.getSeatsPerRow());
+    } else {
+      seatService.createSeatsForShowtime(savedShowtime, room);
+    }
 
     return showtimeMapper.toDto(savedShowtime);
   }
 
   /**
    * Search for showtimes by date range, room, movie and status using a
-   * paginated result.
+   * paginated result, computing the total as requested.
    *
    * This method converts the provided LocalDate into a 24-hour window starting
    * at the beginning of the day (inclusive) and ending at the beginning of the
@@ -108,22 +155,74 @@ public class ShowtimeService {
    * @param movieId optional movie id to filter results
    * @param status optional showtime status to filter results
    * @param pageable pagination information
+   * @param countMode how the total is computed
+   * @return page of ShowtimeResponseDTO matching the provided criteria, or a
+   *         slice for {@link CountMode#NONE}
+   */
+  public Slice<ShowtimeResponseDTO> search(
+      LocalDate dateTime,
+      Long roomId,
+      Long movieId,
+      ShowtimeStatus status,
+      Pageable pageable,
+      CountMode countMode) {
+    LocalDateTime from = dateTime.atStartOfDay();
+    LocalDateTime to = dateTime.plusDays(1).atStartOfDay();
+
+    return CountedPages.read(countMode, pageable,
+        () -> showtimeRepository.search(from, to, roomId, movieId, status, pageable),
+        () -> showtimeRepository.searchSlice(from, to, roomId, movieId, status, pageable),
+        () -> countEstimator.estimate(ShowtimeSpecifications.estimate(from, to, roomId, movieId, status),
+            () -> showtimeRepository.count(ShowtimeSpecifications.search(from, to, roomId, movieId, status))),
+        showtimeMapper::toDto);
+  }
+
+  /**
+   * Search showtimes by the same criteria as
+   * {@link #search(LocalDate, Long, Long, ShowtimeStatus, Pageable, CountMode)},
+   * reading a keyset page sorted by start time then id.
+   *
+   * No count is run and the cost of a page does not grow with its depth.
+   *
+   * @param dateTime date used to build the search window (day precision)
+   * @param roomId optional room id to filter results
+   * @param movieId optional movie id to filter results
+   * @param status optional showtime status to filter results
+   * @param size the page size
+   * @param next the token returned with the previous page, or null for the
+   *             first page
    * @return page of ShowtimeResponseDTO matching the provided criteria
+   * @throws InvalidRequestException if the token is malformed
    */
-  public Page<ShowtimeResponseDTO> search(
+  public CursorPageDTO<ShowtimeResponseDTO> scroll(
       LocalDate dateTime,
       Long roomId,
       Long movieId,
       ShowtimeStatus status,
-      Pageable pageable) {
-    return showtimeRepository.search(
+      int size,
+      String next) {
+    PageCursor cursor = PageCursor.decode(next);
+    LocalDateTime afterStartTime;
+
+    try {
+      afterStartTime = cursor == null ? null : LocalDateTime.parse(cursor.key());
+    } catch (DateTimeParseException e) {
+      throw new InvalidRequestException("Invalid page token");
+    }
+
+    List<Showtime> showtimes = showtimeRepository.scroll(
         dateTime.atStartOfDay(),
         dateTime.plusDays(1).atStartOfDay(),
         roomId,
         movieId,
         status,
-        pageable)
-        .map(showtimeMapper::toDto);
+        afterStartTime,
+        cursor == null ? 0 : cursor.id(),
+        size + 1);
+
+    return PageCursor.toPage(showtimes, size,
+        showtime -> new PageCursor(showtime.getStartTime().toString(), showtime.getId()),
+        showtimeMapper::toDto);
   }
 
   /**
@@ -154,6 +253,7 @@ public class ShowtimeService {
    * @throws ResourceNotFoundException if the showtime does not exist
    * @throws InvalidRequestException if the provided times are invalid
    */
+  @Transactional
   public ShowtimeResponseDTO updateShowtime(long id, ShowtimeUpdateDTO showtimeUpdateDTO) {
     Showtime existing = showtimeRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Showtime with id '" + id + "' does not exist"));
@@ -175,6 +275,7 @@ public class ShowtimeService {
    * @param id identifier of the showtime to cancel
    * @throws ResourceNotFoundException if the showtime does not exist
    */
+  @Transactional
   public void cancelShowtime(long id) {
     Showtime showtime = showtimeRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Showtime with id '" + id + "' does not exist"));
@@ -183,6 +284,46 @@ public class ShowtimeService {
     showtime.setStatus(ShowtimeStatus.CANCELLED);
   }
 
+  /**
+   * Recompute the seat counters of a showtime from its seats.
+   *
+   * The showtime row is locked first, so sales that are in flight either
+   * commit before the seats are counted or apply their increment after the
+   * recomputed value is written; no sale is lost or counted twice. Capacity
+   * of lazily seated showtimes comes from their grid, since unsold seats
+   * have no row; general admission showtimes keep their capacity and count
+   * their tickets instead of seats. Intended to be run by operators or a
+   * scheduled job when the counters are suspected to have drifted.
+   *
+   * @param id the showtime id
+   * @return ShowtimeResponseDTO with the recomputed counters
+   * @throws ResourceNotFoundException if the showtime does not exist
+   */
+  @Transactional
+  public ShowtimeResponseDTO reconcileSeatCounters(long id) {
+    Showtime showtime = showtimeRepository.findByIdForUpdate(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Showtime with id '" + id + "' does not exist"));
+
+    int capacity = switch (showtime.getSeatingMode()) {
+      case LAZY -> showtime.getSeatRows() * showtime.getSeatsPerRow();
+      case GENERAL_ADMISSION -> showtime.getCapacity();
+      case EAGER -> (int) seatRepository.countByShowtimeIdAndStatus(id, null);
+    };
+    int soldSeats = showtime.getSeatingMode() == SeatingMode.GENERAL_ADMISSION
+        ? (int) ticketRepository.countNotCancelledByShowtimeId(id)
+        : (int) seatRepository.countByShowtimeIdAndStatus(id, SeatStatus.SOLD);
+
+    if (capacity != showtime.getCapacity() || soldSeats != showtime.getSoldSeats()) {
+      log.warn("Seat counters of showtime {} drifted: capacity {} -> {}, sold {} -> {}",
+          id, showtime.getCapacity(), capacity, showtime.getSoldSeats(), soldSeats);
+    }
+
+    showtime.setCapacity(capacity);
+    showtime.setSoldSeats(soldSeats);
+
+    return showtimeMapper.toDto(showtime);
+  }
+
   /**
    * Validate that the provided start and end times are not null and that the
    * start time is strictly before the end time.
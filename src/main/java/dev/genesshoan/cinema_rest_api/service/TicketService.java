@@ -1,25 +1,39 @@
 package dev.genesshoan.cinema_rest_api.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSaleTermsDTO;
 import dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO;
 import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
 import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.entity.SaleJournalCheckpoint;
 import dev.genesshoan.cinema_rest_api.entity.Seat;
 import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
 import dev.genesshoan.cinema_rest_api.entity.Showtime;
+import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
 import dev.genesshoan.cinema_rest_api.entity.Ticket;
 import dev.genesshoan.cinema_rest_api.entity.TicketStatus;
 import dev.genesshoan.cinema_rest_api.exception.IllegalStatusException;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
 import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
-import dev.genesshoan.cinema_rest_api.mapper.TicketMapper;
+import dev.genesshoan.cinema_rest_api.repository.SaleJournalCheckpointRepository;
 import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
 import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
 import dev.genesshoan.cinema_rest_api.repository.TicketRepository;
@@ -31,9 +45,15 @@ import lombok.RequiredArgsConstructor;
  * <p>
  * Coordinates ticket sales, lookups, and lifecycle operations with
  * transactional
- * guarantees. Enforces seat availability and uses pessimistic locking to
- * prevent
- * race conditions during purchase and status transitions.
+ * guarantees. Seat availability is decided by the in-memory
+ * {@link SeatInventory} of the showtime, so a sale for seats that are already
+ * taken is rejected without a database round trip; the database is only
+ * reached to persist an accepted sale.
+ * </p>
+ *
+ * <p>
+ * Once a sale or cancellation commits, a {@link SeatStatusChangedEvent} is
+ * published so that open seat map streams are updated.
  * </p>
  *
  * <p>
@@ -41,9 +61,16 @@ import lombok.RequiredArgsConstructor;
  * <ul>
  * <li>sellTicket: validates showtime and seats, creates tickets, updates seat
  * status, and returns a sale summary</li>
- * <li>getTicketById: retrieves a single ticket and maps it to a DTO</li>
+ * <li>sellBatch: sells a batch of requests for one showtime in a single
+ * transaction, for group commit</li>
+ * <li>sellGeneralAdmission: sells a quantity of tickets of a general
+ * admission showtime against its capacity counter</li>
+ * <li>applyJournaledSales: writes sales acknowledged from the sale journal to
+ * the database and advances the journal checkpoint</li>
+ * <li>getTicketById: retrieves a single ticket as a DTO projection</li>
  * <li>cancelTicket: marks a ticket as CANCELLED and restores the associated
  * seat to AVAILABLE</li>
+ * <li>keeps the sold seat counter of the showtime in step with both</li>
  * <li>consumeTicket: marks a ticket as CONSUMED for entry validation</li>
  * </ul>
  * </p>
@@ -64,7 +91,11 @@ public class TicketService {
   private final TicketRepository ticketRepository;
   private final ShowtimeRepository showtimeRepository;
   private final SeatRepository seatRepository;
-  private final TicketMapper ticketMapper;
+  private final SeatInventoryService seatInventoryService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final HoldService holdService;
+  private final SeatClaimStrategy seatClaimStrategy;
+  private final SaleJournalCheckpointRepository saleJournalCheckpointRepository;
 
   /**
    * Processes a ticket sale transaction for one or more seats.
@@ -73,19 +104,38 @@ public class TicketService {
    * This method handles the complete ticket purchase workflow:
    * </p>
    * <ol>
+   * <li>Claims the requested seats in the showtime's in-memory inventory,
+   * failing fast if any of them is not available (or, when a hold id is given,
+   * not held)</li>
    * <li>Validates that the showtime exists</li>
-   * <li>Acquires pessimistic locks on requested seats and verifies
-   * availability</li>
+   * <li>Writes the seat status change through to the database with the
+   * configured {@link SeatClaimStrategy}, verifying that every seat was still
+   * available (and creating the seat rows of lazily seated showtimes)</li>
    * <li>Creates ticket records for each seat</li>
-   * <li>Updates seat status to SOLD</li>
    * <li>Calculates total price based on showtime base price</li>
    * <li>Returns purchase confirmation with ticket details</li>
    * </ol>
    *
    * <p>
-   * The entire operation runs within a single database transaction with
-   * pessimistic write locks on seats to prevent race conditions. If any step
-   * fails, all changes are rolled back.
+   * The database update is conditional on the seats still being AVAILABLE, so
+   * the database stays authoritative even if the inventory is stale. If the
+   * transaction does not commit, the in-memory claim is released.
+   * </p>
+   *
+   * <p>
+   * Held seats are sold by passing the hold id: the update is then conditional
+   * on the seats being HELD by that hold and the hold not being expired. If
+   * such a sale does not commit, the inventory is reloaded from the database,
+   * since the hold may have expired in the meantime.
+   * </p>
+   *
+   * <p>
+   * When the request allows a partial sale, the seats that are still
+   * available in the inventory are sold and the others are listed in the
+   * response, all in this one transaction; the sale fails only if none of
+   * the seats is available. The inventory decides which seats are lost: if
+   * the database still disagrees with it for a claimed seat, the whole
+   * request fails as usual.
    * </p>
    *
    * @param requestDTO the ticket sale request containing showtime ID, seat IDs,
@@ -100,57 +150,380 @@ public class TicketService {
    */
   @Transactional
   public TicketSaleResponseDTO sellTicket(TicketSaleRequestDTO requestDTO) {
+    SeatInventory inventory = seatInventoryService.getInventory(requestDTO.showtimeId());
+    String holdId = requestDTO.holdId();
+    List<Long> seatIds;
+
+    if (holdId == null) {
+      seatIds = claimSeats(inventory, requestDTO);
+
+      if (seatIds.isEmpty()) {
+        throw notAvailable(requestDTO);
+      }
+
+      TransactionHooks.unlessCommitted(() -> inventory.release(seatIds));
+    } else {
+      seatIds = requestDTO.seatIds();
+
+      if (!inventory.sellHeld(seatIds)) {
+        throw new SeatNotAvailableException("At least one selected seat is not held");
+      }
+
+      TransactionHooks.unlessCommitted(() -> seatInventoryService.evict(requestDTO.showtimeId()));
+    }
+
     Showtime showtime = showtimeRepository.findById(requestDTO.showtimeId())
         .orElseThrow(
             () -> new ResourceNotFoundException("Showtime with id " + requestDTO.showtimeId() + " does not exist"));
 
-    List<Seat> seats = seatRepository.findAvailableByIdsForUpdate(requestDTO.seatIds());
+    int sold = holdId == null
+        ? markSold(showtime, seatIds)
+        : seatRepository.sellHeld(seatIds, holdId, LocalDateTime.now());
 
-    if (seats.size() != requestDTO.seatIds().size()) {
+    if (sold != seatIds.size()) {
+      seatInventoryService.evict(requestDTO.showtimeId());
       throw new SeatNotAvailableException("At least one selected seat is not available");
     }
 
-    List<Ticket> tickets = new ArrayList<>();
-    BigDecimal totalPrice = BigDecimal.ZERO;
+    showtimeRepository.addSoldSeats(showtime.getId(), sold);
 
-    for (Seat seat : seats) {
-      seat.setStatus(SeatStatus.SOLD);
+    List<Seat> seats = seatRepository.findAllById(seatIds).stream()
+        .sorted(Comparator.comparing(Seat::getId))
+        .toList();
+    List<Ticket> tickets = createTickets(showtime, requestDTO.customerName(), seats);
 
-      Ticket ticket = new Ticket();
+    ticketRepository.saveAll(tickets);
 
-      ticket.setCustomerName(requestDTO.customerName());
-      ticket.setPrice(showtime.getBasePrice());
-      ticket.setSeat(seat);
-      ticket.setStatus(TicketStatus.ACTIVE);
+    List<SeatInfoDTO> soldSeats = toSoldSeatInfo(seats);
+    TransactionHooks.afterCommit(() -> {
+      if (holdId != null) {
+        holdService.onHoldSold(holdId, seatIds);
+      }
 
-      tickets.add(ticket);
-      totalPrice = totalPrice.add(ticket.getPrice());
+      publishSeatStatusChange(requestDTO.showtimeId(), soldSeats);
+    });
+
+    return toSaleResponse(tickets, findResponses(tickets), unavailableSeats(requestDTO, seatIds));
+  }
+
+  /**
+   * Processes a batch of ticket sales for one showtime in a single
+   * transaction.
+   *
+   * <p>
+   * The requests are checked against the in-memory {@link SeatInventory} in
+   * order, so a request whose seats were already taken, or taken by an earlier
+   * request of the same batch, fails on its own without affecting the others,
+   * and a request allowing a partial sale keeps the seats still available.
+   * The seats of every accepted request are then written through with one
+   * claim for the directly bought seats plus one update per hold, the tickets
+   * of the whole batch are inserted together, and a single seat status change
+   * is published after commit.
+   * </p>
+   *
+   * <p>
+   * If the database disagrees with the inventory for any seat, the whole batch
+   * is rolled back with a {@link SeatNotAvailableException}; the caller is
+   * expected to fall back to {@link #sellTicket(TicketSaleRequestDTO)} for
+   * each request.
+   * </p>
+   *
+   * @param showtimeId the showtime every request is for
+   * @param requests   the sale requests, in arrival order
+   * @return the outcome of every request, in the same order
+   * @throws ResourceNotFoundException if the showtime does not exist
+   * @throws SeatNotAvailableException if the database rejected a seat accepted
+   *                                   by the inventory
+   * @see SaleBatcher
+   */
+  @Transactional
+  public List<SaleOutcome> sellBatch(long showtimeId, List<TicketSaleRequestDTO> requests) {
+    SeatInventory inventory = seatInventoryService.getInventory(showtimeId);
+    List<SaleOutcome> outcomes = new ArrayList<>(requests.size());
+    List<TicketSaleRequestDTO> accepted = new ArrayList<>();
+    List<Long> claimedSeatIds = new ArrayList<>();
+    boolean anyHeld = false;
+
+    List<List<Long>> unavailableByRequest = new ArrayList<>();
+
+    for (TicketSaleRequestDTO request : requests) {
+      if (request.holdId() != null) {
+        if (!inventory.sellHeld(request.seatIds())) {
+          outcomes.add(SaleOutcome.failed(new SeatNotAvailableException("At least one selected seat is not held")));
+          continue;
+        }
+
+        outcomes.add(null);
+        accepted.add(request);
+        unavailableByRequest.add(List.of());
+        anyHeld = true;
+        continue;
+      }
+
+      List<Long> seatIds = claimSeats(inventory, request);
+
+      if (seatIds.isEmpty()) {
+        outcomes.add(SaleOutcome.failed(notAvailable(request)));
+        continue;
+      }
+
+      outcomes.add(null);
+      accepted.add(seatIds.size() == request.seatIds().size()
+          ? request
+          : new TicketSaleRequestDTO(showtimeId, seatIds, request.customerName()));
+      unavailableByRequest.add(unavailableSeats(request, seatIds));
+      claimedSeatIds.addAll(seatIds);
     }
 
+    TransactionHooks.unlessCommitted(() -> inventory.release(claimedSeatIds));
+
+    if (anyHeld) {
+      TransactionHooks.unlessCommitted(() -> seatInventoryService.evict(showtimeId));
+    }
+
+    if (accepted.isEmpty()) {
+      return outcomes;
+    }
+
+    Showtime showtime = showtimeRepository.findById(showtimeId)
+        .orElseThrow(() -> new ResourceNotFoundException("Showtime with id " + showtimeId + " does not exist"));
+
+    int requested = claimedSeatIds.size();
+    int sold = claimedSeatIds.isEmpty() ? 0 : markSold(showtime, claimedSeatIds);
+    LocalDateTime now = LocalDateTime.now();
+
+    for (TicketSaleRequestDTO request : accepted) {
+      if (request.holdId() != null) {
+        requested += request.seatIds().size();
+        sold += seatRepository.sellHeld(request.seatIds(), request.holdId(), now);
+      }
+    }
+
+    if (sold != requested) {
+      seatInventoryService.evict(showtimeId);
+      throw new SeatNotAvailableException("At least one selected seat is not available");
+    }
+
+    showtimeRepository.addSoldSeats(showtimeId, sold);
+
+    Map<Long, Seat> seatsById = seatRepository.findAllById(accepted.stream()
+        .flatMap(request -> request.seatIds().stream())
+        .toList()).stream()
+        .collect(Collectors.toMap(Seat::getId, Function.identity()));
+    List<Ticket> batchTickets = new ArrayList<>();
+    List<List<Ticket>> ticketsByRequest = new ArrayList<>();
+    List<SeatInfoDTO> soldSeats = new ArrayList<>();
+
+    for (TicketSaleRequestDTO request : accepted) {
+      List<Seat> seats = request.seatIds().stream()
+          .sorted()
+          .map(seatsById::get)
+          .toList();
+      List<Ticket> tickets = createTickets(showtime, request.customerName(), seats);
+
+      ticketsByRequest.add(tickets);
+      batchTickets.addAll(tickets);
+      soldSeats.addAll(toSoldSeatInfo(seats));
+    }
+
+    ticketRepository.saveAll(batchTickets);
+
+    List<TicketResponseDTO> responses = findResponses(batchTickets);
+
+    for (int i = 0, next = 0, from = 0; i < outcomes.size(); i++) {
+      if (outcomes.get(i) == null) {
+        List<Ticket> tickets = ticketsByRequest.get(next);
+        int to = from + tickets.size();
+
+        outcomes.set(i, SaleOutcome.sold(
+            toSaleResponse(tickets, responses.subList(from, to), unavailableByRequest.get(next))));
+        from = to;
+        next++;
+      }
+    }
+
+    TransactionHooks.afterCommit(() -> {
+      for (TicketSaleRequestDTO request : accepted) {
+        if (request.holdId() != null) {
+          holdService.onHoldSold(request.holdId(), request.seatIds());
+        }
+      }
+
+      publishSeatStatusChange(showtimeId, soldSeats);
+    });
+
+    return outcomes;
+  }
+
+  /**
+   * Sells a quantity of tickets of a general admission showtime.
+   *
+   * <p>
+   * General admission showtimes have no seats: the tickets are claimed with
+   * a single conditional update of the showtime's sold seat counter, bounded
+   * by its capacity, so no seat row is read or locked and the seat inventory
+   * is not involved. The tickets are then inserted without a seat. The sale
+   * is all or nothing; {@code allowPartial} is ignored.
+   * </p>
+   *
+   * <p>
+   * The showtime itself is only read, as a projection of its price, title and
+   * start time, once the claim has succeeded; a rejected claim is diagnosed
+   * afterwards to report why it failed.
+   * </p>
+   *
+   * @param requestDTO the sale request, giving the tickets as a quantity
+   * @return a response containing total price, ticket count and individual
+   *         ticket details
+   * @throws ResourceNotFoundException if the showtime does not exist
+   * @throws InvalidRequestException   if the showtime has assigned seating
+   * @throws IllegalStatusException    if the showtime is not scheduled
+   * @throws SeatNotAvailableException if fewer tickets than requested are left
+   */
+  @Transactional
+  public TicketSaleResponseDTO sellGeneralAdmission(TicketSaleRequestDTO requestDTO) {
+    long showtimeId = requestDTO.showtimeId();
+    int quantity = requestDTO.quantity();
+
+    if (showtimeRepository.claimGeneralAdmission(showtimeId, quantity) == 0) {
+      throw generalAdmissionRejected(showtimeId);
+    }
+
+    ShowtimeSaleTermsDTO terms = showtimeRepository.findSaleTermsById(showtimeId)
+        .orElseThrow(() -> new ResourceNotFoundException("Showtime with id " + showtimeId + " does not exist"));
+    List<Ticket> tickets = createTickets(showtimeRepository.getReferenceById(showtimeId), terms.basePrice(),
+        requestDTO.customerName(), Collections.nCopies(quantity, null));
+
     ticketRepository.saveAll(tickets);
 
     return new TicketSaleResponseDTO(
-        totalPrice,
-        tickets.size(),
+        terms.basePrice().multiply(BigDecimal.valueOf(quantity)),
+        quantity,
         tickets.stream()
-            .map(ticketMapper::toDto)
-            .collect(Collectors.toList()));
+            .map(ticket -> new TicketResponseDTO(ticket.getCustomerName(), terms.movieTitle(), null, null,
+                ticket.getPurcharse(), terms.startTime()))
+            .toList());
   }
 
-  // TODO: refactor mapper to avoid deep lazy traversal (N+1 risk)
+  /**
+   * Writes sales acknowledged from a sale journal to the database.
+   *
+   * <p>
+   * The seats were already claimed in the in-memory inventory when the sales
+   * were journaled, so only the database is updated here: the seats are
+   * marked SOLD, the sold seat counters advanced and the tickets inserted
+   * with the price and purchase time of the journaled sale. The checkpoint of
+   * the journal is locked and advanced to the last sale of the batch in the
+   * same transaction, and sales at or below the checkpoint are skipped, so
+   * replaying a journal after a restart applies every sale exactly once.
+   * </p>
+   *
+   * @param journal the name of the journal
+   * @param sales   the sales to apply, in sequence order
+   * @throws ResourceNotFoundException if the showtime of a sale does not
+   *                                   exist
+   * @throws SeatNotAvailableException if a seat of a sale is no longer
+   *                                   available in the database; nothing is
+   *                                   applied
+   * @see JournaledSaleService
+   */
+  @Transactional
+  public void applyJournaledSales(String journal, List<JournaledSale> sales) {
+    SaleJournalCheckpoint checkpoint = lockCheckpoint(journal);
+    long applied = checkpoint.getAppliedSequence();
+    List<Ticket> tickets = new ArrayList<>();
+    Map<Long, List<SeatInfoDTO>> soldSeats = new LinkedHashMap<>();
+
+    for (JournaledSale sale : sales) {
+      if (sale.sequence() <= applied) {
+        continue;
+      }
+
+      Showtime showtime = showtimeRepository.findById(sale.showtimeId())
+          .orElseThrow(() -> new ResourceNotFoundException("Showtime with id " + sale.showtimeId() + " does not exist"));
+
+      int sold = markSold(showtime, sale.seatIds());
+
+      if (sold != sale.seatIds().size()) {
+        throw new SeatNotAvailableException("At least one seat of journaled sale " + sale.sequence()
+            + " is not available");
+      }
+
+      showtimeRepository.addSoldSeats(showtime.getId(), sold);
+
+      List<Seat> seats = seatRepository.findAllById(sale.seatIds()).stream()
+          .sorted(Comparator.comparing(Seat::getId))
+          .toList();
+
+      for (Ticket ticket : createTickets(showtime, sale.unitPrice(), sale.customerName(), seats)) {
+        ticket.setPurcharse(sale.purchasedAt());
+        tickets.add(ticket);
+      }
+
+      soldSeats.computeIfAbsent(sale.showtimeId(), id -> new ArrayList<>()).addAll(toSoldSeatInfo(seats));
+      applied = sale.sequence();
+    }
+
+    ticketRepository.saveAll(tickets);
+    checkpoint.setAppliedSequence(applied);
+
+    TransactionHooks.afterCommit(() -> soldSeats.forEach(this::publishSeatStatusChange));
+  }
+
+  /**
+   * Advances the checkpoint of a sale journal past a sale that cannot be
+   * applied, so that it is not replayed again.
+   *
+   * @param journal  the name of the journal
+   * @param sequence the sequence number of the skipped sale
+   */
+  @Transactional
+  public void skipJournaledSale(String journal, long sequence) {
+    SaleJournalCheckpoint checkpoint = lockCheckpoint(journal);
+
+    checkpoint.setAppliedSequence(Math.max(checkpoint.getAppliedSequence(), sequence));
+  }
 
   /**
-   * Retrieves a ticket by its identifier and maps it to a DTO.
+   * Returns the sequence number of the last sale of a journal written to the
+   * database.
+   *
+   * @param journal the name of the journal
+   * @return the applied sequence number, {@code 0} if nothing was applied yet
+   */
+  public long getJournalCheckpoint(String journal) {
+    return saleJournalCheckpointRepository.findById(journal)
+        .map(SaleJournalCheckpoint::getAppliedSequence)
+        .orElse(0L);
+  }
+
+  /**
+   * Retrieves a ticket by its identifier as a DTO.
+   *
+   * <p>
+   * The ticket is read with a single projection query joining its showtime,
+   * movie and seat, without loading the entities.
+   * </p>
    *
    * @param id the ticket identifier
    * @return a DTO representation of the ticket
    * @throws ResourceNotFoundException if the ticket does not exist
    */
   public TicketResponseDTO getTicketById(long id) {
-    Ticket ticket = ticketRepository.findById(id)
+    return ticketRepository.findResponseById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Ticket with id " + id + "does not exist"));
+  }
 
-    return ticketMapper.toDto(ticket);
+  /**
+   * Retrieves the ID of the showtime a ticket was sold for.
+   *
+   * @param id the ticket identifier
+   * @return the showtime ID
+   * @throws ResourceNotFoundException if the ticket does not exist
+   */
+  public long getShowtimeIdOfTicket(long id) {
+    return ticketRepository.findShowtimeIdById(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Ticket with id " + id + " does not exist"));
   }
 
   /**
@@ -163,6 +536,11 @@ public class TicketService {
    * to ensure consistency.
    * </p>
    *
+   * <p>
+   * A general admission ticket has no seat; cancelling it gives its place
+   * back to the capacity of the showtime.
+   * </p>
+   *
    * @param id the ticket identifier
    * @throws ResourceNotFoundException if the ticket does not exist
    * @throws IllegalStatusException    if the ticket is not active
@@ -177,7 +555,24 @@ public class TicketService {
     }
 
     ticket.setStatus(TicketStatus.CANCELLED);
+
+    long showtimeId = ticket.getShowtime().getId();
+    showtimeRepository.addSoldSeats(showtimeId, -1);
+
+    if (ticket.getSeat() == null) {
+      return;
+    }
+
     ticket.getSeat().setStatus(SeatStatus.AVAILABLE);
+
+    List<Long> seatIds = List.of(ticket.getSeat().getId());
+    List<SeatInfoDTO> releasedSeats = List.of(new SeatInfoDTO(
+        ticket.getSeat().getRowNumber(), ticket.getSeat().getSeatNumber(), SeatStatus.AVAILABLE));
+
+    TransactionHooks.afterCommit(() -> {
+      seatInventoryService.release(showtimeId, seatIds);
+      publishSeatStatusChange(showtimeId, releasedSeats);
+    });
   }
 
   /**
@@ -203,4 +598,212 @@ public class TicketService {
 
     ticket.setStatus(TicketStatus.CONSUMED);
   }
+
+  /**
+   * Writes the sale of seats through to the database.
+   *
+   * <p>
+   * Seats of {@link SeatingMode#LAZY} showtimes may not have a row yet, in
+   * which case it is created first. A concurrent sale of the same seat on
+   * another instance is reported as a constraint violation and treated as an
+   * unavailable seat. The status change itself is delegated to the
+   * configured {@link SeatClaimStrategy}.
+   * </p>
+   *
+   * @param showtime the showtime the seats belong to
+   * @param seatIds  the seats to sell
+   * @return the number of seats that transitioned to SOLD
+   */
+  private int markSold(Showtime showtime, List<Long> seatIds) {
+    if (showtime.getSeatingMode() == SeatingMode.LAZY) {
+      try {
+        seatRepository.materialize(showtime.getId(), seatIds);
+      } catch (DataIntegrityViolationException e) {
+        return 0;
+      }
+    }
+
+    return seatClaimStrategy.claim(showtime.getId(), seatIds);
+  }
+
+  /**
+   * Creates the ACTIVE tickets of a sale, priced at the showtime's base price.
+   *
+   * @param showtime     the showtime the seats belong to
+   * @param customerName the name of the buyer
+   * @param seats        the sold seats
+   * @return one unsaved ticket per seat, in seat order
+   */
+  private List<Ticket> createTickets(Showtime showtime, String customerName, List<Seat> seats) {
+    return createTickets(showtime, showtime.getBasePrice(), customerName, seats);
+  }
+
+  /**
+   * Creates the ACTIVE tickets of a sale at a given price.
+   *
+   * @param showtime     the showtime the seats belong to
+   * @param price        the price of every ticket
+   * @param customerName the name of the buyer
+   * @param seats        the sold seats, or {@code null} entries for general
+   *                     admission tickets
+   * @return one unsaved ticket per seat, in seat order
+   */
+  private List<Ticket> createTickets(Showtime showtime, BigDecimal price, String customerName, List<Seat> seats) {
+    List<Ticket> tickets = new ArrayList<>(seats.size());
+
+    for (Seat seat : seats) {
+      Ticket ticket = new Ticket();
+
+      ticket.setCustomerName(customerName);
+      ticket.setPrice(price);
+      ticket.setShowtime(showtime);
+      ticket.setSeat(seat);
+      ticket.setStatus(TicketStatus.ACTIVE);
+
+      tickets.add(ticket);
+    }
+
+    return tickets;
+  }
+
+  /**
+   * Claims the seats of a sale that is not for held seats in the inventory.
+   *
+   * @param inventory the inventory of the showtime
+   * @param request   the sale request
+   * @return the claimed seats: all requested seats or none, or, if partial
+   *         sales are allowed, those that were available
+   */
+  private static List<Long> claimSeats(SeatInventory inventory, TicketSaleRequestDTO request) {
+    if (request.isPartialAllowed()) {
+      return inventory.claimAvailable(request.seatIds());
+    }
+
+    return inventory.claim(request.seatIds()) ? request.seatIds() : List.of();
+  }
+
+  /**
+   * Returns the requested seats that were not claimed for a sale.
+   *
+   * @param request the sale request
+   * @param seatIds the claimed seats
+   * @return the unclaimed seats, in request order and without repeats
+   */
+  private static List<Long> unavailableSeats(TicketSaleRequestDTO request, List<Long> seatIds) {
+    if (seatIds.size() == request.seatIds().size()) {
+      return List.of();
+    }
+
+    return request.seatIds().stream()
+        .distinct()
+        .filter(seatId -> !seatIds.contains(seatId))
+        .toList();
+  }
+
+  /**
+   * Explains why the tickets of a general admission showtime could not be
+   * claimed.
+   *
+   * @param showtimeId the showtime of the rejected sale
+   * @return the exception to throw
+   */
+  private RuntimeException generalAdmissionRejected(long showtimeId) {
+    Showtime showtime = showtimeRepository.findById(showtimeId).orElse(null);
+
+    if (showtime == null) {
+      return new ResourceNotFoundException("Showtime with id " + showtimeId + " does not exist");
+    }
+
+    if (showtime.getSeatingMode() != SeatingMode.GENERAL_ADMISSION) {
+      return new InvalidRequestException("Showtime with id " + showtimeId + " has assigned seating; select seats");
+    }
+
+    if (showtime.getStatus() != ShowtimeStatus.SCHEDULED) {
+      return new IllegalStatusException("Tickets can only be sold for a scheduled showtime");
+    }
+
+    return new SeatNotAvailableException("Only " + (showtime.getCapacity() - showtime.getSoldSeats())
+        + " tickets are left");
+  }
+
+  private static SeatNotAvailableException notAvailable(TicketSaleRequestDTO request) {
+    return new SeatNotAvailableException(request.isPartialAllowed()
+        ? "None of the selected seats is available"
+        : "At least one selected seat is not available");
+  }
+
+  /**
+   * Reads the details of saved tickets with one projection query.
+   *
+   * <p>
+   * The query flushes the pending ticket inserts first. Ticket IDs are
+   * assigned in creation order, so the details come back in the order of the
+   * given tickets.
+   * </p>
+   *
+   * @param tickets the saved tickets, in creation order
+   * @return the ticket details, in the same order
+   */
+  private List<TicketResponseDTO> findResponses(List<Ticket> tickets) {
+    return ticketRepository.findResponsesByIdIn(tickets.stream()
+        .map(Ticket::getId)
+        .toList());
+  }
+
+  /**
+   * Builds the purchase confirmation of a sale.
+   *
+   * @param tickets            the saved tickets of the sale
+   * @param responses          the details of those tickets, in the same order
+   * @param unavailableSeatIds the requested seats that were not sold
+   * @return the total price, ticket count and ticket details
+   */
+  private static TicketSaleResponseDTO toSaleResponse(List<Ticket> tickets, List<TicketResponseDTO> responses,
+      List<Long> unavailableSeatIds) {
+    BigDecimal totalPrice = tickets.stream()
+        .map(Ticket::getPrice)
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    return new TicketSaleResponseDTO(
+        totalPrice,
+        tickets.size(),
+        responses,
+        unavailableSeatIds);
+  }
+
+  /**
+   * Locks the checkpoint of a sale journal, creating it on first use.
+   *
+   * @param journal the name of the journal
+   * @return the locked checkpoint
+   */
+  private SaleJournalCheckpoint lockCheckpoint(String journal) {
+    return saleJournalCheckpointRepository.findByNameForUpdate(journal)
+        .orElseGet(() -> saleJournalCheckpointRepository.save(new SaleJournalCheckpoint(journal, 0)));
+  }
+
+  /**
+   * Describes sold seats for seat status change events.
+   *
+   * @param seats the sold seats
+   * @return the position of every seat with status SOLD
+   */
+  private static List<SeatInfoDTO> toSoldSeatInfo(List<Seat> seats) {
+    return seats.stream()
+        .map(seat -> new SeatInfoDTO(seat.getRowNumber(), seat.getSeatNumber(), SeatStatus.SOLD))
+        .toList();
+  }
+
+  /**
+   * Publishes a committed seat status change for live seat map subscribers.
+   *
+   * @param showtimeId the showtime whose seats changed
+   * @param seats      the changed seats with their new status
+   */
+  private void publishSeatStatusChange(long showtimeId, List<SeatInfoDTO> seats) {
+    SeatInventory inventory = seatInventoryService.getInventory(showtimeId);
+
+    eventPublisher.publishEvent(new SeatStatusChangedEvent(
+        showtimeId, inventory.getVersion(), seats, inventory.getOccupancyPercentage()));
+  }
 }
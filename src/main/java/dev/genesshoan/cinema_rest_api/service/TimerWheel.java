@@ -0,0 +1,276 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for a large number of cancellable deadlines.
+ *
+ * <p>
+ * Time is divided into ticks of {@code tickMillis}. The wheel has
+ * {@value #LEVELS} levels of {@value #SLOTS} slots each: level 0 covers the
+ * next {@value #SLOTS} ticks one slot per tick, level 1 the next
+ * {@code 64^2} ticks one slot per 64 ticks, and so on. A deadline is stored
+ * in the coarsest slot that still separates it from the current tick and is
+ * moved down one level (cascaded) when time reaches that slot, so each entry
+ * is touched at most {@value #LEVELS} times before it expires. Deadlines
+ * further away than the last level are parked in an overflow list that is
+ * revisited once per full turn of the top level.
+ * </p>
+ *
+ * <p>
+ * Scheduling and cancelling are O(1): every slot is an intrusive doubly
+ * linked list and a {@link Timeout} unlinks itself. Advancing costs O(1) per
+ * elapsed tick plus the number of entries cascaded or expired, independent of
+ * how many deadlines are pending.
+ * </p>
+ *
+ * <p>
+ * The wheel does not own a thread: a driver calls
+ * {@link #advanceTo(long)} periodically with the current time and handles the
+ * returned payloads. All methods synchronize on the wheel instance.
+ * </p>
+ *
+ * @param <T> the payload type attached to each deadline
+ * @see HoldService
+ */
+public class TimerWheel<T> {
+  /**
+   * Number of slots per level.
+   */
+  public static final int SLOTS = 64;
+
+  /**
+   * Number of levels of the wheel.
+   */
+  public static final int LEVELS = 4;
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+  private final long tickMillis;
+  private final long startMillis;
+
+  @SuppressWarnings("unchecked")
+  private final Timeout<T>[][] slots = new Timeout[LEVELS][SLOTS];
+  private final List<Timeout<T>> overflow = new ArrayList<>();
+
+  private long currentTick;
+  private int size;
+
+  /**
+   * Creates a wheel whose tick 0 starts at {@code startMillis}.
+   *
+   * @param tickMillis  the resolution of the wheel in milliseconds
+   * @param startMillis the current time in milliseconds
+   */
+  public TimerWheel(long tickMillis, long startMillis) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be positive");
+    }
+
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+  }
+
+  /**
+   * Schedules a payload to expire at the given time.
+   *
+   * <p>
+   * Deadlines are rounded up to the next tick; deadlines in the past expire
+   * on the next tick.
+   * </p>
+   *
+   * @param payload        the payload returned when the deadline expires
+   * @param deadlineMillis the expiry time in milliseconds
+   * @return a handle that can be used to cancel the deadline
+   */
+  public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+    long tick = Math.ceilDiv(deadlineMillis - startMillis, tickMillis);
+
+    Timeout<T> timeout = new Timeout<>(this, payload, Math.max(tick, currentTick + 1));
+    insert(timeout);
+    size++;
+
+    return timeout;
+  }
+
+  /**
+   * Advances the wheel to the given time and returns the payloads of every
+   * deadline reached on the way, in expiry order.
+   *
+   * @param nowMillis the current time in milliseconds
+   * @return the expired payloads; empty if nothing expired
+   */
+  public synchronized List<T> advanceTo(long nowMillis) {
+    long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+    List<T> expired = new ArrayList<>();
+
+    while (currentTick < targetTick) {
+      currentTick++;
+      cascade();
+
+      Timeout<T> timeout = detachSlot(0, (int) (currentTick & SLOT_MASK));
+
+      while (timeout != null) {
+        Timeout<T> next = timeout.next;
+        timeout.next = null;
+        timeout.wheel = null;
+        expired.add(timeout.payload);
+        size--;
+        timeout = next;
+      }
+    }
+
+    return expired;
+  }
+
+  /**
+   * Returns the number of pending deadlines.
+   *
+   * @return the pending deadline count
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  private synchronized boolean cancel(Timeout<T> timeout) {
+    if (timeout.wheel != this) {
+      return false;
+    }
+
+    unlink(timeout);
+    timeout.wheel = null;
+    size--;
+
+    return true;
+  }
+
+  /**
+   * Moves the entries of the higher level slots reached at the current tick
+   * one or more levels down.
+   */
+  private void cascade() {
+    int level = 0;
+
+    while (level < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+      level++;
+    }
+
+    if (level == LEVELS - 1 && currentTick % SPAN == 0) {
+      List<Timeout<T>> parked = new ArrayList<>(overflow);
+      overflow.clear();
+      parked.forEach(this::insert);
+    }
+
+    for (; level > 0; level--) {
+      int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+      Timeout<T> timeout = detachSlot(level, index);
+
+      while (timeout != null) {
+        Timeout<T> next = timeout.next;
+        timeout.next = null;
+        insert(timeout);
+        timeout = next;
+      }
+    }
+  }
+
+  private void insert(Timeout<T> timeout) {
+    long delta = timeout.tick - currentTick;
+
+    for (int level = 0; level < LEVELS; level++) {
+      if (delta < 1L << (SLOT_BITS * (level + 1))) {
+        timeout.level = level;
+        timeout.slot = (int) ((timeout.tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        link(timeout);
+        return;
+      }
+    }
+
+    timeout.level = -1;
+    overflow.add(timeout);
+  }
+
+  private void link(Timeout<T> timeout) {
+    Timeout<T> head = slots[timeout.level][timeout.slot];
+
+    timeout.prev = null;
+    timeout.next = head;
+
+    if (head != null) {
+      head.prev = timeout;
+    }
+
+    slots[timeout.level][timeout.slot] = timeout;
+  }
+
+  private void unlink(Timeout<T> timeout) {
+    if (timeout.level < 0) {
+      overflow.remove(timeout);
+      return;
+    }
+
+    if (timeout.prev != null) {
+      timeout.prev.next = timeout.next;
+    } else {
+      slots[timeout.level][timeout.slot] = timeout.next;
+    }
+
+    if (timeout.next != null) {
+      timeout.next.prev = timeout.prev;
+    }
+
+    timeout.prev = null;
+    timeout.next = null;
+  }
+
+  private Timeout<T> detachSlot(int level, int index) {
+    Timeout<T> head = slots[level][index];
+    slots[level][index] = null;
+    return head;
+  }
+
+  /**
+   * Handle of a scheduled deadline.
+   *
+   * @param <T> the payload type
+   */
+  public static final class Timeout<T> {
+    private volatile TimerWheel<T> wheel;
+    private final T payload;
+    private final long tick;
+
+    private int level;
+    private int slot;
+    private Timeout<T> prev;
+    private Timeout<T> next;
+
+    private Timeout(TimerWheel<T> wheel, T payload, long tick) {
+      this.wheel = wheel;
+      this.payload = payload;
+      this.tick = tick;
+    }
+
+    /**
+     * Cancels the deadline.
+     *
+     * @return {@code true} if the deadline was pending, {@code false} if it
+     *         already expired or was cancelled
+     */
+    public boolean cancel() {
+      TimerWheel<T> owner = wheel;
+      return owner != null && owner.cancel(this);
+    }
+
+    /**
+     * Returns the payload of the deadline.
+     *
+     * @return the payload
+     */
+    public T payload() {
+      return payload;
+    }
+  }
+}
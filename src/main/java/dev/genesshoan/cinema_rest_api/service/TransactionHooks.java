@@ -0,0 +1,62 @@
+package dev.genesshoan.cinema_rest_api.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ties in-memory side effects of the seat services to the outcome of the
+ * current transaction.
+ *
+ * <p>
+ * Seat inventories and holds are changed before the database write commits.
+ * {@link #unlessCommitted} undoes such a change when the transaction rolls
+ * back, and {@link #afterCommit} defers the work that must only happen once
+ * the change is durable, such as publishing seat status events.
+ * </p>
+ */
+final class TransactionHooks {
+  private TransactionHooks() {
+  }
+
+  /**
+   * Runs an action once the current transaction has committed, or immediately
+   * when no transaction synchronization is active.
+   *
+   * @param action the action to run
+   */
+  static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  /**
+   * Runs a rollback action if the current transaction does not commit. Does
+   * nothing when no transaction synchronization is active, since the change
+   * then has nothing to be undone with.
+   *
+   * @param rollback the action undoing an in-memory change
+   */
+  static void unlessCommitted(Runnable rollback) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          rollback.run();
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,41 @@
+package dev.genesshoan.cinema_rest_api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import dev.genesshoan.cinema_rest_api.showtime.ShowtimeFixture;
+
+/**
+ * Runs an integration test against the application on an in-memory H2
+ * database.
+ *
+ * Test classes with this annotation and no further configuration share one
+ * cached application context, and so one database. Their tests must create
+ * their own rows and only assert on those. A class that needs other
+ * properties adds them with {@code @TestPropertySource} and gets a context,
+ * and a database, of its own: the database name is drawn per context.
+ *
+ * Statements are recorded with {@link StatementRecorder}, and
+ * {@link ShowtimeFixture} is available for injection.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "dev.genesshoan.cinema_rest_api.StatementRecorder",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+    "cinema.admission.enabled=false"
+})
+@Import(ShowtimeFixture.class)
+public @interface IntegrationTest {
+}
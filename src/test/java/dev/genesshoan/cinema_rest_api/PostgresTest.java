@@ -0,0 +1,49 @@
+package dev.genesshoan.cinema_rest_api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Runs an integration test against PostgreSQL in a container, for the code
+ * paths that only exist on PostgreSQL.
+ *
+ * The container is a bean of the test context, so test classes declaring the
+ * same properties share both. Without Docker the tests are skipped.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.show-sql=false",
+    "cinema.admission.enabled=false"
+})
+@Import(PostgresTest.Container.class)
+public @interface PostgresTest {
+
+  /**
+   * Provides the PostgreSQL container and connects the data source to it.
+   */
+  @TestConfiguration(proxyBeanMethods = false)
+  class Container {
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer postgres() {
+      return new PostgreSQLContainer(DockerImageName.parse("postgres:17-alpine"));
+    }
+  }
+}
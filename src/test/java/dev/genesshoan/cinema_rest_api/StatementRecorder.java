@@ -0,0 +1,68 @@
+package dev.genesshoan.cinema_rest_api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements Hibernate prepares while an operation runs on
+ * the current thread.
+ *
+ * Registered as the statement inspector of every {@link IntegrationTest}, so
+ * query-count and query-plan tests share their application context.
+ * Statements of other threads, and statements prepared outside
+ * {@link #record(Supplier)}, are not recorded.
+ */
+public class StatementRecorder implements StatementInspector {
+  private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+  @Override
+  public String inspect(String sql) {
+    List<String> statements = STATEMENTS.get();
+
+    if (statements != null) {
+      statements.add(sql);
+    }
+
+    return sql;
+  }
+
+  /**
+   * Runs an operation and records the statements it prepares.
+   *
+   * @param operation the operation to run
+   * @param <T>       the result type of the operation
+   * @return the result of the operation and its statements, in order
+   */
+  public static <T> Recorded<T> record(Supplier<T> operation) {
+    List<String> statements = new ArrayList<>();
+
+    STATEMENTS.set(statements);
+
+    try {
+      return new Recorded<>(operation.get(), statements);
+    } finally {
+      STATEMENTS.remove();
+    }
+  }
+
+  /**
+   * The result of a recorded operation and the statements it prepared.
+   *
+   * @param result     the result of the operation
+   * @param statements the statements prepared by the operation, in order
+   * @param <T>        the result type of the operation
+   */
+  public record Recorded<T>(T result, List<String> statements) {
+    /**
+     * Returns the number of statements prepared by the operation.
+     *
+     * @return the statement count
+     */
+    public int count() {
+      return statements.size();
+    }
+  }
+}
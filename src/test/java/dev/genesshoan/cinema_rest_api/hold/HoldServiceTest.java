@@ -0,0 +1,233 @@
+package dev.genesshoan.cinema_rest_api.hold;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import dev.genesshoan.cinema_rest_api.dto.hold.HoldRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.hold.HoldResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.HeldSeatDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.entity.Showtime;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import dev.genesshoan.cinema_rest_api.service.HoldService;
+import dev.genesshoan.cinema_rest_api.service.SeatInventory;
+import dev.genesshoan.cinema_rest_api.service.SeatInventoryService;
+import dev.genesshoan.cinema_rest_api.service.SeatStatusChangedEvent;
+import dev.genesshoan.cinema_rest_api.service.TimerWheel;
+
+/**
+ * Unit tests for {@link HoldService}.
+ *
+ * These tests verify that holds are written through to the in-memory
+ * inventory and the database, that unavailable seats are rejected, and that
+ * expired holds are released by the timer wheel unless they were sold.
+ */
+@ExtendWith(MockitoExtension.class)
+public class HoldServiceTest {
+
+  @Mock
+  private SeatRepository seatRepository;
+
+  @Mock
+  private ShowtimeRepository showtimeRepository;
+
+  @Mock
+  private SeatInventoryService seatInventoryService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @InjectMocks
+  private HoldService holdService;
+
+  private SeatInventory inventory;
+  private Showtime showtime;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(holdService, "ttlSeconds", 600L);
+    ReflectionTestUtils.setField(holdService, "maxTtlSeconds", 1800L);
+    ReflectionTestUtils.setField(holdService, "wheel", new TimerWheel<>(1, System.currentTimeMillis()));
+
+    List<SeatStateDTO> seats = new ArrayList<>();
+
+    for (long id = 1; id <= 4; id++) {
+      seats.add(new SeatStateDTO(id, 1, (int) id, id == 4 ? SeatStatus.SOLD : SeatStatus.AVAILABLE));
+    }
+
+    inventory = SeatInventory.of(100L, seats);
+
+    showtime = new Showtime();
+    showtime.setId(100L);
+  }
+
+  /**
+   * Verifies that a hold marks the seats as held in memory and in the
+   * database, and publishes the change.
+   */
+  @Test
+  @DisplayName("createHold - available seats: should hold them and schedule expiry")
+  void createHold_WhenSeatsAvailable_ShouldHoldSeats() {
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    when(showtimeRepository.findById(100L)).thenReturn(Optional.of(showtime));
+    when(seatRepository.holdIfAvailable(anyLong(), eq(List.of(1L, 2L)), anyString(), any())).thenReturn(2);
+    when(seatRepository.findHeldSeatsByHoldId(anyString())).thenAnswer(invocation -> heldSeats(invocation.getArgument(0)));
+
+    HoldResponseDTO result = holdService.createHold(new HoldRequestDTO(100L, List.of(2L, 1L), 60));
+
+    assertThat(result.holdId()).isNotBlank();
+    assertThat(result.seatIds()).containsExactly(1L, 2L);
+    assertThat(result.seats()).extracting(seat -> seat.status()).containsOnly(SeatStatus.HELD);
+    assertThat(inventory.heldCount()).isEqualTo(2);
+    assertThat(holdService.pendingHoldCount()).isEqualTo(1);
+    verify(eventPublisher).publishEvent(any(SeatStatusChangedEvent.class));
+  }
+
+  /**
+   * Verifies that a hold on a taken seat is rejected before reaching the
+   * database.
+   */
+  @Test
+  @DisplayName("createHold - sold seat: should throw SeatNotAvailableException")
+  void createHold_WhenSeatTaken_ShouldThrow() {
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+
+    assertThatThrownBy(() -> holdService.createHold(new HoldRequestDTO(100L, List.of(3L, 4L), null)))
+        .isInstanceOf(SeatNotAvailableException.class);
+
+    assertThat(inventory.heldCount()).isZero();
+    verify(seatRepository, never()).holdIfAvailable(anyLong(), anyList(), anyString(), any());
+  }
+
+  /**
+   * Verifies that a stale inventory is evicted when the database rejects the
+   * hold.
+   */
+  @Test
+  @DisplayName("createHold - stale inventory: should evict and throw")
+  void createHold_WhenDatabaseRejects_ShouldEvict() {
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    when(showtimeRepository.findById(100L)).thenReturn(Optional.of(showtime));
+    when(seatRepository.holdIfAvailable(anyLong(), anyList(), anyString(), any())).thenReturn(1);
+
+    assertThatThrownBy(() -> holdService.createHold(new HoldRequestDTO(100L, List.of(1L, 2L), null)))
+        .isInstanceOf(SeatNotAvailableException.class);
+
+    verify(seatInventoryService).evict(100L);
+    assertThat(holdService.pendingHoldCount()).isZero();
+  }
+
+  /**
+   * Verifies that an expired hold is released in the database by hold id and
+   * its seats become available again.
+   */
+  @Test
+  @DisplayName("expireDueHolds - expired hold: should release its seats")
+  void expireDueHolds_WhenHoldExpired_ShouldReleaseSeats() throws InterruptedException {
+    ReflectionTestUtils.setField(holdService, "maxTtlSeconds", 0L);
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    when(seatInventoryService.getIfLoaded(100L)).thenReturn(inventory);
+    when(showtimeRepository.findById(100L)).thenReturn(Optional.of(showtime));
+    when(seatRepository.holdIfAvailable(anyLong(), anyList(), anyString(), any())).thenReturn(2);
+
+    HoldResponseDTO hold = holdService.createHold(new HoldRequestDTO(100L, List.of(1L, 2L), null));
+
+    Thread.sleep(5);
+    ReflectionTestUtils.invokeMethod(holdService, "expireDueHolds");
+
+    verify(seatRepository).releaseHolds(List.of(hold.holdId()));
+    assertThat(inventory.isAvailable(1L)).isTrue();
+    assertThat(inventory.isAvailable(2L)).isTrue();
+    assertThat(holdService.pendingHoldCount()).isZero();
+  }
+
+  /**
+   * Verifies that a fully sold hold is no longer scheduled for expiry.
+   */
+  @Test
+  @DisplayName("onHoldSold - every seat sold: should cancel the expiry")
+  void onHoldSold_WhenAllSeatsSold_ShouldCancelExpiry() throws InterruptedException {
+    ReflectionTestUtils.setField(holdService, "maxTtlSeconds", 0L);
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    when(showtimeRepository.findById(100L)).thenReturn(Optional.of(showtime));
+    when(seatRepository.holdIfAvailable(anyLong(), anyList(), anyString(), any())).thenReturn(2);
+
+    HoldResponseDTO hold = holdService.createHold(new HoldRequestDTO(100L, List.of(1L, 2L), null));
+
+    holdService.onHoldSold(hold.holdId(), List.of(1L));
+    assertThat(holdService.pendingHoldCount()).isEqualTo(1);
+    holdService.onHoldSold(hold.holdId(), List.of(2L));
+
+    Thread.sleep(5);
+    ReflectionTestUtils.invokeMethod(holdService, "expireDueHolds");
+
+    assertThat(holdService.pendingHoldCount()).isZero();
+    verify(seatRepository, never()).releaseHolds(anyList());
+  }
+
+  /**
+   * Verifies that the best available block is held and written through.
+   */
+  @Test
+  @DisplayName("holdBestAvailable - free block: should hold adjacent seats")
+  void holdBestAvailable_ShouldHoldAdjacentSeats() {
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    when(showtimeRepository.findById(100L)).thenReturn(Optional.of(showtime));
+    when(seatRepository.holdIfAvailable(anyLong(), eq(List.of(2L, 3L)), anyString(), any())).thenReturn(2);
+
+    HoldResponseDTO result = holdService.holdBestAvailable(100L, 2);
+
+    assertThat(result.seatIds()).containsExactly(2L, 3L);
+    assertThat(inventory.heldCount()).isEqualTo(2);
+  }
+
+  /**
+   * Verifies that a request larger than any free block is rejected without
+   * reaching the database.
+   */
+  @Test
+  @DisplayName("holdBestAvailable - no block: should throw SeatNotAvailableException")
+  void holdBestAvailable_WhenNoBlock_ShouldThrow() {
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+
+    assertThatThrownBy(() -> holdService.holdBestAvailable(100L, 4))
+        .isInstanceOf(SeatNotAvailableException.class);
+
+    verify(showtimeRepository, never()).findById(any());
+  }
+
+  private static List<HeldSeatDTO> heldSeats(String holdId) {
+    return List.of(
+        new HeldSeatDTO(holdId, 100L, 1L, 1, 1, null),
+        new HeldSeatDTO(holdId, 100L, 2L, 1, 2, null));
+  }
+}
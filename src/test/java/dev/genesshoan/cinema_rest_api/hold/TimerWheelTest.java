@@ -0,0 +1,91 @@
+package dev.genesshoan.cinema_rest_api.hold;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.genesshoan.cinema_rest_api.service.TimerWheel;
+
+/**
+ * Unit tests for {@link TimerWheel}.
+ *
+ * These tests verify that deadlines expire on their tick and never earlier,
+ * including deadlines that are cascaded through every level or parked in the
+ * overflow list, and that cancelled deadlines never expire.
+ */
+public class TimerWheelTest {
+
+  /**
+   * Verifies that a deadline expires on the first tick at or after it.
+   */
+  @Test
+  @DisplayName("advanceTo - near deadline: should expire on its tick only")
+  void advanceTo_ShouldExpireOnDeadlineTick() {
+    TimerWheel<String> wheel = new TimerWheel<>(100, 0);
+
+    wheel.schedule("a", 250);
+    wheel.schedule("b", 300);
+
+    assertThat(wheel.advanceTo(299)).isEmpty();
+    assertThat(wheel.advanceTo(300)).containsExactlyInAnyOrder("a", "b");
+    assertThat(wheel.size()).isZero();
+  }
+
+  /**
+   * Verifies that cancelled deadlines are removed and never returned.
+   */
+  @Test
+  @DisplayName("cancel - pending deadline: should never expire")
+  void cancel_ShouldPreventExpiry() {
+    TimerWheel<String> wheel = new TimerWheel<>(1, 0);
+
+    TimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 5_000);
+    wheel.schedule("kept", 5_000);
+
+    assertThat(cancelled.cancel()).isTrue();
+    assertThat(cancelled.cancel()).isFalse();
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(wheel.advanceTo(10_000)).containsExactly("kept");
+  }
+
+  /**
+   * Verifies, for random deadlines spread over every level and the overflow
+   * list, that each one expires exactly once and within the advanced window
+   * that contains it.
+   */
+  @Test
+  @DisplayName("advanceTo - random deadlines: should expire each once within its window")
+  void advanceTo_WithRandomDeadlines_ShouldExpireEachWithinItsWindow() {
+    TimerWheel<Long> wheel = new TimerWheel<>(1, 0);
+    Random random = new Random(42);
+    long horizon = 20_000_000L;
+    int count = 2_000;
+
+    for (int i = 0; i < count; i++) {
+      long deadline = 1 + (long) (Math.pow(random.nextDouble(), 4) * horizon);
+      wheel.schedule(deadline, deadline);
+    }
+
+    List<Long> expired = new ArrayList<>();
+    long previous = 0;
+
+    while (previous < horizon) {
+      long now = Math.min(horizon, previous + 1 + random.nextInt(50_000));
+
+      for (long deadline : wheel.advanceTo(now)) {
+        assertThat(deadline).isGreaterThan(previous).isLessThanOrEqualTo(now);
+        expired.add(deadline);
+      }
+
+      previous = now;
+    }
+
+    assertThat(expired).hasSize(count);
+    assertThat(wheel.size()).isZero();
+  }
+}
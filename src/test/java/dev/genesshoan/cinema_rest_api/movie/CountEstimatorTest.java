@@ -0,0 +1,121 @@
+package dev.genesshoan.cinema_rest_api.movie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.genesshoan.cinema_rest_api.repository.CountEstimator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * Unit tests for {@link CountEstimator}.
+ *
+ * The estimator is set up as on PostgreSQL, with the {@code EXPLAIN} result
+ * supplied by a mocked native query, and caches at most two exact counts.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CountEstimatorTest {
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private Query query;
+
+  private final CountEstimator countEstimator = new CountEstimator();
+
+  private final CountEstimator.Estimate estimate = new CountEstimator.Estimate(
+      "SELECT 1 FROM movies WHERE active = true AND LOWER(genre) LIKE ?", List.of("%drama%"));
+
+  private final AtomicInteger exactCounts = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(countEstimator, "entityManager", entityManager);
+    ReflectionTestUtils.setField(countEstimator, "ttlSeconds", 60L);
+    ReflectionTestUtils.setField(countEstimator, "cacheSize", 2);
+    ReflectionTestUtils.setField(countEstimator, "plannerEstimates", true);
+  }
+
+  /**
+   * Verifies that the row estimate of the plan is returned without counting
+   * the rows.
+   */
+  @Test
+  @DisplayName("estimate - planner estimate: should return the plan rows")
+  void estimate_WhenPlanHasRows_ShouldReturnPlanRows() {
+    when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+    when(query.getSingleResult()).thenReturn("""
+        [{"Plan": {"Node Type": "Seq Scan", "Relation Name": "movies", "Plan Rows": 1234, "Plan Width": 4}}]
+        """);
+
+    assertThat(countEstimator.estimate(estimate, this::exactCount)).isEqualTo(1234);
+    assertThat(exactCounts.get()).isZero();
+    verify(entityManager).createNativeQuery("EXPLAIN (FORMAT JSON) " + estimate.sql());
+    verify(query).setParameter(1, "%drama%");
+  }
+
+  /**
+   * Verifies that a plan without a readable row estimate falls back to the
+   * exact count instead of reporting no rows.
+   */
+  @Test
+  @DisplayName("estimate - unreadable plan: should fall back to the exact count")
+  void estimate_WhenPlanUnreadable_ShouldCountExactly() {
+    when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+    when(query.getSingleResult()).thenReturn("[{\"Plan\": {}}]");
+
+    assertThat(countEstimator.estimate(estimate, this::exactCount)).isEqualTo(42);
+    assertThat(exactCounts.get()).isEqualTo(1);
+  }
+
+  /**
+   * Verifies that without planner statistics the exact counts are cached up
+   * to the cache size, dropping the least recently used one first.
+   */
+  @Test
+  @DisplayName("estimate - cache full: should drop the least recently used count")
+  void estimate_WhenCacheFull_ShouldDropLeastRecentlyUsed() {
+    ReflectionTestUtils.setField(countEstimator, "plannerEstimates", false);
+    CountEstimator.Estimate drama = estimate("%drama%");
+    CountEstimator.Estimate comedy = estimate("%comedy%");
+    CountEstimator.Estimate horror = estimate("%horror%");
+
+    countEstimator.estimate(drama, this::exactCount);
+    countEstimator.estimate(comedy, this::exactCount);
+    countEstimator.estimate(drama, this::exactCount);
+    countEstimator.estimate(horror, this::exactCount);
+
+    assertThat(exactCounts.get()).isEqualTo(3);
+
+    countEstimator.estimate(drama, this::exactCount);
+    countEstimator.estimate(horror, this::exactCount);
+    assertThat(exactCounts.get()).isEqualTo(3);
+
+    countEstimator.estimate(comedy, this::exactCount);
+    assertThat(exactCounts.get()).isEqualTo(4);
+  }
+
+  private static CountEstimator.Estimate estimate(String genre) {
+    return new CountEstimator.Estimate("SELECT 1 FROM movies WHERE active = true AND LOWER(genre) LIKE ?",
+        List.of(genre));
+  }
+
+  private long exactCount() {
+    exactCounts.incrementAndGet();
+    return 42;
+  }
+}
@@ -0,0 +1,117 @@
+package dev.genesshoan.cinema_rest_api.movie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.StatementRecorder;
+import dev.genesshoan.cinema_rest_api.StatementRecorder.Recorded;
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CountedPage;
+import dev.genesshoan.cinema_rest_api.dto.page.CountedSlice;
+import dev.genesshoan.cinema_rest_api.service.MovieService;
+
+/**
+ * Integration tests for the count modes of the movie search.
+ *
+ * Statements are recorded with {@link StatementRecorder} to check which modes
+ * run a count query. On H2 estimated totals are exact counts cached for the
+ * configured TTL.
+ */
+@IntegrationTest
+public class MovieCountModeTest {
+  private static final int MOVIES = 7;
+
+  @Autowired
+  private MovieService movieService;
+
+  private String genre;
+
+  @BeforeEach
+  void setUp() {
+    genre = "Count" + System.nanoTime() % 100000;
+
+    for (int i = 0; i < MOVIES; i++) {
+      createMovie(i);
+    }
+  }
+
+  /**
+   * Verifies that the exact mode counts the matches with a second statement.
+   */
+  @Test
+  @DisplayName("search - EXACT: should count the matches")
+  void search_WhenExact_ShouldCount() {
+    Recorded<Slice<MovieResponseDTO>> page = StatementRecorder.record(() -> search(0, CountMode.EXACT));
+
+    assertThat(page.count()).isEqualTo(2);
+    assertThat(page.result()).isInstanceOfSatisfying(CountedPage.class, counted -> {
+      assertThat(counted.getTotalElements()).isEqualTo(MOVIES);
+      assertThat(counted.getCountMode()).isEqualTo(CountMode.EXACT);
+    });
+  }
+
+  /**
+   * Verifies that without a count mode a slice is read with a single
+   * statement and still tells whether a next page exists.
+   */
+  @Test
+  @DisplayName("search - NONE: should return a slice with one statement")
+  void search_WhenNone_ShouldReturnSliceWithoutCount() {
+    Recorded<Slice<MovieResponseDTO>> first = StatementRecorder.record(() -> search(0, CountMode.NONE));
+    Slice<MovieResponseDTO> last = search(2, CountMode.NONE);
+
+    assertThat(first.count()).isEqualTo(1);
+    assertThat(first.result()).isInstanceOfSatisfying(CountedSlice.class,
+        slice -> assertThat(slice.getCountMode()).isEqualTo(CountMode.NONE));
+    assertThat(first.result().getContent()).hasSize(3);
+    assertThat(first.result().hasNext()).isTrue();
+    assertThat(last.getContent()).hasSize(1);
+    assertThat(last.hasNext()).isFalse();
+  }
+
+  /**
+   * Verifies that the estimated total is reused within its TTL, so later
+   * pages cost a single statement even when the matches changed, and that
+   * the last page reports the exact total it read.
+   */
+  @Test
+  @DisplayName("search - ESTIMATED: should reuse the cached total within the TTL")
+  void search_WhenEstimated_ShouldReuseCachedTotal() {
+    Recorded<Slice<MovieResponseDTO>> first = StatementRecorder.record(() -> search(0, CountMode.ESTIMATED));
+
+    createMovie(MOVIES);
+
+    Recorded<Slice<MovieResponseDTO>> second = StatementRecorder.record(() -> search(1, CountMode.ESTIMATED));
+    Slice<MovieResponseDTO> last = search(2, CountMode.ESTIMATED);
+
+    assertThat(first.count()).isEqualTo(2);
+    assertThat(second.count()).isEqualTo(1);
+    assertThat(first.result()).isInstanceOfSatisfying(CountedPage.class, counted -> {
+      assertThat(counted.getTotalElements()).isEqualTo(MOVIES);
+      assertThat(counted.getCountMode()).isEqualTo(CountMode.ESTIMATED);
+    });
+    assertThat(((CountedPage<?>) second.result()).getTotalElements()).isEqualTo(MOVIES);
+    assertThat(((CountedPage<?>) last).getTotalElements()).isEqualTo(MOVIES + 1);
+  }
+
+  private Slice<MovieResponseDTO> search(int page, CountMode countMode) {
+    return movieService.search(null, genre, PageRequest.of(page, 3, Sort.by("id")), countMode);
+  }
+
+  private void createMovie(int number) {
+    movieService.createMovie(new MovieRequestDTO(
+        genre + " " + number, 120, genre, LocalDate.of(2020, 1, 1).plusDays(number), null));
+  }
+}
@@ -0,0 +1,107 @@
+package dev.genesshoan.cinema_rest_api.movie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
+import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
+import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
+import dev.genesshoan.cinema_rest_api.service.MovieService;
+import dev.genesshoan.cinema_rest_api.service.RoomService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
+
+/**
+ * Integration tests for the keyset pagination of movies.
+ *
+ * Runs against H2 so that the keyset predicates are checked by a real
+ * database, including rows that share their sort key.
+ */
+@IntegrationTest
+public class MovieScrollTest {
+  @Autowired
+  private MovieService movieService;
+
+  @Autowired
+  private RoomService roomService;
+
+  @Autowired
+  private ShowtimeService showtimeService;
+
+  /**
+   * Verifies that scrolling a search reads every match once, ordered by title
+   * then ID, even when several movies have the same title.
+   */
+  @Test
+  @DisplayName("scroll - same titles: should read every movie once in title and id order")
+  void scroll_WhenTitlesTie_ShouldReadEveryMovieOnce() {
+    String genre = "Scroll" + System.nanoTime() % 100000;
+    List<Long> ids = new ArrayList<>();
+
+    for (int i = 0; i < 7; i++) {
+      ids.add(movieService.createMovie(new MovieRequestDTO(
+          i % 2 == 0 ? "Alpha" : "Beta", 120, genre, LocalDate.of(2020, 1, 1).plusDays(i), null)).id());
+    }
+
+    List<MovieResponseDTO> read = readAll(next -> movieService.scroll(null, genre, 3, next));
+
+    assertThat(read).extracting(MovieResponseDTO::id).containsExactlyInAnyOrderElementsOf(ids);
+    assertThat(read.subList(0, 4)).allSatisfy(movie -> assertThat(movie.title()).isEqualTo("Alpha"));
+    assertThat(read.subList(0, 4)).extracting(MovieResponseDTO::id).isSorted();
+    assertThat(read.subList(4, 7)).extracting(MovieResponseDTO::id).isSorted();
+  }
+
+  /**
+   * Verifies that scrolling the movies with showtimes reads every such movie
+   * once, in ID order, and skips movies without a matching showtime.
+   */
+  @Test
+  @DisplayName("scrollMoviesWithShowtimes - all pages: should read every movie with showtimes once")
+  void scrollMoviesWithShowtimes_ShouldReadEveryMovieOnce() {
+    long roomId = roomService.createRoom(new RoomRequestDTO("Scroll " + System.nanoTime(), 2, 5)).id();
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+    List<Long> ids = new ArrayList<>();
+
+    for (int i = 0; i < 5; i++) {
+      long movieId = movieService.createMovie(new MovieRequestDTO(
+          "Scroll " + System.nanoTime(), 120, "Drama", LocalDate.of(2020, 1, 1), null)).id();
+
+      ids.add(movieId);
+      showtimeService.createShowtime(new ShowtimeCreateDTO(
+          start.plusHours(3L * i), start.plusHours(3L * i + 2), new BigDecimal("5.00"), roomId, movieId));
+    }
+
+    movieService.createMovie(new MovieRequestDTO("Scroll none", 120, "Drama", LocalDate.of(2020, 1, 1), null));
+
+    List<MovieResponseDTO> read = readAll(
+        next -> movieService.scrollMoviesWithShowtimes(start.minusMinutes(1), ShowtimeStatus.SCHEDULED, 2, next));
+
+    assertThat(read).extracting(MovieResponseDTO::id).containsExactlyElementsOf(ids);
+  }
+
+  private static List<MovieResponseDTO> readAll(Function<String, CursorPageDTO<MovieResponseDTO>> scroll) {
+    List<MovieResponseDTO> read = new ArrayList<>();
+    String next = null;
+
+    do {
+      CursorPageDTO<MovieResponseDTO> page = scroll.apply(next);
+      read.addAll(page.content());
+      next = page.next();
+    } while (next != null);
+
+    return read;
+  }
+}
@@ -31,9 +31,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
 import dev.genesshoan.cinema_rest_api.dto.movie.MovieResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
 import dev.genesshoan.cinema_rest_api.entity.Movie;
 import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
 import dev.genesshoan.cinema_rest_api.exception.ResourceAlreadyExistsException;
@@ -300,7 +302,7 @@ public class MovieServiceTest {
     when(movieRepository.search(title, genre, pageable)).thenReturn(moviePage);
     when(movieMapper.toDto(any(Movie.class))).thenReturn(responseDTO);
 
-    Page<MovieResponseDTO> result = movieService.search(title, genre, pageable);
+    Slice<MovieResponseDTO> result = movieService.search(title, genre, pageable, CountMode.EXACT);
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(2);
@@ -321,7 +323,7 @@ public class MovieServiceTest {
   void search_WhenNoResults_ShouldReturnEmptyPage() {
     when(movieRepository.search(null, null, pageable)).thenReturn(Page.empty(pageable));
 
-    Page<MovieResponseDTO> result = movieService.search(null, null, pageable);
+    Slice<MovieResponseDTO> result = movieService.search(null, null, pageable, CountMode.EXACT);
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).isEmpty();
@@ -0,0 +1,53 @@
+package dev.genesshoan.cinema_rest_api.room;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
+import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.room.RoomResponseDTO;
+import dev.genesshoan.cinema_rest_api.service.RoomService;
+
+/**
+ * Integration tests for the keyset pagination of rooms, run against H2 so
+ * that the row value comparison of the keyset query is checked by a real
+ * database.
+ */
+@IntegrationTest
+public class RoomScrollTest {
+  @Autowired
+  private RoomService roomService;
+
+  /**
+   * Verifies that scrolling reads every room once, in name order.
+   */
+  @Test
+  @DisplayName("scrollRooms - all pages: should read every room once in name order")
+  void scrollRooms_ShouldReadEveryRoomOnce() {
+    for (String name : List.of("Delta", "Alpha", "Echo", "Charlie", "Bravo")) {
+      roomService.createRoom(new RoomRequestDTO(name, 2, 5));
+    }
+
+    List<RoomResponseDTO> read = new ArrayList<>();
+    String next = null;
+    int pages = 0;
+
+    do {
+      CursorPageDTO<RoomResponseDTO> page = roomService.scrollRooms(2, next);
+      read.addAll(page.content());
+      next = page.next();
+      pages++;
+    } while (next != null);
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(read).extracting(RoomResponseDTO::name)
+        .containsExactly("Alpha", "Bravo", "Charlie", "Delta", "Echo");
+  }
+}
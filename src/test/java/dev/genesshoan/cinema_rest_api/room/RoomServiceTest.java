@@ -24,7 +24,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
 import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
 import dev.genesshoan.cinema_rest_api.dto.room.RoomResponseDTO;
 import dev.genesshoan.cinema_rest_api.entity.Room;
@@ -146,7 +148,7 @@ public class RoomServiceTest {
     when(roomMapper.toDto(any(Room.class)))
         .thenReturn(roomResponseDTO);
 
-    Page<RoomResponseDTO> result = roomService.getAllRooms(pageable);
+    Slice<RoomResponseDTO> result = roomService.getAllRooms(pageable, CountMode.EXACT);
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(2);
@@ -164,7 +166,7 @@ public class RoomServiceTest {
   void getAllRooms_WhenNoResults_ShouldReturnEmptyPage() {
     when(roomRepository.findAll(pageable)).thenReturn(Page.empty(pageable));
 
-    Page<RoomResponseDTO> result = roomService.getAllRooms(pageable);
+    Slice<RoomResponseDTO> result = roomService.getAllRooms(pageable, CountMode.EXACT);
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).isEmpty();
@@ -335,4 +337,17 @@ public class RoomServiceTest {
     verify(roomRepository, never()).save(any(Room.class));
     assertThat(room.getActive()).isTrue();
   }
+
+  /**
+   * Verifies that a room request within the limit of each dimension is still
+   * rejected when its seat count exceeds {@link RoomRequestDTO#MAX_SEATS}.
+   */
+  @Test
+  @DisplayName("isSeatCountValid should reject rooms with more than the maximum number of seats")
+  void isSeatCountValid_WhenProductTooLarge_ShouldBeFalse() {
+    assertThat(new RoomRequestDTO("Arena", 65535, 65535).isSeatCountValid()).isFalse();
+    assertThat(new RoomRequestDTO("Arena", 400, 250).isSeatCountValid()).isTrue();
+    assertThat(new RoomRequestDTO("Arena", 401, 250).isSeatCountValid()).isFalse();
+    assertThat(new RoomRequestDTO("Arena", null, 250).isSeatCountValid()).isTrue();
+  }
 }
@@ -0,0 +1,167 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.service.SeatClaimStrategy;
+import dev.genesshoan.cinema_rest_api.showtime.ShowtimeFixture;
+
+/**
+ * Contention benchmark for the {@link SeatClaimStrategy} implementations.
+ *
+ * Each nested class starts the application with one strategy and lets
+ * {@value #THREADS} threads race for random pairs of adjacent seats of a
+ * single showtime until {@value #ATTEMPTS_PER_THREAD} attempts per thread
+ * have been made. The strategy is called directly, bypassing the in-memory
+ * seat inventory, to reproduce the database contention seen when several
+ * instances sell the same showtime. Throughput and outcome counts are
+ * printed per round, and every round checks that no seat was sold twice.
+ *
+ * Excluded from the default build; run with {@code mvn -B test -Pbenchmark}.
+ * Point {@code spring.datasource.*} at PostgreSQL to measure the production
+ * database instead of H2.
+ */
+@Tag("benchmark")
+@IntegrationTest
+public class SeatClaimBenchmarkTest {
+  private static final int ROWS = 10;
+  private static final int SEATS_PER_ROW = 20;
+  private static final int THREADS = 16;
+  private static final int ATTEMPTS_PER_THREAD = 50;
+  private static final int WARMUP_ROUNDS = 2;
+  private static final int MEASURED_ROUNDS = 5;
+
+  @Nested
+  @TestPropertySource(properties = "cinema.seats.claim-strategy=CONDITIONAL")
+  class Conditional extends Benchmark {
+  }
+
+  @Nested
+  @TestPropertySource(properties = "cinema.seats.claim-strategy=PESSIMISTIC")
+  class Pessimistic extends Benchmark {
+  }
+
+  @Nested
+  @TestPropertySource(properties = "cinema.seats.claim-strategy=OPTIMISTIC")
+  class Optimistic extends Benchmark {
+  }
+
+  abstract static class Benchmark {
+    @Autowired
+    private SeatClaimStrategy seatClaimStrategy;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeFixture showtimeFixture;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs the warm-up and measured rounds and reports the throughput of the
+     * configured strategy.
+     */
+    @Test
+    void claimUnderContention() throws InterruptedException {
+      long showtimeId = showtimeFixture.createShowtime("Benchmark", ROWS, SEATS_PER_ROW);
+      List<Long> seatIds = showtimeFixture.seatIds(showtimeId);
+      String strategy = seatClaimStrategy.getClass().getSimpleName();
+
+      for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+        jdbcTemplate.update("UPDATE seats SET status = 'AVAILABLE', version = version + 1 WHERE showtime_id = ?",
+            showtimeId);
+
+        Result result = runRound(showtimeId, seatIds);
+        long soldSeats = seatRepository.countByShowtimeIdAndStatus(showtimeId, SeatStatus.SOLD);
+
+        assertThat(soldSeats).isEqualTo(2L * result.claimed());
+
+        if (round >= WARMUP_ROUNDS) {
+          System.out.printf("%s round %d: %.0f claims/s, %d claimed, %d rejected, %d failed%n",
+              strategy, round - WARMUP_ROUNDS + 1, result.throughput(), result.claimed(), result.rejected(),
+              result.failed());
+        }
+      }
+    }
+
+    private Result runRound(long showtimeId, List<Long> seatIds) throws InterruptedException {
+      TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+      AtomicInteger claimed = new AtomicInteger();
+      AtomicInteger rejected = new AtomicInteger();
+      AtomicInteger failed = new AtomicInteger();
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+      for (int thread = 0; thread < THREADS; thread++) {
+        executor.execute(() -> {
+          await(start);
+
+          for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+            int first = ThreadLocalRandom.current().nextInt(seatIds.size() - 1);
+            List<Long> pair = new ArrayList<>(seatIds.subList(first, first + 2));
+
+            try {
+              boolean success = transaction.execute(status -> {
+                if (seatClaimStrategy.claim(showtimeId, pair) == pair.size()) {
+                  return true;
+                }
+
+                status.setRollbackOnly();
+                return false;
+              });
+
+              (success ? claimed : rejected).incrementAndGet();
+            } catch (RuntimeException e) {
+              failed.incrementAndGet();
+            }
+          }
+        });
+      }
+
+      long startNanos = System.nanoTime();
+      start.countDown();
+      executor.shutdown();
+      assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+      long elapsedNanos = System.nanoTime() - startNanos;
+
+      return new Result(claimed.get(), rejected.get(), failed.get(),
+          THREADS * ATTEMPTS_PER_THREAD * 1e9 / elapsedNanos);
+    }
+
+    private static void await(CountDownLatch latch) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private record Result(int claimed, int rejected, int failed, double throughput) {
+  }
+}
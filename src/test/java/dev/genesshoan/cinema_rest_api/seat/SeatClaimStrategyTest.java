@@ -0,0 +1,114 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatVersionDTO;
+import dev.genesshoan.cinema_rest_api.entity.Seat;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.service.OptimisticSeatClaimStrategy;
+import dev.genesshoan.cinema_rest_api.service.PessimisticSeatClaimStrategy;
+
+/**
+ * Unit tests for the {@link dev.genesshoan.cinema_rest_api.service.SeatClaimStrategy}
+ * implementations that do more than delegate to a single repository call.
+ *
+ * Mockito is used to simulate concurrent changes to the seat rows between the
+ * read and the update of a claim.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SeatClaimStrategyTest {
+
+  @Mock
+  private SeatRepository seatRepository;
+
+  private OptimisticSeatClaimStrategy optimistic;
+  private PessimisticSeatClaimStrategy pessimistic;
+
+  @BeforeEach
+  void setUp() {
+    optimistic = new OptimisticSeatClaimStrategy(seatRepository);
+    ReflectionTestUtils.setField(optimistic, "maxAttempts", 3);
+    pessimistic = new PessimisticSeatClaimStrategy(seatRepository);
+  }
+
+  /**
+   * Verifies that a seat whose version changed while it stayed available is
+   * read again and sold on the next attempt.
+   */
+  @Test
+  @DisplayName("optimistic claim - version conflict: should retry the conflicting seat")
+  void optimisticClaim_WhenVersionChanged_ShouldRetry() {
+    when(seatRepository.findVersionsByIds(1L, List.of(1L, 2L))).thenReturn(List.of(
+        new SeatVersionDTO(1L, SeatStatus.AVAILABLE, 0),
+        new SeatVersionDTO(2L, SeatStatus.AVAILABLE, 0)));
+    when(seatRepository.findVersionsByIds(1L, List.of(2L))).thenReturn(List.of(
+        new SeatVersionDTO(2L, SeatStatus.AVAILABLE, 2)));
+    when(seatRepository.markSoldIfVersion(1L, 0)).thenReturn(1);
+    when(seatRepository.markSoldIfVersion(2L, 0)).thenReturn(0);
+    when(seatRepository.markSoldIfVersion(2L, 2)).thenReturn(1);
+
+    assertThat(optimistic.claim(1L, List.of(1L, 2L))).isEqualTo(2);
+  }
+
+  /**
+   * Verifies that the claim stops without updating anything once a requested
+   * seat is found not to be available.
+   */
+  @Test
+  @DisplayName("optimistic claim - seat taken: should fail without retrying")
+  void optimisticClaim_WhenSeatTaken_ShouldFail() {
+    when(seatRepository.findVersionsByIds(1L, List.of(1L, 2L))).thenReturn(List.of(
+        new SeatVersionDTO(1L, SeatStatus.AVAILABLE, 0),
+        new SeatVersionDTO(2L, SeatStatus.SOLD, 1)));
+
+    assertThat(optimistic.claim(1L, List.of(1L, 2L))).isZero();
+    verify(seatRepository, never()).markSoldIfVersion(anyLong(), anyLong());
+  }
+
+  /**
+   * Verifies that the number of attempts is bounded when the version of a
+   * seat keeps changing.
+   */
+  @Test
+  @DisplayName("optimistic claim - persistent conflict: should give up after max attempts")
+  void optimisticClaim_WhenConflictPersists_ShouldGiveUp() {
+    when(seatRepository.findVersionsByIds(1L, List.of(1L))).thenReturn(List.of(
+        new SeatVersionDTO(1L, SeatStatus.AVAILABLE, 0)));
+    when(seatRepository.markSoldIfVersion(1L, 0)).thenReturn(0);
+
+    assertThat(optimistic.claim(1L, List.of(1L))).isZero();
+    verify(seatRepository, times(3)).markSoldIfVersion(1L, 0);
+  }
+
+  /**
+   * Verifies that the pessimistic claim marks the locked seats as SOLD and
+   * reports how many of the requested seats were available.
+   */
+  @Test
+  @DisplayName("pessimistic claim - locked seats: should mark them SOLD")
+  void pessimisticClaim_ShouldMarkLockedSeatsSold() {
+    Seat seat = new Seat();
+    seat.setId(1L);
+    when(seatRepository.findAvailableByIdsForUpdate(1L, List.of(1L, 2L))).thenReturn(List.of(seat));
+
+    assertThat(pessimistic.claim(1L, List.of(1L, 2L))).isEqualTo(1);
+    assertThat(seat.getStatus()).isEqualTo(SeatStatus.SOLD);
+    verify(seatRepository).flush();
+  }
+}
@@ -0,0 +1,100 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.genesshoan.cinema_rest_api.PostgresTest;
+import dev.genesshoan.cinema_rest_api.entity.Seat;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import dev.genesshoan.cinema_rest_api.showtime.ShowtimeFixture;
+
+/**
+ * PostgreSQL tests for the set-based seat insert of
+ * {@link dev.genesshoan.cinema_rest_api.repository.SeatBulkRepositoryImpl}.
+ *
+ * Showtimes are created lazily seated, so that the test alone decides when
+ * {@code seats_seq} is used, starting from a new sequence.
+ */
+@PostgresTest
+@TestPropertySource(properties = "cinema.seats.seating-mode=LAZY")
+@Import(ShowtimeFixture.class)
+public class SeatGridPostgresTest {
+  @Autowired
+  private SeatRepository seatRepository;
+
+  @Autowired
+  private ShowtimeRepository showtimeRepository;
+
+  @Autowired
+  private ShowtimeFixture showtimeFixture;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Verifies that grid inserts and seats saved through Hibernate, interleaved
+   * from the first use of the sequence on, never receive the same id.
+   */
+  @Test
+  @DisplayName("insertSeatGrid - interleaved with entity saves: should never reuse an id")
+  void insertSeatGrid_InterleavedWithEntitySaves_ShouldNotReuseIds() {
+    long showtimeId = showtimeFixture.createShowtime("Entities", 1, 1);
+    int expected = 0;
+
+    expected += saveSeats(showtimeId, 1, 1);
+    expected += insertGrid(3, 30);
+    expected += saveSeats(showtimeId, 2, 49);
+    expected += insertGrid(1, 1);
+    expected += saveSeats(showtimeId, 3, 120);
+    expected += insertGrid(2, 75);
+    expected += saveSeats(showtimeId, 4, 1);
+
+    assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM seats", Long.class))
+        .isEqualTo(expected);
+    assertThat(jdbcTemplate.queryForObject("SELECT MIN(id) FROM seats", Long.class)).isPositive();
+  }
+
+  private int saveSeats(long showtimeId, int row, int count) {
+    transactionTemplate.executeWithoutResult(status -> {
+      List<Seat> seats = new ArrayList<>(count);
+
+      for (int seatNumber = 1; seatNumber <= count; seatNumber++) {
+        Seat seat = new Seat();
+        seat.setRowNumber(row);
+        seat.setSeatNumber(seatNumber);
+        seat.setStatus(SeatStatus.AVAILABLE);
+        seat.setShowtime(showtimeRepository.getReferenceById(showtimeId));
+        seats.add(seat);
+      }
+
+      seatRepository.saveAll(seats);
+    });
+
+    return count;
+  }
+
+  private int insertGrid(int rows, int seatsPerRow) {
+    long showtimeId = showtimeFixture.createShowtime("Grid", rows, seatsPerRow);
+    Integer inserted = transactionTemplate.execute(
+        status -> seatRepository.insertSeatGrid(showtimeId, rows, seatsPerRow));
+
+    assertThat(inserted).isEqualTo(rows * seatsPerRow);
+
+    return inserted;
+  }
+}
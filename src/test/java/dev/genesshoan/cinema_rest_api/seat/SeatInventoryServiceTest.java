@@ -0,0 +1,110 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeSeatingDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import dev.genesshoan.cinema_rest_api.service.SeatInventory;
+import dev.genesshoan.cinema_rest_api.service.SeatInventoryService;
+
+/**
+ * Unit tests for the loading of {@link SeatInventoryService}.
+ *
+ * The seat query of the first showtime blocks until the test releases it, to
+ * observe the cache while a load is running.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SeatInventoryServiceTest {
+
+  @Mock
+  private SeatRepository seatRepository;
+
+  @Mock
+  private ShowtimeRepository showtimeRepository;
+
+  @InjectMocks
+  private SeatInventoryService seatInventoryService;
+
+  private final CountDownLatch loading = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(seatInventoryService, "maxMemoryBytes", Long.MAX_VALUE);
+    ReflectionTestUtils.setField(seatInventoryService, "changeLogSize", 16);
+
+    when(showtimeRepository.findSeatingById(1L))
+        .thenReturn(Optional.of(new ShowtimeSeatingDTO(SeatingMode.EAGER, 1, 1)));
+    when(seatRepository.findStatesByShowtimeId(1L)).thenAnswer(invocation -> {
+      loading.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return List.of(new SeatStateDTO(10L, 1, 1, SeatStatus.AVAILABLE));
+    });
+  }
+
+  /**
+   * Verifies that a showtime being loaded does not block other showtimes and
+   * that concurrent callers share a single load.
+   */
+  @Test
+  @DisplayName("getInventory - showtime being loaded: should load other showtimes and share the load")
+  void getInventory_WhileLoading_ShouldNotBlockOtherShowtimes() throws Exception {
+    when(showtimeRepository.findSeatingById(2L))
+        .thenReturn(Optional.of(new ShowtimeSeatingDTO(SeatingMode.EAGER, 1, 1)));
+    when(seatRepository.findStatesByShowtimeId(2L))
+        .thenReturn(List.of(new SeatStateDTO(20L, 1, 1, SeatStatus.AVAILABLE)));
+
+    CompletableFuture<SeatInventory> first = CompletableFuture.supplyAsync(() -> seatInventoryService.getInventory(1));
+    assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<SeatInventory> second = CompletableFuture.supplyAsync(() -> seatInventoryService.getInventory(1));
+
+    assertThat(seatInventoryService.getInventory(2).getShowtimeId()).isEqualTo(2);
+    assertThat(first).isNotDone();
+
+    release.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(second.get(5, TimeUnit.SECONDS));
+    assertThat(seatInventoryService.getIfLoaded(1)).isSameAs(first.get());
+    verify(seatRepository, times(1)).findStatesByShowtimeId(1L);
+  }
+
+  /**
+   * Verifies that evicting a showtime while it loads discards that load, so
+   * the inventory returned is read after the eviction.
+   */
+  @Test
+  @DisplayName("getInventory - evicted while loading: should load again")
+  void getInventory_WhenEvictedWhileLoading_ShouldLoadAgain() throws Exception {
+    CompletableFuture<SeatInventory> inventory = CompletableFuture.supplyAsync(
+        () -> seatInventoryService.getInventory(1));
+    assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+    seatInventoryService.evict(1);
+    release.countDown();
+
+    assertThat(inventory.get(5, TimeUnit.SECONDS)).isSameAs(seatInventoryService.getIfLoaded(1));
+    verify(seatRepository, times(2)).findStatesByShowtimeId(1L);
+  }
+}
@@ -0,0 +1,332 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapDeltaDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.entity.LazySeatIds;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.service.SeatInventory;
+
+/**
+ * Unit tests for {@link SeatInventory}.
+ *
+ * These tests verify that seat claims are all-or-nothing, that seats of other
+ * showtimes are rejected, that releases make seats claimable again, and that
+ * seat map versions and deltas track every status change.
+ */
+public class SeatInventoryTest {
+
+  private SeatInventory inventory;
+
+  @BeforeEach
+  void setUp() {
+    List<SeatStateDTO> seats = new ArrayList<>();
+    long id = 1;
+
+    for (int row = 1; row <= 3; row++) {
+      for (int seat = 1; seat <= 70; seat++) {
+        seats.add(new SeatStateDTO(id++, row, seat, SeatStatus.AVAILABLE));
+      }
+    }
+
+    seats.set(0, new SeatStateDTO(1L, 1, 1, SeatStatus.SOLD));
+
+    inventory = SeatInventory.of(100L, seats);
+  }
+
+  /**
+   * Verifies that the inventory reflects the persisted seat states.
+   */
+  @Test
+  @DisplayName("of - persisted states: should build grid and mark sold seats")
+  void of_ShouldReflectPersistedStates() {
+    assertThat(inventory.getRows()).isEqualTo(3);
+    assertThat(inventory.getSeatsPerRow()).isEqualTo(70);
+    assertThat(inventory.availableCount()).isEqualTo(209);
+    assertThat(inventory.isAvailable(1L)).isFalse();
+    assertThat(inventory.isAvailable(2L)).isTrue();
+  }
+
+  /**
+   * Verifies that claiming available seats marks all of them as taken,
+   * including seats stored beyond the first bitset word of a row.
+   */
+  @Test
+  @DisplayName("claim - available seats: should take all of them")
+  void claim_WhenAllAvailable_ShouldTakeAll() {
+    assertThat(inventory.claim(List.of(2L, 66L, 140L))).isTrue();
+
+    assertThat(inventory.isAvailable(2L)).isFalse();
+    assertThat(inventory.isAvailable(66L)).isFalse();
+    assertThat(inventory.isAvailable(140L)).isFalse();
+    assertThat(inventory.availableCount()).isEqualTo(206);
+  }
+
+  /**
+   * Verifies that a claim containing a taken seat leaves every seat untouched.
+   */
+  @Test
+  @DisplayName("claim - one seat taken: should not take any seat")
+  void claim_WhenOneTaken_ShouldBeAllOrNothing() {
+    assertThat(inventory.claim(List.of(2L, 3L, 1L))).isFalse();
+
+    assertThat(inventory.isAvailable(2L)).isTrue();
+    assertThat(inventory.isAvailable(3L)).isTrue();
+    assertThat(inventory.availableCount()).isEqualTo(209);
+  }
+
+  /**
+   * Verifies that seats that do not belong to the showtime cannot be claimed.
+   */
+  @Test
+  @DisplayName("claim - unknown seat: should be rejected")
+  void claim_WhenSeatUnknown_ShouldReject() {
+    assertThat(inventory.claim(List.of(2L, 9999L))).isFalse();
+    assertThat(inventory.isAvailable(2L)).isTrue();
+  }
+
+  /**
+   * Verifies that the same seat cannot be claimed twice in one request.
+   */
+  @Test
+  @DisplayName("claim - duplicated seat: should be rejected")
+  void claim_WhenSeatDuplicated_ShouldReject() {
+    assertThat(inventory.claim(List.of(2L, 2L))).isFalse();
+    assertThat(inventory.isAvailable(2L)).isTrue();
+  }
+
+  /**
+   * Verifies that a partial claim takes the available seats and leaves out
+   * taken, unknown and repeated ones.
+   */
+  @Test
+  @DisplayName("claimAvailable - some seats taken: should take only the available ones")
+  void claimAvailable_WhenSomeTaken_ShouldTakeAvailable() {
+    long version = inventory.getVersion();
+
+    assertThat(inventory.claimAvailable(List.of(3L, 1L, 9999L, 2L, 3L))).containsExactly(3L, 2L);
+
+    assertThat(inventory.isAvailable(2L)).isFalse();
+    assertThat(inventory.isAvailable(3L)).isFalse();
+    assertThat(inventory.availableCount()).isEqualTo(207);
+    assertThat(inventory.getVersion()).isEqualTo(version + 1);
+    assertThat(inventory.claimAvailable(List.of(1L, 2L))).isEmpty();
+    assertThat(inventory.getVersion()).isEqualTo(version + 1);
+  }
+
+  /**
+   * Verifies that coordinates resolve to the seat at that position, whatever
+   * its status, and that positions outside the grid or without a seat do
+   * not resolve.
+   */
+  @Test
+  @DisplayName("seatIdAt - coordinates: should resolve seats of the grid only")
+  void seatIdAt_ShouldResolveSeatsOfGridOnly() {
+    SeatInventory sparse = SeatInventory.of(400L, List.of(
+        new SeatStateDTO(10L, 1, 1, SeatStatus.SOLD),
+        new SeatStateDTO(11L, 2, 3, SeatStatus.AVAILABLE)));
+
+    assertThat(inventory.seatIdAt(1, 1)).isEqualTo(1L);
+    assertThat(inventory.seatIdAt(2, 5)).isEqualTo(75L);
+    assertThat(inventory.seatIdAt(3, 70)).isEqualTo(210L);
+    assertThat(inventory.seatIdAt(4, 1)).isEqualTo(-1L);
+    assertThat(inventory.seatIdAt(1, 71)).isEqualTo(-1L);
+    assertThat(inventory.seatIdAt(0, 1)).isEqualTo(-1L);
+    assertThat(sparse.seatIdAt(1, 1)).isEqualTo(10L);
+    assertThat(sparse.seatIdAt(2, 3)).isEqualTo(11L);
+    assertThat(sparse.seatIdAt(1, 2)).isEqualTo(-1L);
+  }
+
+  /**
+   * Verifies that released seats can be claimed again.
+   */
+  @Test
+  @DisplayName("release - claimed seats: should make them available again")
+  void release_ShouldMakeSeatsAvailable() {
+    inventory.claim(List.of(2L, 3L));
+    inventory.release(List.of(2L, 3L, 9999L));
+
+    assertThat(inventory.isAvailable(2L)).isTrue();
+    assertThat(inventory.isAvailable(3L)).isTrue();
+    assertThat(inventory.availableCount()).isEqualTo(209);
+  }
+
+  /**
+   * Verifies that a rejected claim does not change the seat map version.
+   */
+  @Test
+  @DisplayName("claim - rejected: should keep the version")
+  void claim_WhenRejected_ShouldKeepVersion() {
+    long version = inventory.getVersion();
+
+    assertThat(inventory.claim(List.of(1L))).isFalse();
+
+    assertThat(inventory.getVersion()).isEqualTo(version);
+  }
+
+  /**
+   * Verifies that a delta request reports each changed seat once with its
+   * latest status.
+   */
+  @Test
+  @DisplayName("changesSince - claim then release: should report latest status once")
+  void changesSince_ShouldReportLatestStatusOnce() {
+    long version = inventory.getVersion();
+
+    inventory.claim(List.of(2L, 3L));
+    inventory.release(List.of(2L));
+
+    SeatMapDeltaDTO delta = inventory.changesSince(version);
+
+    assertThat(delta.fullSnapshot()).isFalse();
+    assertThat(delta.version()).isEqualTo(inventory.getVersion());
+    assertThat(delta.seats()).containsExactlyInAnyOrder(
+        new SeatInfoDTO(1, 2, SeatStatus.AVAILABLE),
+        new SeatInfoDTO(1, 3, SeatStatus.SOLD));
+  }
+
+  /**
+   * Verifies that a version already pruned from the change log, or one not
+   * issued by the inventory, is answered with a full snapshot.
+   */
+  @Test
+  @DisplayName("changesSince - unknown version: should return full snapshot")
+  void changesSince_WhenVersionNotCovered_ShouldReturnFullSnapshot() {
+    List<SeatStateDTO> seats = List.of(
+        new SeatStateDTO(1L, 1, 1, SeatStatus.AVAILABLE),
+        new SeatStateDTO(2L, 1, 2, SeatStatus.AVAILABLE),
+        new SeatStateDTO(3L, 1, 3, SeatStatus.AVAILABLE));
+    SeatInventory small = SeatInventory.of(200L, seats, 2);
+    long version = small.getVersion();
+
+    small.claim(List.of(1L));
+    small.claim(List.of(2L));
+    small.claim(List.of(3L));
+
+    assertThat(small.changesSince(version).fullSnapshot()).isTrue();
+    assertThat(small.changesSince(version).seats()).hasSize(3);
+    assertThat(small.changesSince(small.getVersion() + 1).fullSnapshot()).isTrue();
+    assertThat(small.changesSince(small.getVersion()).seats()).isEmpty();
+  }
+
+  /**
+   * Verifies that held seats cannot be claimed, are reported as HELD, and can
+   * only be sold or released through the hold operations.
+   */
+  @Test
+  @DisplayName("hold - held seats: should be sold or released only as held seats")
+  void hold_ShouldBeSoldOrReleasedOnlyAsHeldSeats() {
+    assertThat(inventory.hold(List.of(2L, 3L))).isTrue();
+
+    assertThat(inventory.claim(List.of(2L))).isFalse();
+    assertThat(inventory.heldCount()).isEqualTo(2);
+    assertThat(inventory.toSeatMap().rows().get(0).seats().get(1).status()).isEqualTo(SeatStatus.HELD);
+
+    assertThat(inventory.sellHeld(List.of(2L, 4L))).isFalse();
+    assertThat(inventory.heldCount()).isEqualTo(2);
+    assertThat(inventory.sellHeld(List.of(2L))).isTrue();
+
+    assertThat(inventory.releaseHeld(List.of(1L, 2L, 3L)))
+        .containsExactly(new SeatInfoDTO(1, 3, SeatStatus.AVAILABLE));
+    assertThat(inventory.heldCount()).isZero();
+    assertThat(inventory.isAvailable(2L)).isFalse();
+    assertThat(inventory.isAvailable(3L)).isTrue();
+  }
+
+  /**
+   * Verifies that held seats loaded from the database are restored as held
+   * and are not counted as sold.
+   */
+  @Test
+  @DisplayName("of - held seats: should restore holds without counting them as sold")
+  void of_WithHeldSeats_ShouldNotCountThemAsSold() {
+    SeatInventory held = SeatInventory.of(300L, List.of(
+        new SeatStateDTO(1L, 1, 1, SeatStatus.HELD),
+        new SeatStateDTO(2L, 1, 2, SeatStatus.SOLD),
+        new SeatStateDTO(3L, 1, 3, SeatStatus.AVAILABLE),
+        new SeatStateDTO(4L, 1, 4, SeatStatus.AVAILABLE)));
+
+    assertThat(held.availableCount()).isEqualTo(2);
+    assertThat(held.heldCount()).isEqualTo(1);
+    assertThat(held.getOccupancyPercentage()).isEqualTo(25.0);
+    assertThat(held.changesSince(0).seats()).extracting(SeatInfoDTO::status)
+        .containsExactly(SeatStatus.HELD, SeatStatus.SOLD, SeatStatus.AVAILABLE, SeatStatus.AVAILABLE);
+  }
+
+  /**
+   * Verifies that the best block is centered in the middle row and that taken
+   * seats and missing positions break blocks.
+   */
+  @Test
+  @DisplayName("holdBestAvailable - free room: should hold centered block in the middle row")
+  void holdBestAvailable_ShouldHoldCenteredBlockInMiddleRow() {
+    List<SeatStateDTO> seats = new ArrayList<>();
+    long id = 1;
+
+    for (int row = 1; row <= 5; row++) {
+      for (int seat = 1; seat <= 10; seat++) {
+        if (!(row == 2 && seat == 5)) {
+          seats.add(new SeatStateDTO(id, row, seat, row == 3 && seat == 6 ? SeatStatus.SOLD : SeatStatus.AVAILABLE));
+        }
+        id++;
+      }
+    }
+
+    SeatInventory room = SeatInventory.of(300L, seats);
+
+    // row 3: seat 6 sold -> the centered block of 4 moves to seats 2-5
+    assertThat(room.holdBestAvailable(4)).containsExactly(22L, 23L, 24L, 25L);
+    // row 3 is left with 7-10 only, row 2 has no seat 5 -> row 4 centered
+    assertThat(room.holdBestAvailable(4)).containsExactly(34L, 35L, 36L, 37L);
+    assertThat(room.heldCount()).isEqualTo(8);
+    assertThat(room.holdBestAvailable(11)).isEmpty();
+  }
+
+  /**
+   * Verifies that no block is returned when no row has enough adjacent seats.
+   */
+  @Test
+  @DisplayName("holdBestAvailable - fragmented row: should return empty and change nothing")
+  void holdBestAvailable_WhenNoBlockFits_ShouldReturnEmpty() {
+    SeatInventory row = SeatInventory.of(300L, List.of(
+        new SeatStateDTO(1L, 1, 1, SeatStatus.AVAILABLE),
+        new SeatStateDTO(2L, 1, 2, SeatStatus.SOLD),
+        new SeatStateDTO(3L, 1, 3, SeatStatus.AVAILABLE),
+        new SeatStateDTO(4L, 1, 4, SeatStatus.AVAILABLE)));
+    long version = row.getVersion();
+
+    assertThat(row.holdBestAvailable(3)).isEmpty();
+    assertThat(row.getVersion()).isEqualTo(version);
+    assertThat(row.holdBestAvailable(2)).containsExactly(3L, 4L);
+  }
+
+  /**
+   * Verifies that derived seat ids of lazily seated showtimes round-trip,
+   * never collide with sequence generated ids and stay within the integers a
+   * JavaScript client holds exactly.
+   */
+  @Test
+  @DisplayName("LazySeatIds - derived id: should encode showtime and position")
+  void lazySeatIds_ShouldRoundTrip() {
+    long id = LazySeatIds.of(123_456L, 4096, 17);
+
+    assertThat(LazySeatIds.isDerived(id)).isTrue();
+    assertThat(LazySeatIds.isDerived(210L)).isFalse();
+    assertThat(LazySeatIds.showtimeId(id)).isEqualTo(123_456L);
+    assertThat(LazySeatIds.rowNumber(id)).isEqualTo(4096);
+    assertThat(LazySeatIds.seatNumber(id)).isEqualTo(17);
+    assertThat(LazySeatIds.fits(123_456L, 4097, 10)).isFalse();
+    assertThat(LazySeatIds.fits((1L << 28) - 1, 4096, 4096)).isTrue();
+    assertThat(LazySeatIds.fits(1L << 28, 10, 10)).isFalse();
+    assertThat(LazySeatIds.of((1L << 28) - 1, 4096, 4096)).isLessThan(1L << 53);
+  }
+}
@@ -0,0 +1,89 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.mapper.SeatMapEncoder;
+import dev.genesshoan.cinema_rest_api.service.SeatInventory;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Encode throughput benchmark for the seat map representations.
+ *
+ * For rooms of 200, 2,000 and 20,000 seats with a third of the seats sold in
+ * blocks, each representation is encoded from the seat inventory the way the
+ * seat map endpoints do it: the plain JSON seat map, the run-length seat map
+ * serialized to JSON, and the binary seat map. Each round encodes the map
+ * {@value #ENCODES_PER_ROUND} times, and the encodes per second and output
+ * bytes per second are printed per measured round.
+ *
+ * Excluded from the default build; run with {@code mvn -B test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class SeatMapEncoderBenchmarkTest {
+  private static final int ENCODES_PER_ROUND = 200;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 5;
+
+  private final SeatMapEncoder encoder = new SeatMapEncoder();
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  /**
+   * Runs the warm-up and measured rounds of each representation and reports
+   * its encode throughput.
+   */
+  @ParameterizedTest(name = "{0}x{1} seats")
+  @CsvSource({ "10, 20", "40, 50", "100, 200" })
+  void encodeThroughput(int rows, int seatsPerRow) {
+    SeatInventory inventory = SeatInventory.of(100L, seats(rows, seatsPerRow));
+    String room = rows + "x" + seatsPerRow;
+
+    measure(room, "json", () -> jsonMapper.writeValueAsBytes(inventory.toSeatMap()));
+    measure(room, "run-length", () -> jsonMapper.writeValueAsBytes(encoder.toRunLength(inventory.toGrid())));
+    measure(room, "binary", () -> encoder.toBinary(inventory.toGrid()));
+  }
+
+  private static void measure(String room, String encoding, Supplier<byte[]> encode) {
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      long bytes = 0;
+      long startNanos = System.nanoTime();
+
+      for (int i = 0; i < ENCODES_PER_ROUND; i++) {
+        bytes += encode.get().length;
+      }
+
+      long elapsedNanos = System.nanoTime() - startNanos;
+
+      assertThat(bytes).isPositive();
+
+      if (round >= WARMUP_ROUNDS) {
+        System.out.printf("%s %s round %d: %.0f encodes/s, %.1f MB/s, %d bytes%n",
+            room, encoding, round - WARMUP_ROUNDS + 1, ENCODES_PER_ROUND * 1e9 / elapsedNanos,
+            bytes * 1e3 / elapsedNanos, bytes / ENCODES_PER_ROUND);
+      }
+    }
+  }
+
+  private static List<SeatStateDTO> seats(int rows, int seatsPerRow) {
+    List<SeatStateDTO> seats = new ArrayList<>();
+    long id = 1;
+
+    for (int row = 1; row <= rows; row++) {
+      for (int seat = 1; seat <= seatsPerRow; seat++) {
+        SeatStatus status = (seat + row) % 12 < 4 ? SeatStatus.SOLD : SeatStatus.AVAILABLE;
+        seats.add(new SeatStateDTO(id++, row, seat, status));
+      }
+    }
+
+    return seats;
+  }
+}
@@ -0,0 +1,150 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatGridDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapRunLengthDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.mapper.SeatMapEncoder;
+import dev.genesshoan.cinema_rest_api.service.SeatInventory;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Unit tests for {@link SeatMapEncoder}.
+ *
+ * These tests verify the run-length and binary encodings of a seat grid and
+ * compare their size with the plain JSON seat map for small, medium and large
+ * rooms.
+ */
+public class SeatMapEncoderTest {
+
+  private final SeatMapEncoder encoder = new SeatMapEncoder();
+
+  /**
+   * Verifies that rows are encoded as runs of available, sold and missing
+   * seats.
+   */
+  @Test
+  @DisplayName("toRunLength - mixed row: should encode consecutive seats as runs")
+  void toRunLength_ShouldEncodeRuns() {
+    List<SeatStateDTO> seats = new ArrayList<>();
+    long id = 1;
+
+    for (int seat = 1; seat <= 6; seat++) {
+      seats.add(new SeatStateDTO(id++, 1, seat, seat == 3 || seat == 4 ? SeatStatus.SOLD : SeatStatus.AVAILABLE));
+    }
+
+    seats.add(new SeatStateDTO(id, 2, 2, SeatStatus.AVAILABLE));
+
+    SeatMapRunLengthDTO result = encoder.toRunLength(SeatInventory.of(100L, seats).toGrid());
+
+    assertThat(result.showtimeId()).isEqualTo(100L);
+    assertThat(result.seatsPerRow()).isEqualTo(6);
+    assertThat(result.rows()).containsExactly("A2S2A2", "X1A1X4");
+    assertThat(result.occupancyPercentage()).isCloseTo(28.57, within(0.01));
+  }
+
+  /**
+   * Verifies the binary header and the 2-bit seat codes.
+   */
+  @Test
+  @DisplayName("toBinary - small grid: should write header and packed seat codes")
+  void toBinary_ShouldWriteHeaderAndPackedSeats() {
+    List<SeatStateDTO> seats = List.of(
+        new SeatStateDTO(1L, 1, 1, SeatStatus.AVAILABLE),
+        new SeatStateDTO(2L, 1, 2, SeatStatus.SOLD),
+        new SeatStateDTO(3L, 1, 3, SeatStatus.AVAILABLE),
+        new SeatStateDTO(4L, 2, 2, SeatStatus.SOLD));
+    SeatGridDTO grid = SeatInventory.of(100L, seats).toGrid();
+
+    ByteBuffer buffer = ByteBuffer.wrap(encoder.toBinary(grid));
+
+    assertThat(buffer.remaining()).isEqualTo(SeatMapEncoder.BINARY_HEADER_BYTES + 2);
+    assertThat((char) buffer.get()).isEqualTo('S');
+    assertThat((char) buffer.get()).isEqualTo('M');
+    assertThat(buffer.get()).isEqualTo((byte) SeatMapEncoder.BINARY_FORMAT_VERSION);
+    assertThat(buffer.getLong()).isEqualTo(100L);
+    assertThat(buffer.getLong()).isEqualTo(grid.version());
+    assertThat(buffer.getShort()).isEqualTo((short) 2);
+    assertThat(buffer.getShort()).isEqualTo((short) 3);
+    // row 1: A S A, row 2: X S X -> 01 10 01 00 | 10 00 00 00
+    assertThat(buffer.get()).isEqualTo((byte) 0b01_10_01_00);
+    assertThat(buffer.get()).isEqualTo((byte) 0b10_00_00_00);
+  }
+
+  /**
+   * Verifies that a grid whose dimensions do not fit the unsigned 16-bit
+   * header fields is rejected instead of being written with a truncated
+   * header.
+   */
+  @Test
+  @DisplayName("toBinary - oversized grid: should throw IllegalArgumentException")
+  void toBinary_WhenDimensionTooLarge_ShouldThrow() {
+    SeatGridDTO grid = new SeatGridDTO(100L, SeatMapEncoder.MAX_BINARY_DIMENSION + 1, 1, 0, 0,
+        new long[0][], new long[0][], new long[0][]);
+
+    assertThatThrownBy(() -> encoder.toBinary(grid)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Verifies that held seats get their own run letter and binary code.
+   */
+  @Test
+  @DisplayName("encodings - held seats: should use H runs and code 3")
+  void encodings_ShouldEncodeHeldSeats() {
+    List<SeatStateDTO> seats = List.of(
+        new SeatStateDTO(1L, 1, 1, SeatStatus.HELD),
+        new SeatStateDTO(2L, 1, 2, SeatStatus.HELD),
+        new SeatStateDTO(3L, 1, 3, SeatStatus.SOLD),
+        new SeatStateDTO(4L, 1, 4, SeatStatus.AVAILABLE));
+    SeatGridDTO grid = SeatInventory.of(100L, seats).toGrid();
+
+    ByteBuffer buffer = ByteBuffer.wrap(encoder.toBinary(grid));
+    buffer.position(SeatMapEncoder.BINARY_HEADER_BYTES);
+
+    assertThat(encoder.toRunLength(grid).rows()).containsExactly("H2S1A1");
+    assertThat(buffer.get()).isEqualTo((byte) 0b11_11_10_01);
+  }
+
+  /**
+   * Compares the size of the three seat map representations for rooms of
+   * 200, 2,000 and 20,000 seats with a third of the seats sold in blocks.
+   */
+  @ParameterizedTest(name = "{0}x{1} seats")
+  @CsvSource({ "10, 20", "40, 50", "100, 200" })
+  @DisplayName("encodings - size: compact encodings should be smaller than plain JSON")
+  void encodings_ShouldBeSmallerThanPlainJson(int rows, int seatsPerRow) {
+    List<SeatStateDTO> seats = new ArrayList<>();
+    long id = 1;
+
+    for (int row = 1; row <= rows; row++) {
+      for (int seat = 1; seat <= seatsPerRow; seat++) {
+        SeatStatus status = (seat + row) % 12 < 4 ? SeatStatus.SOLD : SeatStatus.AVAILABLE;
+        seats.add(new SeatStateDTO(id++, row, seat, status));
+      }
+    }
+
+    SeatInventory inventory = SeatInventory.of(100L, seats);
+    JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    int json = jsonMapper.writeValueAsBytes(inventory.toSeatMap()).length;
+    int runLength = jsonMapper.writeValueAsBytes(encoder.toRunLength(inventory.toGrid())).length;
+    int binary = encoder.toBinary(inventory.toGrid()).length;
+
+    assertThat(binary).isEqualTo(SeatMapEncoder.BINARY_HEADER_BYTES + rows * seatsPerRow / 4);
+    assertThat(runLength).isLessThan(json / 5);
+    assertThat(binary).isLessThan(json / 100);
+  }
+}
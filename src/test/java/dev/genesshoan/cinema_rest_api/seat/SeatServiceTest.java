@@ -2,6 +2,7 @@ package dev.genesshoan.cinema_rest_api.seat;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,12 +20,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapDeltaDTO;
 import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
 import dev.genesshoan.cinema_rest_api.entity.Room;
 import dev.genesshoan.cinema_rest_api.entity.Seat;
 import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
 import dev.genesshoan.cinema_rest_api.entity.Showtime;
 import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.service.SeatInventory;
+import dev.genesshoan.cinema_rest_api.service.SeatInventoryService;
 import dev.genesshoan.cinema_rest_api.service.SeatService;
 
 /**
@@ -40,6 +46,9 @@ public class SeatServiceTest {
   @Mock
   private SeatRepository seatRepository;
 
+  @Mock
+  private SeatInventoryService seatInventoryService;
+
   @InjectMocks
   private SeatService seatService;
 
@@ -73,7 +82,7 @@ public class SeatServiceTest {
         createSeat(3L, 2, 1, SeatStatus.AVAILABLE),
         createSeat(4L, 2, 2, SeatStatus.AVAILABLE));
 
-    when(seatRepository.findByIdOrderByRowNumberAscSeatNumberAsc(100L)).thenReturn(seats);
+    stubInventory(seats);
 
     SeatMapResponseDTO result = seatService.getSeatMap(100L);
 
@@ -86,7 +95,7 @@ public class SeatServiceTest {
     assertThat(result.rows().get(1).seats()).hasSize(2);
     assertThat(result.occupancyPercentage()).isEqualTo(25.0);
 
-    verify(seatRepository).findByIdOrderByRowNumberAscSeatNumberAsc(100L);
+    verify(seatInventoryService).getInventory(100L);
   }
 
   /**
@@ -101,7 +110,7 @@ public class SeatServiceTest {
         createSeat(3L, 1, 3, SeatStatus.AVAILABLE),
         createSeat(4L, 1, 4, SeatStatus.AVAILABLE));
 
-    when(seatRepository.findByIdOrderByRowNumberAscSeatNumberAsc(100L)).thenReturn(seats);
+    stubInventory(seats);
 
     SeatMapResponseDTO result = seatService.getSeatMap(100L);
 
@@ -118,7 +127,7 @@ public class SeatServiceTest {
         createSeat(1L, 1, 1, SeatStatus.AVAILABLE),
         createSeat(2L, 1, 2, SeatStatus.AVAILABLE));
 
-    when(seatRepository.findByIdOrderByRowNumberAscSeatNumberAsc(100L)).thenReturn(seats);
+    stubInventory(seats);
 
     SeatMapResponseDTO result = seatService.getSeatMap(100L);
 
@@ -135,7 +144,7 @@ public class SeatServiceTest {
         createSeat(1L, 1, 1, SeatStatus.SOLD),
         createSeat(2L, 1, 2, SeatStatus.SOLD));
 
-    when(seatRepository.findByIdOrderByRowNumberAscSeatNumberAsc(100L)).thenReturn(seats);
+    stubInventory(seats);
 
     SeatMapResponseDTO result = seatService.getSeatMap(100L);
 
@@ -148,7 +157,7 @@ public class SeatServiceTest {
   @Test
   @DisplayName("getSeatMap - no seats: should return empty map with 0% occupancy")
   void getSeatMap_WhenNoSeats_ShouldReturnEmptyMap() {
-    when(seatRepository.findByIdOrderByRowNumberAscSeatNumberAsc(100L)).thenReturn(Collections.emptyList());
+    stubInventory(Collections.emptyList());
 
     SeatMapResponseDTO result = seatService.getSeatMap(100L);
 
@@ -169,7 +178,7 @@ public class SeatServiceTest {
         createSeat(2L, 1, 1, SeatStatus.AVAILABLE),
         createSeat(3L, 2, 1, SeatStatus.AVAILABLE));
 
-    when(seatRepository.findByIdOrderByRowNumberAscSeatNumberAsc(100L)).thenReturn(seats);
+    stubInventory(seats);
 
     SeatMapResponseDTO result = seatService.getSeatMap(100L);
 
@@ -179,6 +188,29 @@ public class SeatServiceTest {
     assertThat(result.rows().get(2).row()).isEqualTo(3);
   }
 
+  /**
+   * Verifies that getSeatMapChanges returns only the seats changed after the
+   * given version.
+   */
+  @Test
+  @DisplayName("getSeatMapChanges - after a sale: should return only the changed seat")
+  void getSeatMapChanges_AfterClaim_ShouldReturnChangedSeats() {
+    SeatInventory inventory = stubInventory(Arrays.asList(
+        createSeat(1L, 1, 1, SeatStatus.AVAILABLE),
+        createSeat(2L, 1, 2, SeatStatus.AVAILABLE)));
+    long version = seatService.getSeatMap(100L).version();
+
+    inventory.claim(List.of(2L));
+
+    SeatMapDeltaDTO result = seatService.getSeatMapChanges(100L, version);
+
+    assertThat(result.fullSnapshot()).isFalse();
+    assertThat(result.sinceVersion()).isEqualTo(version);
+    assertThat(result.version()).isGreaterThan(version);
+    assertThat(result.seats()).containsExactly(new SeatInfoDTO(1, 2, SeatStatus.SOLD));
+    assertThat(result.occupancyPercentage()).isEqualTo(50.0);
+  }
+
   /**
    * Verifies that createSeatsForShowtime creates the correct number of seats.
    */
@@ -288,6 +320,29 @@ public class SeatServiceTest {
     assertThat(savedSeats.get(0).getSeatNumber()).isEqualTo(1);
   }
 
+  /**
+   * Verifies that createSeatsForShowtime generates the grid with a single
+   * set-based insert when the database supports it.
+   */
+  @Test
+  @DisplayName("createSeatsForShowtime - set-based insert supported: should not save entities")
+  void createSeatsForShowtime_WhenSetBasedInsertSupported_ShouldInsertGrid() {
+    when(seatRepository.supportsSetBasedInsert()).thenReturn(true);
+
+    seatService.createSeatsForShowtime(showtime, room);
+
+    verify(seatRepository).insertSeatGrid(100L, 5, 10);
+    verify(seatRepository, never()).saveAll(anyList());
+  }
+
+  private SeatInventory stubInventory(List<Seat> seats) {
+    SeatInventory inventory = SeatInventory.of(100L, seats.stream()
+        .map(seat -> new SeatStateDTO(seat.getId(), seat.getRowNumber(), seat.getSeatNumber(), seat.getStatus()))
+        .toList());
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    return inventory;
+  }
+
   private Seat createSeat(Long id, int rowNumber, int seatNumber, SeatStatus status) {
     Seat seat = new Seat();
     seat.setId(id);
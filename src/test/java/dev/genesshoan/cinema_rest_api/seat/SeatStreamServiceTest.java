@@ -0,0 +1,224 @@
+package dev.genesshoan.cinema_rest_api.seat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatInfoDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatMapDeltaDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.service.SeatInventory;
+import dev.genesshoan.cinema_rest_api.service.SeatInventoryService;
+import dev.genesshoan.cinema_rest_api.service.SeatStatusChangedEvent;
+import dev.genesshoan.cinema_rest_api.service.SeatStreamService;
+
+/**
+ * Unit tests for {@link SeatStreamService}.
+ *
+ * These tests verify that subscribers start from a full seat map, receive
+ * published changes, and that a slow subscriber gets its pending changes
+ * coalesced (or is resynchronized) instead of blocking publishers.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SeatStreamServiceTest {
+
+  @Mock
+  private SeatInventoryService seatInventoryService;
+
+  @InjectMocks
+  private SeatStreamService seatStreamService;
+
+  private SeatInventory inventory;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(seatStreamService, "bufferSize", 256);
+
+    List<SeatStateDTO> seats = new ArrayList<>();
+
+    for (int seat = 1; seat <= 4; seat++) {
+      seats.add(new SeatStateDTO((long) seat, 1, seat, SeatStatus.AVAILABLE));
+    }
+
+    inventory = SeatInventory.of(100L, seats);
+  }
+
+  /**
+   * Verifies that a new subscriber receives the full seat map followed by
+   * published changes.
+   */
+  @Test
+  @DisplayName("subscribe - then change: should send snapshot and then delta")
+  void subscribe_ShouldSendSnapshotThenDelta() throws InterruptedException {
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    RecordingEmitter emitter = new RecordingEmitter(0);
+
+    seatStreamService.subscribe(100L, null, emitter);
+    SeatMapDeltaDTO snapshot = emitter.next();
+
+    seatStreamService.onSeatStatusChanged(event(inventory.getVersion() + 1, sold(2)));
+    SeatMapDeltaDTO delta = emitter.next();
+
+    assertThat(snapshot.fullSnapshot()).isTrue();
+    assertThat(snapshot.seats()).hasSize(4);
+    assertThat(delta.fullSnapshot()).isFalse();
+    assertThat(delta.sinceVersion()).isEqualTo(snapshot.version());
+    assertThat(delta.version()).isEqualTo(inventory.getVersion() + 1);
+    assertThat(delta.seats()).containsExactly(sold(2));
+    assertThat(seatStreamService.subscriberCount(100L)).isEqualTo(1);
+  }
+
+  /**
+   * Verifies that changes published while a subscriber is still sending are
+   * merged per seat into a single event.
+   */
+  @Test
+  @DisplayName("onSeatStatusChanged - slow subscriber: should coalesce changes per seat")
+  void onSeatStatusChanged_WhenSubscriberSlow_ShouldCoalesce() throws InterruptedException {
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    RecordingEmitter emitter = new RecordingEmitter(1);
+    long version = inventory.getVersion();
+
+    seatStreamService.subscribe(100L, null, emitter);
+    emitter.awaitBlocked();
+    seatStreamService.onSeatStatusChanged(event(version + 1, sold(1)));
+    seatStreamService.onSeatStatusChanged(event(version + 2, sold(2)));
+    seatStreamService.onSeatStatusChanged(event(version + 3, available(1)));
+    emitter.open();
+
+    assertThat(emitter.next().fullSnapshot()).isTrue();
+
+    SeatMapDeltaDTO delta = emitter.next();
+    assertThat(delta.version()).isEqualTo(version + 3);
+    assertThat(delta.seats()).containsExactly(available(1), sold(2));
+    assertThat(emitter.poll()).isNull();
+  }
+
+  /**
+   * Verifies that a subscriber whose buffer overflows drops it and is
+   * resynchronized from the seat inventory instead of growing the buffer.
+   */
+  @Test
+  @DisplayName("onSeatStatusChanged - buffer overflow: should resync from inventory")
+  void onSeatStatusChanged_WhenBufferOverflows_ShouldResyncFromInventory() throws InterruptedException {
+    ReflectionTestUtils.setField(seatStreamService, "bufferSize", 1);
+    when(seatInventoryService.getInventory(100L)).thenReturn(inventory);
+    RecordingEmitter emitter = new RecordingEmitter(1);
+
+    seatStreamService.subscribe(100L, null, emitter);
+    emitter.awaitBlocked();
+    inventory.claim(List.of(1L, 2L));
+    seatStreamService.onSeatStatusChanged(event(inventory.getVersion(), sold(1), sold(2)));
+    emitter.open();
+
+    assertThat(emitter.next().fullSnapshot()).isTrue();
+
+    SeatMapDeltaDTO resync = emitter.next();
+    assertThat(resync.version()).isEqualTo(inventory.getVersion());
+    assertThat(resync.seats()).containsExactlyInAnyOrder(sold(1), sold(2));
+    assertThat(resync.occupancyPercentage()).isEqualTo(50.0);
+  }
+
+  /**
+   * Verifies that subscribing to an unknown showtime fails without
+   * registering a subscriber.
+   */
+  @Test
+  @DisplayName("subscribe - unknown showtime: should throw ResourceNotFoundException")
+  void subscribe_WhenShowtimeNotFound_ShouldThrow() {
+    when(seatInventoryService.getInventory(999L)).thenThrow(new ResourceNotFoundException("not found"));
+
+    assertThatThrownBy(() -> seatStreamService.subscribe(999L, null, new RecordingEmitter(0)))
+        .isInstanceOf(ResourceNotFoundException.class);
+    assertThat(seatStreamService.subscriberCount(999L)).isZero();
+  }
+
+  private SeatStatusChangedEvent event(long version, SeatInfoDTO... seats) {
+    return new SeatStatusChangedEvent(100L, version, List.of(seats), 0.0);
+  }
+
+  private SeatInfoDTO sold(int seatNumber) {
+    return new SeatInfoDTO(1, seatNumber, SeatStatus.SOLD);
+  }
+
+  private SeatInfoDTO available(int seatNumber) {
+    return new SeatInfoDTO(1, seatNumber, SeatStatus.AVAILABLE);
+  }
+
+  /**
+   * Emitter that records sent payloads and can hold its first sends back to
+   * simulate a slow client.
+   */
+  private static class RecordingEmitter extends SseEmitter {
+    private final BlockingQueue<SeatMapDeltaDTO> sent = new LinkedBlockingQueue<>();
+    private final CountDownLatch gate;
+    private final CountDownLatch blocked = new CountDownLatch(1);
+
+    RecordingEmitter(int held) {
+      this.gate = new CountDownLatch(held);
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      blocked.countDown();
+
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+
+      for (DataWithMediaType data : builder.build()) {
+        if (data.getData() instanceof SeatMapDeltaDTO delta) {
+          sent.add(delta);
+        }
+      }
+    }
+
+    @Override
+    public void send(Object object, MediaType mediaType) {
+      throw new UnsupportedOperationException();
+    }
+
+    void open() {
+      gate.countDown();
+    }
+
+    void awaitBlocked() throws InterruptedException {
+      assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    SeatMapDeltaDTO next() throws InterruptedException {
+      SeatMapDeltaDTO delta = sent.poll(5, TimeUnit.SECONDS);
+      assertThat(delta).isNotNull();
+      return delta;
+    }
+
+    SeatMapDeltaDTO poll() throws InterruptedException {
+      return sent.poll(200, TimeUnit.MILLISECONDS);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package dev.genesshoan.cinema_rest_api.showtime;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.test.context.TestComponent;
+
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.seat.SeatStateDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeResponseDTO;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.service.MovieService;
+import dev.genesshoan.cinema_rest_api.service.RoomService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
+
+/**
+ * Creates showtimes for integration tests, each with its own movie and room,
+ * starting tomorrow and lasting two hours.
+ *
+ * Import it into the test context with
+ * {@code @Import(ShowtimeFixture.class)}. Movie titles and room names are
+ * made unique with a counter, so a test may create as many showtimes as it
+ * needs in a shared database.
+ */
+@TestComponent
+public class ShowtimeFixture {
+  private static final AtomicInteger SHOWTIMES = new AtomicInteger();
+
+  private final MovieService movieService;
+  private final RoomService roomService;
+  private final ShowtimeService showtimeService;
+  private final SeatRepository seatRepository;
+
+  public ShowtimeFixture(MovieService movieService, RoomService roomService, ShowtimeService showtimeService,
+      SeatRepository seatRepository) {
+    this.movieService = movieService;
+    this.roomService = roomService;
+    this.showtimeService = showtimeService;
+    this.seatRepository = seatRepository;
+  }
+
+  /**
+   * Creates a seated showtime.
+   *
+   * @param name        the prefix of the movie title and room name
+   * @param rows        the number of rows of the room
+   * @param seatsPerRow the number of seats per row
+   * @return the showtime ID
+   */
+  public long createShowtime(String name, int rows, int seatsPerRow) {
+    return createShowtime(name, rows, seatsPerRow, false).id();
+  }
+
+  /**
+   * Creates a seated or general admission showtime.
+   *
+   * @param name             the prefix of the movie title and room name
+   * @param rows             the number of rows of the room
+   * @param seatsPerRow      the number of seats per row
+   * @param generalAdmission whether the showtime is sold without seats
+   * @return the created showtime
+   */
+  public ShowtimeResponseDTO createShowtime(String name, int rows, int seatsPerRow, boolean generalAdmission) {
+    String unique = name + " " + SHOWTIMES.incrementAndGet();
+    var movie = movieService.createMovie(
+        new MovieRequestDTO(unique, 120, "Drama", LocalDate.of(2020, 1, 1), null));
+    var room = roomService.createRoom(new RoomRequestDTO(unique, rows, seatsPerRow));
+    LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    return showtimeService.createShowtime(new ShowtimeCreateDTO(
+        start, start.plusHours(2), new BigDecimal("5.00"), room.id(), movie.id(), generalAdmission));
+  }
+
+  /**
+   * @param showtimeId the showtime ID
+   * @return the IDs of the showtime's seats, in ascending order
+   */
+  public List<Long> seatIds(long showtimeId) {
+    return seatRepository.findStatesByShowtimeId(showtimeId).stream()
+        .map(SeatStateDTO::id)
+        .sorted()
+        .toList();
+  }
+}
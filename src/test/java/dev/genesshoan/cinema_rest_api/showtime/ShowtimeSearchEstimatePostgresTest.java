@@ -0,0 +1,110 @@
+package dev.genesshoan.cinema_rest_api.showtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import dev.genesshoan.cinema_rest_api.PostgresTest;
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
+import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
+import dev.genesshoan.cinema_rest_api.repository.CountEstimator;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeSpecifications;
+import dev.genesshoan.cinema_rest_api.service.MovieService;
+import dev.genesshoan.cinema_rest_api.service.RoomService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
+
+/**
+ * PostgreSQL tests for the native statement that
+ * {@link ShowtimeSpecifications#estimate} hands to the planner.
+ *
+ * The estimate repeats the filters of {@link ShowtimeSpecifications#search}
+ * in SQL, so every combination of filters is checked to select the same rows
+ * as the search. Some showtimes start or end exactly on the bounds of the time
+ * filters, so that a bound compared differently is noticed.
+ */
+@PostgresTest
+public class ShowtimeSearchEstimatePostgresTest {
+  @Autowired
+  private ShowtimeService showtimeService;
+
+  @Autowired
+  private MovieService movieService;
+
+  @Autowired
+  private RoomService roomService;
+
+  @Autowired
+  private ShowtimeRepository showtimeRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final LocalDate day = LocalDate.now().plusDays(1);
+  private long roomId;
+  private long movieId;
+
+  @BeforeEach
+  void setUp() {
+    roomId = createRoom();
+    movieId = createMovie();
+    long otherRoomId = createRoom();
+    long otherMovieId = createMovie();
+
+    createShowtime(roomId, movieId, 9);
+    createShowtime(roomId, otherMovieId, 12);
+    showtimeService.cancelShowtime(createShowtime(roomId, movieId, 15));
+    createShowtime(otherRoomId, movieId, 11);
+    createShowtime(otherRoomId, otherMovieId, 14);
+    createShowtime(otherRoomId, movieId, 18);
+  }
+
+  /**
+   * Verifies that for each combination of filters the estimated statement
+   * selects as many rows as the search.
+   */
+  @Test
+  @DisplayName("estimate - every filter combination: should select the rows of the search")
+  void estimate_ShouldSelectTheRowsOfTheSearch() {
+    for (int filters = 0; filters < 1 << 5; filters++) {
+      LocalDateTime from = (filters & 1) != 0 ? day.atTime(11, 0) : null;
+      LocalDateTime to = (filters & 2) != 0 ? day.atTime(17, 0) : null;
+      Long room = (filters & 4) != 0 ? roomId : null;
+      Long movie = (filters & 8) != 0 ? movieId : null;
+      ShowtimeStatus status = (filters & 16) != 0 ? ShowtimeStatus.SCHEDULED : null;
+
+      CountEstimator.Estimate estimate = ShowtimeSpecifications.estimate(from, to, room, movie, status);
+      Long estimated = jdbcTemplate.queryForObject(
+          "SELECT COUNT(*) FROM (" + estimate.sql() + ") estimated", Long.class, estimate.params().toArray());
+      long searched = showtimeRepository.count(ShowtimeSpecifications.search(from, to, room, movie, status));
+
+      assertThat(estimated).as("filters %s", Integer.toBinaryString(filters)).isEqualTo(searched);
+    }
+  }
+
+  private long createRoom() {
+    return roomService.createRoom(new RoomRequestDTO("Estimate " + System.nanoTime(), 2, 5)).id();
+  }
+
+  private long createMovie() {
+    return movieService.createMovie(
+        new MovieRequestDTO("Estimate " + System.nanoTime(), 120, "Drama", LocalDate.of(2020, 1, 1), null)).id();
+  }
+
+  private long createShowtime(long room, long movie, int hour) {
+    LocalDateTime start = day.atTime(hour, 0);
+
+    return showtimeService.createShowtime(new ShowtimeCreateDTO(
+        start, start.plusHours(2), new BigDecimal("5.00"), room, movie)).id();
+  }
+}
@@ -0,0 +1,135 @@
+package dev.genesshoan.cinema_rest_api.showtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.StatementRecorder;
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
+import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
+import dev.genesshoan.cinema_rest_api.service.MovieService;
+import dev.genesshoan.cinema_rest_api.service.RoomService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
+
+/**
+ * Query plan tests for {@link ShowtimeService#search}.
+ *
+ * The page statement issued for each filter is captured by
+ * {@link StatementRecorder} and run again through H2's {@code EXPLAIN}, so
+ * the tests fail if the search goes back to catch-all predicates or if the
+ * index matching a filter is dropped.
+ */
+@IntegrationTest
+public class ShowtimeSearchPlanTest {
+  @Autowired
+  private ShowtimeService showtimeService;
+
+  @Autowired
+  private MovieService movieService;
+
+  @Autowired
+  private RoomService roomService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final LocalDate day = LocalDate.now().plusDays(1);
+  private long roomId;
+  private long movieId;
+
+  @BeforeEach
+  void setUp() {
+    roomId = roomService.createRoom(new RoomRequestDTO("Plan " + System.nanoTime(), 2, 5)).id();
+    movieId = movieService.createMovie(
+        new MovieRequestDTO("Plan " + System.nanoTime(), 120, "Drama", LocalDate.of(2020, 1, 1), null)).id();
+    LocalDateTime start = day.atTime(10, 0);
+
+    showtimeService.createShowtime(new ShowtimeCreateDTO(
+        start, start.plusHours(2), new BigDecimal("5.00"), roomId, movieId));
+  }
+
+  /**
+   * Verifies that a search by room only carries the filters that were given
+   * and is planned on the room and start time unique index.
+   */
+  @Test
+  @DisplayName("search - by room: should use the room and start time index")
+  void search_ByRoom_ShouldUseRoomIndex() {
+    String sql = capturePageQuery(() -> showtimeService.search(day, roomId, null, null, PageRequest.of(0, 10), CountMode.EXACT));
+
+    assertThat(explain(sql, roomId)).contains("UK_SHOWTIMES_ROOM_START_TIME");
+  }
+
+  /**
+   * Verifies that a search by movie only is planned on the movie and start
+   * time index.
+   */
+  @Test
+  @DisplayName("search - by movie: should use the movie and start time index")
+  void search_ByMovie_ShouldUseMovieIndex() {
+    String sql = capturePageQuery(() -> showtimeService.search(day, null, movieId, null, PageRequest.of(0, 10), CountMode.EXACT));
+
+    assertThat(explain(sql, movieId)).contains("IDX_SHOWTIMES_MOVIE_START_TIME");
+  }
+
+  /**
+   * Verifies that a search by status only is planned on the status and start
+   * time index.
+   */
+  @Test
+  @DisplayName("search - by status: should use the status and start time index")
+  void search_ByStatus_ShouldUseStatusIndex() {
+    String sql = capturePageQuery(() -> showtimeService.search(
+        day, null, null, ShowtimeStatus.SCHEDULED, PageRequest.of(0, 10), CountMode.EXACT));
+
+    assertThat(explain(sql, ShowtimeStatus.SCHEDULED.name())).contains("IDX_SHOWTIMES_STATUS_START_TIME");
+  }
+
+  /**
+   * Runs a search and returns its page statement, checking that it has no
+   * catch-all predicate.
+   */
+  private String capturePageQuery(Supplier<?> search) {
+    String sql = StatementRecorder.record(search).statements().stream()
+        .filter(statement -> statement.toLowerCase(Locale.ROOT).contains("from showtimes"))
+        .filter(statement -> !statement.toLowerCase(Locale.ROOT).contains("count("))
+        .findFirst()
+        .orElseThrow();
+
+    assertThat(sql.toLowerCase(Locale.ROOT)).doesNotContain("is null");
+
+    return sql;
+  }
+
+  /**
+   * Explains a page statement, binding the day window, the filter value and
+   * the page bounds to its parameters in that order.
+   */
+  private String explain(String sql, Object filter) {
+    List<Object> arguments = new ArrayList<>(List.of(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), filter));
+
+    while (arguments.size() < sql.chars().filter(c -> c == '?').count()) {
+      arguments.add(10);
+    }
+
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, arguments.toArray()))
+        .toUpperCase(Locale.ROOT);
+  }
+}
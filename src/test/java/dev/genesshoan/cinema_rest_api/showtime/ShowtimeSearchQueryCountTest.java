@@ -0,0 +1,133 @@
+package dev.genesshoan.cinema_rest_api.showtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.StatementRecorder;
+import dev.genesshoan.cinema_rest_api.StatementRecorder.Recorded;
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.page.CountMode;
+import dev.genesshoan.cinema_rest_api.dto.page.CursorPageDTO;
+import dev.genesshoan.cinema_rest_api.dto.room.RoomRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeResponseDTO;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
+import dev.genesshoan.cinema_rest_api.service.MovieService;
+import dev.genesshoan.cinema_rest_api.service.RoomService;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
+
+/**
+ * Query-count tests for {@link ShowtimeService#search} and
+ * {@link ShowtimeService#scroll}.
+ *
+ * Statements are recorded with {@link StatementRecorder}, so the test fails if
+ * mapping a page goes back to initializing the room and movie of every
+ * showtime one by one.
+ */
+@IntegrationTest
+public class ShowtimeSearchQueryCountTest {
+  private static final int SHOWTIMES = 12;
+
+  @Autowired
+  private ShowtimeService showtimeService;
+
+  @Autowired
+  private MovieService movieService;
+
+  @Autowired
+  private RoomService roomService;
+
+  private final LocalDate day = LocalDate.now().plusDays(1);
+  private long roomId;
+
+  @BeforeEach
+  void setUp() {
+    roomId = roomService.createRoom(new RoomRequestDTO("Search " + System.nanoTime(), 2, 5)).id();
+
+    for (int i = 0; i < SHOWTIMES; i++) {
+      long movieId = movieService.createMovie(
+          new MovieRequestDTO("Search " + System.nanoTime(), 120, "Drama", LocalDate.of(2020, 1, 1), null)).id();
+      LocalDateTime start = day.atTime(8, 0).plusHours(i);
+
+      showtimeService.createShowtime(new ShowtimeCreateDTO(
+          start, start.plusMinutes(30), new BigDecimal("5.00"), roomId, movieId));
+    }
+  }
+
+  /**
+   * Verifies that a page of five showtimes takes as many statements as a
+   * page of two, that is the page query and the count query, and that room
+   * name and movie title are filled in.
+   */
+  @Test
+  @DisplayName("search - page size: should take two statements whatever the page size")
+  void search_ShouldTakeConstantStatements() {
+    Recorded<Slice<ShowtimeResponseDTO>> small = StatementRecorder.record(() -> showtimeService.search(
+        day, roomId, null, null, PageRequest.of(0, 2, Sort.by("startTime")), CountMode.EXACT));
+    Recorded<Slice<ShowtimeResponseDTO>> large = StatementRecorder.record(() -> showtimeService.search(
+        day, roomId, null, null, PageRequest.of(0, 5, Sort.by("startTime")), CountMode.EXACT));
+
+    assertThat(small.count()).isEqualTo(2);
+    assertThat(large.count()).isEqualTo(small.count());
+    assertThat(small.result()).isInstanceOfSatisfying(Page.class,
+        page -> assertThat(page.getTotalElements()).isEqualTo(SHOWTIMES));
+    assertThat(large.result().getContent()).hasSize(5).allSatisfy(showtime -> {
+      assertThat(showtime.roomName()).startsWith("Search ");
+      assertThat(showtime.movieTitle()).startsWith("Search ");
+    });
+  }
+
+  /**
+   * Verifies that scrolling reads every showtime once, in start time order,
+   * with a single statement per page and no count.
+   */
+  @Test
+  @DisplayName("scroll - all pages: should read every showtime once with one statement per page")
+  void scroll_ShouldReadEveryShowtimeWithOneStatementPerPage() {
+    List<ShowtimeResponseDTO> read = new ArrayList<>();
+    String next = null;
+    int pages = 0;
+
+    do {
+      String cursor = next;
+      Recorded<CursorPageDTO<ShowtimeResponseDTO>> page = StatementRecorder.record(
+          () -> showtimeService.scroll(day, roomId, null, null, 5, cursor));
+
+      assertThat(page.count()).isEqualTo(1);
+      read.addAll(page.result().content());
+      next = page.result().next();
+      pages++;
+    } while (next != null);
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(read).hasSize(SHOWTIMES).doesNotHaveDuplicates();
+    assertThat(read).extracting(ShowtimeResponseDTO::startTime).isSorted();
+    assertThat(read).allSatisfy(showtime -> assertThat(showtime.movieTitle()).startsWith("Search "));
+  }
+
+  /**
+   * Verifies that a malformed page token is rejected.
+   */
+  @Test
+  @DisplayName("scroll - malformed token: should reject the request")
+  void scroll_WhenTokenMalformed_ShouldReject() {
+    assertThatThrownBy(() -> showtimeService.scroll(day, roomId, null, null, 5, "not-a-token"))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+}
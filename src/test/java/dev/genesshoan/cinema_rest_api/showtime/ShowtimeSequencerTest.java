@@ -0,0 +1,147 @@
+package dev.genesshoan.cinema_rest_api.showtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.genesshoan.cinema_rest_api.dto.metrics.SequencerStatsDTO;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer;
+
+/**
+ * Unit tests for {@link ShowtimeSequencer}.
+ *
+ * These tests verify that the tasks of one showtime run one at a time in
+ * submission order, that showtimes are independent, and that a full queue
+ * rejects new tasks.
+ */
+public class ShowtimeSequencerTest {
+
+  private ShowtimeSequencer sequencer;
+
+  @BeforeEach
+  void setUp() {
+    sequencer = new ShowtimeSequencer();
+    ReflectionTestUtils.setField(sequencer, "enabled", true);
+    ReflectionTestUtils.setField(sequencer, "workerCount", 4);
+    ReflectionTestUtils.setField(sequencer, "queueCapacity", 2);
+    ReflectionTestUtils.invokeMethod(sequencer, "start");
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.invokeMethod(sequencer, "shutdown");
+  }
+
+  /**
+   * Verifies that tasks of one showtime run in submission order and never
+   * overlap, even when submitted from many threads.
+   */
+  @Test
+  @DisplayName("submit - same showtime: should run tasks one at a time in order")
+  void submit_SameShowtime_ShouldRunInOrder() throws Exception {
+    ReflectionTestUtils.setField(sequencer, "queueCapacity", 1000);
+    List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+    for (int i = 0; i < 200; i++) {
+      int index = i;
+
+      futures.add(sequencer.submit(1L, () -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        order.add(index);
+        running.decrementAndGet();
+        return index;
+      }));
+    }
+
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+    assertThat(order).isSorted().hasSize(200);
+    assertThat(maxRunning.get()).isEqualTo(1);
+    assertThat(futures.get(199).get()).isEqualTo(199);
+  }
+
+  /**
+   * Verifies that a blocked showtime does not delay another showtime.
+   */
+  @Test
+  @DisplayName("submit - different showtimes: should run in parallel")
+  void submit_DifferentShowtimes_ShouldRunInParallel() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Boolean> blocked = sequencer.submit(1L, () -> await(release));
+    CompletableFuture<String> other = sequencer.submit(2L, () -> "done");
+
+    assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    assertThat(blocked).isNotDone();
+
+    release.countDown();
+    assertThat(blocked.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  /**
+   * Verifies that a submission is rejected once the queue of its showtime is
+   * full, and that the rejection is counted.
+   */
+  @Test
+  @DisplayName("submit - queue full: should throw QueueFullException")
+  void submit_WhenQueueFull_ShouldReject() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    sequencer.submit(1L, () -> {
+      started.countDown();
+      return await(release);
+    });
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    sequencer.submit(1L, () -> true);
+    sequencer.submit(1L, () -> true);
+
+    assertThatThrownBy(() -> sequencer.submit(1L, () -> true))
+        .isInstanceOf(QueueFullException.class);
+
+    SequencerStatsDTO stats = sequencer.getStats();
+    assertThat(stats.rejected()).isEqualTo(1);
+    assertThat(stats.depthByShowtime()).containsEntry(1L, 2);
+
+    release.countDown();
+  }
+
+  /**
+   * Verifies that the exception thrown by a task is rethrown unwrapped to a
+   * caller waiting on it.
+   */
+  @Test
+  @DisplayName("execute - failing task: should rethrow its exception")
+  void execute_WhenTaskFails_ShouldRethrow() {
+    assertThatThrownBy(() -> sequencer.execute(1L, () -> {
+      throw new SeatNotAvailableException("taken");
+    })).isInstanceOf(SeatNotAvailableException.class).hasMessage("taken");
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -3,6 +3,8 @@ package dev.genesshoan.cinema_rest_api.showtime;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,18 +20,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeCreateDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeResponseDTO;
 import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeUpdateDTO;
 import dev.genesshoan.cinema_rest_api.entity.Movie;
 import dev.genesshoan.cinema_rest_api.entity.Room;
+import dev.genesshoan.cinema_rest_api.entity.SeatStatus;
+import dev.genesshoan.cinema_rest_api.entity.SeatingMode;
 import dev.genesshoan.cinema_rest_api.entity.Showtime;
 import dev.genesshoan.cinema_rest_api.entity.ShowtimeStatus;
 import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
 import dev.genesshoan.cinema_rest_api.exception.OverlapingShowtimesException;
 import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
 import dev.genesshoan.cinema_rest_api.mapper.ShowtimeMapper;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
 import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
 import dev.genesshoan.cinema_rest_api.service.SeatService;
 import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
@@ -59,6 +65,9 @@ public class ShowtimeServiceTest {
   @Mock
   private SeatService seatService;
 
+  @Mock
+  private SeatRepository seatRepository;
+
   @InjectMocks
   private ShowtimeService showtimeService;
 
@@ -78,6 +87,8 @@ public class ShowtimeServiceTest {
     room = new Room();
     room.setId(20L);
     room.setName("Room A");
+    room.setRows(10);
+    room.setSeatsPerRow(20);
 
     LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
     LocalDateTime end = start.plusHours(2);
@@ -101,7 +112,11 @@ public class ShowtimeServiceTest {
         showtime.getBasePrice(),
         showtime.getStatus(),
         room.getName(),
-        movie.getTitle());
+        movie.getTitle(),
+        0,
+        0,
+        0.0,
+        false);
   }
 
   /**
@@ -125,11 +140,88 @@ public class ShowtimeServiceTest {
     assertThat(result.id()).isEqualTo(showtime.getId());
     assertThat(result.roomName()).isEqualTo(room.getName());
     assertThat(result.movieTitle()).isEqualTo(movie.getTitle());
+    assertThat(showtime.getCapacity()).isEqualTo(200);
 
     verify(showtimeRepository).existsOverlappingShowtime(any(Long.class), any(LocalDateTime.class), any(LocalDateTime.class), any(ShowtimeStatus.class));
     verify(showtimeRepository).save(showtime);
   }
 
+  /**
+   * Verifies that a lazily seated showtime stores the room grid and writes no
+   * seat rows.
+   */
+  @Test
+  @DisplayName("createShowtime - lazy seating: should copy grid without creating seats")
+  void createShowtime_WhenLazySeating_ShouldNotCreateSeats() {
+    ReflectionTestUtils.setField(showtimeService, "seatingMode", SeatingMode.LAZY);
+    room.setRows(12);
+    room.setSeatsPerRow(30);
+
+    when(showtimeRepository.existsOverlappingShowtime(any(Long.class), any(LocalDateTime.class), any(LocalDateTime.class), any(ShowtimeStatus.class)))
+        .thenReturn(false);
+    when(showtimeMapper.toEntity(createDTO)).thenReturn(showtime);
+    when(movieService.getEntityById(movie.getId())).thenReturn(movie);
+    when(roomService.getEntityById(room.getId())).thenReturn(room);
+    when(showtimeRepository.save(showtime)).thenReturn(showtime);
+    when(showtimeMapper.toDto(showtime)).thenReturn(responseDTO);
+
+    showtimeService.createShowtime(createDTO);
+
+    assertThat(showtime.getSeatingMode()).isEqualTo(SeatingMode.LAZY);
+    assertThat(showtime.getSeatRows()).isEqualTo(12);
+    assertThat(showtime.getSeatsPerRow()).isEqualTo(30);
+    verify(seatService, never()).createSeatsForShowtime(any(Showtime.class), any(Room.class));
+  }
+
+  /**
+   * Verifies that a general admission showtime takes its capacity from the
+   * room and is saved once, without seats or grid.
+   */
+  @Test
+  @DisplayName("createShowtime - general admission: should save once without creating seats")
+  void createShowtime_WhenGeneralAdmission_ShouldNotCreateSeats() {
+    ShowtimeCreateDTO gaDTO = new ShowtimeCreateDTO(createDTO.startTime(), createDTO.endTime(),
+        createDTO.basePrice(), room.getId(), movie.getId(), true);
+
+    when(showtimeRepository.existsOverlappingShowtime(any(Long.class), any(LocalDateTime.class), any(LocalDateTime.class), any(ShowtimeStatus.class)))
+        .thenReturn(false);
+    when(showtimeMapper.toEntity(gaDTO)).thenReturn(showtime);
+    when(movieService.getEntityById(movie.getId())).thenReturn(movie);
+    when(roomService.getEntityById(room.getId())).thenReturn(room);
+    when(showtimeRepository.save(showtime)).thenReturn(showtime);
+    when(showtimeMapper.toDto(showtime)).thenReturn(responseDTO);
+
+    showtimeService.createShowtime(gaDTO);
+
+    assertThat(showtime.getSeatingMode()).isEqualTo(SeatingMode.GENERAL_ADMISSION);
+    assertThat(showtime.getCapacity()).isEqualTo(200);
+    assertThat(showtime.getSeatRows()).isNull();
+    verify(showtimeRepository).save(showtime);
+    verify(seatService, never()).createSeatsForShowtime(any(Showtime.class), any(Room.class));
+  }
+
+  /**
+   * Verifies that a room whose seat count does not fit an {@code int} fails
+   * with {@link ArithmeticException} instead of a wrapped capacity.
+   */
+  @Test
+  @DisplayName("createShowtime - oversized room: should throw ArithmeticException")
+  void createShowtime_WhenCapacityOverflows_ShouldThrow() {
+    room.setRows(65535);
+    room.setSeatsPerRow(65535);
+
+    when(showtimeRepository.existsOverlappingShowtime(any(Long.class), any(LocalDateTime.class), any(LocalDateTime.class), any(ShowtimeStatus.class)))
+        .thenReturn(false);
+    when(showtimeMapper.toEntity(createDTO)).thenReturn(showtime);
+    when(movieService.getEntityById(movie.getId())).thenReturn(movie);
+    when(roomService.getEntityById(room.getId())).thenReturn(room);
+
+    assertThatThrownBy(() -> showtimeService.createShowtime(createDTO))
+        .isInstanceOf(ArithmeticException.class);
+
+    verify(showtimeRepository, never()).save(any(Showtime.class));
+  }
+
   /**
    * Verifies that attempting to create an overlapping showtime throws
    * {@link OverlapingShowtimesException} and does not persist the entity.
@@ -242,5 +334,46 @@ public class ShowtimeServiceTest {
         .isInstanceOf(ResourceNotFoundException.class)
         .hasMessageContaining("Showtime with id '100' does not exist");
   }
-}
 
+  /**
+   * Verifies that reconciling an eagerly seated showtime recomputes capacity
+   * and sold seats from its seat rows, overwriting drifted counters.
+   */
+  @Test
+  @DisplayName("reconcileSeatCounters - drifted: should recompute counters from seats")
+  void reconcileSeatCounters_WhenDrifted_ShouldRecompute() {
+    showtime.setCapacity(10);
+    showtime.setSoldSeats(7);
+    when(showtimeRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(showtime));
+    when(seatRepository.countByShowtimeIdAndStatus(eq(100L), isNull())).thenReturn(12L);
+    when(seatRepository.countByShowtimeIdAndStatus(100L, SeatStatus.SOLD)).thenReturn(3L);
+    when(showtimeMapper.toDto(showtime)).thenReturn(responseDTO);
+
+    showtimeService.reconcileSeatCounters(100L);
+
+    assertThat(showtime.getCapacity()).isEqualTo(12);
+    assertThat(showtime.getSoldSeats()).isEqualTo(3);
+    assertThat(showtime.getOccupancyPercentage()).isEqualTo(25.0);
+  }
+
+  /**
+   * Verifies that reconciling a lazily seated showtime takes its capacity
+   * from the seat grid, since unsold seats have no row to count.
+   */
+  @Test
+  @DisplayName("reconcileSeatCounters - lazy: should take capacity from the grid")
+  void reconcileSeatCounters_WhenLazy_ShouldUseGridCapacity() {
+    showtime.setSeatingMode(SeatingMode.LAZY);
+    showtime.setSeatRows(4);
+    showtime.setSeatsPerRow(5);
+    when(showtimeRepository.findByIdForUpdate(100L)).thenReturn(Optional.of(showtime));
+    when(seatRepository.countByShowtimeIdAndStatus(100L, SeatStatus.SOLD)).thenReturn(2L);
+    when(showtimeMapper.toDto(showtime)).thenReturn(responseDTO);
+
+    showtimeService.reconcileSeatCounters(100L);
+
+    assertThat(showtime.getCapacity()).isEqualTo(20);
+    assertThat(showtime.getSoldSeats()).isEqualTo(2);
+    verify(seatRepository, never()).countByShowtimeIdAndStatus(eq(100L), isNull());
+  }
+}
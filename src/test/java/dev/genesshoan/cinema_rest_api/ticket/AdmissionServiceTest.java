@@ -0,0 +1,124 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.genesshoan.cinema_rest_api.dto.admission.AdmissionStatusDTO;
+import dev.genesshoan.cinema_rest_api.dto.admission.AdmissionTokenDTO;
+import dev.genesshoan.cinema_rest_api.exception.AdmissionRequiredException;
+import dev.genesshoan.cinema_rest_api.exception.ResourceNotFoundException;
+import dev.genesshoan.cinema_rest_api.service.AdmissionService;
+
+/**
+ * Unit tests for {@link AdmissionService}.
+ *
+ * The ticker is not started; {@code tick} is invoked directly with a one
+ * second tick so that each call admits exactly the admission rate.
+ */
+public class AdmissionServiceTest {
+
+  private AdmissionService admissionService;
+
+  @BeforeEach
+  void setUp() {
+    admissionService = new AdmissionService();
+    ReflectionTestUtils.setField(admissionService, "enabled", true);
+    ReflectionTestUtils.setField(admissionService, "thresholdPerSecond", 3);
+    ReflectionTestUtils.setField(admissionService, "defaultRate", 2.0);
+    ReflectionTestUtils.setField(admissionService, "admittedTtlSeconds", 300L);
+    ReflectionTestUtils.setField(admissionService, "maxWaiting", 100);
+    ReflectionTestUtils.setField(admissionService, "tickMs", 1000L);
+  }
+
+  /**
+   * Verifies that requests pass without a token while demand is below the
+   * threshold, and that tokens issued then are admitted at once.
+   */
+  @Test
+  @DisplayName("checkAdmission - below threshold: should let requests through")
+  void checkAdmission_BelowThreshold_ShouldPass() {
+    assertThatCode(() -> admissionService.checkAdmission(1L, null)).doesNotThrowAnyException();
+
+    AdmissionTokenDTO token = admissionService.join(1L);
+
+    assertThat(token.admitted()).isTrue();
+    assertThat(token.position()).isZero();
+    assertThat(token.expiresAt()).isNotNull();
+  }
+
+  /**
+   * Verifies that once demand reaches the threshold, requests without an
+   * admitted token are rejected and buyers are admitted in arrival order at
+   * the admission rate.
+   */
+  @Test
+  @DisplayName("checkAdmission - above threshold: should admit tokens in order at the rate")
+  void checkAdmission_AboveThreshold_ShouldQueue() {
+    admissionService.checkAdmission(1L, null);
+    admissionService.checkAdmission(1L, null);
+    assertThatThrownBy(() -> admissionService.checkAdmission(1L, null))
+        .isInstanceOf(AdmissionRequiredException.class);
+
+    AdmissionTokenDTO first = admissionService.join(1L);
+    admissionService.join(1L);
+    AdmissionTokenDTO third = admissionService.join(1L);
+
+    assertThat(first.admitted()).isFalse();
+    assertThat(third.position()).isEqualTo(3);
+    assertThat(third.estimatedWaitSeconds()).isEqualTo(2);
+    assertThatThrownBy(() -> admissionService.checkAdmission(1L, first.token()))
+        .isInstanceOf(AdmissionRequiredException.class);
+
+    ReflectionTestUtils.invokeMethod(admissionService, "tick");
+
+    assertThatCode(() -> admissionService.checkAdmission(1L, first.token())).doesNotThrowAnyException();
+    assertThat(admissionService.getToken(1L, third.token()).position()).isEqualTo(1);
+    assertThatCode(() -> admissionService.checkAdmission(2L, null)).doesNotThrowAnyException();
+  }
+
+  /**
+   * Verifies that the admission rate can be set per showtime.
+   */
+  @Test
+  @DisplayName("setRate - should change how many tokens a tick admits")
+  void setRate_ShouldApplyToShowtime() {
+    for (int i = 0; i < 3; i++) {
+      try {
+        admissionService.checkAdmission(1L, null);
+      } catch (AdmissionRequiredException e) {
+        // the third attempt starts queueing
+      }
+    }
+
+    for (int i = 0; i < 10; i++) {
+      admissionService.join(1L);
+    }
+
+    AdmissionStatusDTO status = admissionService.setRate(1L, 5.0);
+    assertThat(status.queueing()).isTrue();
+    assertThat(status.waiting()).isEqualTo(10);
+
+    ReflectionTestUtils.invokeMethod(admissionService, "tick");
+
+    assertThat(admissionService.getStatus(1L).waiting()).isEqualTo(5);
+    assertThat(admissionService.getStatus(1L).admitsPerSecond()).isEqualTo(5.0);
+  }
+
+  /**
+   * Verifies that an unknown token is reported as not found.
+   */
+  @Test
+  @DisplayName("getToken - unknown token: should throw ResourceNotFoundException")
+  void getToken_WhenUnknown_ShouldThrow() {
+    admissionService.join(1L);
+
+    assertThatThrownBy(() -> admissionService.getToken(1L, "missing"))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+}
@@ -0,0 +1,137 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.dto.showtime.ShowtimeResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeService;
+import dev.genesshoan.cinema_rest_api.service.TicketService;
+import dev.genesshoan.cinema_rest_api.showtime.ShowtimeFixture;
+
+/**
+ * Integration tests for general admission showtimes.
+ *
+ * Sales run against H2 so that the conditional capacity update is checked
+ * by a real database, including under concurrent buyers.
+ */
+@IntegrationTest
+public class GeneralAdmissionTest {
+  @Autowired
+  private TicketService ticketService;
+
+  @Autowired
+  private ShowtimeService showtimeService;
+
+  @Autowired
+  private ShowtimeFixture showtimeFixture;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Verifies that a general admission showtime has its room's capacity and
+   * no seat rows, and that sales and cancellations move its counter.
+   */
+  @Test
+  @DisplayName("general admission - sell and cancel: should track the counter without seats")
+  void sellGeneralAdmission_ShouldClaimCapacityWithoutSeats() {
+    ShowtimeResponseDTO showtime = showtimeFixture.createShowtime("GA", 2, 5, true);
+
+    assertThat(showtime.generalAdmission()).isTrue();
+    assertThat(showtime.capacity()).isEqualTo(10);
+    assertThat(countRows("seats", showtime.id())).isZero();
+
+    TicketSaleResponseDTO sale = ticketService.sellGeneralAdmission(
+        new TicketSaleRequestDTO(showtime.id(), 3, "A"));
+
+    assertThat(sale.totalTickets()).isEqualTo(3);
+    assertThat(sale.totalPrice()).isEqualByComparingTo("15.00");
+    assertThat(sale.tickets()).allSatisfy(ticket -> {
+      assertThat(ticket.rowNumber()).isNull();
+      assertThat(ticket.title()).startsWith("GA ");
+    });
+    assertThat(showtimeService.getShowtimeById(showtime.id()).soldSeats()).isEqualTo(3);
+    assertThat(countRows("seats", showtime.id())).isZero();
+
+    long ticketId = jdbcTemplate.queryForObject(
+        "SELECT MIN(id) FROM tickets WHERE showtime_id = ?", Long.class, showtime.id());
+    ticketService.cancelTicket(ticketId);
+
+    assertThat(showtimeService.getShowtimeById(showtime.id()).soldSeats()).isEqualTo(2);
+    assertThat(showtimeService.reconcileSeatCounters(showtime.id()).soldSeats()).isEqualTo(2);
+  }
+
+  /**
+   * Verifies that a sale asking for more tickets than are left sells none,
+   * even when concurrent buyers race for the last tickets.
+   */
+  @Test
+  @DisplayName("general admission - concurrent buyers: should never oversell")
+  void sellGeneralAdmission_WhenConcurrent_ShouldNotOversell() throws Exception {
+    long showtimeId = showtimeFixture.createShowtime("GA", 2, 5, true).id();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Boolean>> results = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < 16; i++) {
+        results.add(executor.submit(() -> {
+          try {
+            ticketService.sellGeneralAdmission(new TicketSaleRequestDTO(showtimeId, 2, "Buyer"));
+            return true;
+          } catch (SeatNotAvailableException e) {
+            return false;
+          }
+        }));
+      }
+
+      int sold = 0;
+
+      for (Future<Boolean> result : results) {
+        sold += result.get() ? 1 : 0;
+      }
+
+      assertThat(sold).isEqualTo(5);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(showtimeService.getShowtimeById(showtimeId).soldSeats()).isEqualTo(10);
+    assertThat(countRows("tickets", showtimeId)).isEqualTo(10);
+    assertThatThrownBy(() -> ticketService.sellGeneralAdmission(new TicketSaleRequestDTO(showtimeId, 1, "Late")))
+        .isInstanceOf(SeatNotAvailableException.class);
+  }
+
+  /**
+   * Verifies that a quantity is rejected for a showtime with assigned
+   * seating.
+   */
+  @Test
+  @DisplayName("general admission - seated showtime: should reject a quantity")
+  void sellGeneralAdmission_WhenSeated_ShouldReject() {
+    long showtimeId = showtimeFixture.createShowtime("GA", 2, 5, false).id();
+
+    assertThatThrownBy(() -> ticketService.sellGeneralAdmission(new TicketSaleRequestDTO(showtimeId, 1, "A")))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+
+  private int countRows(String table, long showtimeId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM " + table + " WHERE showtime_id = ?", Integer.class, showtimeId);
+  }
+}
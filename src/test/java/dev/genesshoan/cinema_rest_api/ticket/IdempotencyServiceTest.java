@@ -0,0 +1,239 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.entity.IdempotencyRecord;
+import dev.genesshoan.cinema_rest_api.entity.IdempotentOperation;
+import dev.genesshoan.cinema_rest_api.exception.InvalidRequestException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.repository.IdempotencyRecordRepository;
+import dev.genesshoan.cinema_rest_api.service.IdempotencyService;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Unit tests for {@link IdempotencyService}.
+ *
+ * The durable table is mocked; responses are serialized with a real JSON
+ * mapper so that replays from the table are covered.
+ */
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+  @Mock
+  private IdempotencyRecordRepository idempotencyRecordRepository;
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  private IdempotencyService idempotencyService;
+
+  private final TicketSaleRequestDTO request = new TicketSaleRequestDTO(1L, List.of(1L), "A");
+
+  private final TicketSaleResponseDTO response = new TicketSaleResponseDTO(new BigDecimal("5.00"), 1,
+      List.of(new TicketResponseDTO("A", "Movie", 1, 1, LocalDateTime.of(2030, 1, 1, 9, 0),
+          LocalDateTime.of(2030, 1, 1, 10, 0))));
+
+  @BeforeEach
+  void setUp() {
+    idempotencyService = new IdempotencyService(idempotencyRecordRepository, jsonMapper);
+    ReflectionTestUtils.setField(idempotencyService, "cacheSize", 10);
+    ReflectionTestUtils.setField(idempotencyService, "retentionHours", 24L);
+    ReflectionTestUtils.invokeMethod(idempotencyService, "start");
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.invokeMethod(idempotencyService, "shutdown");
+  }
+
+  /**
+   * Verifies that a duplicate arriving while the original runs waits for the
+   * original instead of running the sale again.
+   */
+  @Test
+  @DisplayName("execute - duplicate in flight: should wait on the original")
+  void execute_WhenDuplicateInFlight_ShouldShareOriginal() throws Exception {
+    CompletableFuture<TicketSaleResponseDTO> running = new CompletableFuture<>();
+    AtomicInteger runs = new AtomicInteger();
+
+    CompletableFuture<TicketSaleResponseDTO> first = execute("key", request, () -> {
+      runs.incrementAndGet();
+      return running;
+    });
+    CompletableFuture<TicketSaleResponseDTO> second = execute("key", request, () -> {
+      runs.incrementAndGet();
+      return running;
+    });
+
+    assertThat(second).isNotDone();
+    running.complete(response);
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(runs.get()).isEqualTo(1);
+    verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+  }
+
+  /**
+   * Verifies that a retry after the original completed is answered from the
+   * cache without running the sale.
+   */
+  @Test
+  @DisplayName("execute - completed key: should return the stored response")
+  void execute_WhenCompleted_ShouldReplay() throws Exception {
+    execute("key", request, () -> CompletableFuture.completedFuture(response)).get(5, TimeUnit.SECONDS);
+
+    TicketSaleResponseDTO replayed = execute("key", request, () -> {
+      throw new AssertionError("sale must not run twice");
+    }).get(5, TimeUnit.SECONDS);
+
+    assertThat(replayed).isSameAs(response);
+    verify(idempotencyRecordRepository, times(1)).findById("key");
+  }
+
+  /**
+   * Verifies that a key found only in the durable table is answered with the
+   * stored JSON response.
+   */
+  @Test
+  @DisplayName("execute - key in table only: should return the stored response")
+  void execute_WhenOnlyInTable_ShouldReplayStoredJson() throws Exception {
+    execute("other", request, () -> CompletableFuture.completedFuture(response)).get(5, TimeUnit.SECONDS);
+    ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+    verify(idempotencyRecordRepository).save(saved.capture());
+    IdempotencyRecord record = new IdempotencyRecord("key", IdempotentOperation.SALE,
+        saved.getValue().getRequestFingerprint(), jsonMapper.writeValueAsString(response), LocalDateTime.now());
+    when(idempotencyRecordRepository.findById("key")).thenReturn(Optional.of(record));
+
+    TicketSaleResponseDTO replayed = execute("key", request, () -> {
+      throw new AssertionError("sale must not run twice");
+    }).get(5, TimeUnit.SECONDS);
+
+    assertThat(replayed).isEqualTo(response);
+  }
+
+  /**
+   * Verifies that a key reused for a different request is rejected.
+   */
+  @Test
+  @DisplayName("execute - key reused for another request: should throw InvalidRequestException")
+  void execute_WhenKeyReused_ShouldReject() throws Exception {
+    execute("key", request, () -> CompletableFuture.completedFuture(response)).get(5, TimeUnit.SECONDS);
+    TicketSaleRequestDTO other = new TicketSaleRequestDTO(1L, List.of(2L), "A");
+
+    assertThatThrownBy(() -> execute("key", other, () -> CompletableFuture.completedFuture(response)))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+
+  /**
+   * Verifies that the request fingerprint is taken from the JSON form of the
+   * request, not from its {@code toString}.
+   */
+  @Test
+  @DisplayName("execute - recorded fingerprint: should hash the operation and the JSON request")
+  void execute_ShouldFingerprintJsonRequest() throws Exception {
+    execute("key", request, () -> CompletableFuture.completedFuture(response)).get(5, TimeUnit.SECONDS);
+    ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+    verify(idempotencyRecordRepository).save(saved.capture());
+
+    byte[] digest = MessageDigest.getInstance("SHA-256")
+        .digest(("SALE:" + jsonMapper.writeValueAsString(request)).getBytes(StandardCharsets.UTF_8));
+
+    assertThat(saved.getValue().getRequestFingerprint()).isEqualTo(HexFormat.of().formatHex(digest));
+  }
+
+  /**
+   * Verifies that a failed request is not recorded, so a retry runs again.
+   */
+  @Test
+  @DisplayName("execute - failed original: should run the retry")
+  void execute_WhenOriginalFailed_ShouldRunRetry() throws Exception {
+    CompletableFuture<TicketSaleResponseDTO> failed = execute("key", request,
+        () -> CompletableFuture.failedFuture(new SeatNotAvailableException("taken")));
+
+    assertThat(failed).failsWithin(5, TimeUnit.SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(SeatNotAvailableException.class);
+
+    assertThat(execute("key", request, () -> CompletableFuture.completedFuture(response))
+        .get(5, TimeUnit.SECONDS)).isSameAs(response);
+    verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+  }
+
+  /**
+   * Verifies that a record that cannot be stored still completes the original
+   * and releases the key, so a retry is answered instead of hanging.
+   */
+  @Test
+  @DisplayName("execute - record not stored: should complete the original and its retries")
+  void execute_WhenRecordFails_ShouldStillComplete() throws Exception {
+    when(idempotencyRecordRepository.save(any(IdempotencyRecord.class)))
+        .thenThrow(new CannotCreateTransactionException("pool exhausted"));
+
+    assertThat(execute("key", request, () -> CompletableFuture.completedFuture(response))
+        .get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(execute("key", request, () -> {
+      throw new AssertionError("sale must not run twice");
+    }).get(5, TimeUnit.SECONDS)).isSameAs(response);
+  }
+
+  /**
+   * Verifies that the record is written off the thread that completed the
+   * operation, which is the seat lane of the showtime for sales.
+   */
+  @Test
+  @DisplayName("execute - completed operation: should store the record on another thread")
+  void execute_WhenCompleted_ShouldStoreOffCompletingThread() throws Exception {
+    CompletableFuture<TicketSaleResponseDTO> running = new CompletableFuture<>();
+    AtomicReference<Thread> writer = new AtomicReference<>();
+    doAnswer(invocation -> {
+      writer.set(Thread.currentThread());
+      return invocation.getArgument(0);
+    }).when(idempotencyRecordRepository).save(any(IdempotencyRecord.class));
+
+    CompletableFuture<TicketSaleResponseDTO> sale = execute("key", request, () -> running);
+    running.complete(response);
+
+    assertThat(sale.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(writer.get()).isNotNull().isNotSameAs(Thread.currentThread());
+  }
+
+  private CompletableFuture<TicketSaleResponseDTO> execute(String key, TicketSaleRequestDTO requestDTO,
+      Supplier<CompletableFuture<TicketSaleResponseDTO>> action) {
+    return idempotencyService.execute(key, IdempotentOperation.SALE, requestDTO, TicketSaleResponseDTO.class,
+        action);
+  }
+}
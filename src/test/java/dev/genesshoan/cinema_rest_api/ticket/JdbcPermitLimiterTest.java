@@ -0,0 +1,128 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.genesshoan.cinema_rest_api.dto.movie.MovieRequestDTO;
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import dev.genesshoan.cinema_rest_api.service.JdbcPermitLimiter;
+import dev.genesshoan.cinema_rest_api.service.MovieService;
+import dev.genesshoan.cinema_rest_api.service.SeatService;
+
+/**
+ * Unit tests for {@link JdbcPermitLimiter}.
+ *
+ * The limiter is applied to a plain proxy so that permits can be observed
+ * without a transaction manager.
+ */
+public class JdbcPermitLimiterTest {
+
+  private JdbcPermitLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    limiter = new JdbcPermitLimiter();
+    ReflectionTestUtils.setField(limiter, "permitCount", 1);
+    ReflectionTestUtils.setField(limiter, "permitTimeoutMs", 50L);
+    ReflectionTestUtils.invokeMethod(limiter, "start");
+  }
+
+  /**
+   * Verifies that a nested transactional call runs on the permit of the
+   * outermost call instead of waiting for a second one.
+   */
+  @Test
+  @DisplayName("invoke - nested call: should reuse the outer permit")
+  void invoke_WhenNested_ShouldReuseOuterPermit() throws Throwable {
+    Work work = proxy(new Work() {
+      @Override
+      public int run(Work self) {
+        return self == null ? limiter.getInUse() : self.run(null) + 1;
+      }
+    });
+
+    assertThat(work.run(work)).isEqualTo(2);
+    assertThat(limiter.getInUse()).isZero();
+    assertThat(limiter.getAcquired()).isEqualTo(1);
+  }
+
+  /**
+   * Verifies that a caller is rejected once every permit is held for longer
+   * than the permit timeout.
+   */
+  @Test
+  @DisplayName("invoke - permits exhausted: should throw QueueFullException")
+  void invoke_WhenExhausted_ShouldReject() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Work blocking = proxy(self -> {
+      started.countDown();
+      await(release);
+      return 0;
+    });
+
+    CompletableFuture<Integer> running = CompletableFuture.supplyAsync(() -> blocking.run(null));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> proxy(self -> 1).run(null))
+        .isInstanceOf(QueueFullException.class);
+    assertThat(limiter.getRejected()).isEqualTo(1);
+
+    release.countDown();
+    assertThat(running.get(5, TimeUnit.SECONDS)).isZero();
+  }
+
+  /**
+   * Verifies that only read-write transactions of the services take a
+   * permit, so reads never queue behind sales.
+   */
+  @Test
+  @DisplayName("getPointcut - service methods: should match read-write transactions only")
+  void getPointcut_ShouldMatchWriteTransactionsOnly() throws Exception {
+    MethodMatcher matcher = limiter.getPointcut().getMethodMatcher();
+
+    assertThat(matcher.matches(MovieService.class.getMethod("createMovie", MovieRequestDTO.class),
+        MovieService.class)).isTrue();
+    assertThat(matcher.matches(MovieService.class.getMethod("getMovieById", long.class),
+        MovieService.class)).isFalse();
+    assertThat(matcher.matches(SeatService.class.getMethod("getSeatMap", long.class),
+        SeatService.class)).isFalse();
+    assertThat(matcher.matches(Work.class.getMethod("run", Work.class), Work.class)).isFalse();
+  }
+
+  private Work proxy(Work target) {
+    ProxyFactory factory = new ProxyFactory(target);
+    factory.addInterface(Work.class);
+    factory.addAdvice(limiter);
+    return (Work) factory.getProxy();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stand-in for a transactional service method.
+   */
+  @FunctionalInterface
+  interface Work {
+    @Transactional
+    int run(Work self);
+  }
+}
@@ -0,0 +1,191 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.exception.LockConflictException;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.repository.LockWaitPolicy;
+import dev.genesshoan.cinema_rest_api.repository.RowLockPolicy;
+import dev.genesshoan.cinema_rest_api.repository.SeatRepository;
+import dev.genesshoan.cinema_rest_api.repository.TicketRepository;
+import dev.genesshoan.cinema_rest_api.service.TicketService;
+import dev.genesshoan.cinema_rest_api.showtime.ShowtimeFixture;
+
+/**
+ * Integration tests for the lock wait policies of {@link RowLockPolicy}.
+ *
+ * A second transaction holds the row locks a sale or cancellation needs
+ * while the request runs, so the request meets a locked row on a real
+ * database (H2) and must fail fast or skip it instead of waiting.
+ */
+@IntegrationTest
+@TestPropertySource(properties = {
+    "cinema.seats.claim-strategy=PESSIMISTIC",
+    "cinema.locks.seats.wait-policy=NOWAIT",
+    "cinema.locks.tickets.wait-policy=NOWAIT",
+    "cinema.locks.wait-timeout-ms=-1"
+})
+public class RowLockPolicyTest {
+  @Autowired
+  private TicketService ticketService;
+
+  @Autowired
+  private TicketRepository ticketRepository;
+
+  @Autowired
+  private SeatRepository seatRepository;
+
+  @Autowired
+  private ShowtimeFixture showtimeFixture;
+
+  @Autowired
+  private RowLockPolicy rowLockPolicy;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private long showtimeId;
+  private List<Long> seatIds;
+
+  @BeforeEach
+  void setUp() {
+    showtimeId = showtimeFixture.createShowtime("Locks", 4, 10);
+    seatIds = showtimeFixture.seatIds(showtimeId);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.setField(rowLockPolicy, "seatPolicy", LockWaitPolicy.NOWAIT);
+    ReflectionTestUtils.setField(rowLockPolicy, "ticketPolicy", LockWaitPolicy.NOWAIT);
+  }
+
+  /**
+   * Verifies that a sale meeting a seat locked by another transaction fails
+   * at once with NOWAIT, and that the seat can be sold once the lock is gone.
+   */
+  @Test
+  @DisplayName("sale - NOWAIT on locked seat: should fail fast with a lock conflict")
+  void sellTicket_WhenSeatLockedAndNoWait_ShouldConflict() throws Exception {
+    List<Long> seats = seatIds.subList(0, 2);
+    long conflicts = rowLockPolicy.getStats().seats().conflicts();
+
+    whileLocked(() -> seatRepository.findAvailableByIdsForUpdate(showtimeId, seats.subList(1, 2)),
+        () -> assertThatThrownBy(() -> ticketService.sellTicket(new TicketSaleRequestDTO(showtimeId, seats, "B")))
+            .isInstanceOf(LockConflictException.class));
+
+    assertThat(rowLockPolicy.getStats().seats().conflicts()).isEqualTo(conflicts + 1);
+    assertThat(ticketService.sellTicket(new TicketSaleRequestDTO(showtimeId, seats, "B")).totalTickets())
+        .isEqualTo(2);
+  }
+
+  /**
+   * Verifies that with SKIP_LOCKED a locked seat is treated as unavailable
+   * and counted as skipped.
+   */
+  @Test
+  @DisplayName("sale - SKIP_LOCKED on locked seat: should report the seat as not available")
+  void sellTicket_WhenSeatLockedAndSkipLocked_ShouldReportUnavailable() throws Exception {
+    ReflectionTestUtils.setField(rowLockPolicy, "seatPolicy", LockWaitPolicy.SKIP_LOCKED);
+    List<Long> seats = seatIds.subList(0, 2);
+    long skipped = rowLockPolicy.getStats().seats().skipped();
+
+    whileLocked(() -> seatRepository.findAvailableByIdsForUpdate(showtimeId, seats.subList(0, 1)),
+        () -> assertThatThrownBy(() -> ticketService.sellTicket(new TicketSaleRequestDTO(showtimeId, seats, "B")))
+            .isInstanceOf(SeatNotAvailableException.class));
+
+    assertThat(rowLockPolicy.getStats().seats().skipped()).isEqualTo(skipped + 1);
+  }
+
+  /**
+   * Verifies that with SKIP_LOCKED a seat left out because it was already
+   * sold is not counted as skipped.
+   */
+  @Test
+  @DisplayName("seat lock - SKIP_LOCKED on sold seat: should not count a skip")
+  void findAvailableByIdsForUpdate_WhenSeatSoldAndSkipLocked_ShouldNotCountSkip() {
+    ReflectionTestUtils.setField(rowLockPolicy, "seatPolicy", LockWaitPolicy.SKIP_LOCKED);
+    List<Long> seats = seatIds.subList(0, 2);
+    ticketService.sellTicket(new TicketSaleRequestDTO(showtimeId, seats.subList(0, 1), "A"));
+    long skipped = rowLockPolicy.getStats().seats().skipped();
+
+    List<?> locked = transactionTemplate.execute(
+        status -> seatRepository.findAvailableByIdsForUpdate(showtimeId, seats));
+
+    assertThat(locked).hasSize(1);
+    assertThat(rowLockPolicy.getStats().seats().skipped()).isEqualTo(skipped);
+  }
+
+  /**
+   * Verifies that cancelling a ticket locked by another transaction fails
+   * fast with NOWAIT and with SKIP_LOCKED, rather than reporting the ticket
+   * as missing.
+   */
+  @Test
+  @DisplayName("cancel - locked ticket: should fail fast with a lock conflict for NOWAIT and SKIP_LOCKED")
+  void cancelTicket_WhenTicketLocked_ShouldConflict() throws Exception {
+    long seatId = seatIds.getFirst();
+    ticketService.sellTicket(new TicketSaleRequestDTO(showtimeId, List.of(seatId), "A"));
+    long ticketId = ticketRepository.findAll().stream()
+        .filter(ticket -> ticket.getSeat().getId() == seatId)
+        .findFirst()
+        .orElseThrow()
+        .getId();
+
+    whileLocked(() -> ticketRepository.findByIdForUpdate(ticketId),
+        () -> assertThatThrownBy(() -> ticketService.cancelTicket(ticketId))
+            .isInstanceOf(LockConflictException.class));
+
+    ReflectionTestUtils.setField(rowLockPolicy, "ticketPolicy", LockWaitPolicy.SKIP_LOCKED);
+
+    whileLocked(() -> ticketRepository.findByIdForUpdate(ticketId),
+        () -> assertThatThrownBy(() -> ticketService.consumeTicket(ticketId))
+            .isInstanceOf(LockConflictException.class));
+
+    ticketService.cancelTicket(ticketId);
+  }
+
+  /**
+   * Runs a check while another thread keeps a transaction open that holds
+   * the locks taken by the given action.
+   */
+  private void whileLocked(Runnable lock, Runnable check) throws Exception {
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+        status -> {
+          lock.run();
+          locked.countDown();
+
+          try {
+            done.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }));
+
+    try {
+      assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+      check.run();
+    } finally {
+      done.countDown();
+      holder.get(10, TimeUnit.SECONDS);
+    }
+  }
+}
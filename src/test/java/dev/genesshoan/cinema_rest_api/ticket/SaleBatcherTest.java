@@ -0,0 +1,203 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.genesshoan.cinema_rest_api.dto.metrics.GroupCommitStatsDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.exception.SeatNotAvailableException;
+import dev.genesshoan.cinema_rest_api.service.SaleBatcher;
+import dev.genesshoan.cinema_rest_api.service.SaleOutcome;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSalePermits;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSequencer;
+import dev.genesshoan.cinema_rest_api.service.TicketService;
+
+/**
+ * Unit tests for {@link SaleBatcher}.
+ *
+ * The sequencer is disabled so that batches are sold on the thread closing
+ * them; {@link TicketService} is mocked to observe how requests are grouped
+ * and how outcomes are handed back to each caller.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SaleBatcherTest {
+
+  @Mock
+  private TicketService ticketService;
+
+  private SaleBatcher saleBatcher;
+
+  private final TicketSaleResponseDTO response = new TicketSaleResponseDTO(new BigDecimal("5.00"), 1, List.of());
+
+  @BeforeEach
+  void setUp() {
+    ShowtimeSequencer sequencer = new ShowtimeSequencer();
+    ReflectionTestUtils.setField(sequencer, "enabled", false);
+
+    ShowtimeSalePermits salePermits = new ShowtimeSalePermits();
+    ReflectionTestUtils.setField(salePermits, "maxConcurrent", 2);
+    ReflectionTestUtils.setField(salePermits, "permitTimeoutMs", 1000L);
+
+    saleBatcher = new SaleBatcher(ticketService, sequencer, salePermits);
+    ReflectionTestUtils.setField(saleBatcher, "enabled", true);
+    ReflectionTestUtils.setField(saleBatcher, "windowMicros", 60_000_000L);
+    ReflectionTestUtils.setField(saleBatcher, "maxBatchSize", 3);
+    ReflectionTestUtils.invokeMethod(saleBatcher, "start");
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.invokeMethod(saleBatcher, "shutdown");
+  }
+
+  /**
+   * Verifies that requests for one showtime are sold as one batch once the
+   * batch is full, and that each caller receives its own outcome.
+   */
+  @Test
+  @DisplayName("submit - full batch: should sell requests together with per-request outcomes")
+  void submit_WhenBatchFull_ShouldSellTogether() throws Exception {
+    TicketSaleRequestDTO first = new TicketSaleRequestDTO(1L, List.of(1L), "A");
+    TicketSaleRequestDTO second = new TicketSaleRequestDTO(1L, List.of(1L), "B");
+    TicketSaleRequestDTO third = new TicketSaleRequestDTO(1L, List.of(2L), "C");
+    when(ticketService.sellBatch(1L, List.of(first, second, third))).thenReturn(List.of(
+        SaleOutcome.sold(response),
+        SaleOutcome.failed(new SeatNotAvailableException("taken")),
+        SaleOutcome.sold(response)));
+
+    CompletableFuture<TicketSaleResponseDTO> a = saleBatcher.submit(first);
+    CompletableFuture<TicketSaleResponseDTO> b = saleBatcher.submit(second);
+    CompletableFuture<TicketSaleResponseDTO> c = saleBatcher.submit(third);
+
+    assertThat(a.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(c.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(b).failsWithin(5, TimeUnit.SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(SeatNotAvailableException.class);
+
+    GroupCommitStatsDTO stats = saleBatcher.getStats();
+    assertThat(stats.batches()).isEqualTo(1);
+    assertThat(stats.maxBatchSize()).isEqualTo(3);
+    assertThat(stats.batchSizes()).containsEntry("2-3", 1L);
+  }
+
+  /**
+   * Verifies that a batch that is not full is sold at the end of its window.
+   */
+  @Test
+  @DisplayName("submit - window elapsed: should sell a partial batch")
+  void submit_WhenWindowElapses_ShouldSellPartialBatch() throws Exception {
+    ReflectionTestUtils.setField(saleBatcher, "windowMicros", 1000L);
+    TicketSaleRequestDTO request = new TicketSaleRequestDTO(1L, List.of(1L), "A");
+    when(ticketService.sellBatch(1L, List.of(request))).thenReturn(List.of(SaleOutcome.sold(response)));
+
+    assertThat(saleBatcher.submit(request).get(5, TimeUnit.SECONDS)).isSameAs(response);
+  }
+
+  /**
+   * Verifies that a batch rolled back as a whole is replayed one request at
+   * a time.
+   */
+  @Test
+  @DisplayName("submit - batch rolled back: should sell each request on its own")
+  void submit_WhenBatchFails_ShouldFallBackToSingleSales() throws Exception {
+    ReflectionTestUtils.setField(saleBatcher, "maxBatchSize", 2);
+    TicketSaleRequestDTO first = new TicketSaleRequestDTO(1L, List.of(1L), "A");
+    TicketSaleRequestDTO second = new TicketSaleRequestDTO(1L, List.of(2L), "B");
+    when(ticketService.sellBatch(anyLong(), anyList())).thenThrow(new SeatNotAvailableException("stale"));
+    when(ticketService.sellTicket(first)).thenReturn(response);
+    when(ticketService.sellTicket(second)).thenThrow(new SeatNotAvailableException("taken"));
+
+    CompletableFuture<TicketSaleResponseDTO> a = saleBatcher.submit(first);
+    CompletableFuture<TicketSaleResponseDTO> b = saleBatcher.submit(second);
+
+    assertThat(a.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    assertThat(b).failsWithin(5, TimeUnit.SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(SeatNotAvailableException.class);
+    assertThat(saleBatcher.getStats().fallbacks()).isEqualTo(1);
+  }
+
+  /**
+   * Verifies that sales are not batched when group commit is disabled.
+   */
+  @Test
+  @DisplayName("submit - disabled: should sell each request on its own")
+  void submit_WhenDisabled_ShouldNotBatch() throws Exception {
+    ReflectionTestUtils.setField(saleBatcher, "enabled", false);
+    TicketSaleRequestDTO request = new TicketSaleRequestDTO(1L, List.of(1L), "A");
+    when(ticketService.sellTicket(request)).thenReturn(response);
+
+    assertThat(saleBatcher.submit(request).get(5, TimeUnit.SECONDS)).isSameAs(response);
+    verify(ticketService, never()).sellBatch(anyLong(), anyList());
+  }
+
+  /**
+   * Verifies that sales serialized on a sequencer lane do not take a permit
+   * of their showtime, so they never wait for one.
+   */
+  @Test
+  @DisplayName("submit - sequencer enabled: should sell without a showtime permit")
+  void submit_WhenSequenced_ShouldNotTakeShowtimePermit() throws Exception {
+    ShowtimeSequencer sequencer = new ShowtimeSequencer();
+    ReflectionTestUtils.setField(sequencer, "enabled", true);
+    ReflectionTestUtils.setField(sequencer, "workerCount", 1);
+    ReflectionTestUtils.setField(sequencer, "queueCapacity", 16);
+    ReflectionTestUtils.invokeMethod(sequencer, "start");
+
+    ShowtimeSalePermits salePermits = new ShowtimeSalePermits();
+    ReflectionTestUtils.setField(salePermits, "maxConcurrent", 1);
+    ReflectionTestUtils.setField(salePermits, "permitTimeoutMs", 50L);
+
+    CountDownLatch holding = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Object> generalAdmission = CompletableFuture.supplyAsync(() -> salePermits.call(1L, () -> {
+      holding.countDown();
+      await(release);
+      return null;
+    }));
+    assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+    SaleBatcher sequenced = new SaleBatcher(ticketService, sequencer, salePermits);
+    TicketSaleRequestDTO request = new TicketSaleRequestDTO(1L, List.of(1L), "A");
+    when(ticketService.sellTicket(request)).thenReturn(response);
+
+    try {
+      assertThat(sequenced.submit(request).get(5, TimeUnit.SECONDS)).isSameAs(response);
+      assertThat(salePermits.getRejected()).isZero();
+    } finally {
+      release.countDown();
+      generalAdmission.get(5, TimeUnit.SECONDS);
+      ReflectionTestUtils.invokeMethod(sequencer, "shutdown");
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
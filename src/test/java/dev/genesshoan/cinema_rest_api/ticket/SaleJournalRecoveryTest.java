@@ -0,0 +1,340 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.repository.ShowtimeRepository;
+import dev.genesshoan.cinema_rest_api.service.JournaledSale;
+import dev.genesshoan.cinema_rest_api.service.JournaledSaleService;
+import dev.genesshoan.cinema_rest_api.service.SaleJournal;
+import dev.genesshoan.cinema_rest_api.service.SeatInventoryService;
+import dev.genesshoan.cinema_rest_api.service.TicketService;
+import dev.genesshoan.cinema_rest_api.showtime.ShowtimeFixture;
+
+/**
+ * Crash recovery tests for {@link JournaledSaleService}.
+ *
+ * The application context runs with the journal disabled; each test builds
+ * its own service on a temporary journal directory and starts and stops it
+ * to play the part of an application restart. A crash after a sale was
+ * acknowledged but before it reached the database is reproduced either by
+ * writing the journal directly or by running the service against a
+ * {@link TicketService} that cannot reach the database.
+ */
+@IntegrationTest
+public class SaleJournalRecoveryTest {
+  @Autowired
+  private TicketService ticketService;
+
+  @Autowired
+  private SeatInventoryService seatInventoryService;
+
+  @Autowired
+  private ShowtimeRepository showtimeRepository;
+
+  @Autowired
+  private ShowtimeFixture showtimeFixture;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @TempDir
+  private Path directory;
+
+  private String journalName;
+  private long showtimeId;
+  private List<Long> seatIds;
+
+  @BeforeEach
+  void setUp() {
+    showtimeId = showtimeFixture.createShowtime("Recovery", 4, 10);
+    journalName = "recovery-" + showtimeId;
+    seatIds = showtimeFixture.seatIds(showtimeId);
+  }
+
+  /**
+   * Verifies that sales acknowledged before a crash are applied on the next
+   * start, and that further restarts apply nothing twice.
+   */
+  @Test
+  @DisplayName("start - acknowledged unapplied sales: should apply each exactly once")
+  void start_WithUnappliedSales_ShouldApplyExactlyOnce() throws Exception {
+    try (SaleJournal journal = openRawJournal()) {
+      append(journal, seatIds.subList(0, 2), "Ada").get(5, TimeUnit.SECONDS);
+      append(journal, seatIds.subList(2, 3), "Grace").get(5, TimeUnit.SECONDS);
+      append(journal, seatIds.subList(3, 6), "Linus").get(5, TimeUnit.SECONDS);
+    }
+
+    for (int restart = 0; restart < 3; restart++) {
+      JournaledSaleService service = newService(ticketService);
+      start(service);
+      stop(service);
+
+      assertThat(ticketCount()).isEqualTo(6);
+      assertThat(soldSeatCounter()).isEqualTo(6);
+      assertThat(ticketService.getJournalCheckpoint(journalName)).isEqualTo(3);
+    }
+
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM tickets t JOIN seats s ON t.seat_id = s.id WHERE s.showtime_id = ? AND t.customer_name = 'Linus' AND t.price = 7.50",
+        Long.class, showtimeId)).isEqualTo(3);
+    assertThat(seatInventoryService.getInventory(showtimeId).availableCount()).isEqualTo(seatIds.size() - 6);
+  }
+
+  /**
+   * Verifies that a record torn by the crash is ignored, since it was never
+   * acknowledged, while the sales before it are applied.
+   */
+  @Test
+  @DisplayName("start - torn journal tail: should apply the acknowledged sales only")
+  void start_WithTornTail_ShouldIgnoreTornRecord() throws Exception {
+    try (SaleJournal journal = openRawJournal()) {
+      append(journal, seatIds.subList(0, 1), "Ada").get(5, TimeUnit.SECONDS);
+      append(journal, seatIds.subList(1, 2), "Grace").get(5, TimeUnit.SECONDS);
+    }
+
+    Path segment = segments().getFirst();
+
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      long offset = 0;
+
+      for (int record = 0; record < 2; record++) {
+        file.seek(offset);
+        offset += 2 * Integer.BYTES + file.readInt();
+      }
+
+      file.seek(offset);
+      file.writeInt(60);
+      file.writeInt(0xbad);
+      file.writeLong(3);
+    }
+
+    JournaledSaleService service = newService(ticketService);
+    start(service);
+    stop(service);
+
+    assertThat(ticketCount()).isEqualTo(2);
+    assertThat(ticketService.getJournalCheckpoint(journalName)).isEqualTo(2);
+  }
+
+  /**
+   * Verifies that a journaled sale whose seat was meanwhile sold through the
+   * database is skipped instead of blocking the sales after it.
+   */
+  @Test
+  @DisplayName("start - sale conflicting with the database: should skip it and apply the rest")
+  void start_WithConflictingSale_ShouldSkipIt() throws Exception {
+    try (SaleJournal journal = openRawJournal()) {
+      append(journal, seatIds.subList(0, 1), "Ada").get(5, TimeUnit.SECONDS);
+      append(journal, seatIds.subList(1, 2), "Grace").get(5, TimeUnit.SECONDS);
+    }
+
+    ticketService.sellTicket(new TicketSaleRequestDTO(showtimeId, seatIds.subList(0, 1), "Other"));
+
+    JournaledSaleService service = newService(ticketService);
+    start(service);
+
+    assertThat(service.getStats().conflicts()).isEqualTo(1);
+    stop(service);
+
+    assertThat(ticketCount()).isEqualTo(2);
+    assertThat(soldSeatCounter()).isEqualTo(2);
+    assertThat(ticketService.getJournalCheckpoint(journalName)).isEqualTo(2);
+  }
+
+  /**
+   * Verifies that concurrent sales acknowledged while the database was
+   * unreachable are all recovered after a restart, with no seat sold twice
+   * and no acknowledged sale lost.
+   */
+  @Test
+  @DisplayName("start - concurrent sales acknowledged before a crash: should lose and duplicate nothing")
+  void start_AfterConcurrentSales_ShouldMatchAcknowledgements() throws Exception {
+    TicketService unreachable = mock(TicketService.class);
+    when(unreachable.getJournalCheckpoint(anyString()))
+        .thenAnswer(invocation -> ticketService.getJournalCheckpoint(invocation.getArgument(0)));
+    doThrow(new CannotCreateTransactionException("database unreachable"))
+        .when(unreachable).applyJournaledSales(anyString(), anyList());
+
+    JournaledSaleService crashing = newService(unreachable);
+    start(crashing);
+
+    ExecutorService buyers = Executors.newFixedThreadPool(8);
+    List<CompletableFuture<TicketSaleResponseDTO>> sales = new ArrayList<>();
+
+    for (int i = 0; i < 200; i++) {
+      int first = ThreadLocalRandom.current().nextInt(seatIds.size() - 1);
+      TicketSaleRequestDTO request = new TicketSaleRequestDTO(showtimeId,
+          seatIds.subList(first, first + 1 + ThreadLocalRandom.current().nextInt(2)), "Buyer " + i);
+
+      sales.add(CompletableFuture.supplyAsync(() -> crashing.submit(request), buyers)
+          .thenCompose(future -> future));
+    }
+
+    int acknowledgedSeats = 0;
+
+    for (CompletableFuture<TicketSaleResponseDTO> sale : sales) {
+      try {
+        acknowledgedSeats += sale.get(10, TimeUnit.SECONDS).totalTickets();
+      } catch (Exception e) {
+        // seat taken by another buyer
+      }
+    }
+
+    buyers.shutdown();
+    stop(crashing);
+
+    assertThat(acknowledgedSeats).isPositive();
+    assertThat(ticketCount()).isZero();
+
+    JournaledSaleService restarted = newService(ticketService);
+    start(restarted);
+    stop(restarted);
+
+    assertThat(ticketCount()).isEqualTo(acknowledgedSeats);
+    assertThat(soldSeatCounter()).isEqualTo(acknowledgedSeats);
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(DISTINCT t.seat_id) FROM tickets t JOIN seats s ON t.seat_id = s.id WHERE s.showtime_id = ?",
+        Long.class, showtimeId)).isEqualTo(acknowledgedSeats);
+    assertThat(seatInventoryService.getInventory(showtimeId).availableCount())
+        .isEqualTo(seatIds.size() - acknowledgedSeats);
+  }
+
+  /**
+   * Verifies that sales stay taken while the inventory is evicted and
+   * reloaded concurrently with the buyers and the applier, so no seat is
+   * acknowledged twice and no acknowledged sale conflicts when applied.
+   */
+  @Test
+  @DisplayName("submit - concurrent evictions and reloads: should acknowledge each seat once")
+  void submit_WithConcurrentReloads_ShouldAcknowledgeEachSeatOnce() throws Exception {
+    JournaledSaleService service = newService(ticketService);
+    start(service);
+
+    AtomicBoolean selling = new AtomicBoolean(true);
+    Thread reloader = Thread.ofPlatform().start(() -> {
+      while (selling.get()) {
+        seatInventoryService.evict(showtimeId);
+        seatInventoryService.getInventory(showtimeId);
+      }
+    });
+
+    ExecutorService buyers = Executors.newFixedThreadPool(8);
+    List<CompletableFuture<TicketSaleResponseDTO>> sales = new ArrayList<>();
+
+    for (int i = 0; i < 400; i++) {
+      int first = ThreadLocalRandom.current().nextInt(seatIds.size() - 1);
+      TicketSaleRequestDTO request = new TicketSaleRequestDTO(showtimeId,
+          seatIds.subList(first, first + 1 + ThreadLocalRandom.current().nextInt(2)), "Buyer " + i);
+
+      sales.add(CompletableFuture.supplyAsync(() -> service.submit(request), buyers)
+          .thenCompose(future -> future));
+    }
+
+    Set<String> acknowledgedSeats = new HashSet<>();
+    int acknowledgedTickets = 0;
+
+    for (CompletableFuture<TicketSaleResponseDTO> sale : sales) {
+      try {
+        for (TicketResponseDTO ticket : sale.get(10, TimeUnit.SECONDS).tickets()) {
+          acknowledgedSeats.add(ticket.rowNumber() + "-" + ticket.seatNumber());
+          acknowledgedTickets++;
+        }
+      } catch (Exception e) {
+        // seat taken by another buyer
+      }
+    }
+
+    selling.set(false);
+    reloader.join();
+    buyers.shutdown();
+    stop(service);
+
+    assertThat(acknowledgedTickets).isEqualTo(acknowledgedSeats.size());
+    assertThat(service.getStats().conflicts()).isZero();
+    assertThat(ticketCount()).isEqualTo(acknowledgedTickets);
+    assertThat(seatInventoryService.getInventory(showtimeId).availableCount())
+        .isEqualTo(seatIds.size() - acknowledgedTickets);
+  }
+
+  private JournaledSaleService newService(TicketService tickets) {
+    JournaledSaleService service = new JournaledSaleService(tickets, seatInventoryService, showtimeRepository);
+
+    ReflectionTestUtils.setField(service, "enabled", true);
+    ReflectionTestUtils.setField(service, "directory", directory.toString());
+    ReflectionTestUtils.setField(service, "segmentBytes", 4096);
+    ReflectionTestUtils.setField(service, "flushWindowMicros", 100L);
+    ReflectionTestUtils.setField(service, "applyBatchSize", 16);
+    ReflectionTestUtils.setField(service, "termsCacheMs", 1000L);
+    ReflectionTestUtils.setField(service, "name", journalName);
+
+    return service;
+  }
+
+  private static void start(JournaledSaleService service) {
+    ReflectionTestUtils.invokeMethod(service, "start");
+  }
+
+  private static void stop(JournaledSaleService service) {
+    ReflectionTestUtils.invokeMethod(service, "shutdown");
+  }
+
+  private SaleJournal openRawJournal() throws Exception {
+    return SaleJournal.open(directory, 4096, 0, ticketService.getJournalCheckpoint(journalName), sales -> {
+    });
+  }
+
+  private CompletableFuture<JournaledSale> append(SaleJournal journal, List<Long> seats, String customerName) {
+    return journal.append(showtimeId, seats, customerName, new BigDecimal("7.50"), LocalDateTime.now());
+  }
+
+  private List<Path> segments() throws Exception {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private long ticketCount() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM tickets t JOIN seats s ON t.seat_id = s.id WHERE s.showtime_id = ?",
+        Long.class, showtimeId);
+  }
+
+  private int soldSeatCounter() {
+    return jdbcTemplate.queryForObject("SELECT sold_seats FROM showtimes WHERE id = ?", Integer.class, showtimeId);
+  }
+}
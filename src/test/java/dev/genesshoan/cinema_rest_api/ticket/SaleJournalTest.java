@@ -0,0 +1,188 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.genesshoan.cinema_rest_api.service.JournaledSale;
+import dev.genesshoan.cinema_rest_api.service.SaleJournal;
+
+/**
+ * Unit tests for {@link SaleJournal}.
+ *
+ * Each test writes a journal to a temporary directory, closes it and opens
+ * it again to check what a restart would recover.
+ */
+public class SaleJournalTest {
+  private static final int SEGMENT_BYTES = 4096;
+  private static final LocalDateTime PURCHASED_AT = LocalDateTime.of(2030, 1, 1, 9, 30, 15, 123_000_000);
+
+  @TempDir
+  private Path directory;
+
+  /**
+   * Verifies that acknowledged sales are read back in order with all their
+   * fields, and that the durable callback saw them first.
+   */
+  @Test
+  @DisplayName("open - after appends: should recover every acknowledged sale in order")
+  void open_AfterAppends_ShouldRecoverSales() throws Exception {
+    List<JournaledSale> durable = new CopyOnWriteArrayList<>();
+    List<JournaledSale> acknowledged = new ArrayList<>();
+
+    try (SaleJournal journal = SaleJournal.open(directory, SEGMENT_BYTES, 100, 0, durable::addAll)) {
+      List<CompletableFuture<JournaledSale>> futures = new ArrayList<>();
+
+      for (int i = 0; i < 5; i++) {
+        futures.add(append(journal, 7, List.of(10L + i, 20L + i)));
+      }
+
+      for (CompletableFuture<JournaledSale> future : futures) {
+        acknowledged.add(future.get(5, TimeUnit.SECONDS));
+      }
+
+      assertThat(journal.getFsyncs()).isBetween(1L, 5L);
+    }
+
+    assertThat(durable).containsExactlyElementsOf(acknowledged);
+    assertThat(acknowledged).extracting(JournaledSale::sequence).containsExactly(1L, 2L, 3L, 4L, 5L);
+
+    try (SaleJournal reopened = SaleJournal.open(directory, SEGMENT_BYTES, 0, 0, sales -> {
+    })) {
+      assertThat(reopened.recovered()).containsExactlyElementsOf(acknowledged);
+      assertThat(reopened.recovered().getFirst().unitPrice()).isEqualByComparingTo("7.50");
+      assertThat(reopened.recovered().getFirst().purchasedAt()).isEqualTo(PURCHASED_AT);
+      assertThat(append(reopened, 7, List.of(1L)).get(5, TimeUnit.SECONDS).sequence()).isEqualTo(6);
+    }
+  }
+
+  /**
+   * Verifies that a record torn by a crash, or corrupted on disk, ends the
+   * recovered sales of its segment instead of failing the recovery.
+   */
+  @Test
+  @DisplayName("open - torn or corrupt tail: should recover the intact records only")
+  void open_WithTornTail_ShouldStopAtLastIntactRecord() throws Exception {
+    try (SaleJournal journal = SaleJournal.open(directory, SEGMENT_BYTES, 0, 0, sales -> {
+    })) {
+      append(journal, 1, List.of(1L)).get(5, TimeUnit.SECONDS);
+      append(journal, 1, List.of(2L)).get(5, TimeUnit.SECONDS);
+      append(journal, 1, List.of(3L)).get(5, TimeUnit.SECONDS);
+    }
+
+    Path segment = segments().getFirst();
+    long third = recordOffset(segment, 2);
+
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(third + 2 * Integer.BYTES + 3);
+      file.writeByte(0x7f);
+    }
+
+    try (SaleJournal reopened = SaleJournal.open(directory, SEGMENT_BYTES, 0, 0, sales -> {
+    })) {
+      assertThat(reopened.recovered()).extracting(JournaledSale::sequence).containsExactly(1L, 2L);
+    }
+
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(third);
+      file.writeInt(SEGMENT_BYTES);
+    }
+
+    try (SaleJournal reopened = SaleJournal.open(directory, SEGMENT_BYTES, 0, 0, sales -> {
+    })) {
+      assertThat(reopened.recovered()).extracting(JournaledSale::sequence).containsExactly(1L, 2L);
+    }
+  }
+
+  /**
+   * Verifies that appends roll over to new segments, that applied segments
+   * are deleted, and that sequence numbers keep growing after the deleted
+   * segments are gone.
+   */
+  @Test
+  @DisplayName("deleteThrough - applied segments: should delete them and keep sequences unique")
+  void deleteThrough_AppliedSegments_ShouldDeleteAndContinueSequence() throws Exception {
+    long last;
+
+    try (SaleJournal journal = SaleJournal.open(directory, 512, 0, 0, sales -> {
+    })) {
+      CompletableFuture<JournaledSale> future = null;
+
+      for (int i = 0; i < 40; i++) {
+        future = append(journal, 1, List.of((long) i));
+      }
+
+      last = future.get(5, TimeUnit.SECONDS).sequence();
+      int segments = journal.getSegmentCount();
+
+      assertThat(segments).isGreaterThan(2);
+
+      journal.deleteThrough(last);
+
+      assertThat(journal.getSegmentCount()).isEqualTo(1);
+    }
+
+    try (SaleJournal reopened = SaleJournal.open(directory, 512, 0, last, sales -> {
+    })) {
+      assertThat(reopened.recovered()).extracting(JournaledSale::sequence)
+          .allMatch(sequence -> sequence <= last);
+      assertThat(append(reopened, 1, List.of(1L)).get(5, TimeUnit.SECONDS).sequence()).isEqualTo(last + 1);
+    }
+  }
+
+  /**
+   * Verifies that an empty directory starts at sequence one after the applied
+   * checkpoint.
+   */
+  @Test
+  @DisplayName("open - empty directory: should continue after the applied sequence")
+  void open_EmptyDirectory_ShouldStartAfterCheckpoint() throws Exception {
+    try (SaleJournal journal = SaleJournal.open(directory.resolve("nested"), SEGMENT_BYTES, 0, 41, sales -> {
+    })) {
+      assertThat(journal.recovered()).isEmpty();
+      assertThat(append(journal, 1, List.of(1L)).get(5, TimeUnit.SECONDS).sequence()).isEqualTo(42);
+    }
+  }
+
+  private static CompletableFuture<JournaledSale> append(SaleJournal journal, long showtimeId, List<Long> seatIds) {
+    return journal.append(showtimeId, seatIds, "Ada", new BigDecimal("7.50"), PURCHASED_AT);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  /**
+   * Returns the offset of the record with the given index by following the
+   * record lengths.
+   */
+  private static long recordOffset(Path segment, int index) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+      long offset = 0;
+
+      for (int i = 0; i < index; i++) {
+        file.seek(offset);
+        offset += 2 * Integer.BYTES + file.readInt();
+      }
+
+      return offset;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.genesshoan.cinema_rest_api.exception.QueueFullException;
+import dev.genesshoan.cinema_rest_api.service.ShowtimeSalePermits;
+
+/**
+ * Unit tests for {@link ShowtimeSalePermits}.
+ *
+ * These tests verify that a showtime cannot run more sales than it has
+ * permits, that other showtimes are not affected, and that semaphores are
+ * dropped once no sale uses them.
+ */
+public class ShowtimeSalePermitsTest {
+
+  private ShowtimeSalePermits salePermits;
+
+  @BeforeEach
+  void setUp() {
+    salePermits = new ShowtimeSalePermits();
+    ReflectionTestUtils.setField(salePermits, "maxConcurrent", 1);
+    ReflectionTestUtils.setField(salePermits, "permitTimeoutMs", 50L);
+  }
+
+  /**
+   * Verifies that a sale of a showtime whose permits are all taken is
+   * rejected, while a sale of another showtime runs.
+   */
+  @Test
+  @DisplayName("call - showtime saturated: should reject its sales but not others")
+  void call_WhenShowtimeSaturated_ShouldRejectOnlyThatShowtime() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> salePermits.call(1L, () -> {
+      started.countDown();
+      return await(release);
+    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> salePermits.call(1L, () -> true))
+        .isInstanceOf(QueueFullException.class);
+    assertThat(salePermits.call(2L, () -> "other")).isEqualTo("other");
+    assertThat(salePermits.getActiveByShowtime()).containsEntry(1L, 1);
+    assertThat(salePermits.getRejected()).isEqualTo(1);
+
+    release.countDown();
+    assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  /**
+   * Verifies that the permit is given back when the sale fails and that the
+   * semaphore of an idle showtime is removed.
+   */
+  @Test
+  @DisplayName("call - failing sale: should release its permit")
+  void call_WhenSaleFails_ShouldReleasePermit() {
+    assertThatThrownBy(() -> salePermits.call(1L, () -> {
+      throw new IllegalStateException("boom");
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(salePermits.call(1L, () -> "sold")).isEqualTo("sold");
+    assertThat(salePermits.getActiveByShowtime()).isEmpty();
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package dev.genesshoan.cinema_rest_api.ticket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import dev.genesshoan.cinema_rest_api.IntegrationTest;
+import dev.genesshoan.cinema_rest_api.StatementRecorder;
+import dev.genesshoan.cinema_rest_api.StatementRecorder.Recorded;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketResponseDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleRequestDTO;
+import dev.genesshoan.cinema_rest_api.dto.ticket.TicketSaleResponseDTO;
+import dev.genesshoan.cinema_rest_api.service.TicketService;
+import dev.genesshoan.cinema_rest_api.showtime.ShowtimeFixture;
+
+/**
+ * Query-count tests for the ticket read paths.
+ *
+ * Every SQL statement Hibernate prepares on the calling thread is recorded by
+ * {@link StatementRecorder} and counted, so the tests fail if a ticket lookup
+ * or a sale response goes back to walking lazy associations ticket by ticket.
+ * Sequence fetches are not counted, since their frequency depends on the
+ * allocation size rather than on the operation.
+ */
+@IntegrationTest
+public class TicketQueryCountTest {
+  @Autowired
+  private TicketService ticketService;
+
+  @Autowired
+  private ShowtimeFixture showtimeFixture;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private long showtimeId;
+  private List<Long> seatIds;
+
+  @BeforeEach
+  void setUp() {
+    showtimeId = showtimeFixture.createShowtime("Queries", 4, 10);
+    seatIds = showtimeFixture.seatIds(showtimeId);
+
+    // Loads the seat inventory of the showtime, which happens once per showtime
+    ticketService.sellTicket(new TicketSaleRequestDTO(showtimeId, seatIds.subList(0, 1), "Warm-up"));
+  }
+
+  /**
+   * Verifies that the sale response of ten seats takes as many statements as
+   * that of a single seat, and carries the details of every ticket.
+   */
+  @Test
+  @DisplayName("sellTicket - response: should take the same number of statements for one and ten seats")
+  void sellTicket_ShouldTakeConstantStatements() {
+    Counted<TicketSaleResponseDTO> single = count(() -> ticketService.sellTicket(
+        new TicketSaleRequestDTO(showtimeId, seatIds.subList(1, 2), "A")));
+    Counted<TicketSaleResponseDTO> ten = count(() -> ticketService.sellTicket(
+        new TicketSaleRequestDTO(showtimeId, seatIds.subList(2, 12), "B")));
+
+    assertThat(ten.statements()).isEqualTo(single.statements());
+    assertThat(ten.result().tickets()).hasSize(10).allSatisfy(ticket -> {
+      assertThat(ticket.owner()).isEqualTo("B");
+      assertThat(ticket.title()).startsWith("Queries ");
+      assertThat(ticket.rowNumber()).isNotNull();
+    });
+    assertThat(ten.result().tickets())
+        .extracting(ticket -> ticket.rowNumber() * 100 + ticket.seatNumber())
+        .isSorted();
+  }
+
+  /**
+   * Verifies that a ticket lookup takes a single statement.
+   */
+  @Test
+  @DisplayName("getTicketById - existing ticket: should take a single statement")
+  void getTicketById_ShouldTakeSingleStatement() {
+    long ticketId = jdbcTemplate.queryForObject(
+        "SELECT MIN(id) FROM tickets WHERE showtime_id = ?", Long.class, showtimeId);
+
+    Counted<TicketResponseDTO> ticket = count(() -> ticketService.getTicketById(ticketId));
+
+    assertThat(ticket.statements()).isEqualTo(1);
+    assertThat(ticket.result().owner()).isEqualTo("Warm-up");
+    assertThat(ticket.result().rowNumber()).isEqualTo(1);
+    assertThat(ticket.result().seatNumber()).isEqualTo(1);
+  }
+
+  private static <T> Counted<T> count(Supplier<T> operation) {
+    Recorded<T> recorded = StatementRecorder.record(operation);
+    long statements = recorded.statements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT))
+        .filter(sql -> !sql.contains("next value for") && !sql.contains("nextval"))
+        .count();
+
+    return new Counted<>(recorded.result(), statements);
+  }
+
+  private record Counted<T>(T result, long statements) {
+  }
+}